@@ -11,11 +11,13 @@
 
 package alluxio.client.file;
 
+import alluxio.PositionReader;
 import alluxio.Seekable;
 import alluxio.client.BoundedStream;
 import alluxio.client.CanUnbuffer;
 import alluxio.client.PositionedReadable;
 import alluxio.exception.PreconditionMessage;
+import alluxio.file.FileRange;
 import alluxio.util.io.BufferUtils;
 
 import com.google.common.base.Preconditions;
@@ -23,6 +25,8 @@ import com.google.common.base.Preconditions;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.IntFunction;
 
 /**
  * A streaming API to read a file. This API represents a file as a stream of bytes and provides a
@@ -103,6 +107,28 @@ public abstract class FileInStream extends InputStream
     return nread;
   }
 
+  /**
+   * Reads a list of ranges of the file, merging nearby ranges into a single read. The data of
+   * each range is available through {@link FileRange#getData()} once it is read. This does not
+   * change the current offset of the stream.
+   *
+   * @param ranges the ranges to read, which must not overlap
+   * @param allocate the function to allocate a buffer of the given size
+   * @see PositionReader#readVectored(List, IntFunction)
+   */
+  public void readVectored(List<? extends FileRange> ranges, IntFunction<ByteBuffer> allocate)
+      throws IOException {
+    PositionReader reader = (position, buffer, length) -> {
+      byte[] bytes = new byte[length];
+      int bytesRead = positionedRead(position, bytes, 0, length);
+      if (bytesRead > 0) {
+        buffer.writeBytes(bytes, 0, bytesRead);
+      }
+      return bytesRead;
+    };
+    reader.readVectored(ranges, allocate);
+  }
+
   @Override
   public void unbuffer() {
   }
@@ -11,33 +11,60 @@
 
 package alluxio.client.file;
 
+import alluxio.Constants;
 import alluxio.PositionReader;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.PreconditionMessage;
+import alluxio.file.FileRange;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.network.protocol.databuffer.PooledDirectNioByteBuf;
+import alluxio.util.ThreadFactoryUtils;
 
 import com.amazonaws.annotation.NotThreadSafe;
+import com.codahale.metrics.Counter;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.EvictingQueue;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntFunction;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 
 /**
  * Implementation of {@link FileInStream} that reads from a dora cache if possible.
  */
 @NotThreadSafe
 public class PositionReadFileInStream extends FileInStream {
+  private static final Logger LOG = LoggerFactory.getLogger(PositionReadFileInStream.class);
+
   private final long mLength;
   private long mPos = 0;
   private boolean mClosed;
   private final PositionReader mPositionReader;
   private final PrefetchCache mCache;
+  /** Asynchronous read-ahead used instead of the prefetch cache, or null if disabled. */
+  @Nullable
+  private final ReadAheadCache mReadAhead;
 
   private static class PrefetchCache implements AutoCloseable {
     private final long mFileLength;
@@ -141,6 +168,334 @@ public class PositionReadFileInStream extends FileInStream {
     }
   }
 
+  /**
+   * Reads ahead of a sequential reader by keeping up to a number of windows of the file being
+   * fetched from the worker on a shared executor. The windows cover a contiguous range of the
+   * file following the last read. The window size doubles every time a window is fully consumed,
+   * and is halved when read-ahead data gets discarded because the reader moved elsewhere.
+   */
+  private static class ReadAheadCache implements AutoCloseable {
+    private static final int MIN_WINDOW_SIZE = 64 * Constants.KB;
+
+    private final PositionReader mReader;
+    private final long mFileLength;
+    private final int mMaxWindows;
+    private final int mMaxWindowSize;
+    /** Maximum time to wait for the fetch of a window. */
+    private final long mTimeoutMs;
+    /** Outstanding windows, in file order. */
+    private final ArrayDeque<ReadAheadWindow> mWindows = new ArrayDeque<>();
+    private int mWindowSize = MIN_WINDOW_SIZE;
+    /** End position of the last read, used to detect sequential access. */
+    private long mLastReadEnd = 0;
+
+    ReadAheadCache(PositionReader reader, long fileLength, int maxWindows, int maxWindowSize,
+        long timeoutMs) {
+      mReader = reader;
+      mFileLength = fileLength;
+      mMaxWindows = maxWindows;
+      mMaxWindowSize = Math.max(maxWindowSize, MIN_WINDOW_SIZE);
+      mTimeoutMs = timeoutMs;
+    }
+
+    /**
+     * Reads from the read-ahead windows, falling back to the reader for data not read ahead.
+     *
+     * @param position the position within the file to read from
+     * @param outBuffer output buffer
+     * @return number of bytes read, -1 if the position is at the end of the file
+     */
+    private int read(long position, ByteBuffer outBuffer) throws IOException {
+      boolean sequential = position == mLastReadEnd;
+      long pos = position;
+      int totalBytesRead = 0;
+      ReadAheadWindow window;
+      while (outBuffer.hasRemaining() && (window = windowAt(pos)) != null) {
+        int bytesRead = window.copyTo(pos, outBuffer, mTimeoutMs);
+        if (bytesRead <= 0) {
+          // the window failed to fetch its data in time, read directly from the worker instead
+          discardAll();
+          break;
+        }
+        totalBytesRead += bytesRead;
+        pos += bytesRead;
+        if (window.isConsumedAt(pos)) {
+          mWindows.pollFirst();
+          window.release();
+          mWindowSize = Math.min(mWindowSize * 2, mMaxWindowSize);
+        }
+      }
+      if (outBuffer.hasRemaining()) {
+        int bytesRead = mReader.read(pos, outBuffer, outBuffer.remaining());
+        if (bytesRead < 0 && totalBytesRead == 0) {
+          return -1;
+        }
+        if (bytesRead > 0) {
+          totalBytesRead += bytesRead;
+          pos += bytesRead;
+        }
+      }
+      mLastReadEnd = pos;
+      if (sequential) {
+        mWindowSize = Math.max(mWindowSize, Math.min(totalBytesRead, mMaxWindowSize));
+        schedule(pos);
+      }
+      return totalBytesRead;
+    }
+
+    /**
+     * Discards read-ahead windows which do not cover the new position.
+     *
+     * @param pos the new position of the reader
+     */
+    private void seek(long pos) {
+      if (windowAt(pos) != null) {
+        // skipping forward within the read-ahead windows keeps the sequential pattern
+        mLastReadEnd = pos;
+      }
+    }
+
+    /**
+     * Gets the window covering the given position, discarding the windows before it. All windows
+     * are discarded if none of them covers the position.
+     */
+    @Nullable
+    private ReadAheadWindow windowAt(long pos) {
+      while (!mWindows.isEmpty()) {
+        ReadAheadWindow window = mWindows.peekFirst();
+        if (pos < window.mStart) {
+          discardAll();
+          return null;
+        }
+        if (pos < window.mStart + window.mLength) {
+          return window;
+        }
+        mWindows.pollFirst();
+        Metrics.BYTES_READ_AHEAD_WASTED.inc(window.discard());
+      }
+      return null;
+    }
+
+    private void schedule(long pos) {
+      long nextWindowPos = mWindows.isEmpty() ? pos : mWindows.peekLast().getEnd();
+      while (mWindows.size() < mMaxWindows && nextWindowPos < mFileLength) {
+        int length = (int) Math.min(mWindowSize, mFileLength - nextWindowPos);
+        ReadAheadWindow window = new ReadAheadWindow(mReader, nextWindowPos, length);
+        try {
+          ExecutorHolder.EXECUTOR.execute(window);
+        } catch (RejectedExecutionException e) {
+          window.discard();
+          return;
+        }
+        mWindows.addLast(window);
+        nextWindowPos += length;
+      }
+    }
+
+    private void discardAll() {
+      if (mWindows.isEmpty()) {
+        return;
+      }
+      for (ReadAheadWindow window : mWindows) {
+        Metrics.BYTES_READ_AHEAD_WASTED.inc(window.discard());
+      }
+      mWindows.clear();
+      mWindowSize = Math.max(mWindowSize / 2, MIN_WINDOW_SIZE);
+    }
+
+    /**
+     * Discards all the windows, cancelling the ones not started yet and waiting for the ones being
+     * fetched, which still use the reader.
+     */
+    @Override
+    public void close() {
+      List<ReadAheadWindow> windows = new ArrayList<>(mWindows);
+      discardAll();
+      for (ReadAheadWindow window : windows) {
+        window.awaitFetch(mTimeoutMs);
+      }
+    }
+  }
+
+  /**
+   * A range of a file fetched asynchronously into a pooled direct buffer. The buffer is released
+   * once the window is consumed or discarded, but never while the fetch is in progress.
+   */
+  private static final class ReadAheadWindow implements Runnable {
+    private final PositionReader mReader;
+    private final long mStart;
+    private final int mLength;
+    private final ByteBuf mBuffer;
+    private final CompletableFuture<Integer> mResult = new CompletableFuture<>();
+    @GuardedBy("this")
+    private boolean mFetching;
+    @GuardedBy("this")
+    private boolean mDiscarded;
+    @GuardedBy("this")
+    private boolean mReleased;
+    /** End of the data consumed from this window, relative to the window start. */
+    private int mConsumed;
+
+    ReadAheadWindow(PositionReader reader, long start, int length) {
+      mReader = reader;
+      mStart = start;
+      mLength = length;
+      mBuffer = PooledDirectNioByteBuf.allocate(length);
+    }
+
+    @Override
+    public void run() {
+      synchronized (this) {
+        if (mDiscarded) {
+          return;
+        }
+        mFetching = true;
+      }
+      int bytesRead;
+      try {
+        bytesRead = mReader.read(mStart, mBuffer, mLength);
+      } catch (IOException | RuntimeException e) {
+        // the reader falls back to reading from the worker directly
+        LOG.debug("Failed to read ahead {} bytes at position {}", mLength, mStart, e);
+        bytesRead = -1;
+      }
+      if (bytesRead > 0) {
+        Metrics.BYTES_READ_AHEAD.inc(bytesRead);
+      }
+      synchronized (this) {
+        mFetching = false;
+        mResult.complete(bytesRead);
+        if (mDiscarded) {
+          releaseBuffer();
+        }
+      }
+    }
+
+    private long getEnd() {
+      return mStart + mLength;
+    }
+
+    /**
+     * Copies the data of this window at the given position to the output buffer, waiting for the
+     * fetch to complete.
+     *
+     * @param timeoutMs the maximum time to wait for the fetch
+     * @return number of bytes copied, -1 if the window holds no data at the position
+     */
+    private int copyTo(long pos, ByteBuffer outBuffer, long timeoutMs) throws IOException {
+      int bytesFetched;
+      try {
+        bytesFetched = mResult.get(timeoutMs, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for read-ahead");
+      } catch (ExecutionException e) {
+        return -1;
+      } catch (TimeoutException e) {
+        LOG.debug("Timed out waiting for the read-ahead of {} bytes at position {}",
+            mLength, mStart);
+        return -1;
+      }
+      int posInWindow = (int) (pos - mStart);
+      if (posInWindow >= bytesFetched) {
+        return -1;
+      }
+      int size = Math.min(outBuffer.remaining(), bytesFetched - posInWindow);
+      ByteBuffer slice = outBuffer.slice();
+      slice.limit(size);
+      mBuffer.getBytes(posInWindow, slice);
+      outBuffer.position(outBuffer.position() + size);
+      mConsumed = Math.max(mConsumed, posInWindow + size);
+      return size;
+    }
+
+    /**
+     * Waits for the fetch of this window to complete if it is in progress.
+     *
+     * @param timeoutMs the maximum time to wait
+     */
+    private void awaitFetch(long timeoutMs) {
+      try {
+        mResult.get(timeoutMs, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        // the fetch is over
+      } catch (TimeoutException e) {
+        LOG.warn("Timed out waiting for the read-ahead of {} bytes at position {} to complete",
+            mLength, mStart);
+      }
+    }
+
+    private boolean isConsumedAt(long pos) {
+      Integer bytesFetched = mResult.getNow(null);
+      return bytesFetched != null && pos >= mStart + bytesFetched;
+    }
+
+    private synchronized void release() {
+      releaseBuffer();
+    }
+
+    /**
+     * Discards this window, releasing its buffer unless the fetch is in progress. The fetch is
+     * cancelled if it has not started yet.
+     *
+     * @return number of bytes fetched or being fetched which have not been consumed
+     */
+    private synchronized long discard() {
+      mDiscarded = true;
+      long wasted = 0;
+      if (mFetching) {
+        wasted = mLength - mConsumed;
+      } else if (mResult.isDone()) {
+        wasted = Math.max(0, mResult.getNow(0) - mConsumed);
+      } else {
+        ExecutorHolder.EXECUTOR.remove(this);
+        mResult.complete(-1);
+      }
+      if (!mFetching) {
+        releaseBuffer();
+      }
+      return wasted;
+    }
+
+    @GuardedBy("this")
+    private void releaseBuffer() {
+      if (!mReleased) {
+        mReleased = true;
+        mBuffer.release();
+      }
+    }
+  }
+
+  /**
+   * Holds the executor shared by the read-ahead of all streams, created on first use.
+   */
+  private static final class ExecutorHolder {
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    private static ThreadPoolExecutor createExecutor() {
+      int threads = Configuration.getInt(PropertyKey.USER_POSITION_READER_READ_AHEAD_THREADS);
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+          60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+          ThreadFactoryUtils.build("position-reader-read-ahead-%d", true));
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+    }
+  }
+
+  private static final class Metrics {
+    // Note that only counter can be added here.
+    // Both meter and timer need to be used inline
+    // because new meter and timer will be created after {@link MetricsSystem.resetAllMetrics()}
+    /** Bytes fetched by read-ahead. */
+    private static final Counter BYTES_READ_AHEAD =
+        MetricsSystem.counter(MetricKey.CLIENT_BYTES_READ_AHEAD.getName());
+    /** Bytes fetched by read-ahead and discarded without being read. */
+    private static final Counter BYTES_READ_AHEAD_WASTED =
+        MetricsSystem.counter(MetricKey.CLIENT_BYTES_READ_AHEAD_WASTED.getName());
+  }
+
   private static class CallTrace {
     final long mPosition;
     final int mLength;
@@ -162,6 +517,14 @@ public class PositionReadFileInStream extends FileInStream {
     mLength = length;
     mCache = new PrefetchCache(
         Configuration.getInt(PropertyKey.USER_POSITION_READER_STREAMING_MULTIPLIER), mLength);
+    int readAheadWindows =
+        Configuration.getInt(PropertyKey.USER_POSITION_READER_READ_AHEAD_WINDOWS);
+    int readAheadWindowSizeMax = (int) Configuration.getBytes(
+        PropertyKey.USER_POSITION_READER_READ_AHEAD_WINDOW_SIZE_MAX);
+    mReadAhead = readAheadWindows > 0
+        ? new ReadAheadCache(reader, mLength, readAheadWindows, readAheadWindowSizeMax,
+            Configuration.getMs(PropertyKey.USER_STREAMING_DATA_READ_TIMEOUT))
+        : null;
   }
 
   @Override
@@ -193,45 +556,31 @@ public class PositionReadFileInStream extends FileInStream {
   @Override
   public int read(ByteBuffer byteBuffer, int off, int len) throws IOException {
     byteBuffer.position(off).limit(off + len);
-    mCache.addTrace(mPos, len);
-    int totalBytesRead = 0;
-    int bytesReadFromCache = mCache.fillWithCache(mPos, byteBuffer);
-    totalBytesRead += bytesReadFromCache;
-    mPos += bytesReadFromCache;
-    if (!byteBuffer.hasRemaining()) {
-      return totalBytesRead;
+    int totalBytesRead = readAt(mPos, byteBuffer);
+    if (totalBytesRead > 0) {
+      mPos += totalBytesRead;
     }
-    int bytesPrefetched = mCache.prefetch(mPositionReader, mPos, byteBuffer.remaining());
-    if (bytesPrefetched < 0) {
-      if (totalBytesRead == 0) {
-        return -1;
-      }
-      return totalBytesRead;
-    }
-    bytesReadFromCache = mCache.fillWithCache(mPos, byteBuffer);
-    totalBytesRead += bytesReadFromCache;
-    mPos += bytesReadFromCache;
-    if (!byteBuffer.hasRemaining()) {
-      return totalBytesRead;
-    }
-    int bytesRead = mPositionReader.read(mPos, byteBuffer, byteBuffer.remaining());
-    if (bytesRead < 0) {
-      if (totalBytesRead == 0) {
-        return -1;
-      }
-      return totalBytesRead;
-    }
-    totalBytesRead += bytesRead;
-    mPos += bytesRead;
     return totalBytesRead;
   }
 
   @Override
   public int positionedRead(long position, byte[] buffer, int offset, int len)
       throws IOException {
+    return readAt(position, ByteBuffer.wrap(buffer, offset, len));
+  }
+
+  @Override
+  public void readVectored(List<? extends FileRange> ranges, IntFunction<ByteBuffer> allocate)
+      throws IOException {
+    mPositionReader.readVectored(ranges, allocate);
+  }
+
+  private int readAt(long position, ByteBuffer byteBuffer) throws IOException {
+    if (mReadAhead != null) {
+      return mReadAhead.read(position, byteBuffer);
+    }
     long pos = position;
-    ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, offset, len);
-    mCache.addTrace(position, len);
+    mCache.addTrace(position, byteBuffer.remaining());
     int totalBytesRead = 0;
     int bytesReadFromCache = mCache.fillWithCache(pos, byteBuffer);
     totalBytesRead += bytesReadFromCache;
@@ -260,7 +609,6 @@ public class PositionReadFileInStream extends FileInStream {
       return totalBytesRead;
     }
     totalBytesRead += bytesRead;
-    pos += bytesRead;
     return totalBytesRead;
   }
 
@@ -279,6 +627,9 @@ public class PositionReadFileInStream extends FileInStream {
       return;
     }
     mPos = pos;
+    if (mReadAhead != null) {
+      mReadAhead.seek(pos);
+    }
   }
 
   @Override
@@ -298,6 +649,9 @@ public class PositionReadFileInStream extends FileInStream {
       return;
     }
     mClosed = true;
+    if (mReadAhead != null) {
+      mReadAhead.close();
+    }
     mPositionReader.close();
     mCache.close();
   }
@@ -12,6 +12,7 @@
 package alluxio.client.file.cache;
 
 import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.trace.PageAccessTraceWriter;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.PageNotFoundException;
@@ -23,16 +24,20 @@ import alluxio.network.protocol.databuffer.DataFileChannel;
 import alluxio.resource.LockResource;
 
 import com.codahale.metrics.Counter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import javax.annotation.concurrent.GuardedBy;
@@ -130,12 +135,18 @@ public interface CacheManager extends AutoCloseable, CacheStatus {
         if (isNettyDataTransmissionEnable) {
           options.setIsAsyncWriteEnabled(false);
         }
+        CacheManager cacheManager = LocalCacheManager.create(options, pageMetaStore);
+        if (conf.isSet(PropertyKey.USER_CLIENT_CACHE_TRACE_FILE)) {
+          cacheManager = new CacheManagerWithTraceRecorder(cacheManager,
+              PageAccessTraceWriter.create(
+                  Paths.get(conf.getString(PropertyKey.USER_CLIENT_CACHE_TRACE_FILE)),
+                  options.getPageSize()));
+        }
         if (isShadowCacheEnabled) {
           return new NoExceptionCacheManager(
-              new CacheManagerWithShadowCache(LocalCacheManager.create(options, pageMetaStore),
-                  conf));
+              new CacheManagerWithShadowCache(cacheManager, conf));
         }
-        return new NoExceptionCacheManager(LocalCacheManager.create(options, pageMetaStore));
+        return new NoExceptionCacheManager(cacheManager);
       } catch (IOException e) {
         Metrics.CREATE_ERRORS.inc();
         LOG.error("Failed to create CacheManager", e);
@@ -219,6 +230,27 @@ public interface CacheManager extends AutoCloseable, CacheStatus {
    */
   boolean put(PageId pageId, ByteBuffer page, CacheContext cacheContext);
 
+  /**
+   * Puts a page into the cache manager with scope and quota respected, letting the caller reuse
+   * the page data once the cache manager no longer needs it. This method is best effort. It is
+   * possible that this put operation returns without page written.
+   *
+   * @param pageId page identifier
+   * @param page page data
+   * @param cacheContext cache related context
+   * @param releasePage callback run once the page data is no longer used by the cache manager,
+   *        which may be after this method returns when writes are asynchronous
+   * @return true if the put was successful, false otherwise
+   */
+  default boolean put(PageId pageId, ByteBuffer page, CacheContext cacheContext,
+      Runnable releasePage) {
+    try {
+      return put(pageId, page, cacheContext);
+    } finally {
+      releasePage.run();
+    }
+  }
+
   /**
    * Reads the entire page if the queried page is found in the cache, stores the result in buffer.
    *
@@ -306,6 +338,60 @@ public interface CacheManager extends AutoCloseable, CacheStatus {
   int getAndLoad(PageId pageId, int pageOffset, int bytesToRead,
       ReadTargetBuffer buffer, CacheContext cacheContext, Supplier<byte[]> externalDataSupplier);
 
+  /**
+   * Reads a part of a page if the queried page is found in the cache, stores the result in buffer.
+   * Loads the page otherwise. Unlike
+   * {@link #getAndLoad(PageId, int, int, ReadTargetBuffer, CacheContext, Supplier)}, the page is
+   * loaded into a {@link ByteBuf}, which can be a pooled direct buffer. The cache manager owns the
+   * loaded buffer and releases it once the page is cached.
+   *
+   * @param pageId page identifier
+   * @param pageOffset offset into the page
+   * @param bytesToRead number of bytes to read in this page
+   * @param buffer destination buffer to write
+   * @param cacheContext cache related context
+   * @param externalDataSupplier the external data supplier to read a page into a buffer, whose
+   *        readable bytes are the content of the page
+   * @return number of bytes read, 0 if page is not found, -1 on errors
+   */
+  default int getAndLoadByteBuf(PageId pageId, int pageOffset, int bytesToRead,
+      ReadTargetBuffer buffer, CacheContext cacheContext,
+      Supplier<ByteBuf> externalDataSupplier) {
+    return getAndLoad(pageId, pageOffset, bytesToRead, buffer, cacheContext, () -> {
+      ByteBuf page = externalDataSupplier.get();
+      try {
+        return ByteBufUtil.getBytes(page);
+      } finally {
+        page.release();
+      }
+    });
+  }
+
+  /**
+   * Reads from the first of a run of consecutive pages if that page is found in the cache,
+   * stores the result in buffer. Loads the pages of the run otherwise, with a single read of
+   * external storage, and reads from the loaded data. Implementations which cannot load several
+   * pages at once load the first page only. The cache manager owns the loaded buffer and releases
+   * it once the pages are cached.
+   *
+   * @param pageIds identifiers of the pages of the run, in order
+   * @param pageSize size of the pages, the last page of a file may be smaller
+   * @param pageOffset offset into the first page
+   * @param bytesToRead number of bytes to read from the run
+   * @param buffer destination buffer to write
+   * @param cacheContext cache related context
+   * @param externalDataSupplier the external data supplier to read the given number of pages
+   *        from the start of the run into a buffer, whose readable bytes are their content
+   * @return number of bytes read, which may be fewer than requested, -1 on errors
+   */
+  default int getAndLoadPages(List<PageId> pageIds, long pageSize, int pageOffset,
+      int bytesToRead, ReadTargetBuffer buffer, CacheContext cacheContext,
+      IntFunction<ByteBuf> externalDataSupplier) {
+    return getAndLoadByteBuf(pageIds.get(0), pageOffset,
+        (int) Math.min(bytesToRead, pageSize - pageOffset), buffer, cacheContext,
+        () -> externalDataSupplier.apply(1));
+  }
+
   /**
    * Get page ids by the given file id.
    * @param fileId file identifier
@@ -316,6 +402,18 @@ public interface CacheManager extends AutoCloseable, CacheStatus {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Checks whether a page is cached, without reading it or updating its access statistics. The
+   * result is only a hint, as the page can be added or evicted right after the check.
+   *
+   * @param pageId page identifier
+   * @return false if the page is not cached, true if it is or if this cannot be checked, so that
+   *         callers read the page through the cache rather than fetching it again
+   */
+  default boolean hasPage(PageId pageId) {
+    return true;
+  }
+
   /**
    * Deletes all pages of the given file.
    *
@@ -28,6 +28,7 @@ public class CacheManagerOptions {
   private CacheEvictorOptions mCacheEvictorOptions;
   private int mMaxEvictionRetries;
   private long mPageSize;
+  private PageMetaStoreType mPageMetaStoreType = PageMetaStoreType.DEFAULT;
   private List<PageStoreOptions> mPageStoreOptions;
   private boolean mQuotaEnabled;
   private boolean mTtlEnabled;
@@ -43,7 +44,9 @@ public class CacheManagerOptions {
         .setEvictorClass(conf.getClass(PropertyKey.USER_CLIENT_CACHE_EVICTOR_CLASS))
         .setIsNondeterministic(
             conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_EVICTOR_NONDETERMINISTIC_ENABLED))
-        .setLFULogBase(conf.getDouble(PropertyKey.USER_CLIENT_CACHE_EVICTOR_LFU_LOGBASE));
+        .setLFULogBase(conf.getDouble(PropertyKey.USER_CLIENT_CACHE_EVICTOR_LFU_LOGBASE))
+        .setTinyLFUWindowRatio(
+            conf.getDouble(PropertyKey.USER_CLIENT_CACHE_EVICTOR_TINYLFU_WINDOW_RATIO));
     CacheManagerOptions options = new CacheManagerOptions()
         .setAsyncRestoreEnabled(
             conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED))
@@ -52,6 +55,8 @@ public class CacheManagerOptions {
             conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED))
         .setMaxEvictionRetries(conf.getInt(PropertyKey.USER_CLIENT_CACHE_EVICTION_RETRIES))
         .setPageSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE))
+        .setPageMetaStoreType(conf.getEnum(PropertyKey.USER_CLIENT_CACHE_META_STORE_TYPE,
+            PageMetaStoreType.class))
         .setQuotaEnabled(conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_QUOTA_ENABLED))
         .setTtlEnabled(conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_TTL_ENABLED))
         .setTtlCheckIntervalSeconds(
@@ -71,7 +76,9 @@ public class CacheManagerOptions {
         .setEvictorClass(conf.getClass(PropertyKey.WORKER_PAGE_STORE_EVICTOR_CLASS))
         .setIsNondeterministic(
             conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_EVICTOR_NONDETERMINISTIC_ENABLED))
-        .setLFULogBase(conf.getDouble(PropertyKey.WORKER_PAGE_STORE_EVICTOR_LFU_LOGBASE));
+        .setLFULogBase(conf.getDouble(PropertyKey.WORKER_PAGE_STORE_EVICTOR_LFU_LOGBASE))
+        .setTinyLFUWindowRatio(
+            conf.getDouble(PropertyKey.WORKER_PAGE_STORE_EVICTOR_TINYLFU_WINDOW_RATIO));
     CacheManagerOptions options = new CacheManagerOptions()
         .setAsyncRestoreEnabled(
             conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_ASYNC_RESTORE_ENABLED))
@@ -80,6 +87,8 @@ public class CacheManagerOptions {
             conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_ASYNC_WRITE_ENABLED))
         .setMaxEvictionRetries(conf.getInt(PropertyKey.WORKER_PAGE_STORE_EVICTION_RETRIES))
         .setPageSize(conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE))
+        .setPageMetaStoreType(conf.getEnum(PropertyKey.WORKER_PAGE_STORE_META_STORE_TYPE,
+            PageMetaStoreType.class))
         .setQuotaEnabled(conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_QUOTA_ENABLED))
         .setCacheEvictorOptions(cacheEvictorOptions)
         .setPageStoreOptions(PageStoreOptions.createForWorkerPageStore(conf));
@@ -156,6 +165,13 @@ public class CacheManagerOptions {
     return mPageSize;
   }
 
+  /**
+   * @return the type of page meta store
+   */
+  public PageMetaStoreType getPageMetaStoreType() {
+    return mPageMetaStoreType;
+  }
+
   /**
    * @return the list of PageStoreOptions
    */
@@ -224,6 +240,15 @@ public class CacheManagerOptions {
     return this;
   }
 
+  /**
+   * @param pageMetaStoreType
+   * @return the updated options
+   */
+  public CacheManagerOptions setPageMetaStoreType(PageMetaStoreType pageMetaStoreType) {
+    mPageMetaStoreType = pageMetaStoreType;
+    return this;
+  }
+
   /**
    * @param isQuotaEnabled
    * @return the updated options
@@ -26,9 +26,12 @@ import com.codahale.metrics.Counter;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.hash.Funnel;
 import com.google.common.hash.PrimitiveSink;
+import io.netty.buffer.ByteBuf;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 
@@ -61,6 +64,13 @@ public class CacheManagerWithShadowCache implements CacheManager {
     return mCacheManager.put(pageId, page, cacheContext);
   }
 
+  @Override
+  public boolean put(PageId pageId, ByteBuffer page, CacheContext cacheContext,
+      Runnable releasePage) {
+    updateShadowCache(pageId, page.remaining(), cacheContext);
+    return mCacheManager.put(pageId, page, cacheContext, releasePage);
+  }
+
   @Override
   public int get(PageId pageId, int pageOffset, int bytesToRead, ReadTargetBuffer target,
       CacheContext cacheContext) {
@@ -76,6 +86,25 @@ public class CacheManagerWithShadowCache implements CacheManager {
         buffer, cacheContext, externalDataSupplier);
   }
 
+  @Override
+  public int getAndLoadByteBuf(PageId pageId, int pageOffset, int bytesToRead,
+      ReadTargetBuffer buffer, CacheContext cacheContext,
+      Supplier<ByteBuf> externalDataSupplier) {
+    getOrUpdateShadowCache(pageId, bytesToRead, cacheContext);
+    return mCacheManager.getAndLoadByteBuf(pageId, pageOffset, bytesToRead,
+        buffer, cacheContext, externalDataSupplier);
+  }
+
+  @Override
+  public int getAndLoadPages(List<PageId> pageIds, long pageSize, int pageOffset,
+      int bytesToRead, ReadTargetBuffer buffer, CacheContext cacheContext,
+      IntFunction<ByteBuf> externalDataSupplier) {
+    getOrUpdateShadowCache(pageIds.get(0), (int) Math.min(bytesToRead, pageSize - pageOffset),
+        cacheContext);
+    return mCacheManager.getAndLoadPages(pageIds, pageSize, pageOffset, bytesToRead, buffer,
+        cacheContext, externalDataSupplier);
+  }
+
   private void getOrUpdateShadowCache(PageId pageId, int bytesToRead, CacheContext cacheContext) {
     int nread = mShadowCacheManager.get(pageId, bytesToRead, getCacheScope(cacheContext));
     if (nread > 0) {
@@ -135,6 +164,11 @@ public class CacheManagerWithShadowCache implements CacheManager {
     Metrics.SHADOW_CACHE_BYTES.inc(mShadowCacheBytes - oldBytes);
   }
 
+  @Override
+  public boolean hasPage(PageId pageId) {
+    return mCacheManager.hasPage(pageId);
+  }
+
   @Override
   public boolean delete(PageId pageId) {
     return mCacheManager.delete(pageId);
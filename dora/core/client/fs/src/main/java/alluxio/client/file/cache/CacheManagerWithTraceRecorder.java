@@ -0,0 +1,183 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.trace.PageAccessTraceWriter;
+import alluxio.exception.PageNotFoundException;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.network.protocol.databuffer.DataFileChannel;
+
+import io.netty.buffer.ByteBuf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A wrapper class of CacheManager recording the page reads to a trace, which can be replayed
+ * offline to estimate the hit ratio of other cache configurations.
+ */
+public class CacheManagerWithTraceRecorder implements CacheManager {
+  private static final Logger LOG = LoggerFactory.getLogger(CacheManagerWithTraceRecorder.class);
+
+  private final CacheManager mCacheManager;
+  private final PageAccessTraceWriter mTraceWriter;
+  private volatile boolean mRecording = true;
+
+  /**
+   * @param cacheManager the real cache manager
+   * @param traceWriter the writer of the trace, which is closed with this cache manager
+   */
+  public CacheManagerWithTraceRecorder(CacheManager cacheManager,
+      PageAccessTraceWriter traceWriter) {
+    mCacheManager = cacheManager;
+    mTraceWriter = traceWriter;
+  }
+
+  @Override
+  public void commitFile(String fileId) {
+    mCacheManager.commitFile(fileId);
+  }
+
+  @Override
+  public boolean put(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
+    return mCacheManager.put(pageId, page, cacheContext);
+  }
+
+  @Override
+  public boolean put(PageId pageId, ByteBuffer page, CacheContext cacheContext,
+      Runnable releasePage) {
+    return mCacheManager.put(pageId, page, cacheContext, releasePage);
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, ReadTargetBuffer buffer,
+      CacheContext cacheContext) {
+    record(pageId, pageOffset, (int) buffer.remaining());
+    return mCacheManager.get(pageId, pageOffset, buffer, cacheContext);
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ReadTargetBuffer buffer,
+      CacheContext cacheContext) {
+    record(pageId, pageOffset, bytesToRead);
+    return mCacheManager.get(pageId, pageOffset, bytesToRead, buffer, cacheContext);
+  }
+
+  @Override
+  public int getAndLoad(PageId pageId, int pageOffset, int bytesToRead,
+      ReadTargetBuffer buffer, CacheContext cacheContext, Supplier<byte[]> externalDataSupplier) {
+    record(pageId, pageOffset, bytesToRead);
+    return mCacheManager.getAndLoad(pageId, pageOffset, bytesToRead,
+        buffer, cacheContext, externalDataSupplier);
+  }
+
+  @Override
+  public int getAndLoadByteBuf(PageId pageId, int pageOffset, int bytesToRead,
+      ReadTargetBuffer buffer, CacheContext cacheContext,
+      Supplier<ByteBuf> externalDataSupplier) {
+    record(pageId, pageOffset, bytesToRead);
+    return mCacheManager.getAndLoadByteBuf(pageId, pageOffset, bytesToRead,
+        buffer, cacheContext, externalDataSupplier);
+  }
+
+  @Override
+  public int getAndLoadPages(List<PageId> pageIds, long pageSize, int pageOffset,
+      int bytesToRead, ReadTargetBuffer buffer, CacheContext cacheContext,
+      IntFunction<ByteBuf> externalDataSupplier) {
+    record(pageIds.get(0), pageOffset, bytesToRead);
+    return mCacheManager.getAndLoadPages(pageIds, pageSize, pageOffset, bytesToRead, buffer,
+        cacheContext, externalDataSupplier);
+  }
+
+  @Override
+  public Optional<DataFileChannel> getDataFileChannel(PageId pageId, int pageOffset,
+      int bytesToRead, CacheContext cacheContext) throws PageNotFoundException {
+    record(pageId, pageOffset, bytesToRead);
+    return mCacheManager.getDataFileChannel(pageId, pageOffset, bytesToRead, cacheContext);
+  }
+
+  @Override
+  public List<PageId> getCachedPageIdsByFileId(String fileId, long fileLength) {
+    return mCacheManager.getCachedPageIdsByFileId(fileId, fileLength);
+  }
+
+  @Override
+  public boolean hasPage(PageId pageId) {
+    return mCacheManager.hasPage(pageId);
+  }
+
+  @Override
+  public boolean delete(PageId pageId) {
+    return mCacheManager.delete(pageId);
+  }
+
+  @Override
+  public State state() {
+    return mCacheManager.state();
+  }
+
+  @Override
+  public boolean append(PageId pageId, int appendAt, byte[] page, CacheContext cacheContext) {
+    return mCacheManager.append(pageId, appendAt, page, cacheContext);
+  }
+
+  @Override
+  public void invalidate(Predicate<PageInfo> predicate) {
+    mCacheManager.invalidate(predicate);
+  }
+
+  @Override
+  public void deleteFile(String fileId) {
+    mCacheManager.deleteFile(fileId);
+  }
+
+  @Override
+  public void deleteTempFile(String fileId) {
+    mCacheManager.deleteTempFile(fileId);
+  }
+
+  @Override
+  public Optional<CacheUsage> getUsage() {
+    return mCacheManager.getUsage();
+  }
+
+  @Override
+  public void close() throws Exception {
+    try {
+      mTraceWriter.close();
+    } finally {
+      mCacheManager.close();
+    }
+  }
+
+  private void record(PageId pageId, int pageOffset, int bytesToRead) {
+    if (!mRecording) {
+      return;
+    }
+    try {
+      mTraceWriter.record(pageId, pageOffset, bytesToRead);
+    } catch (IOException e) {
+      // a broken trace should not fail reads, so recording stops at the first failure
+      mRecording = false;
+      LOG.warn("Failed to record the access of page {}, stop recording page accesses",
+          pageId, e);
+    }
+  }
+}
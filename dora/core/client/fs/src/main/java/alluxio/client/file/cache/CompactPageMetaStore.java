@@ -0,0 +1,469 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import alluxio.client.file.cache.allocator.Allocator;
+import alluxio.client.file.cache.allocator.HashAllocator;
+import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.quota.CacheScope;
+import alluxio.exception.FileDoesNotExistException;
+import alluxio.exception.PageNotFoundException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A memory efficient implementation of a metadata store for pages stored in cache. Instead of
+ * keeping a {@link PageInfo} and a {@link PageId} object per cached page, file IDs are interned
+ * to int handles and the page metadata is kept in packed primitive arrays indexed by a slot
+ * number. {@link PageInfo}s are only materialized on lookups and are short-lived.
+ * <p>
+ * Pages are keyed by the file handle in the upper 32 bits and the page index in the lower 32
+ * bits, so page indexes must fit in an unsigned 32-bit integer.
+ * <p>
+ * Like {@link DefaultPageMetaStore}, this implementation is not thread safe and requires
+ * synchronizations on external callers by acquiring the associated lock.
+ */
+@NotThreadSafe
+public class CompactPageMetaStore implements PageMetaStore {
+  private static final Logger LOG = LoggerFactory.getLogger(CompactPageMetaStore.class);
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int NO_VALUE = -1;
+  private static final long MAX_PAGE_INDEX = 0xFFFFFFFFL;
+
+  private final ImmutableList<PageStoreDir> mDirs;
+  private final Allocator mAllocator;
+  /** The number of logical bytes used. */
+  private final AtomicLong mBytes = new AtomicLong(0);
+  protected final ReentrantReadWriteLock mLock = new ReentrantReadWriteLock();
+
+  /** Interned file IDs, mapping file IDs to handles and handles back to file IDs. */
+  private final Object2IntOpenHashMap<String> mFileHandles = new Object2IntOpenHashMap<>();
+  private final List<String> mFileIds = new ArrayList<>();
+  /** The slots of the pages of each file, indexed by file handle. */
+  private final List<IntOpenHashSet> mFileSlots = new ArrayList<>();
+  private final IntArrayList mFreeFileHandles = new IntArrayList();
+
+  /** Interned cache scopes. */
+  private final Object2IntOpenHashMap<CacheScope> mScopeHandles = new Object2IntOpenHashMap<>();
+  private final List<CacheScope> mScopes = new ArrayList<>();
+
+  /** A map from the packed page key to its slot. */
+  private final Long2IntOpenHashMap mSlots = new Long2IntOpenHashMap();
+  private final IntArrayList mFreeSlots = new IntArrayList();
+  private int mNextSlot = 0;
+  // Packed page metadata, indexed by slot
+  private long[] mKeys = new long[INITIAL_CAPACITY];
+  private int[] mPageSizes = new int[INITIAL_CAPACITY];
+  private int[] mScopeIndexes = new int[INITIAL_CAPACITY];
+  private byte[] mDirIndexes = new byte[INITIAL_CAPACITY];
+  private long[] mCreatedTimestamps = new long[INITIAL_CAPACITY];
+
+  /**
+   * @param dirs storage directories
+   */
+  public CompactPageMetaStore(List<PageStoreDir> dirs) {
+    this(dirs, new HashAllocator(dirs));
+  }
+
+  /**
+   * @param dirs storage directories
+   * @param allocator storage allocator
+   */
+  public CompactPageMetaStore(List<PageStoreDir> dirs, Allocator allocator) {
+    mDirs = ImmutableList.copyOf(requireNonNull(dirs));
+    Preconditions.checkArgument(mDirs.size() <= Byte.MAX_VALUE,
+        "at most %s page store dirs are supported, got %s", Byte.MAX_VALUE, mDirs.size());
+    mAllocator = requireNonNull(allocator);
+    mFileHandles.defaultReturnValue(NO_VALUE);
+    mScopeHandles.defaultReturnValue(NO_VALUE);
+    mSlots.defaultReturnValue(NO_VALUE);
+    //metrics for the num of pages stored in the cache
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.CLIENT_CACHE_PAGES.getName(),
+        mSlots::size);
+  }
+
+  @Override
+  public ReentrantReadWriteLock getLock() {
+    return mLock;
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public boolean hasPage(PageId pageId) {
+    return findSlot(pageId) != NO_VALUE;
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public void addPage(PageId pageId, PageInfo pageInfo) {
+    addPageInternal(pageId, pageInfo);
+    pageInfo.getLocalCacheDir().putPage(pageInfo);
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public void addTempPage(PageId pageId, PageInfo pageInfo) {
+    addPageInternal(pageId, pageInfo);
+    pageInfo.getLocalCacheDir().putTempPage(pageInfo);
+  }
+
+  private void addPageInternal(PageId pageId, PageInfo pageInfo) {
+    Preconditions.checkArgument(pageId.equals(pageInfo.getPageId()), "page id mismatch");
+    Preconditions.checkArgument(pageInfo.getPageSize() <= Integer.MAX_VALUE,
+        "page size %s is too large", pageInfo.getPageSize());
+    int fileHandle = internFileId(pageId.getFileId());
+    long key = key(fileHandle, pageId.getPageIndex());
+    int slot = mSlots.get(key);
+    if (slot == NO_VALUE) {
+      slot = allocateSlot();
+      mSlots.put(key, slot);
+      mFileSlots.get(fileHandle).add(slot);
+    } else {
+      mBytes.addAndGet(-mPageSizes[slot]);
+      Metrics.SPACE_USED.dec(mPageSizes[slot]);
+    }
+    mKeys[slot] = key;
+    mPageSizes[slot] = (int) pageInfo.getPageSize();
+    mScopeIndexes[slot] = internScope(pageInfo.getScope());
+    mDirIndexes[slot] = (byte) dirIndex(pageInfo.getLocalCacheDir());
+    mCreatedTimestamps[slot] = pageInfo.getCreatedTimestamp();
+    mBytes.addAndGet(pageInfo.getPageSize());
+    Metrics.SPACE_USED.inc(pageInfo.getPageSize());
+  }
+
+  @Override
+  @GuardedBy("getLock().writeLock()")
+  public void commitFile(String fileId, String newFileId) throws PageNotFoundException {
+    int fileHandle = mFileHandles.getInt(fileId);
+    if (fileHandle == NO_VALUE || mFileSlots.get(fileHandle).isEmpty()) {
+      throw new PageNotFoundException(
+          String.format("No Pages found for file %s when committing", fileId));
+    }
+    int newFileHandle = internFileId(newFileId);
+    IntOpenHashSet slots = mFileSlots.get(fileHandle);
+    IntOpenHashSet newSlots = mFileSlots.get(newFileHandle);
+    for (IntIterator it = slots.iterator(); it.hasNext(); ) {
+      int slot = it.nextInt();
+      long newKey = key(newFileHandle, pageIndex(mKeys[slot]));
+      mSlots.remove(mKeys[slot]);
+      int replaced = mSlots.put(newKey, slot);
+      if (replaced != NO_VALUE) {
+        // the committed page overrides an existing page of the new file
+        newSlots.remove(replaced);
+        mBytes.addAndGet(-mPageSizes[replaced]);
+        Metrics.SPACE_USED.dec(mPageSizes[replaced]);
+        freeSlot(replaced);
+      }
+      mKeys[slot] = newKey;
+      newSlots.add(slot);
+    }
+    slots.clear();
+    releaseFileHandleIfEmpty(fileHandle);
+  }
+
+  @Override
+  public PageStoreDir getStoreDirOfFile(String fileId) throws FileDoesNotExistException {
+    int fileHandle = mFileHandles.getInt(fileId);
+    if (fileHandle == NO_VALUE || mFileSlots.get(fileHandle).isEmpty()) {
+      throw new FileDoesNotExistException(String.format("File %s does not exist in cache", fileId));
+    }
+    return mDirs.get(mDirIndexes[mFileSlots.get(fileHandle).iterator().nextInt()]);
+  }
+
+  @Override
+  public List<PageStoreDir> getStoreDirs() {
+    return mDirs;
+  }
+
+  @Override
+  public PageStoreDir allocate(String fileId, long fileLength) {
+    return mAllocator.allocate(fileId, fileLength);
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public PageInfo getPageInfo(PageId pageId) throws PageNotFoundException {
+    int slot = findSlot(pageId);
+    if (slot == NO_VALUE) {
+      throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
+    }
+    PageInfo pageInfo = toPageInfo(pageId, slot);
+    pageInfo.getLocalCacheDir().getEvictor().updateOnGet(pageId);
+    return pageInfo;
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public PageInfo removePage(PageId pageId, boolean isTemporary) throws PageNotFoundException {
+    int slot = findSlot(pageId);
+    if (slot == NO_VALUE) {
+      throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
+    }
+    PageInfo pageInfo = toPageInfo(pageId, slot);
+    int fileHandle = fileHandle(mKeys[slot]);
+    mSlots.remove(mKeys[slot]);
+    mFileSlots.get(fileHandle).remove(slot);
+    releaseFileHandleIfEmpty(fileHandle);
+    freeSlot(slot);
+    mBytes.addAndGet(-pageInfo.getPageSize());
+    Metrics.SPACE_USED.dec(pageInfo.getPageSize());
+    if (isTemporary) {
+      pageInfo.getLocalCacheDir().deleteTempPage(pageInfo);
+    } else {
+      pageInfo.getLocalCacheDir().deletePage(pageInfo);
+    }
+    return pageInfo;
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public PageInfo removePage(PageId pageId) throws PageNotFoundException {
+    return removePage(pageId, false);
+  }
+
+  @Override
+  public long bytes() {
+    return mBytes.get();
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public long numPages() {
+    return mSlots.size();
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public void reset() {
+    mBytes.set(0);
+    Metrics.SPACE_USED.dec(Metrics.SPACE_USED.getCount());
+    mFileHandles.clear();
+    mFileIds.clear();
+    mFileSlots.clear();
+    mFreeFileHandles.clear();
+    mSlots.clear();
+    mFreeSlots.clear();
+    mNextSlot = 0;
+  }
+
+  @Override
+  @Nullable
+  @GuardedBy("getLock()")
+  public PageInfo evict(CacheScope scope, PageStoreDir pageStoreDir) {
+    CacheEvictor evictor = pageStoreDir.getEvictor();
+    PageId victim = evictor.evict();
+    if (victim == null) {
+      return null;
+    }
+    int slot = findSlot(victim);
+    if (slot == NO_VALUE) {
+      LOG.error("Invalid result returned by evictor: page {} not available", victim);
+      evictor.updateOnDelete(victim);
+      return null;
+    }
+    return toPageInfo(victim, slot);
+  }
+
+  @Override
+  @GuardedBy("getLock().readLock()")
+  public Set<PageInfo> getAllPagesByFileId(String fileId) {
+    int fileHandle = mFileHandles.getInt(fileId);
+    if (fileHandle == NO_VALUE) {
+      return new HashSet<>();
+    }
+    IntOpenHashSet slots = mFileSlots.get(fileHandle);
+    Set<PageInfo> pages = new HashSet<>(slots.size());
+    for (IntIterator it = slots.iterator(); it.hasNext(); ) {
+      int slot = it.nextInt();
+      pages.add(toPageInfo(new PageId(fileId, pageIndex(mKeys[slot])), slot));
+    }
+    return pages;
+  }
+
+  @Override
+  public Optional<CacheUsage> getUsage() {
+    return Optional.of(new Usage());
+  }
+
+  private static long key(int fileHandle, long pageIndex) {
+    Preconditions.checkArgument(pageIndex >= 0 && pageIndex <= MAX_PAGE_INDEX,
+        "page index %s is out of range", pageIndex);
+    return ((long) fileHandle << 32) | pageIndex;
+  }
+
+  private static int fileHandle(long key) {
+    return (int) (key >>> 32);
+  }
+
+  private static long pageIndex(long key) {
+    return key & MAX_PAGE_INDEX;
+  }
+
+  private int findSlot(PageId pageId) {
+    int fileHandle = mFileHandles.getInt(pageId.getFileId());
+    if (fileHandle == NO_VALUE
+        || pageId.getPageIndex() < 0 || pageId.getPageIndex() > MAX_PAGE_INDEX) {
+      return NO_VALUE;
+    }
+    return mSlots.get(key(fileHandle, pageId.getPageIndex()));
+  }
+
+  private PageInfo toPageInfo(PageId pageId, int slot) {
+    return new PageInfo(pageId, mPageSizes[slot], mScopes.get(mScopeIndexes[slot]),
+        mDirs.get(mDirIndexes[slot]), mCreatedTimestamps[slot]);
+  }
+
+  private int internFileId(String fileId) {
+    int fileHandle = mFileHandles.getInt(fileId);
+    if (fileHandle != NO_VALUE) {
+      return fileHandle;
+    }
+    if (mFreeFileHandles.isEmpty()) {
+      fileHandle = mFileIds.size();
+      mFileIds.add(fileId);
+      mFileSlots.add(new IntOpenHashSet());
+    } else {
+      fileHandle = mFreeFileHandles.popInt();
+      mFileIds.set(fileHandle, fileId);
+      mFileSlots.set(fileHandle, new IntOpenHashSet());
+    }
+    mFileHandles.put(fileId, fileHandle);
+    return fileHandle;
+  }
+
+  private void releaseFileHandleIfEmpty(int fileHandle) {
+    if (!mFileSlots.get(fileHandle).isEmpty()) {
+      return;
+    }
+    mFileHandles.removeInt(mFileIds.get(fileHandle));
+    mFileIds.set(fileHandle, null);
+    mFileSlots.set(fileHandle, null);
+    mFreeFileHandles.add(fileHandle);
+  }
+
+  private int internScope(CacheScope scope) {
+    int scopeHandle = mScopeHandles.getInt(scope);
+    if (scopeHandle == NO_VALUE) {
+      scopeHandle = mScopes.size();
+      mScopes.add(scope);
+      mScopeHandles.put(scope, scopeHandle);
+    }
+    return scopeHandle;
+  }
+
+  private int dirIndex(PageStoreDir dir) {
+    for (int i = 0; i < mDirs.size(); i++) {
+      if (mDirs.get(i) == dir) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException(
+        String.format("Page store dir %s is not managed by this meta store", dir.getRootPath()));
+  }
+
+  private int allocateSlot() {
+    if (!mFreeSlots.isEmpty()) {
+      return mFreeSlots.popInt();
+    }
+    if (mNextSlot == mKeys.length) {
+      int capacity = mKeys.length * 2;
+      mKeys = Arrays.copyOf(mKeys, capacity);
+      mPageSizes = Arrays.copyOf(mPageSizes, capacity);
+      mScopeIndexes = Arrays.copyOf(mScopeIndexes, capacity);
+      mDirIndexes = Arrays.copyOf(mDirIndexes, capacity);
+      mCreatedTimestamps = Arrays.copyOf(mCreatedTimestamps, capacity);
+    }
+    return mNextSlot++;
+  }
+
+  private void freeSlot(int slot) {
+    mFreeSlots.add(slot);
+  }
+
+  class Usage implements CacheUsage {
+
+    @Override
+    public long used() {
+      return bytes();
+    }
+
+    @Override
+    public long available() {
+      return capacity() - used();
+    }
+
+    @Override
+    public long capacity() {
+      return mDirs.stream().mapToLong(PageStoreDir::getCapacityBytes).sum();
+    }
+
+    @Override
+    public Optional<CacheUsage> partitionedBy(PartitionDescriptor<?> partition) {
+      if (partition instanceof FilePartition) {
+        String fileId = ((FilePartition) partition).getIdentifier();
+        long used = 0;
+        int fileHandle = mFileHandles.getInt(fileId);
+        if (fileHandle != NO_VALUE) {
+          for (IntIterator it = mFileSlots.get(fileHandle).iterator(); it.hasNext(); ) {
+            used += mPageSizes[it.nextInt()];
+          }
+        }
+        long capacity = capacity();
+        long available = capacity - bytes();
+        return Optional.of(new ImmutableCacheUsageView(used, available, capacity));
+      }
+      if (partition instanceof DirPartition) {
+        int dirIndex = ((DirPartition) partition).getIdentifier();
+        if (dirIndex < 0 || dirIndex >= mDirs.size()) {
+          return Optional.empty();
+        }
+        return mDirs.get(dirIndex).getUsage();
+      }
+      return Optional.empty();
+    }
+  }
+
+  private static final class Metrics {
+    // Note that only counter can be added here.
+    // Both meter and timer need to be used inline
+    // because new meter and timer will be created after {@link MetricsSystem.resetAllMetrics()}
+    /** Bytes used in the cache. */
+    private static final Counter SPACE_USED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_SPACE_USED_COUNT.getName());
+  }
+}
@@ -0,0 +1,350 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import alluxio.client.file.cache.allocator.Allocator;
+import alluxio.client.file.cache.allocator.HashAllocator;
+import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.quota.CacheScope;
+import alluxio.exception.FileDoesNotExistException;
+import alluxio.exception.PageNotFoundException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A metadata store for pages stored in cache, backed by concurrent page and file indexes.
+ * <p>
+ * Unlike {@link DefaultPageMetaStore}, lookups are safe without external synchronization, so the
+ * read lock returned by {@link #getLock()} is a no-op and cache hits never contend on a global
+ * lock. Mutations are still serialized by the write lock so that space accounting and eviction
+ * decisions made by callers stay consistent. Callers are expected to hold the corresponding page
+ * lock, as done by {@link LocalCacheManager}, which orders lookups and mutations of the same page.
+ */
+@ThreadSafe
+public class ConcurrentPageMetaStore implements PageMetaStore {
+  private static final Logger LOG = LoggerFactory.getLogger(ConcurrentPageMetaStore.class);
+  /** A map from PageId to page info. */
+  private final ConcurrentHashMap<PageId, PageInfo> mPages = new ConcurrentHashMap<>();
+  /** A map from file ID to the pages of the file. */
+  private final ConcurrentHashMap<String, Set<PageInfo>> mFiles = new ConcurrentHashMap<>();
+  private final ImmutableList<PageStoreDir> mDirs;
+  /** The number of logical bytes used, striped to avoid contention between writers. */
+  private final LongAdder mBytes = new LongAdder();
+  private final ReadBypassLock mLock = new ReadBypassLock();
+  private final Allocator mAllocator;
+
+  /**
+   * @param dirs storage directories
+   */
+  public ConcurrentPageMetaStore(List<PageStoreDir> dirs) {
+    this(dirs, new HashAllocator(dirs));
+  }
+
+  /**
+   * @param dirs storage directories
+   * @param allocator storage allocator
+   */
+  public ConcurrentPageMetaStore(List<PageStoreDir> dirs, Allocator allocator) {
+    mDirs = ImmutableList.copyOf(requireNonNull(dirs));
+    mAllocator = requireNonNull(allocator);
+    //metrics for the num of pages stored in the cache
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.CLIENT_CACHE_PAGES.getName(),
+        mPages::size);
+  }
+
+  @Override
+  public ReadWriteLock getLock() {
+    return mLock;
+  }
+
+  @Override
+  public boolean hasPage(PageId pageId) {
+    return mPages.containsKey(pageId);
+  }
+
+  @Override
+  @GuardedBy("getLock().writeLock()")
+  public void addPage(PageId pageId, PageInfo pageInfo) {
+    addPageInternal(pageId, pageInfo);
+    pageInfo.getLocalCacheDir().putPage(pageInfo);
+  }
+
+  @Override
+  @GuardedBy("getLock().writeLock()")
+  public void addTempPage(PageId pageId, PageInfo pageInfo) {
+    addPageInternal(pageId, pageInfo);
+    pageInfo.getLocalCacheDir().putTempPage(pageInfo);
+  }
+
+  private void addPageInternal(PageId pageId, PageInfo pageInfo) {
+    Preconditions.checkArgument(pageId.equals(pageInfo.getPageId()), "page id mismatch");
+    PageInfo previous = mPages.put(pageId, pageInfo);
+    if (previous != null) {
+      removeFromFileIndex(previous);
+      mBytes.add(-previous.getPageSize());
+      Metrics.SPACE_USED.dec(previous.getPageSize());
+    }
+    mFiles.computeIfAbsent(pageId.getFileId(), k -> ConcurrentHashMap.newKeySet()).add(pageInfo);
+    mBytes.add(pageInfo.getPageSize());
+    Metrics.SPACE_USED.inc(pageInfo.getPageSize());
+  }
+
+  private void removeFromFileIndex(PageInfo pageInfo) {
+    mFiles.computeIfPresent(pageInfo.getPageId().getFileId(), (fileId, pages) -> {
+      pages.remove(pageInfo);
+      return pages.isEmpty() ? null : pages;
+    });
+  }
+
+  @Override
+  @GuardedBy("getLock().writeLock()")
+  public void commitFile(String fileId, String newFileId) throws PageNotFoundException {
+    Set<PageInfo> pages = mFiles.remove(fileId);
+    if (pages == null || pages.isEmpty()) {
+      throw new PageNotFoundException(
+          String.format("No Pages found for file %s when committing", fileId));
+    }
+    Set<PageInfo> newPages =
+        mFiles.computeIfAbsent(newFileId, k -> ConcurrentHashMap.newKeySet());
+    for (PageInfo oldPage : pages) {
+      PageId newPageId = new PageId(newFileId, oldPage.getPageId().getPageIndex());
+      PageInfo newPageInfo = new PageInfo(newPageId, oldPage.getPageSize(), oldPage.getScope(),
+          oldPage.getLocalCacheDir());
+      mPages.remove(oldPage.getPageId());
+      mPages.put(newPageId, newPageInfo);
+      newPages.add(newPageInfo);
+    }
+  }
+
+  @Override
+  public PageStoreDir getStoreDirOfFile(String fileId) throws FileDoesNotExistException {
+    Set<PageInfo> pages = mFiles.get(fileId);
+    if (pages != null) {
+      Iterator<PageInfo> iterator = pages.iterator();
+      if (iterator.hasNext()) {
+        return iterator.next().getLocalCacheDir();
+      }
+    }
+    throw new FileDoesNotExistException(String.format("File %s does not exist in cache", fileId));
+  }
+
+  @Override
+  public List<PageStoreDir> getStoreDirs() {
+    return mDirs;
+  }
+
+  @Override
+  public PageStoreDir allocate(String fileId, long fileLength) {
+    return mAllocator.allocate(fileId, fileLength);
+  }
+
+  @Override
+  public PageInfo getPageInfo(PageId pageId) throws PageNotFoundException {
+    PageInfo pageInfo = mPages.get(pageId);
+    if (pageInfo == null) {
+      throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
+    }
+    pageInfo.getLocalCacheDir().getEvictor().updateOnGet(pageId);
+    return pageInfo;
+  }
+
+  @Override
+  @GuardedBy("getLock().writeLock()")
+  public PageInfo removePage(PageId pageId, boolean isTemporary) throws PageNotFoundException {
+    PageInfo pageInfo = mPages.remove(pageId);
+    if (pageInfo == null) {
+      throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
+    }
+    removeFromFileIndex(pageInfo);
+    mBytes.add(-pageInfo.getPageSize());
+    Metrics.SPACE_USED.dec(pageInfo.getPageSize());
+    if (isTemporary) {
+      pageInfo.getLocalCacheDir().deleteTempPage(pageInfo);
+    } else {
+      pageInfo.getLocalCacheDir().deletePage(pageInfo);
+    }
+    return pageInfo;
+  }
+
+  @Override
+  @GuardedBy("getLock().writeLock()")
+  public PageInfo removePage(PageId pageId) throws PageNotFoundException {
+    return removePage(pageId, false);
+  }
+
+  @Override
+  public long bytes() {
+    return mBytes.sum();
+  }
+
+  @Override
+  public long numPages() {
+    return mPages.size();
+  }
+
+  @Override
+  @GuardedBy("getLock().writeLock()")
+  public void reset() {
+    mBytes.reset();
+    Metrics.SPACE_USED.dec(Metrics.SPACE_USED.getCount());
+    mPages.clear();
+    mFiles.clear();
+  }
+
+  @Override
+  @Nullable
+  @GuardedBy("getLock().writeLock()")
+  public PageInfo evict(CacheScope scope, PageStoreDir pageStoreDir) {
+    CacheEvictor evictor = pageStoreDir.getEvictor();
+    PageId victim = evictor.evict();
+    if (victim == null) {
+      return null;
+    }
+    PageInfo victimInfo = mPages.get(victim);
+    if (victimInfo == null) {
+      LOG.error("Invalid result returned by evictor: page {} not available", victim);
+      evictor.updateOnDelete(victim);
+      return null;
+    }
+    return victimInfo;
+  }
+
+  @Override
+  public Set<PageInfo> getAllPagesByFileId(String fileId) {
+    Set<PageInfo> pages = mFiles.get(fileId);
+    return pages == null ? ImmutableSet.of() : ImmutableSet.copyOf(pages);
+  }
+
+  @Override
+  public Optional<CacheUsage> getUsage() {
+    return Optional.of(new Usage());
+  }
+
+  class Usage implements CacheUsage {
+
+    @Override
+    public long used() {
+      return bytes();
+    }
+
+    @Override
+    public long available() {
+      return capacity() - used();
+    }
+
+    @Override
+    public long capacity() {
+      return mDirs.stream().mapToLong(PageStoreDir::getCapacityBytes).sum();
+    }
+
+    @Override
+    public Optional<CacheUsage> partitionedBy(PartitionDescriptor<?> partition) {
+      if (partition instanceof FilePartition) {
+        String fileId = ((FilePartition) partition).getIdentifier();
+        long used = getAllPagesByFileId(fileId).stream().mapToLong(PageInfo::getPageSize).sum();
+        long capacity = capacity();
+        long available = capacity - bytes();
+        return Optional.of(new ImmutableCacheUsageView(used, available, capacity));
+      }
+      if (partition instanceof DirPartition) {
+        int dirIndex = ((DirPartition) partition).getIdentifier();
+        if (dirIndex < 0 || dirIndex >= mDirs.size()) {
+          return Optional.empty();
+        }
+        return mDirs.get(dirIndex).getUsage();
+      }
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * A read write lock whose read lock is a no-op, as lookups do not need to be guarded. The write
+   * lock is exclusive among writers only.
+   */
+  private static final class ReadBypassLock implements ReadWriteLock {
+    private final Lock mReadLock = new NoopLock();
+    private final Lock mWriteLock = new ReentrantLock();
+
+    @Override
+    public Lock readLock() {
+      return mReadLock;
+    }
+
+    @Override
+    public Lock writeLock() {
+      return mWriteLock;
+    }
+  }
+
+  /**
+   * A lock which is always available.
+   */
+  private static final class NoopLock implements Lock {
+    @Override
+    public void lock() {}
+
+    @Override
+    public void lockInterruptibly() {}
+
+    @Override
+    public boolean tryLock() {
+      return true;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) {
+      return true;
+    }
+
+    @Override
+    public void unlock() {}
+
+    @Override
+    public Condition newCondition() {
+      throw new UnsupportedOperationException("newCondition is not supported");
+    }
+  }
+
+  private static final class Metrics {
+    // Note that only counter can be added here.
+    // Both meter and timer need to be used inline
+    // because new meter and timer will be created after {@link MetricsSystem.resetAllMetrics()}
+    /** Bytes used in the cache. */
+    private static final Counter SPACE_USED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_SPACE_USED_COUNT.getName());
+  }
+}
@@ -38,6 +38,8 @@ import alluxio.resource.LockResource;
 import com.codahale.metrics.Counter;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,6 +50,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
@@ -55,9 +61,11 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
@@ -107,6 +115,12 @@ public class LocalCacheManager implements CacheManager {
   /** Executor service for execute the cache ttl check tasks. */
   private final Optional<ScheduledExecutorService> mTtlEnforcerExecutor;
   private final ConcurrentHashSet<PageId> mPendingRequests;
+  /**
+   * Pages being loaded from external storage on cache misses, used to coalesce concurrent loads of
+   * the same page.
+   */
+  private final ConcurrentHashMap<PageId, CompletableFuture<LoadedPage>> mInflightLoads =
+      new ConcurrentHashMap<>();
   /**
    * State of this cache.
    */
@@ -313,15 +327,27 @@ public class LocalCacheManager implements CacheManager {
 
   @Override
   public boolean put(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
+    return put(pageId, page, cacheContext, () -> { });
+  }
+
+  @Override
+  public boolean put(PageId pageId, ByteBuffer page, CacheContext cacheContext,
+      Runnable releasePage) {
     LOG.debug("put({},{} bytes) enters", pageId, page.remaining());
     if (mState.get() != READ_WRITE) {
       Metrics.PUT_NOT_READY_ERRORS.inc();
       Metrics.PUT_ERRORS.inc();
+      releasePage.run();
       return false;
     }
     int originPosition = page.position();
     if (!mOptions.isAsyncWriteEnabled()) {
-      boolean ok = putInternal(pageId, page, cacheContext);
+      boolean ok;
+      try {
+        ok = putInternal(pageId, page, cacheContext);
+      } finally {
+        releasePage.run();
+      }
       LOG.debug("put({},{} bytes) exits: {}", pageId, page.position() - originPosition, ok);
       if (!ok) {
         Metrics.PUT_ERRORS.inc();
@@ -330,6 +356,7 @@ public class LocalCacheManager implements CacheManager {
     }
 
     if (!mPendingRequests.add(pageId)) { // already queued
+      releasePage.run();
       return false;
     }
     try {
@@ -341,12 +368,14 @@ public class LocalCacheManager implements CacheManager {
           }
         } finally {
           mPendingRequests.remove(pageId);
+          releasePage.run();
         }
       });
     } catch (RejectedExecutionException e) { // queue is full, skip
       // RejectedExecutionException may be thrown in extreme cases when the
       // highly concurrent caching workloads. In these cases, return false
       mPendingRequests.remove(pageId);
+      releasePage.run();
       Metrics.PUT_ASYNC_REJECTION_ERRORS.inc();
       Metrics.PUT_ERRORS.inc();
       LOG.debug("put({},{} bytes) fails due to full queue", pageId,
@@ -634,6 +663,14 @@ public class LocalCacheManager implements CacheManager {
   @Override
   public int getAndLoad(PageId pageId, int pageOffset, int bytesToRead, ReadTargetBuffer buffer,
                         CacheContext cacheContext, Supplier<byte[]> externalDataSupplier) {
+    return getAndLoadByteBuf(pageId, pageOffset, bytesToRead, buffer, cacheContext,
+        () -> Unpooled.wrappedBuffer(externalDataSupplier.get()));
+  }
+
+  @Override
+  public int getAndLoadByteBuf(PageId pageId, int pageOffset, int bytesToRead,
+      ReadTargetBuffer buffer, CacheContext cacheContext,
+      Supplier<ByteBuf> externalDataSupplier) {
     int bytesRead = get(pageId, pageOffset,
         bytesToRead, buffer, cacheContext);
     if (bytesRead > 0) {
@@ -642,27 +679,147 @@ public class LocalCacheManager implements CacheManager {
     // on local cache miss, read a complete page from external storage. This will always make
     // progress or throw an exception
     // Note that we cannot synchronize on the new page, as this will cause deadlock due to
-    // incompatible lock order within putAttempt
-    // Not synchronizing may cause the same page to be read multiple times from UFS by two or more
-    // concurrent requests,
-    // but this is acceptable, and is expected to be rare as long as the number of striping locks
-    // is big enough
+    // incompatible lock order within putAttempt. Instead, concurrent misses on the same page are
+    // coalesced through mInflightLoads without holding any page lock, so only one of them reads
+    // the page from external storage and the others wait for its result (or its error)
+    CompletableFuture<LoadedPage> inflightLoad = new CompletableFuture<>();
+    CompletableFuture<LoadedPage> existingLoad = mInflightLoads.putIfAbsent(pageId, inflightLoad);
     long startTime = System.nanoTime();
-    byte[] page = externalDataSupplier.get();
-    long timeElapse = System.nanoTime() - startTime;
-    buffer.writeBytes(page, pageOffset, bytesToRead);
-    MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getName())
-        .mark(bytesToRead);
-    cacheContext.incrementCounter(
-        MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getMetricName(), BYTE,
-        bytesToRead);
-    cacheContext.incrementCounter(
-        MetricKey.CLIENT_CACHE_PAGE_READ_EXTERNAL_TIME_NS.getMetricName(), NANO,
-        timeElapse);
-    put(pageId, page, cacheContext);
+    LoadedPage page;
+    if (existingLoad != null) {
+      Metrics.GET_AND_LOAD_COALESCED.inc();
+      page = waitForInflightLoad(existingLoad);
+      if (!page.retain()) {
+        // the page got cached and its buffer released before we could read it, start over
+        return getAndLoadByteBuf(pageId, pageOffset, bytesToRead, buffer, cacheContext,
+            externalDataSupplier);
+      }
+    } else {
+      try {
+        page = new LoadedPage(externalDataSupplier.get());
+        inflightLoad.complete(page);
+      } catch (Throwable t) {
+        inflightLoad.completeExceptionally(t);
+        mInflightLoads.remove(pageId, inflightLoad);
+        throw t;
+      }
+    }
+    try {
+      long timeElapse = System.nanoTime() - startTime;
+      ByteBuf data = page.getData();
+      buffer.writeBytes(data.slice(data.readerIndex() + pageOffset, bytesToRead));
+      MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getName())
+          .mark(bytesToRead);
+      cacheContext.incrementCounter(
+          MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getMetricName(), BYTE,
+          bytesToRead);
+      cacheContext.incrementCounter(
+          MetricKey.CLIENT_CACHE_PAGE_READ_EXTERNAL_TIME_NS.getMetricName(), NANO,
+          timeElapse);
+      if (existingLoad == null) {
+        // keep the load registered until the page is put, so that late comers are served from
+        // the loaded page instead of issuing another external read
+        try {
+          Preconditions.checkState(page.retain());
+          put(pageId, data.nioBuffer(), cacheContext, page::release);
+        } finally {
+          mInflightLoads.remove(pageId, inflightLoad);
+        }
+      }
+    } finally {
+      page.release();
+    }
     return bytesToRead;
   }
 
+  @Override
+  public int getAndLoadPages(List<PageId> pageIds, long pageSize, int pageOffset,
+      int bytesToRead, ReadTargetBuffer buffer, CacheContext cacheContext,
+      IntFunction<ByteBuf> externalDataSupplier) {
+    int bytesRead = get(pageIds.get(0), pageOffset,
+        (int) Math.min(bytesToRead, pageSize - pageOffset), buffer, cacheContext);
+    if (bytesRead > 0) {
+      return bytesRead;
+    }
+    // registers the loads of the pages of the run in mInflightLoads like getAndLoadByteBuf does,
+    // up to the first page which is already being loaded by someone else
+    List<CompletableFuture<LoadedPage>> loads = new ArrayList<>(pageIds.size());
+    for (PageId pageId : pageIds) {
+      CompletableFuture<LoadedPage> load = new CompletableFuture<>();
+      if (mInflightLoads.putIfAbsent(pageId, load) != null) {
+        break;
+      }
+      loads.add(load);
+    }
+    if (loads.isEmpty()) {
+      // waits for the load of the first page
+      return getAndLoadByteBuf(pageIds.get(0), pageOffset,
+          (int) Math.min(bytesToRead, pageSize - pageOffset), buffer, cacheContext,
+          () -> externalDataSupplier.apply(1));
+    }
+    long startTime = System.nanoTime();
+    ByteBuf run = null;
+    List<LoadedPage> pages = new ArrayList<>(loads.size());
+    try {
+      run = externalDataSupplier.apply(loads.size());
+      for (int i = 0; i < loads.size(); i++) {
+        int pageStart = (int) (i * pageSize);
+        LoadedPage page = new LoadedPage(run.retainedSlice(run.readerIndex() + pageStart,
+            (int) Math.min(pageSize, run.readableBytes() - pageStart)));
+        pages.add(page);
+        loads.get(i).complete(page);
+      }
+      long timeElapse = System.nanoTime() - startTime;
+      bytesRead = Math.min(bytesToRead, run.readableBytes() - pageOffset);
+      buffer.writeBytes(run.slice(run.readerIndex() + pageOffset, bytesRead));
+      MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getName())
+          .mark(bytesRead);
+      cacheContext.incrementCounter(
+          MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getMetricName(), BYTE, bytesRead);
+      cacheContext.incrementCounter(
+          MetricKey.CLIENT_CACHE_PAGE_READ_EXTERNAL_TIME_NS.getMetricName(), NANO, timeElapse);
+      for (int i = 0; i < loads.size(); i++) {
+        LoadedPage page = pages.get(i);
+        Preconditions.checkState(page.retain());
+        put(pageIds.get(i), page.getData().nioBuffer(), cacheContext, page::release);
+        mInflightLoads.remove(pageIds.get(i), loads.get(i));
+      }
+      return bytesRead;
+    } catch (Throwable t) {
+      for (int i = 0; i < loads.size(); i++) {
+        loads.get(i).completeExceptionally(t);
+        mInflightLoads.remove(pageIds.get(i), loads.get(i));
+      }
+      throw t;
+    } finally {
+      if (run != null) {
+        run.release();
+      }
+      pages.forEach(LoadedPage::release);
+    }
+  }
+
+  /**
+   * Waits for a page being loaded by another thread.
+   *
+   * @param inflightLoad the in-flight load of the page
+   * @return the loaded page
+   */
+  private static LoadedPage waitForInflightLoad(CompletableFuture<LoadedPage> inflightLoad) {
+    try {
+      return inflightLoad.join();
+    } catch (CompletionException | CancellationException e) {
+      Throwable cause = e.getCause() == null ? e : e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new RuntimeException(cause);
+    }
+  }
+
   /**
    * delete the specified page.
    *
@@ -828,6 +985,13 @@ public class LocalCacheManager implements CacheManager {
     return pageIds;
   }
 
+  @Override
+  public boolean hasPage(PageId pageId) {
+    try (LockResource r = new LockResource(mPageMetaStore.getLock().readLock())) {
+      return mPageMetaStore.hasPage(pageId);
+    }
+  }
+
   @Override
   public void deleteFile(String fileId) {
     Set<PageInfo> pages;
@@ -946,6 +1110,45 @@ public class LocalCacheManager implements CacheManager {
     }
   }
 
+  /**
+   * A page loaded from external storage, shared by the readers of the page until it is cached.
+   * The buffer holding the page is released once all of them are done with it, so that pooled
+   * buffers can be recycled.
+   */
+  private static final class LoadedPage {
+    private final ByteBuf mData;
+    private final AtomicInteger mRefCount = new AtomicInteger(1);
+
+    LoadedPage(ByteBuf data) {
+      mData = data;
+    }
+
+    ByteBuf getData() {
+      return mData;
+    }
+
+    /**
+     * @return false if the page is already released
+     */
+    boolean retain() {
+      while (true) {
+        int count = mRefCount.get();
+        if (count <= 0) {
+          return false;
+        }
+        if (mRefCount.compareAndSet(count, count + 1)) {
+          return true;
+        }
+      }
+    }
+
+    void release() {
+      if (mRefCount.decrementAndGet() == 0) {
+        mData.release();
+      }
+    }
+  }
+
   private static final class Metrics {
     // Note that only counter/guage can be added here.
     // Both meter and timer need to be used inline
@@ -995,6 +1198,11 @@ public class LocalCacheManager implements CacheManager {
      */
     private static final Counter GET_NOT_READY_ERRORS =
         MetricsSystem.counter(MetricKey.CLIENT_CACHE_GET_NOT_READY_ERRORS.getName());
+    /**
+     * Cache misses served by a load of the same page issued by another thread.
+     */
+    private static final Counter GET_AND_LOAD_COALESCED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_LOADS_COALESCED.getName());
     /**
      * Errors when getting pages due to failed read from page stores.
      */
@@ -26,13 +26,17 @@ import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.network.protocol.databuffer.DataFileChannel;
+import alluxio.network.protocol.databuffer.PooledDirectNioByteBuf;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
 import com.google.common.base.Ticker;
+import io.netty.buffer.ByteBuf;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -60,6 +64,14 @@ public class LocalCachePositionReader implements PositionReader {
   private final CloseableSupplier<PositionReader> mFallbackReader;
   private final FileId mFileId;
   private final long mFileSize;
+  /**
+   * Max size of a single external read loading consecutive missing pages.
+   */
+  private final long mMaxCoalescedReadSize;
+  /**
+   * End position of the last read, to detect sequential reads.
+   */
+  private volatile long mLastReadEnd = -1;
   private volatile boolean mClosed;
 
   /**
@@ -82,7 +94,8 @@ public class LocalCachePositionReader implements PositionReader {
         ? new AlluxioURI(status.getUfsPath()).hash() :
         Long.toString(status.getFileId());
     return LocalCachePositionReader.create(cacheManager, fallbackReader,
-        FileId.of(fileId), status.getLength(), pageSize, cacheContext);
+        FileId.of(fileId), status.getLength(), pageSize, cacheContext,
+        conf.getBytes(PropertyKey.USER_CLIENT_CACHE_COALESCED_READ_SIZE_MAX));
   }
 
   /**
@@ -98,19 +111,41 @@ public class LocalCachePositionReader implements PositionReader {
                                                 CloseableSupplier<PositionReader> fallbackReader,
                                                 FileId fileId, long fileSize, long pageSize,
                                                 CacheContext cacheContext) {
+    return create(cacheManager, fallbackReader, fileId, fileSize, pageSize, cacheContext,
+        pageSize);
+  }
+
+  /**
+   * @param cacheManager
+   * @param fallbackReader
+   * @param fileId
+   * @param fileSize
+   * @param pageSize
+   * @param cacheContext
+   * @param maxCoalescedReadSize the max size of a single external read loading consecutive
+   *        missing pages, coalescing is disabled if it is not larger than the page size
+   * @return LocalCachePositionReader
+   */
+  public static LocalCachePositionReader create(CacheManager cacheManager,
+                                                CloseableSupplier<PositionReader> fallbackReader,
+                                                FileId fileId, long fileSize, long pageSize,
+                                                CacheContext cacheContext,
+                                                long maxCoalescedReadSize) {
     return new LocalCachePositionReader(cacheManager, fallbackReader,
-        fileId, fileSize, pageSize, cacheContext);
+        fileId, fileSize, pageSize, cacheContext, maxCoalescedReadSize);
   }
 
   private LocalCachePositionReader(CacheManager cacheManager,
                                    CloseableSupplier<PositionReader> fallbackReader, FileId fileId,
-                                   long fileSize, long pageSize, CacheContext context) {
+                                   long fileSize, long pageSize, CacheContext context,
+                                   long maxCoalescedReadSize) {
     mCacheManager = Preconditions.checkNotNull(cacheManager);
     mFallbackReader = Preconditions.checkNotNull(fallbackReader);
     mFileId = fileId;
     mFileSize = fileSize;
     mPageSize = pageSize;
     mCacheContext = Preconditions.checkNotNull(context);
+    mMaxCoalescedReadSize = maxCoalescedReadSize;
   }
 
   @Override
@@ -123,17 +158,26 @@ public class LocalCachePositionReader implements PositionReader {
     Stopwatch stopwatch = createUnstartedStopwatch();
     int totalBytesRead = 0;
     long lengthToRead = Math.min(length, mFileSize - position);
+    // missing pages following a sequential read are loaded along with the requested ones, as
+    // they are likely to be read next
+    long coalesceLimit = position == mLastReadEnd ? mFileSize : position + lengthToRead;
     // used in positionedRead, so make stopwatch a local variable rather than class member
     // for each page, check if it is available in the cache
     while (totalBytesRead < lengthToRead) {
-      int bytesRead = localCachedRead(buffer,
-          (int) (lengthToRead - totalBytesRead), position, stopwatch);
+      int bytesToRead = (int) (lengthToRead - totalBytesRead);
+      int bytesRead;
+      if (mMaxCoalescedReadSize > mPageSize) {
+        bytesRead = coalescedRead(buffer, bytesToRead, position, coalesceLimit);
+      } else {
+        bytesRead = localCachedRead(buffer, bytesToRead, position, stopwatch);
+      }
       if (bytesRead <= 0) {
         break;
       }
       totalBytesRead += bytesRead;
       position += bytesRead;
     }
+    mLastReadEnd = position;
     if (totalBytesRead > length
         || (totalBytesRead < length && position < mFileSize)) {
       throw new IOException(String.format("Invalid number of bytes read - "
@@ -160,13 +204,7 @@ public class LocalCachePositionReader implements PositionReader {
    * @return an object of {@link DataFileChannel}
    */
   public Optional<DataFileChannel> getDataFileChannel(long position, int length) {
-    long currentPage = position / mPageSize;
-    PageId pageId;
-    if (mCacheContext.getCacheIdentifier() != null) {
-      pageId = new PageId(mCacheContext.getCacheIdentifier(), currentPage);
-    } else {
-      pageId = new PageId(mFileId.toString(), currentPage);
-    }
+    PageId pageId = getPageId(position / mPageSize);
     int currentPageOffset = (int) (position % mPageSize);
     int bytesLeftInPage = (int) (mPageSize - currentPageOffset);
     int bytesToReadInPage = Math.min(bytesLeftInPage, length);
@@ -181,46 +219,110 @@ public class LocalCachePositionReader implements PositionReader {
 
   private int localCachedRead(ReadTargetBuffer bytesBuffer, int length,
                               long position, Stopwatch stopwatch) {
-    long currentPage = position / mPageSize;
-    PageId pageId;
-    if (mCacheContext.getCacheIdentifier() != null) {
-      pageId = new PageId(mCacheContext.getCacheIdentifier(), currentPage);
-    } else {
-      pageId = new PageId(mFileId.toString(), currentPage);
-    }
+    PageId pageId = getPageId(position / mPageSize);
     int currentPageOffset = (int) (position % mPageSize);
     int bytesLeftInPage = (int) (mPageSize - currentPageOffset);
     int bytesToReadInPage = Math.min(bytesLeftInPage, length);
-    return mCacheManager.getAndLoad(pageId, currentPageOffset, bytesToReadInPage,
+    return mCacheManager.getAndLoadByteBuf(pageId, currentPageOffset, bytesToReadInPage,
         bytesBuffer, mCacheContext, () -> readExternalPage(position));
   }
 
-  private byte[] readExternalPage(long position) {
-    long pageStart = position - (position % mPageSize);
-    int pageSize = (int) Math.min(mPageSize, mFileSize - pageStart);
-    byte[] page = new byte[pageSize];
-    int totalBytesRead = 0;
-    int bytesRead;
-    while (totalBytesRead < pageSize) {
-      try {
-        bytesRead = mFallbackReader.get()
-            .read(pageStart + totalBytesRead, page, totalBytesRead, pageSize - totalBytesRead);
-      } catch (IOException e) {
-        throw AlluxioRuntimeException.from(e);
-      }
-      if (bytesRead <= 0) {
+  /**
+   * Reads from the cache if the page containing the given position is cached. Otherwise, loads
+   * it along with the consecutive missing pages following it with a single external read,
+   * caches them, and reads the requested part from the loaded data.
+   *
+   * @param target the buffer to read into
+   * @param length the number of bytes requested
+   * @param position the position to read from
+   * @param limit the position up to which pages may be loaded
+   * @return the number of bytes read
+   */
+  private int coalescedRead(ReadTargetBuffer target, int length, long position, long limit) {
+    PageId pageId = getPageId(position / mPageSize);
+    int pageOffset = (int) (position % mPageSize);
+    int bytesRead = mCacheManager.get(pageId, pageOffset,
+        (int) Math.min(length, mPageSize - pageOffset), target, mCacheContext);
+    if (bytesRead > 0) {
+      return bytesRead;
+    }
+    // the following pages are only looked up once the page misses, to keep hits cheap
+    long runStart = getPageStart(position);
+    long maxRunEnd = Math.min(Math.min(limit, mFileSize),
+        runStart + mMaxCoalescedReadSize / mPageSize * mPageSize);
+    List<PageId> run = new ArrayList<>();
+    run.add(pageId);
+    for (long pageStart = runStart + mPageSize; pageStart < maxRunEnd; pageStart += mPageSize) {
+      PageId nextPageId = getPageId(pageStart / mPageSize);
+      if (mCacheManager.hasPage(nextPageId)) {
         break;
       }
-      totalBytesRead += bytesRead;
+      run.add(nextPageId);
+    }
+    long runEnd = Math.min(runStart + run.size() * mPageSize, mFileSize);
+    return mCacheManager.getAndLoadPages(run, mPageSize, pageOffset,
+        (int) Math.min(length, runEnd - position), target, mCacheContext,
+        pageCount -> readExternal(runStart,
+            (int) Math.min(pageCount * mPageSize, mFileSize - runStart)));
+  }
+
+  /**
+   * Reads the page containing the given position from external storage into a pooled direct
+   * buffer, which is released by the cache manager once the page is cached.
+   */
+  private ByteBuf readExternalPage(long position) {
+    long pageStart = getPageStart(position);
+    return readExternal(pageStart, (int) Math.min(mPageSize, mFileSize - pageStart));
+  }
+
+  /**
+   * Reads a range of complete pages from external storage into a pooled direct buffer.
+   *
+   * @param start the start position of the range
+   * @param length the length of the range
+   * @return the buffer holding the range, to be released by the caller
+   */
+  private ByteBuf readExternal(long start, int length) {
+    ByteBuf data = PooledDirectNioByteBuf.allocate(length);
+    try {
+      int totalBytesRead = 0;
+      int bytesRead;
+      while (totalBytesRead < length) {
+        try {
+          bytesRead = mFallbackReader.get()
+              .read(start + totalBytesRead, data, length - totalBytesRead);
+        } catch (IOException e) {
+          throw AlluxioRuntimeException.from(e);
+        }
+        if (bytesRead <= 0) {
+          break;
+        }
+        totalBytesRead += bytesRead;
+      }
+      // Bytes read from external, may be larger than requests due to reading complete pages
+      MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_EXTERNAL.getName())
+          .mark(totalBytesRead);
+      if (totalBytesRead != length) {
+        throw new FailedPreconditionRuntimeException(
+            "Failed to read complete pages from external storage. Bytes read: "
+                + totalBytesRead + " Bytes expected: " + length);
+      }
+      return data;
+    } catch (Throwable t) {
+      data.release();
+      throw t;
     }
-    // Bytes read from external, may be larger than requests due to reading complete pages
-    MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_EXTERNAL.getName()).mark(totalBytesRead);
-    if (totalBytesRead != pageSize) {
-      throw new FailedPreconditionRuntimeException(
-          "Failed to read complete page from external storage. Bytes read: "
-              + totalBytesRead + " Page size: " + pageSize);
+  }
+
+  private long getPageStart(long position) {
+    return position - (position % mPageSize);
+  }
+
+  private PageId getPageId(long pageIndex) {
+    if (mCacheContext.getCacheIdentifier() != null) {
+      return new PageId(mCacheContext.getCacheIdentifier(), pageIndex);
     }
-    return page;
+    return new PageId(mFileId.toString(), pageIndex);
   }
 
   @VisibleForTesting
@@ -19,12 +19,14 @@ import alluxio.metrics.MetricsSystem;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 
 import com.codahale.metrics.Counter;
+import io.netty.buffer.ByteBuf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 /**
@@ -73,6 +75,18 @@ public class NoExceptionCacheManager implements CacheManager {
     }
   }
 
+  @Override
+  public boolean put(PageId pageId, ByteBuffer page, CacheContext cacheContext,
+      Runnable releasePage) {
+    try {
+      return mCacheManager.put(pageId, page, cacheContext, releasePage);
+    } catch (Exception e) {
+      LOG.error("Failed to put page {}, cacheContext {}", pageId, cacheContext, e);
+      Metrics.PUT_ERRORS.inc();
+      return false;
+    }
+  }
+
   @Override
   public int get(PageId pageId, int pageOffset, ReadTargetBuffer buffer,
                  CacheContext cacheContext) {
@@ -151,6 +165,36 @@ public class NoExceptionCacheManager implements CacheManager {
     }
   }
 
+  @Override
+  public int getAndLoadByteBuf(PageId pageId, int pageOffset, int bytesToRead,
+      ReadTargetBuffer buffer, CacheContext cacheContext,
+      Supplier<ByteBuf> externalDataSupplier) {
+    try {
+      return mCacheManager.getAndLoadByteBuf(pageId, pageOffset, bytesToRead,
+          buffer, cacheContext, externalDataSupplier);
+    } catch (Exception e) {
+      LOG.error("Failed to get and load page {}, offset {} cacheContext {}", pageId, pageOffset,
+          cacheContext, e);
+      Metrics.GET_ERRORS.inc();
+      return -1;
+    }
+  }
+
+  @Override
+  public int getAndLoadPages(List<PageId> pageIds, long pageSize, int pageOffset,
+      int bytesToRead, ReadTargetBuffer buffer, CacheContext cacheContext,
+      IntFunction<ByteBuf> externalDataSupplier) {
+    try {
+      return mCacheManager.getAndLoadPages(pageIds, pageSize, pageOffset, bytesToRead, buffer,
+          cacheContext, externalDataSupplier);
+    } catch (Exception e) {
+      LOG.error("Failed to get and load pages {}, offset {} cacheContext {}", pageIds,
+          pageOffset, cacheContext, e);
+      Metrics.GET_ERRORS.inc();
+      return -1;
+    }
+  }
+
   @Override
   public boolean delete(PageId pageId) {
     try {
@@ -203,6 +247,16 @@ public class NoExceptionCacheManager implements CacheManager {
     return mCacheManager.getCachedPageIdsByFileId(fileId, fileLength);
   }
 
+  @Override
+  public boolean hasPage(PageId pageId) {
+    try {
+      return mCacheManager.hasPage(pageId);
+    } catch (Exception e) {
+      LOG.error("Failed to check page {}", pageId, e);
+      return true;
+    }
+  }
+
   @Override
   public void deleteFile(String fileId) {
     try {
@@ -35,6 +35,12 @@ public interface PageMetaStore extends CacheStatus {
     if (options.isQuotaEnabled()) {
       return new QuotaPageMetaStore(options.getCacheEvictorOptions(), dirs);
     }
+    if (options.getPageMetaStoreType() == PageMetaStoreType.CONCURRENT) {
+      return new ConcurrentPageMetaStore(dirs);
+    }
+    if (options.getPageMetaStoreType() == PageMetaStoreType.COMPACT) {
+      return new CompactPageMetaStore(dirs);
+    }
     return new DefaultPageMetaStore(dirs);
   }
 
@@ -15,6 +15,7 @@ import alluxio.client.file.cache.store.LocalPageStore;
 import alluxio.client.file.cache.store.MemoryPageStore;
 import alluxio.client.file.cache.store.PageStoreOptions;
 import alluxio.client.file.cache.store.RocksPageStore;
+import alluxio.client.file.cache.store.SegmentPageStore;
 import alluxio.exception.PageNotFoundException;
 import alluxio.exception.status.ResourceExhaustedException;
 import alluxio.file.ReadTargetBuffer;
@@ -55,6 +56,9 @@ public interface PageStore extends AutoCloseable {
       case MEM:
         pageStore = new MemoryPageStore((int) options.getPageSize());
         break;
+      case SEGMENT:
+        pageStore = new SegmentPageStore(options);
+        break;
       default:
         throw new IllegalArgumentException(
             "Incompatible PageStore " + options.getType() + " specified");
@@ -15,10 +15,10 @@ package alluxio.client.file.cache.evictor;
  * Options for initiating cache evictor.
  */
 public class CacheEvictorOptions {
-
   private Class<? extends CacheEvictor> mEvictorClass = LFUCacheEvictor.class;
   private boolean mIsNondeterministic;
   private double mLFULogBase = 2.0;
+  private double mTinyLFUWindowRatio = 0.01;
 
   /**
    * @return if true, the evictor picks uniformly from the worst k elements
@@ -41,6 +41,13 @@ public class CacheEvictorOptions {
     return mLFULogBase;
   }
 
+  /**
+   * @return the ratio of cached pages kept in the admission window of the TinyLFU evictor
+   */
+  public double getTinyLFUWindowRatio() {
+    return mTinyLFUWindowRatio;
+  }
+
   /**
    * @param isNondeterministic
    * @return CacheEvictorOptions
@@ -67,4 +74,13 @@ public class CacheEvictorOptions {
     mLFULogBase = logBase;
     return this;
   }
+
+  /**
+   * @param windowRatio
+   * @return CacheEvictorOptions
+   */
+  public CacheEvictorOptions setTinyLFUWindowRatio(double windowRatio) {
+    mTinyLFUWindowRatio = windowRatio;
+    return this;
+  }
 }
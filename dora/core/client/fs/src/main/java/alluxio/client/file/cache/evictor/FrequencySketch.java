@@ -0,0 +1,134 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.evictor;
+
+import java.util.Arrays;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A count-min sketch estimating how often items have been accessed recently, using 4-bit
+ * counters so that the popularity of many more items than those cached can be tracked cheaply.
+ * Once the number of recorded accesses reaches ten times the capacity, all counters are halved,
+ * so that the estimate ages out old popularity.
+ */
+@NotThreadSafe
+final class FrequencySketch {
+  private static final long[] SEEDS = {
+      0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final int COUNTERS_PER_SLOT = 16;
+  private static final int MAX_COUNT = 15;
+  private static final int MIN_CAPACITY = 64;
+
+  private long[] mTable;
+  private int mCounterMask;
+  private int mSampleSize;
+  private int mSize;
+
+  /**
+   * @param capacity the expected number of distinct items tracked
+   */
+  FrequencySketch(int capacity) {
+    allocate(capacity);
+  }
+
+  /**
+   * Grows the sketch if it is too small for the given number of items, which resets the
+   * popularity recorded so far.
+   *
+   * @param capacity the expected number of distinct items tracked
+   */
+  void ensureCapacity(int capacity) {
+    if (capacity > mTable.length * COUNTERS_PER_SLOT / SEEDS.length) {
+      allocate(capacity);
+    }
+  }
+
+  /**
+   * @param item the item
+   * @return the estimated number of recent accesses of the item, at most 15
+   */
+  int frequency(Object item) {
+    int hash = spread(item.hashCode());
+    int frequency = MAX_COUNT;
+    for (int i = 0; i < SEEDS.length; i++) {
+      frequency = Math.min(frequency, getCount(indexOf(hash, i)));
+    }
+    return frequency;
+  }
+
+  /**
+   * Records an access of the item.
+   *
+   * @param item the item
+   */
+  void increment(Object item) {
+    int hash = spread(item.hashCode());
+    boolean added = false;
+    for (int i = 0; i < SEEDS.length; i++) {
+      added |= incrementCount(indexOf(hash, i));
+    }
+    if (added && ++mSize >= mSampleSize) {
+      halve();
+    }
+  }
+
+  /**
+   * Forgets all recorded accesses.
+   */
+  void clear() {
+    Arrays.fill(mTable, 0L);
+    mSize = 0;
+  }
+
+  private void allocate(int capacity) {
+    int counters = Math.max(MIN_CAPACITY, capacity) * SEEDS.length;
+    int slots = Integer.highestOneBit(Math.max(1, counters / COUNTERS_PER_SLOT - 1)) << 1;
+    mTable = new long[slots];
+    mCounterMask = slots * COUNTERS_PER_SLOT - 1;
+    mSampleSize = 10 * Math.max(MIN_CAPACITY, capacity);
+    mSize = 0;
+  }
+
+  private int getCount(int counter) {
+    return (int) ((mTable[counter >>> 4] >>> ((counter & 15) << 2)) & 0xfL);
+  }
+
+  private boolean incrementCount(int counter) {
+    int slot = counter >>> 4;
+    int offset = (counter & 15) << 2;
+    long mask = 0xfL << offset;
+    if ((mTable[slot] & mask) == mask) {
+      return false;
+    }
+    mTable[slot] += 1L << offset;
+    return true;
+  }
+
+  private void halve() {
+    for (int i = 0; i < mTable.length; i++) {
+      mTable[i] = (mTable[i] >>> 1) & RESET_MASK;
+    }
+    mSize /= 2;
+  }
+
+  private int indexOf(int hash, int i) {
+    long h = (hash + SEEDS[i]) * SEEDS[i];
+    h += h >>> 32;
+    return ((int) h) & mCounterMask;
+  }
+
+  private static int spread(int hash) {
+    int h = hash * 0x9e3779b9;
+    return h ^ (h >>> 16);
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.evictor;
+
+import alluxio.client.file.cache.PageId;
+
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * W-TinyLFU client-side cache eviction policy, which keeps one-shot scans from flushing the
+ * frequently used pages out of the cache.
+ * <p>
+ * New pages enter a small LRU admission window. Pages overflowing the window move to the
+ * probation segment of the main region, and pages accessed again while in probation are promoted
+ * to the protected segment. When a page needs to be evicted, the page most recently moved to
+ * probation competes against the least recently used page in probation, and the one accessed
+ * less often according to a {@link FrequencySketch} is evicted. Pages read only once are thus
+ * evicted before they can replace the pages read repeatedly.
+ */
+@ThreadSafe
+public class TinyLFUCacheEvictor implements CacheEvictor {
+  private static final Logger LOG = LoggerFactory.getLogger(TinyLFUCacheEvictor.class);
+  private static final int INITIAL_SKETCH_CAPACITY = 1024;
+  private static final double PROTECTED_RATIO = 0.8;
+
+  private enum Segment {
+    WINDOW,
+    PROBATION,
+    PROTECTED,
+  }
+
+  private final double mWindowRatio;
+  private final FrequencySketch mSketch = new FrequencySketch(INITIAL_SKETCH_CAPACITY);
+  private final Map<PageId, Segment> mPages = new HashMap<>();
+  // the segments below keep pages in LRU order, with the least recently used page first
+  private final LinkedHashSet<PageId> mWindow = new LinkedHashSet<>();
+  private final LinkedHashSet<PageId> mProbation = new LinkedHashSet<>();
+  private final LinkedHashSet<PageId> mProtected = new LinkedHashSet<>();
+  /** The page most recently moved from the window to probation, which is up for admission. */
+  @Nullable
+  private PageId mCandidate;
+
+  /**
+   * Required constructor.
+   *
+   * @param options
+   */
+  public TinyLFUCacheEvictor(CacheEvictorOptions options) {
+    mWindowRatio = options.getTinyLFUWindowRatio();
+  }
+
+  @Override
+  public synchronized void updateOnGet(PageId pageId) {
+    mSketch.increment(pageId);
+    Segment segment = mPages.get(pageId);
+    if (segment == null) {
+      LOG.debug("cannot touch page {} - page not found", pageId);
+      return;
+    }
+    switch (segment) {
+      case WINDOW:
+        touch(mWindow, pageId);
+        break;
+      case PROBATION:
+        mProbation.remove(pageId);
+        if (pageId.equals(mCandidate)) {
+          mCandidate = null;
+        }
+        mProtected.add(pageId);
+        mPages.put(pageId, Segment.PROTECTED);
+        demoteProtected();
+        break;
+      case PROTECTED:
+        touch(mProtected, pageId);
+        break;
+      default:
+        throw new IllegalStateException("Unknown segment " + segment);
+    }
+  }
+
+  @Override
+  public synchronized void updateOnPut(PageId pageId) {
+    if (mPages.containsKey(pageId)) {
+      updateOnGet(pageId);
+      return;
+    }
+    mSketch.increment(pageId);
+    mPages.put(pageId, Segment.WINDOW);
+    mWindow.add(pageId);
+    mSketch.ensureCapacity(mPages.size());
+    int maxWindowSize = Math.max(1, (int) (mPages.size() * mWindowRatio));
+    while (mWindow.size() > maxWindowSize) {
+      PageId overflow = removeFirst(mWindow);
+      mProbation.add(overflow);
+      mPages.put(overflow, Segment.PROBATION);
+      mCandidate = overflow;
+    }
+  }
+
+  @Override
+  public synchronized void updateOnDelete(PageId pageId) {
+    Segment segment = mPages.remove(pageId);
+    if (segment == null) {
+      LOG.debug("cannot delete page {} - page not found", pageId);
+      return;
+    }
+    getSegment(segment).remove(pageId);
+    if (pageId.equals(mCandidate)) {
+      mCandidate = null;
+    }
+  }
+
+  @Nullable
+  @Override
+  public synchronized PageId evict() {
+    PageId victim = first(mProbation);
+    if (victim == null) {
+      victim = first(mProtected);
+    }
+    if (victim == null) {
+      return first(mWindow);
+    }
+    PageId candidate = mCandidate;
+    if (candidate == null || candidate.equals(victim)) {
+      return victim;
+    }
+    // admit the candidate only if it is more popular than the page it would replace
+    PageId pageToEvict =
+        mSketch.frequency(candidate) > mSketch.frequency(victim) ? victim : candidate;
+    LOG.debug("plan to evict page {} ", pageToEvict);
+    return pageToEvict;
+  }
+
+  @Nullable
+  @Override
+  public synchronized PageId evictMatching(Predicate<PageId> criterion) {
+    for (LinkedHashSet<PageId> segment : ImmutableList.of(mProbation, mWindow, mProtected)) {
+      for (PageId candidate : segment) {
+        if (criterion.test(candidate)) {
+          LOG.debug("plan to evict page {} ", candidate);
+          return candidate;
+        }
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public synchronized void reset() {
+    mPages.clear();
+    mWindow.clear();
+    mProbation.clear();
+    mProtected.clear();
+    mSketch.clear();
+    mCandidate = null;
+  }
+
+  private void demoteProtected() {
+    int maxProtectedSize =
+        Math.max(1, (int) ((mPages.size() - mWindow.size()) * PROTECTED_RATIO));
+    while (mProtected.size() > maxProtectedSize) {
+      PageId demoted = removeFirst(mProtected);
+      mProbation.add(demoted);
+      mPages.put(demoted, Segment.PROBATION);
+    }
+  }
+
+  private LinkedHashSet<PageId> getSegment(Segment segment) {
+    switch (segment) {
+      case WINDOW:
+        return mWindow;
+      case PROBATION:
+        return mProbation;
+      case PROTECTED:
+        return mProtected;
+      default:
+        throw new IllegalStateException("Unknown segment " + segment);
+    }
+  }
+
+  private static void touch(LinkedHashSet<PageId> segment, PageId pageId) {
+    segment.remove(pageId);
+    segment.add(pageId);
+  }
+
+  @Nullable
+  private static PageId first(LinkedHashSet<PageId> segment) {
+    Iterator<PageId> iterator = segment.iterator();
+    return iterator.hasNext() ? iterator.next() : null;
+  }
+
+  private static PageId removeFirst(LinkedHashSet<PageId> segment) {
+    Iterator<PageId> iterator = segment.iterator();
+    PageId pageId = iterator.next();
+    iterator.remove();
+    return pageId;
+  }
+}
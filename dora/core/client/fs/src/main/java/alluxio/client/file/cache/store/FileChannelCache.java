@@ -0,0 +1,185 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A bounded cache of read-only file channels keyed by path. Channels are reference counted, so a
+ * channel evicted or invalidated while being read from is only closed once its last reader
+ * releases it.
+ * <p>
+ * Callers must invalidate the cached channel of a path before the file at that path is removed or
+ * replaced, otherwise later reads would keep reading from the old file.
+ */
+@ThreadSafe
+final class FileChannelCache implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(FileChannelCache.class);
+
+  private final Cache<Path, Handle> mCache;
+
+  /**
+   * @param maxOpenFiles the maximum number of channels kept open
+   */
+  FileChannelCache(int maxOpenFiles) {
+    mCache = CacheBuilder.newBuilder()
+        .maximumSize(maxOpenFiles)
+        .removalListener((RemovalListener<Path, Handle>) notification -> {
+          Handle handle = notification.getValue();
+          if (handle != null) {
+            handle.close();
+          }
+        })
+        .build();
+  }
+
+  /**
+   * Acquires a channel of the file at the given path, opening the file if no channel is cached.
+   * The returned handle must be closed once the caller is done reading.
+   *
+   * @param path the path of the file
+   * @return a handle to a channel of the file
+   * @throws java.nio.file.NoSuchFileException if the file does not exist
+   * @throws IOException if the file cannot be opened
+   */
+  Handle acquire(Path path) throws IOException {
+    while (true) {
+      Handle handle = mCache.getIfPresent(path);
+      if (handle != null) {
+        if (handle.mChannel.isOpen() && handle.retain()) {
+          Metrics.FILE_HANDLE_HITS.inc();
+          return handle;
+        }
+        // the handle is being released, or its channel got closed by an interrupted reader
+        mCache.asMap().remove(path, handle);
+        continue;
+      }
+      Metrics.FILE_HANDLE_MISSES.inc();
+      Handle created = new Handle(FileChannel.open(path, StandardOpenOption.READ));
+      // one reference is owned by the caller, the other one by the cache
+      created.retain();
+      if (mCache.asMap().putIfAbsent(path, created) == null) {
+        return created;
+      }
+      // another reader cached a channel for the same file first
+      created.close();
+      created.close();
+    }
+  }
+
+  /**
+   * Invalidates the cached channel of the given path.
+   *
+   * @param path the path of the file
+   */
+  void invalidate(Path path) {
+    mCache.invalidate(path);
+  }
+
+  /**
+   * Invalidates the cached channel of the given path, if it is still the given handle.
+   *
+   * @param path the path of the file
+   * @param handle the handle whose channel is no longer usable
+   */
+  void invalidate(Path path, Handle handle) {
+    mCache.asMap().remove(path, handle);
+  }
+
+  /**
+   * Invalidates the cached channels of all files under the given directory.
+   *
+   * @param dir the directory
+   */
+  void invalidateAll(Path dir) {
+    mCache.asMap().keySet().removeIf(path -> path.startsWith(dir));
+  }
+
+  @Override
+  public void close() {
+    mCache.invalidateAll();
+    mCache.cleanUp();
+  }
+
+  /**
+   * A reference counted handle to a file channel.
+   */
+  static final class Handle implements Closeable {
+    private final FileChannel mChannel;
+    private final AtomicInteger mRefCount = new AtomicInteger(1);
+
+    private Handle(FileChannel channel) {
+      mChannel = channel;
+    }
+
+    /**
+     * @return the file channel, which must only be used with positional reads
+     */
+    FileChannel getChannel() {
+      return mChannel;
+    }
+
+    private boolean retain() {
+      while (true) {
+        int count = mRefCount.get();
+        if (count <= 0) {
+          return false;
+        }
+        if (mRefCount.compareAndSet(count, count + 1)) {
+          return true;
+        }
+      }
+    }
+
+    /**
+     * Releases a reference to this handle, closing the channel on the last release.
+     */
+    @Override
+    public void close() {
+      if (mRefCount.decrementAndGet() == 0) {
+        try {
+          mChannel.close();
+        } catch (IOException e) {
+          LOG.warn("Failed to close file channel", e);
+        }
+      }
+    }
+  }
+
+  private static final class Metrics {
+    // Note that only counter can be added here.
+    // Both meter and timer need to be used inline
+    // because new meter and timer will be created after {@link MetricsSystem.resetAllMetrics()}
+    /** Reads served by a cached file channel. */
+    private static final Counter FILE_HANDLE_HITS =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_STORE_FILE_HANDLE_HITS.getName());
+    /** Reads which had to open the file. */
+    private static final Counter FILE_HANDLE_MISSES =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_STORE_FILE_HANDLE_MISSES.getName());
+  }
+}
@@ -30,12 +30,15 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -50,6 +53,9 @@ public class LocalPageStore implements PageStore {
   private final long mPageSize;
   private final long mCapacity;
   private final int mFileBuckets;
+  /** Open page files reused across reads, or null if disabled. */
+  @Nullable
+  private final FileChannelCache mFileChannels;
 
   /**
    * Creates a new instance of {@link LocalPageStore}.
@@ -61,6 +67,8 @@ public class LocalPageStore implements PageStore {
     mPageSize = options.getPageSize();
     mCapacity = (long) (options.getCacheSize() / (1 + options.getOverheadRatio()));
     mFileBuckets = options.getFileBuckets();
+    mFileChannels =
+        options.getOpenFiles() > 0 ? new FileChannelCache(options.getOpenFiles()) : null;
   }
 
   @Override
@@ -68,6 +76,7 @@ public class LocalPageStore implements PageStore {
       ByteBuffer page,
       boolean isTemporary) throws ResourceExhaustedException, IOException {
     Path pagePath = getPagePath(pageId, isTemporary);
+    invalidateFileChannel(pagePath);
     try {
       LOG.debug("Put page: " + pageId + ", page's position: " + page.position()
           + ", page's limit: " + page.limit() + ", page's capacity: " + page.capacity());
@@ -96,6 +105,14 @@ public class LocalPageStore implements PageStore {
       boolean isTemporary) throws IOException, PageNotFoundException {
     Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
     Path pagePath = getPagePath(pageId, isTemporary);
+    if (mFileChannels != null) {
+      return getFromFileChannel(pageId, pagePath, pageOffset, bytesToRead, target);
+    }
+    return getFromFile(pageId, pagePath, pageOffset, bytesToRead, target);
+  }
+
+  private int getFromFile(PageId pageId, Path pagePath, int pageOffset, int bytesToRead,
+      ReadTargetBuffer target) throws IOException, PageNotFoundException {
     try (RandomAccessFile localFile = new RandomAccessFile(pagePath.toString(), "r")) {
       int bytesSkipped = localFile.skipBytes(pageOffset);
       if (pageOffset != bytesSkipped) {
@@ -122,6 +139,52 @@ public class LocalPageStore implements PageStore {
     }
   }
 
+  private int getFromFileChannel(PageId pageId, Path pagePath, int pageOffset, int bytesToRead,
+      ReadTargetBuffer target) throws IOException, PageNotFoundException {
+    int bytesRead = 0;
+    int bytesLeft = Math.min((int) target.remaining(), bytesToRead);
+    boolean retried = false;
+    while (true) {
+      FileChannelCache.Handle handle;
+      try {
+        handle = mFileChannels.acquire(pagePath);
+      } catch (NoSuchFileException e) {
+        throw new PageNotFoundException(pagePath.toString());
+      }
+      try {
+        FileChannel channel = handle.getChannel();
+        while (bytesLeft > 0) {
+          int bytes = target.readFromFile(channel, (long) pageOffset + bytesRead, bytesLeft);
+          if (bytes <= 0) {
+            if (bytesRead == 0) {
+              long pageLength = channel.size();
+              Preconditions.checkArgument(pageOffset <= pageLength,
+                  "page offset %s exceeded page size %s", pageOffset, pageLength);
+            }
+            break;
+          }
+          bytesRead += bytes;
+          bytesLeft -= bytes;
+        }
+        return bytesRead;
+      } catch (ClosedChannelException e) {
+        // the channel is shared by all readers of the page, and gets closed for all of them when
+        // one is interrupted, which says nothing about the page itself
+        mFileChannels.invalidate(pagePath, handle);
+        if (retried || Thread.currentThread().isInterrupted()) {
+          // a new channel would be closed by the interrupt again, so read the rest of the page
+          // without a channel
+          LOG.debug("Channel of page {} ({}) closed, reading from the file", pageId, pagePath, e);
+          return bytesRead + getFromFile(pageId, pagePath, pageOffset + bytesRead, bytesLeft,
+              target);
+        }
+        retried = true;
+      } finally {
+        handle.close();
+      }
+    }
+  }
+
   /**
    *
    * @param pageId page identifier
@@ -134,6 +197,7 @@ public class LocalPageStore implements PageStore {
     if (!Files.exists(pagePath)) {
       throw new PageNotFoundException(pagePath.toString());
     }
+    invalidateFileChannel(pagePath);
     Files.delete(pagePath);
     // Cleaning up parent directory may lead to a race condition if one thread is removing a page as
     // well as its parent dir corresponding to the fileId, while another thread is adding
@@ -167,16 +231,30 @@ public class LocalPageStore implements PageStore {
     if (!Files.exists(bucketPath)) {
       Files.createDirectories(bucketPath);
     }
+    Path tempFilePath = getTempFilePath(fileId);
+    if (mFileChannels != null) {
+      mFileChannels.invalidateAll(tempFilePath);
+      mFileChannels.invalidateAll(filePath);
+    }
     Files.move(
-        getTempFilePath(fileId),
+        tempFilePath,
         filePath, StandardCopyOption.ATOMIC_MOVE);
   }
 
   @Override
   public void abort(String fileId) throws IOException {
+    if (mFileChannels != null) {
+      mFileChannels.invalidateAll(getTempFilePath(fileId));
+    }
     FileUtils.deleteDirectory(getTempFilePath(fileId).toFile());
   }
 
+  private void invalidateFileChannel(Path pagePath) {
+    if (mFileChannels != null) {
+      mFileChannels.invalidate(pagePath);
+    }
+  }
+
   private Path getTempFilePath(String fileId) {
     return Paths.get(mRoot.toString(), Long.toString(mPageSize), TEMP_DIR, fileId);
   }
@@ -222,6 +300,8 @@ public class LocalPageStore implements PageStore {
 
   @Override
   public void close() {
-    // no-op
+    if (mFileChannels != null) {
+      mFileChannels.close();
+    }
   }
 }
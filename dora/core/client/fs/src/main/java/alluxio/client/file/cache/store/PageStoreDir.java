@@ -79,6 +79,12 @@ public interface PageStoreDir extends CacheStatus {
             (MemoryPageStore) PageStore.create(pageStoreOptions),
             CacheEvictor.create(cacheEvictorOptions)
         );
+      case SEGMENT:
+        return new SegmentPageStoreDir(
+            pageStoreOptions,
+            PageStore.create(pageStoreOptions),
+            CacheEvictor.create(cacheEvictorOptions)
+        );
       default:
         throw new IllegalArgumentException(String.format("Unrecognized store type %s",
             pageStoreOptions.getType().name()));
@@ -11,6 +11,7 @@
 
 package alluxio.client.file.cache.store;
 
+import alluxio.Constants;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.util.FormatUtils;
@@ -39,10 +40,12 @@ public class PageStoreOptions {
     List<PageStoreOptions> optionsList = createPageStoreOptions(dirs, cacheSizes, storeType);
     optionsList.forEach(options -> {
       options.setFileBuckets(conf.getInt(PropertyKey.USER_CLIENT_CACHE_LOCAL_STORE_FILE_BUCKETS))
+          .setOpenFiles(conf.getInt(PropertyKey.USER_CLIENT_CACHE_LOCAL_STORE_OPEN_FILES))
           .setPageSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE))
           .setAlluxioVersion(conf.getString(PropertyKey.VERSION))
           .setTimeoutDuration(conf.getMs(PropertyKey.USER_CLIENT_CACHE_TIMEOUT_DURATION))
-          .setTimeoutThreads(conf.getInt(PropertyKey.USER_CLIENT_CACHE_TIMEOUT_THREADS));
+          .setTimeoutThreads(conf.getInt(PropertyKey.USER_CLIENT_CACHE_TIMEOUT_THREADS))
+          .setSegmentSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_SEGMENT_SIZE));
       if (conf.isSet(PropertyKey.USER_CLIENT_CACHE_STORE_OVERHEAD)) {
         options.setOverheadRatio(conf.getDouble(PropertyKey.USER_CLIENT_CACHE_STORE_OVERHEAD));
       }
@@ -62,10 +65,12 @@ public class PageStoreOptions {
     List<PageStoreOptions> optionsList = createPageStoreOptions(dirs, cacheSizes, storeType);
     optionsList.forEach(options -> {
       options.setFileBuckets(conf.getInt(PropertyKey.WORKER_PAGE_STORE_LOCAL_STORE_FILE_BUCKETS))
+          .setOpenFiles(conf.getInt(PropertyKey.WORKER_PAGE_STORE_LOCAL_STORE_OPEN_FILES))
           .setPageSize(conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE))
           .setAlluxioVersion(conf.getString(PropertyKey.VERSION))
           .setTimeoutDuration(conf.getMs(PropertyKey.WORKER_PAGE_STORE_TIMEOUT_DURATION))
-          .setTimeoutThreads(conf.getInt(PropertyKey.WORKER_PAGE_STORE_TIMEOUT_THREADS));
+          .setTimeoutThreads(conf.getInt(PropertyKey.WORKER_PAGE_STORE_TIMEOUT_THREADS))
+          .setSegmentSize(conf.getBytes(PropertyKey.WORKER_PAGE_STORE_SEGMENT_SIZE));
       if (conf.isSet(PropertyKey.WORKER_PAGE_STORE_OVERHEAD)) {
         options.setOverheadRatio(conf.getDouble(PropertyKey.WORKER_PAGE_STORE_OVERHEAD));
       }
@@ -95,6 +100,10 @@ public class PageStoreOptions {
 
   private PageStoreType mStoreType = PageStoreType.LOCAL;
   private int mFileBuckets = 1000;
+  /**
+   * Maximum number of page files kept open for reads, only used by the local page store.
+   */
+  private int mOpenFiles = Constants.DEFAULT_PAGE_STORE_OPEN_FILES;
   /**
    * Root directory where the data is stored.
    */
@@ -110,6 +119,11 @@ public class PageStoreOptions {
    */
   private long mPageSize;
 
+  /**
+   * Size of each segment file, only used by the segment page store.
+   */
+  private long mSegmentSize = 256L * 1024 * 1024;
+
   /**
    * Cache size for the data.
    */
@@ -192,6 +206,22 @@ public class PageStoreOptions {
     return this;
   }
 
+  /**
+   * @return the size of each segment file in bytes
+   */
+  public long getSegmentSize() {
+    return mSegmentSize;
+  }
+
+  /**
+   * @param segmentSize the size of each segment file in bytes
+   * @return the updated options
+   */
+  public PageStoreOptions setSegmentSize(long segmentSize) {
+    mSegmentSize = segmentSize;
+    return this;
+  }
+
   /**
    * @return the size of the cache in bytes
    */
@@ -288,6 +318,22 @@ public class PageStoreOptions {
     return mFileBuckets;
   }
 
+  /**
+   * @param openFiles the maximum number of page files kept open for reads
+   * @return the updated options
+   */
+  public PageStoreOptions setOpenFiles(int openFiles) {
+    mOpenFiles = openFiles;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of page files kept open for reads
+   */
+  public int getOpenFiles() {
+    return mOpenFiles;
+  }
+
   /**
    * @param storeType
    * @return the updated options
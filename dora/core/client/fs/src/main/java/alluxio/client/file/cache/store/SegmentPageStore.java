@@ -0,0 +1,721 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageStore;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.network.protocol.databuffer.DataFileChannel;
+import alluxio.resource.LockResource;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The {@link SegmentPageStore} is an implementation of {@link PageStore} which appends pages to
+ * large preallocated segment files on the local disk, instead of storing one file per page.
+ * <p>
+ * Each page is stored as a record made of a small header (page id, length, state and creation
+ * time) followed by the page data. An in-memory index maps pages to their location in a segment.
+ * Deleting a page only flips the state of its record, and sealed segments holding too much
+ * deleted data are compacted in the background by copying their live records to the active
+ * segment. On restart the index is rebuilt by scanning the record headers of all segments.
+ * <p>
+ * Unlike {@link LocalPageStore}, this page store is safe to use from multiple threads.
+ */
+@ThreadSafe
+public class SegmentPageStore implements PageStore {
+  private static final String ERROR_NO_SPACE_LEFT = "No space left on device";
+  public static final String SEGMENT_DIR = "SEGMENTS";
+  private static final String SEGMENT_FILE_PREFIX = "segment-";
+  private static final Pattern SEGMENT_FILE_PATTERN =
+      Pattern.compile(Pattern.quote(SEGMENT_FILE_PREFIX) + "(\\d+)");
+
+  private static final int RECORD_MAGIC = 0x5E6A11C0;
+  private static final byte STATE_DELETED = 0;
+  private static final byte STATE_LIVE = 1;
+  private static final byte STATE_TEMP = 2;
+  /** Offset of the state byte within a record header. */
+  private static final int STATE_OFFSET = Integer.BYTES;
+  /**
+   * Size of the fixed part of a record header: magic, state, page index, page length,
+   * creation time and length of the file id. The file id bytes follow.
+   */
+  private static final int HEADER_FIXED_SIZE =
+      Integer.BYTES + Byte.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES + Short.BYTES;
+  /** A sealed segment is compacted once this fraction of it no longer holds live pages. */
+  private static final double COMPACTION_GARBAGE_RATIO = 0.25;
+
+  private final Path mSegmentDir;
+  private final long mSegmentSize;
+  private final long mCapacity;
+  /**
+   * Guards segment files against deletion. Reads, writes and deletes of pages share the read
+   * lock, while removing a compacted segment or committing temp pages takes the write lock.
+   */
+  private final ReentrantReadWriteLock mLock = new ReentrantReadWriteLock();
+  private final Map<PageId, PageLocation> mPages = new ConcurrentHashMap<>();
+  private final Map<PageId, PageLocation> mTempPages = new ConcurrentHashMap<>();
+  private final Map<Integer, Segment> mSegments = new ConcurrentHashMap<>();
+  private final AtomicBoolean mCompactionScheduled = new AtomicBoolean(false);
+  private final ExecutorService mCompactionExecutor;
+  /** Serializes compactions triggered in the background and by tests. */
+  private final Object mCompactionLock = new Object();
+  @GuardedBy("this")
+  private int mNextSegmentId;
+  private volatile Segment mActiveSegment;
+
+  /**
+   * Creates a new instance of {@link SegmentPageStore}, restoring pages already stored in the
+   * segment files under the root directory.
+   *
+   * @param options options for the segment page store
+   */
+  public SegmentPageStore(PageStoreOptions options) {
+    mSegmentDir = Paths.get(options.getRootDir().toString(),
+        Long.toString(options.getPageSize()), SEGMENT_DIR);
+    mSegmentSize = options.getSegmentSize();
+    mCapacity = (long) (options.getCacheSize() / (1 + options.getOverheadRatio()));
+    Preconditions.checkArgument(mSegmentSize >= options.getPageSize() + HEADER_FIXED_SIZE,
+        "segment size %s is too small to hold pages of size %s",
+        mSegmentSize, options.getPageSize());
+    mCompactionExecutor = Executors.newSingleThreadExecutor(
+        ThreadFactoryUtils.build("segment-page-store-compaction-%d", true));
+    try {
+      Files.createDirectories(mSegmentDir);
+      restore();
+    } catch (IOException e) {
+      close();
+      throw new IllegalStateException(
+          String.format("Failed to open segment page store at %s", mSegmentDir), e);
+    }
+    scheduleCompaction();
+  }
+
+  @Override
+  public void put(PageId pageId,
+      ByteBuffer page,
+      boolean isTemporary) throws ResourceExhaustedException, IOException {
+    LOG.debug("Put page: " + pageId + ", page's position: " + page.position()
+        + ", page's limit: " + page.limit() + ", page's capacity: " + page.capacity());
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      PageLocation location = append(pageId, page,
+          isTemporary ? STATE_TEMP : STATE_LIVE, System.currentTimeMillis());
+      PageLocation previous = getIndex(isTemporary).put(pageId, location);
+      if (previous != null) {
+        markDeleted(previous);
+      }
+    } catch (IOException e) {
+      if (e.getMessage() != null && e.getMessage().contains(ERROR_NO_SPACE_LEFT)) {
+        throw new ResourceExhaustedException(
+            String.format("%s is full, configured with %d bytes", mSegmentDir, mCapacity), e);
+      }
+      throw new IOException("Failed to write page " + pageId + " to " + mSegmentDir, e);
+    }
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ReadTargetBuffer target,
+      boolean isTemporary) throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      PageLocation location = getLocation(pageId, isTemporary);
+      Preconditions.checkArgument(pageOffset <= location.mPageLength,
+          "page offset %s exceeded page size %s", pageOffset, location.mPageLength);
+      int bytesLeft = (int) Math.min(target.remaining(),
+          Math.min(bytesToRead, location.mPageLength - pageOffset));
+      long position = location.getDataOffset() + pageOffset;
+      FileChannel channel = location.mSegment.getChannel();
+      int bytesRead = 0;
+      while (bytesLeft > 0) {
+        int bytes = target.readFromFile(channel, position + bytesRead, bytesLeft);
+        if (bytes <= 0) {
+          throw new EOFException(String.format(
+              "Unexpected end of segment %s reading page %s", location.mSegment.mPath, pageId));
+        }
+        bytesRead += bytes;
+        bytesLeft -= bytes;
+      }
+      return bytesRead;
+    }
+  }
+
+  @Override
+  public void delete(PageId pageId, boolean isTemporary) throws IOException, PageNotFoundException {
+    Segment segment;
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      PageLocation location = getIndex(isTemporary).remove(pageId);
+      if (location == null) {
+        throw new PageNotFoundException(getPageName(pageId, isTemporary));
+      }
+      markDeleted(location);
+      segment = location.mSegment;
+    }
+    if (segment.needsCompaction()) {
+      scheduleCompaction();
+    }
+  }
+
+  @Override
+  public void commit(String fileId, String newFileId) throws IOException {
+    // commit takes the write lock so that compaction never sees a record changing state while
+    // its pages are being moved out of a segment
+    try (LockResource r = new LockResource(mLock.writeLock())) {
+      for (PageId tempPageId : getTempPages(fileId)) {
+        PageLocation location = mTempPages.remove(tempPageId);
+        if (location == null) {
+          continue;
+        }
+        PageId pageId = new PageId(newFileId, tempPageId.getPageIndex());
+        PageLocation committed;
+        if (fileId.equals(newFileId)) {
+          // the record already carries the right page id, flip its state in place
+          writeState(location, STATE_LIVE);
+          committed = location;
+        } else {
+          ByteBuffer page = ByteBuffer.wrap(readPage(location));
+          committed = append(pageId, page, STATE_LIVE, location.mCreatedTime);
+          markDeleted(location);
+        }
+        PageLocation previous = mPages.put(pageId, committed);
+        if (previous != null) {
+          markDeleted(previous);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void abort(String fileId) throws IOException {
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      for (PageId tempPageId : getTempPages(fileId)) {
+        PageLocation location = mTempPages.remove(tempPageId);
+        if (location != null) {
+          markDeleted(location);
+        }
+      }
+    }
+    scheduleCompaction();
+  }
+
+  @Override
+  public DataFileChannel getDataFileChannel(
+      PageId pageId, int pageOffset, int bytesToRead, boolean isTemporary)
+      throws PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0,
+        "page offset should be non-negative");
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      PageLocation location = getLocation(pageId, isTemporary);
+      if (pageOffset + bytesToRead > location.mPageLength) {
+        bytesToRead = location.mPageLength - pageOffset;
+      }
+      return new DataFileChannel(location.mSegment.mPath.toFile(),
+          location.getDataOffset() + pageOffset, bytesToRead);
+    }
+  }
+
+  @Override
+  public void close() {
+    mCompactionExecutor.shutdownNow();
+    try (LockResource r = new LockResource(mLock.writeLock())) {
+      for (Segment segment : mSegments.values()) {
+        segment.close();
+      }
+      mSegments.clear();
+      mPages.clear();
+      mTempPages.clear();
+    }
+  }
+
+  /**
+   * @return the committed pages of this store and their locations
+   */
+  Map<PageId, PageLocation> getPages() {
+    return mPages;
+  }
+
+  /**
+   * @return the number of segment files currently in use
+   */
+  @VisibleForTesting
+  int getSegmentCount() {
+    return mSegments.size();
+  }
+
+  /**
+   * Compacts all sealed segments whose garbage ratio exceeded the threshold. The live pages of
+   * such a segment are copied to the active segment before the segment file is removed.
+   *
+   * @throws IOException when the store fails to move a page
+   */
+  @VisibleForTesting
+  void compact() throws IOException {
+    synchronized (mCompactionLock) {
+      for (Segment segment : new ArrayList<>(mSegments.values())) {
+        if (segment.needsCompaction()) {
+          compact(segment);
+        }
+      }
+    }
+  }
+
+  /**
+   * Moves the pages of a segment out of it, then removes the segment. The pages to move are
+   * taken from the index rather than from the record headers, so that a corrupted record does
+   * not hide the pages stored after it.
+   */
+  private void compact(Segment segment) throws IOException {
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      moveAll(segment, mPages, STATE_LIVE);
+      moveAll(segment, mTempPages, STATE_TEMP);
+    }
+    try (LockResource r = new LockResource(mLock.writeLock())) {
+      if (references(mPages, segment) || references(mTempPages, segment)) {
+        // not expected as pages are never appended to a sealed segment, keep the segment
+        // rather than lose the pages still stored in it
+        LOG.warn("Segment {} of page store {} still holds pages, skipping its compaction",
+            segment.mId, mSegmentDir);
+        return;
+      }
+      mSegments.remove(segment.mId);
+      segment.close();
+      Files.deleteIfExists(segment.mPath);
+    }
+    LOG.debug("Compacted segment {} of page store {}", segment.mId, mSegmentDir);
+  }
+
+  private void moveAll(Segment segment, Map<PageId, PageLocation> index, byte state)
+      throws IOException {
+    for (Map.Entry<PageId, PageLocation> entry : index.entrySet()) {
+      PageLocation location = entry.getValue();
+      if (location.mSegment != segment) {
+        continue;
+      }
+      PageLocation moved = append(entry.getKey(), ByteBuffer.wrap(readPage(location)), state,
+          location.mCreatedTime);
+      // the page may have been deleted or overwritten while being copied
+      if (index.replace(entry.getKey(), location, moved)) {
+        markDeleted(location);
+      } else {
+        markDeleted(moved);
+      }
+    }
+  }
+
+  private static boolean references(Map<PageId, PageLocation> index, Segment segment) {
+    for (PageLocation location : index.values()) {
+      if (location.mSegment == segment) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void scheduleCompaction() {
+    if (!mCompactionScheduled.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      mCompactionExecutor.submit(() -> {
+        mCompactionScheduled.set(false);
+        try {
+          compact();
+        } catch (IOException | RuntimeException e) {
+          LOG.warn("Failed to compact page store {}", mSegmentDir, e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // the store is being closed
+      mCompactionScheduled.set(false);
+    }
+  }
+
+  /**
+   * Appends a record to the active segment. The page data is written before the record header,
+   * so that a record is only recognized on restore once it has been fully written.
+   */
+  private PageLocation append(PageId pageId, ByteBuffer page, byte state, long createdTime)
+      throws IOException {
+    byte[] fileId = pageId.getFileId().getBytes(StandardCharsets.UTF_8);
+    Preconditions.checkArgument(fileId.length <= Short.MAX_VALUE,
+        "file id of page %s is too long", pageId);
+    int headerLength = HEADER_FIXED_SIZE + fileId.length;
+    int pageLength = page.remaining();
+    long recordSize = (long) headerLength + pageLength;
+    Preconditions.checkArgument(recordSize <= mSegmentSize,
+        "page %s of %s bytes does not fit into segments of %s bytes",
+        pageId, pageLength, mSegmentSize);
+    Segment segment;
+    long offset;
+    while (true) {
+      segment = mActiveSegment;
+      offset = segment.allocate(recordSize);
+      if (offset >= 0) {
+        break;
+      }
+      rollSegment(segment);
+    }
+    PageLocation location =
+        new PageLocation(segment, offset, headerLength, pageLength, createdTime);
+    try {
+      writeFully(segment.getChannel(), page, location.getDataOffset());
+      ByteBuffer header = ByteBuffer.allocate(headerLength);
+      header.putInt(RECORD_MAGIC)
+          .put(state)
+          .putLong(pageId.getPageIndex())
+          .putInt(pageLength)
+          .putLong(createdTime)
+          .putShort((short) fileId.length)
+          .put(fileId)
+          .flip();
+      writeFully(segment.getChannel(), header, offset);
+    } catch (IOException e) {
+      // the allocated space is lost until the segment gets compacted
+      segment.mLiveBytes.addAndGet(-recordSize);
+      throw e;
+    }
+    return location;
+  }
+
+  private synchronized void rollSegment(Segment full) throws IOException {
+    if (mActiveSegment != full) {
+      // another thread has already rolled the segment
+      return;
+    }
+    full.seal();
+    mActiveSegment = openSegment(mNextSegmentId++);
+    if (full.needsCompaction()) {
+      scheduleCompaction();
+    }
+  }
+
+  private Segment openSegment(int id) throws IOException {
+    Path path = mSegmentDir.resolve(SEGMENT_FILE_PREFIX + id);
+    try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+      // preallocate the segment, so that the file does not grow with every append
+      file.setLength(mSegmentSize);
+    }
+    Segment segment = new Segment(id, path,
+        FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE), mSegmentSize);
+    mSegments.put(id, segment);
+    return segment;
+  }
+
+  /**
+   * Rebuilds the page index from the record headers of existing segments. Segments found on
+   * disk are sealed, and new pages always go to a fresh segment.
+   */
+  private synchronized void restore() throws IOException {
+    List<Integer> ids = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(mSegmentDir)) {
+      for (Path path : stream) {
+        Matcher matcher = SEGMENT_FILE_PATTERN.matcher(path.getFileName().toString());
+        if (matcher.matches()) {
+          ids.add(Integer.parseInt(matcher.group(1)));
+        } else {
+          LOG.error("Unrecognized segment file {} is going to be deleted.", path);
+          Files.deleteIfExists(path);
+        }
+      }
+    }
+    ids.sort(Integer::compare);
+    for (int id : ids) {
+      Path path = mSegmentDir.resolve(SEGMENT_FILE_PREFIX + id);
+      Segment segment = new Segment(id, path,
+          FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE),
+          Files.size(path));
+      segment.seal();
+      mSegments.put(id, segment);
+      long position = 0;
+      RecordHeader header;
+      while ((header = readHeader(segment, position)) != null) {
+        PageLocation location = new PageLocation(segment, position, header.mHeaderLength,
+            header.mPageLength, header.mCreatedTime);
+        position += header.getRecordSize();
+        if (header.mState == STATE_DELETED) {
+          continue;
+        }
+        segment.mLiveBytes.addAndGet(location.getRecordSize());
+        if (header.mState == STATE_TEMP) {
+          LOG.info("TEMP page {} is going to be deleted.", header.mPageId);
+          markDeleted(location);
+          continue;
+        }
+        PageLocation previous = mPages.put(header.mPageId, location);
+        if (previous != null) {
+          markDeleted(previous);
+        }
+      }
+      mNextSegmentId = id + 1;
+    }
+    mActiveSegment = openSegment(mNextSegmentId++);
+  }
+
+  @Nullable
+  private RecordHeader readHeader(Segment segment, long position) throws IOException {
+    if (position + HEADER_FIXED_SIZE > segment.mSize) {
+      return null;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_FIXED_SIZE);
+    readFully(segment.getChannel(), buffer, position);
+    buffer.flip();
+    if (buffer.getInt() != RECORD_MAGIC) {
+      // end of written records, or a record whose write did not complete
+      return null;
+    }
+    byte state = buffer.get();
+    long pageIndex = buffer.getLong();
+    int pageLength = buffer.getInt();
+    long createdTime = buffer.getLong();
+    int fileIdLength = buffer.getShort();
+    int headerLength = HEADER_FIXED_SIZE + fileIdLength;
+    if (pageLength < 0 || fileIdLength < 0
+        || position + headerLength + pageLength > segment.mSize) {
+      LOG.error("Corrupted record at offset {} of segment {}", position, segment.mPath);
+      return null;
+    }
+    ByteBuffer fileId = ByteBuffer.allocate(fileIdLength);
+    readFully(segment.getChannel(), fileId, position + HEADER_FIXED_SIZE);
+    PageId pageId =
+        new PageId(new String(fileId.array(), StandardCharsets.UTF_8), pageIndex);
+    return new RecordHeader(pageId, state, headerLength, pageLength, createdTime);
+  }
+
+  private byte[] readPage(PageLocation location) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(location.mPageLength);
+    readFully(location.mSegment.getChannel(), buffer, location.getDataOffset());
+    return buffer.array();
+  }
+
+  private void markDeleted(PageLocation location) throws IOException {
+    location.mSegment.mLiveBytes.addAndGet(-location.getRecordSize());
+    writeState(location, STATE_DELETED);
+  }
+
+  private void writeState(PageLocation location, byte state) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(Byte.BYTES).put(state);
+    buffer.flip();
+    writeFully(location.mSegment.getChannel(), buffer, location.mOffset + STATE_OFFSET);
+  }
+
+  private List<PageId> getTempPages(String fileId) {
+    List<PageId> pages = new ArrayList<>();
+    for (PageId pageId : mTempPages.keySet()) {
+      if (pageId.getFileId().equals(fileId)) {
+        pages.add(pageId);
+      }
+    }
+    return pages;
+  }
+
+  private PageLocation getLocation(PageId pageId, boolean isTemporary)
+      throws PageNotFoundException {
+    PageLocation location = getIndex(isTemporary).get(pageId);
+    if (location == null) {
+      throw new PageNotFoundException(getPageName(pageId, isTemporary));
+    }
+    return location;
+  }
+
+  private Map<PageId, PageLocation> getIndex(boolean isTemporary) {
+    return isTemporary ? mTempPages : mPages;
+  }
+
+  private String getPageName(PageId pageId, boolean isTemporary) {
+    return String.format("%s/%s%s", mSegmentDir, pageId, isTemporary ? " (temporary)" : "");
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      int bytes = channel.read(buffer, position);
+      if (bytes < 0) {
+        throw new EOFException(String.format("Unexpected end of segment at offset %s", position));
+      }
+      position += bytes;
+    }
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  /**
+   * A segment file holding page records.
+   */
+  private final class Segment {
+    private final int mId;
+    private final Path mPath;
+    private final long mSize;
+    private volatile FileChannel mChannel;
+    private volatile boolean mClosed;
+    /** Bytes of records which are not deleted, including space allocated for pending writes. */
+    private final AtomicLong mLiveBytes = new AtomicLong();
+    @GuardedBy("this")
+    private long mWritePosition;
+    private volatile boolean mSealed;
+
+    private Segment(int id, Path path, FileChannel channel, long size) {
+      mId = id;
+      mPath = path;
+      mChannel = channel;
+      mSize = size;
+    }
+
+    /**
+     * @param recordSize size of the record to append
+     * @return the offset allocated for the record, or -1 if the segment is full
+     */
+    private synchronized long allocate(long recordSize) {
+      if (mSealed || mWritePosition + recordSize > mSize) {
+        return -1;
+      }
+      long offset = mWritePosition;
+      mWritePosition += recordSize;
+      mLiveBytes.addAndGet(recordSize);
+      return offset;
+    }
+
+    private synchronized void seal() {
+      mSealed = true;
+    }
+
+    /**
+     * Gets the channel of this segment. A file channel gets closed when a thread blocked on it is
+     * interrupted, in which case the channel is reopened for the other users of the segment.
+     *
+     * @return the channel of this segment
+     */
+    private FileChannel getChannel() throws IOException {
+      FileChannel channel = mChannel;
+      if (channel.isOpen()) {
+        return channel;
+      }
+      synchronized (this) {
+        if (!mChannel.isOpen() && !mClosed) {
+          mChannel = FileChannel.open(mPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        return mChannel;
+      }
+    }
+
+    private boolean needsCompaction() {
+      return mSealed && mSegments.containsKey(mId)
+          && mLiveBytes.get() < mSize * (1 - COMPACTION_GARBAGE_RATIO);
+    }
+
+    private synchronized void close() {
+      mClosed = true;
+      try {
+        mChannel.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close segment {}", mPath, e);
+      }
+    }
+  }
+
+  /**
+   * Location of a page record within a segment.
+   */
+  static final class PageLocation {
+    private final Segment mSegment;
+    private final long mOffset;
+    private final int mHeaderLength;
+    private final int mPageLength;
+    private final long mCreatedTime;
+
+    private PageLocation(Segment segment, long offset, int headerLength, int pageLength,
+        long createdTime) {
+      mSegment = segment;
+      mOffset = offset;
+      mHeaderLength = headerLength;
+      mPageLength = pageLength;
+      mCreatedTime = createdTime;
+    }
+
+    /**
+     * @return the length of the page in bytes
+     */
+    int getPageLength() {
+      return mPageLength;
+    }
+
+    /**
+     * @return the time the page was created, in milliseconds
+     */
+    long getCreatedTime() {
+      return mCreatedTime;
+    }
+
+    private long getDataOffset() {
+      return mOffset + mHeaderLength;
+    }
+
+    private long getRecordSize() {
+      return (long) mHeaderLength + mPageLength;
+    }
+  }
+
+  private static final class RecordHeader {
+    private final PageId mPageId;
+    private final byte mState;
+    private final int mHeaderLength;
+    private final int mPageLength;
+    private final long mCreatedTime;
+
+    private RecordHeader(PageId pageId, byte state, int headerLength, int pageLength,
+        long createdTime) {
+      mPageId = pageId;
+      mState = state;
+      mHeaderLength = headerLength;
+      mPageLength = pageLength;
+      mCreatedTime = createdTime;
+    }
+
+    private long getRecordSize() {
+      return (long) mHeaderLength + mPageLength;
+    }
+  }
+}
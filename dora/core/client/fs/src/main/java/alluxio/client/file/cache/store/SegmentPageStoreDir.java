@@ -0,0 +1,76 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import alluxio.client.file.cache.CacheUsage;
+import alluxio.client.file.cache.PageInfo;
+import alluxio.client.file.cache.PageStore;
+import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.client.quota.CacheScope;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Represent the dir and file level metadata of a segment page store.
+ */
+public class SegmentPageStoreDir extends QuotaManagedPageStoreDir {
+
+  private final PageStoreOptions mPageStoreOptions;
+
+  private SegmentPageStore mPageStore;
+
+  /**
+   * Constructor of SegmentPageStoreDir.
+   * @param pageStoreOptions
+   * @param pageStore
+   * @param cacheEvictor
+   */
+  public SegmentPageStoreDir(PageStoreOptions pageStoreOptions,
+                             PageStore pageStore,
+                             CacheEvictor cacheEvictor) {
+    super(pageStoreOptions.getRootDir(),
+        (long) (pageStoreOptions.getCacheSize() / (1 + pageStoreOptions.getOverheadRatio())),
+        cacheEvictor);
+    checkState(pageStore instanceof SegmentPageStore);
+    mPageStore = (SegmentPageStore) pageStore;
+    mPageStoreOptions = pageStoreOptions;
+  }
+
+  @Override
+  public PageStore getPageStore() {
+    return mPageStore;
+  }
+
+  @Override
+  public void reset() throws IOException {
+    mPageStore.close();
+    PageStoreDir.clear(getRootPath());
+    mPageStore = (SegmentPageStore) PageStore.create(mPageStoreOptions);
+  }
+
+  @Override
+  public void scanPages(Consumer<Optional<PageInfo>> pageInfoConsumer) {
+    // the page index of a segment page store is rebuilt when the store is opened
+    mPageStore.getPages().forEach((pageId, location) -> pageInfoConsumer.accept(
+        Optional.of(new PageInfo(pageId, location.getPageLength(), CacheScope.GLOBAL, this,
+            location.getCreatedTime()))));
+  }
+
+  @Override
+  public Optional<CacheUsage> getUsage() {
+    return Optional.of(new QuotaManagedPageStoreDir.Usage());
+  }
+}
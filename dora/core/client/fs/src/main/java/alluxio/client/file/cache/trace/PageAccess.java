@@ -0,0 +1,74 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.trace;
+
+import alluxio.client.file.cache.PageId;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * A read of a part of a page recorded in a page access trace.
+ */
+public final class PageAccess {
+  private final PageId mPageId;
+  private final int mPageOffset;
+  private final int mLength;
+
+  /**
+   * @param pageId the page read
+   * @param pageOffset the offset of the read in the page
+   * @param length the number of bytes read
+   */
+  public PageAccess(PageId pageId, int pageOffset, int length) {
+    mPageId = pageId;
+    mPageOffset = pageOffset;
+    mLength = length;
+  }
+
+  /**
+   * @return the page read
+   */
+  public PageId getPageId() {
+    return mPageId;
+  }
+
+  /**
+   * @return the offset of the read in the page
+   */
+  public int getPageOffset() {
+    return mPageOffset;
+  }
+
+  /**
+   * @return the number of bytes read
+   */
+  public int getLength() {
+    return mLength;
+  }
+
+  /**
+   * @param pageSize the page size the trace was recorded with
+   * @return the offset of the read in the file
+   */
+  public long getFileOffset(long pageSize) {
+    return mPageId.getPageIndex() * pageSize + mPageOffset;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("pageId", mPageId)
+        .add("pageOffset", mPageOffset)
+        .add("length", mLength)
+        .toString();
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.trace;
+
+import alluxio.client.file.cache.PageId;
+
+import com.google.protobuf.CodedInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Reads the page accesses of a trace written by {@link PageAccessTraceWriter}.
+ */
+@NotThreadSafe
+public final class PageAccessTraceReader implements Closeable {
+  private final InputStream mInputStream;
+  private final CodedInputStream mInput;
+  private final long mPageSize;
+  private final List<String> mFileIds = new ArrayList<>();
+
+  /**
+   * @param path the path of the trace file
+   * @return a reader of the trace
+   */
+  public static PageAccessTraceReader create(Path path) throws IOException {
+    return new PageAccessTraceReader(new BufferedInputStream(Files.newInputStream(path)));
+  }
+
+  /**
+   * @param inputStream the stream to read the trace from, which is closed with the reader
+   */
+  public PageAccessTraceReader(InputStream inputStream) throws IOException {
+    mInputStream = inputStream;
+    mInput = CodedInputStream.newInstance(inputStream);
+    int magic = mInput.readFixed32();
+    if (magic != PageAccessTraceWriter.MAGIC) {
+      throw new IOException(String.format("Not a page access trace: unexpected magic %x", magic));
+    }
+    int version = mInput.readUInt32();
+    if (version != PageAccessTraceWriter.VERSION) {
+      throw new IOException(String.format("Unsupported page access trace version %d", version));
+    }
+    mPageSize = mInput.readUInt64();
+  }
+
+  /**
+   * @return the page size the accesses were recorded with
+   */
+  public long getPageSize() {
+    return mPageSize;
+  }
+
+  /**
+   * @return the next access in the trace, or null if the end of the trace is reached
+   */
+  @Nullable
+  public PageAccess next() throws IOException {
+    // the size limit of the input is meant for protobuf messages, not for a stream of records
+    mInput.resetSizeCounter();
+    while (!mInput.isAtEnd()) {
+      int type = mInput.readUInt32();
+      switch (type) {
+        case PageAccessTraceWriter.FILE_RECORD:
+          mFileIds.add(mInput.readString());
+          break;
+        case PageAccessTraceWriter.ACCESS_RECORD:
+          int fileIndex = mInput.readUInt32();
+          if (fileIndex >= mFileIds.size()) {
+            throw new IOException(String.format("Unknown file index %d in trace", fileIndex));
+          }
+          long pageIndex = mInput.readUInt64();
+          int pageOffset = mInput.readUInt32();
+          int length = mInput.readUInt32();
+          return new PageAccess(new PageId(mFileIds.get(fileIndex), pageIndex), pageOffset,
+              length);
+        default:
+          throw new IOException(String.format("Unknown record type %d in trace", type));
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    mInputStream.close();
+  }
+}
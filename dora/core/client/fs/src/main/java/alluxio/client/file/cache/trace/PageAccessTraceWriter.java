@@ -0,0 +1,108 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.trace;
+
+import alluxio.client.file.cache.PageId;
+
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Writes page accesses to a trace which can be replayed by {@link PageAccessTraceReader}.
+ * <p>
+ * The trace starts with a header holding a magic number, the format version and the page size
+ * the accesses were recorded with. It is followed by records, each starting with a type tag:
+ * a file record assigns the next file index to a file id, and an access record holds the file
+ * index, the page index, the offset in the page and the length of a read as varints. File ids
+ * are written only once, so an access usually takes a handful of bytes.
+ */
+@ThreadSafe
+public final class PageAccessTraceWriter implements Closeable {
+  static final int MAGIC = 0x414c5054;
+  static final int VERSION = 1;
+  static final int FILE_RECORD = 0;
+  static final int ACCESS_RECORD = 1;
+
+  private final OutputStream mOutputStream;
+  private final CodedOutputStream mOutput;
+  private final Map<String, Integer> mFileIndexes = new HashMap<>();
+  private boolean mClosed = false;
+
+  /**
+   * @param path the path of the trace file, which is overwritten if it exists
+   * @param pageSize the page size of the cache the accesses are recorded from
+   * @return a writer of the trace
+   */
+  public static PageAccessTraceWriter create(Path path, long pageSize) throws IOException {
+    return new PageAccessTraceWriter(
+        new BufferedOutputStream(Files.newOutputStream(path)), pageSize);
+  }
+
+  /**
+   * @param outputStream the stream to write the trace to, which is closed with the writer
+   * @param pageSize the page size of the cache the accesses are recorded from
+   */
+  public PageAccessTraceWriter(OutputStream outputStream, long pageSize) throws IOException {
+    mOutputStream = outputStream;
+    mOutput = CodedOutputStream.newInstance(outputStream);
+    mOutput.writeFixed32NoTag(MAGIC);
+    mOutput.writeUInt32NoTag(VERSION);
+    mOutput.writeUInt64NoTag(pageSize);
+  }
+
+  /**
+   * Records a read of a part of a page.
+   *
+   * @param pageId the page read
+   * @param pageOffset the offset of the read in the page
+   * @param length the number of bytes read
+   */
+  public synchronized void record(PageId pageId, int pageOffset, int length) throws IOException {
+    if (mClosed) {
+      return;
+    }
+    Integer fileIndex = mFileIndexes.get(pageId.getFileId());
+    if (fileIndex == null) {
+      fileIndex = mFileIndexes.size();
+      mFileIndexes.put(pageId.getFileId(), fileIndex);
+      mOutput.writeUInt32NoTag(FILE_RECORD);
+      mOutput.writeStringNoTag(pageId.getFileId());
+    }
+    mOutput.writeUInt32NoTag(ACCESS_RECORD);
+    mOutput.writeUInt32NoTag(fileIndex);
+    mOutput.writeUInt64NoTag(pageId.getPageIndex());
+    mOutput.writeUInt32NoTag(pageOffset);
+    mOutput.writeUInt32NoTag(length);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    try {
+      mOutput.flush();
+    } finally {
+      mOutputStream.close();
+    }
+  }
+}
@@ -15,11 +15,15 @@ import alluxio.CloseableSupplier;
 import alluxio.PositionReader;
 import alluxio.client.file.dora.netty.NettyDataReader;
 import alluxio.client.file.dora.netty.PartialReadException;
+import alluxio.file.FileRange;
 import alluxio.file.ReadTargetBuffer;
 
 import com.google.common.base.Throwables;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.IntFunction;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -65,6 +69,12 @@ public class DoraCachePositionReader implements PositionReader {
     }
   }
 
+  @Override
+  public void readVectored(List<? extends FileRange> ranges, IntFunction<ByteBuffer> allocate)
+      throws IOException {
+    mNettyReader.readVectored(ranges, allocate);
+  }
+
   @Override
   public synchronized void close() throws IOException {
     if (mClosed) {
@@ -13,20 +13,39 @@ package alluxio.client.file.dora.netty;
 
 import alluxio.PositionReader;
 import alluxio.client.file.FileSystemContext;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.file.ByteBufferTargetBuffer;
+import alluxio.file.FileRange;
 import alluxio.file.ReadTargetBuffer;
+import alluxio.file.VectoredReadUtils;
+import alluxio.file.VectoredReadUtils.CombinedFileRange;
 import alluxio.proto.dataserver.Protocol;
 import alluxio.wire.WorkerNetAddress;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 /**
  * Positioned Netty data reader.
  */
 public class NettyDataReader implements PositionReader {
+  private static final Logger LOG = LoggerFactory.getLogger(NettyDataReader.class);
+
   private final FileSystemContext mContext;
   private final WorkerNetAddress mAddress;
   private final Supplier<Protocol.ReadRequest.Builder> mRequestBuilder;
+  private final int mVectoredReadMinSeek;
+  private final int mVectoredReadMergedSizeMax;
+  private final long mVectoredReadRequestSizeMax;
+  /** Whether the worker serves the ranges of vectored read requests, until found otherwise. */
+  private volatile boolean mVectoredReadSupported = true;
 
   /**
    * Constructor.
@@ -41,6 +60,11 @@ public class NettyDataReader implements PositionReader {
     mAddress = address;
     // clone the builder so that the initial values does not get overridden
     mRequestBuilder = requestBuilder::clone;
+    AlluxioConfiguration conf = context.getClusterConf();
+    mVectoredReadMinSeek = (int) conf.getBytes(PropertyKey.USER_VECTORED_READ_MIN_SEEK_SIZE);
+    mVectoredReadMergedSizeMax =
+        (int) conf.getBytes(PropertyKey.USER_VECTORED_READ_MERGED_SIZE_MAX);
+    mVectoredReadRequestSizeMax = conf.getBytes(PropertyKey.USER_VECTORED_READ_REQUEST_SIZE_MAX);
   }
 
   @Override
@@ -63,4 +87,108 @@ public class NettyDataReader implements PositionReader {
       return bytesRead;
     }
   }
+
+  /**
+   * Reads the ranges with as few requests as possible. The merged ranges are sent to the worker
+   * in batches of up to {@link PropertyKey#USER_VECTORED_READ_REQUEST_SIZE_MAX} bytes, and the
+   * worker streams the data of all ranges of a batch back in a single response stream.
+   */
+  @Override
+  public void readVectored(List<? extends FileRange> ranges, IntFunction<ByteBuffer> allocate)
+      throws IOException {
+    List<CombinedFileRange> merged = VectoredReadUtils.mergeRanges(
+        VectoredReadUtils.sortRanges(ranges),
+        minSeekForVectoredReads(), maxReadSizeForVectoredReads());
+    int batchStart = 0;
+    while (batchStart < merged.size()) {
+      int batchEnd = batchStart;
+      long batchLength = 0;
+      while (batchEnd < merged.size() && (batchEnd == batchStart
+          || batchLength + merged.get(batchEnd).getLength() <= mVectoredReadRequestSizeMax)) {
+        batchLength += merged.get(batchEnd).getLength();
+        batchEnd++;
+      }
+      try {
+        readBatch(merged.subList(batchStart, batchEnd), (int) batchLength, allocate);
+      } catch (IOException | RuntimeException e) {
+        for (CombinedFileRange remaining : merged.subList(batchStart, merged.size())) {
+          VectoredReadUtils.failRanges(remaining.getRanges(), e);
+        }
+        throw e;
+      }
+      batchStart = batchEnd;
+    }
+  }
+
+  private void readBatch(List<CombinedFileRange> batch, int length,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    ByteBuffer buffer = allocate.apply(length);
+    int bufferStart = buffer.position();
+    if (length > 0 && mVectoredReadSupported) {
+      Protocol.ReadRequest.Builder builder = mRequestBuilder.get()
+          .setLength(length)
+          .setOffset(0)
+          .clearCancel()
+          .clearRanges();
+      for (CombinedFileRange combined : batch) {
+        builder.addRanges(Protocol.ReadRange.newBuilder()
+            .setOffset(combined.getOffset())
+            .setLength(combined.getLength()));
+      }
+      NettyDataReaderStateMachine clientStateMachine = new NettyDataReaderStateMachine(
+          mContext, mAddress, builder, new ByteBufferTargetBuffer(buffer));
+      clientStateMachine.run();
+      PartialReadException exception = clientStateMachine.getException();
+      if (exception != null) {
+        throw exception;
+      }
+      if (!clientStateMachine.isVectoredReadAcknowledged()) {
+        // the worker predates vectored reads, and sent the data at the offset of the request
+        LOG.info("Worker {} does not support vectored reads, reading the ranges one by one",
+            mAddress);
+        mVectoredReadSupported = false;
+        buffer.position(bufferStart);
+      }
+    }
+    if (length > 0 && !mVectoredReadSupported) {
+      readRanges(batch, buffer);
+    }
+    buffer.flip();
+    // the worker stops at the end of file, so only the ranges before it are filled
+    int start = buffer.position();
+    for (CombinedFileRange combined : batch) {
+      ByteBuffer data = buffer.duplicate();
+      data.position(Math.min(start, buffer.limit()));
+      data.limit(Math.min(start + combined.getLength(), buffer.limit()));
+      VectoredReadUtils.completeRanges(combined, data.slice());
+      start += combined.getLength();
+    }
+  }
+
+  /**
+   * Reads the ranges with a request each, stopping at the end of file.
+   */
+  private void readRanges(List<CombinedFileRange> batch, ByteBuffer buffer) throws IOException {
+    for (CombinedFileRange combined : batch) {
+      int bytesRead = 0;
+      while (bytesRead < combined.getLength()) {
+        int read = read(combined.getOffset() + bytesRead, buffer,
+            combined.getLength() - bytesRead);
+        if (read <= 0) {
+          return;
+        }
+        bytesRead += read;
+      }
+    }
+  }
+
+  @Override
+  public int minSeekForVectoredReads() {
+    return mVectoredReadMinSeek;
+  }
+
+  @Override
+  public int maxReadSizeForVectoredReads() {
+    return mVectoredReadMergedSizeMax;
+  }
 }
@@ -87,6 +87,7 @@ public class NettyDataReaderStateMachine {
   @Nullable
   private Channel mChannel;
   private int mBytesRead;
+  private boolean mVectoredReadAcknowledged;
   @Nullable
   private Throwable mLastException;
   @Nullable
@@ -377,6 +378,20 @@ public class NettyDataReaderStateMachine {
     }
   }
 
+  /**
+   * @return whether the server acknowledged serving the ranges of a vectored read request
+   */
+  public boolean isVectoredReadAcknowledged() {
+    return mVectoredReadAcknowledged;
+  }
+
+  /**
+   * Records that the server serves the ranges of the vectored read request.
+   */
+  public void onVectoredReadAcknowledged() {
+    mVectoredReadAcknowledged = true;
+  }
+
   void acquireNettyChannel() {
     try {
       mChannel = mContext.acquireNettyChannel(mAddress);
@@ -549,9 +564,12 @@ public class NettyDataReaderStateMachine {
       RPCProtoMessage rpcProtoMessage = (RPCProtoMessage) msg;
       ProtoMessage message = rpcProtoMessage.getMessage();
       if (message.isReadResponse()) {
-        Preconditions.checkState(
-            message.asReadResponse().getType() == Protocol.ReadResponse.Type.UFS_READ_HEARTBEAT);
-        responseEvent = mResponseEventFactory.createUfsReadHeartBeatResponseEvent();
+        Protocol.ReadResponse.Type type = message.asReadResponse().getType();
+        Preconditions.checkState(type == Protocol.ReadResponse.Type.UFS_READ_HEARTBEAT
+            || type == Protocol.ReadResponse.Type.VECTORED_READ);
+        responseEvent = type == Protocol.ReadResponse.Type.VECTORED_READ
+            ? mResponseEventFactory.createVectoredReadResponseEvent()
+            : mResponseEventFactory.createUfsReadHeartBeatResponseEvent();
       } else if (message.isResponse()) {
         Protocol.Response response = message.asResponse();
         // Canceled is considered a valid status and handled in the reader. We avoid creating a
@@ -86,6 +86,15 @@ public class ResponseEventFactory {
     return new UfsReadHeartBeatResponseEvent();
   }
 
+  /**
+   * Create a VectoredReadResponseEvent.
+   *
+   * @return VectoredReadResponseEvent
+   */
+  public VectoredReadResponseEvent createVectoredReadResponseEvent() {
+    return new VectoredReadResponseEvent();
+  }
+
   /**
    * Create a ServerErrorResponseEvent.
    *
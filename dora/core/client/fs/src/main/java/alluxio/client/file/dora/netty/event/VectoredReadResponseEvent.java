@@ -0,0 +1,29 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora.netty.event;
+
+import alluxio.client.file.dora.netty.NettyDataReaderStateMachine;
+
+/**
+ * Vectored Read Response Event, acknowledging that the server serves the requested ranges.
+ */
+public class VectoredReadResponseEvent implements ResponseEvent {
+
+  @Override
+  public void postProcess(ResponseEventContext responseEventContext) {
+    NettyDataReaderStateMachine nettyClientStateMachine =
+        responseEventContext.getNettyClientStateMachine();
+    nettyClientStateMachine.onVectoredReadAcknowledged();
+    // no data comes with the acknowledgement, so keep waiting for it like after a heartbeat
+    nettyClientStateMachine.fireNext(NettyDataReaderStateMachine.TriggerEvent.HEART_BEAT);
+  }
+}
@@ -12,6 +12,7 @@
 package alluxio.client.file;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -23,19 +24,30 @@ import alluxio.ByteArrayPositionReader;
 import alluxio.Constants;
 import alluxio.PositionReader;
 import alluxio.collections.Pair;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.file.ReadTargetBuffer;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.CommonUtils;
 import alluxio.util.io.BufferUtils;
 
+import com.codahale.metrics.Counter;
+import org.junit.Assume;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.mockito.Mockito;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @RunWith(Parameterized.class)
 public class PositionReadFileInStreamTest {
@@ -126,6 +138,113 @@ public class PositionReadFileInStreamTest {
     }
   }
 
+  @Test
+  public void sequentialReadWithReadAhead() throws Exception {
+    Configuration.set(PropertyKey.USER_POSITION_READER_READ_AHEAD_WINDOWS, 4);
+    try (PositionReadFileInStream stream =
+        new PositionReadFileInStream(mPositionReader, mDataLength)) {
+      int totalBytesRead = 0;
+      for (Pair<Integer, Integer> pair :
+          generateReadSequence(1.0, 0.5, mDataLength, mBufferSize)) {
+        int readLength = pair.getSecond();
+        int bytesRead = stream.read(mBuffer, 0, readLength);
+        assertEquals(readLength, bytesRead);
+        assertTrue(BufferUtils.equalIncreasingByteBuffer(
+            totalBytesRead, bytesRead, ByteBuffer.wrap(mBuffer, 0, bytesRead)));
+        totalBytesRead += bytesRead;
+      }
+      assertEquals(-1, stream.read(mBuffer, 0, mBufferSize));
+    } finally {
+      Configuration.unset(PropertyKey.USER_POSITION_READER_READ_AHEAD_WINDOWS);
+    }
+  }
+
+  @Test
+  public void readWithSeeksWithReadAhead() throws Exception {
+    Configuration.set(PropertyKey.USER_POSITION_READER_READ_AHEAD_WINDOWS, 4);
+    try (PositionReadFileInStream stream =
+        new PositionReadFileInStream(mPositionReader, mDataLength)) {
+      for (Pair<Integer, Integer> pair :
+          generateReadSequence(0.7, 0.5, mDataLength, mBufferSize)) {
+        int position = pair.getFirst();
+        int readLength = pair.getSecond();
+        stream.seek(position);
+        int bytesRead = stream.read(mBuffer, 0, readLength);
+        if (readLength == 0) {
+          continue;
+        }
+        assertEquals(readLength, bytesRead);
+        assertTrue(BufferUtils.equalIncreasingByteBuffer(
+            position, bytesRead, ByteBuffer.wrap(mBuffer, 0, bytesRead)));
+        assertEquals(position + bytesRead, stream.getPos());
+      }
+    } finally {
+      Configuration.unset(PropertyKey.USER_POSITION_READER_READ_AHEAD_WINDOWS);
+    }
+  }
+
+  @Test
+  public void seekDiscardsReadAhead() throws Exception {
+    Assume.assumeTrue(mDataLength >= Constants.MB);
+    Configuration.set(PropertyKey.USER_POSITION_READER_READ_AHEAD_WINDOWS, 4);
+    Counter wasted = MetricsSystem.counter(MetricKey.CLIENT_BYTES_READ_AHEAD_WASTED.getName());
+    long wastedBefore = wasted.getCount();
+    try (PositionReadFileInStream stream =
+        new PositionReadFileInStream(mPositionReader, mDataLength)) {
+      // the first read schedules the read-ahead, the second one waits for the first window
+      assertEquals(mBufferSize, stream.read(mBuffer, 0, mBufferSize));
+      assertEquals(mBufferSize, stream.read(mBuffer, 0, mBufferSize));
+      stream.seek(mDataLength - mBufferSize);
+      assertTrue(wasted.getCount() > wastedBefore);
+      assertEquals(mBufferSize, stream.read(mBuffer, 0, mBufferSize));
+      assertTrue(BufferUtils.equalIncreasingByteBuffer(
+          mDataLength - mBufferSize, mBufferSize, ByteBuffer.wrap(mBuffer, 0, mBufferSize)));
+    } finally {
+      Configuration.unset(PropertyKey.USER_POSITION_READER_READ_AHEAD_WINDOWS);
+    }
+  }
+
+  @Test
+  public void closeWaitsForReadAhead() throws Exception {
+    Assume.assumeTrue(mDataLength >= Constants.MB);
+    Configuration.set(PropertyKey.USER_POSITION_READER_READ_AHEAD_WINDOWS, 4);
+    CountDownLatch fetchStarted = new CountDownLatch(1);
+    AtomicBoolean closed = new AtomicBoolean();
+    AtomicBoolean readAfterClose = new AtomicBoolean();
+    PositionReader reader =
+        new ByteArrayPositionReader(BufferUtils.getIncreasingByteArray(mDataLength)) {
+          @Override
+          public int readInternal(long position, ReadTargetBuffer buffer, int length)
+              throws IOException {
+            if (position > 0) {
+              fetchStarted.countDown();
+              CommonUtils.sleepMs(100);
+            }
+            int bytesRead = super.readInternal(position, buffer, length);
+            readAfterClose.compareAndSet(false, closed.get());
+            return bytesRead;
+          }
+
+          @Override
+          public void close() {
+            closed.set(true);
+          }
+        };
+    try {
+      PositionReadFileInStream stream = new PositionReadFileInStream(reader, mDataLength);
+      assertEquals(mBufferSize, stream.read(mBuffer, 0, mBufferSize));
+      assertTrue(fetchStarted.await(10, TimeUnit.SECONDS));
+      stream.close();
+      assertTrue(closed.get());
+      // the windows being fetched complete before the reader gets closed, and the others never
+      // start
+      CommonUtils.sleepMs(200);
+      assertFalse(readAfterClose.get());
+    } finally {
+      Configuration.unset(PropertyKey.USER_POSITION_READER_READ_AHEAD_WINDOWS);
+    }
+  }
+
   /**
    * Generates a sequence of read positions and length.
    *
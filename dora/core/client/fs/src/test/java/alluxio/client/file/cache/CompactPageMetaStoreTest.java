@@ -0,0 +1,110 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.FIFOCacheEvictor;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.client.quota.CacheScope;
+import alluxio.exception.FileDoesNotExistException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.Set;
+
+/**
+ * Tests for the {@link CompactPageMetaStore} class.
+ */
+public class CompactPageMetaStoreTest extends DefaultMetaStoreTest {
+
+  @Before
+  @Override
+  public void before() {
+    MetricsSystem.clearAllMetrics();
+    mPageStoreDir =
+        PageStoreDir.createPageStoreDir(
+            new CacheEvictorOptions().setEvictorClass(FIFOCacheEvictor.class),
+            new PageStoreOptions().setRootDir(
+                Paths.get(mTempFolder.getRoot().getAbsolutePath())));
+    mPageInfo = new PageInfo(mPage, 1024, mPageStoreDir);
+    mMetaStore = new CompactPageMetaStore(ImmutableList.of(mPageStoreDir));
+    mCachedPageGauge =
+        MetricsSystem.METRIC_REGISTRY.getGauges().get(MetricKey.CLIENT_CACHE_PAGES.getName());
+  }
+
+  @Test
+  public void preservePageInfo() throws Exception {
+    CacheScope scope = CacheScope.create("schema.table");
+    PageInfo pageInfo = new PageInfo(mPage, 4321, scope, mPageStoreDir, 1234L);
+    mMetaStore.addPage(mPage, pageInfo);
+    PageInfo stored = mMetaStore.getPageInfo(mPage);
+    assertEquals(pageInfo, stored);
+    assertEquals(1234L, stored.getCreatedTimestamp());
+    assertEquals(mPageStoreDir, stored.getLocalCacheDir());
+    assertEquals(4321, mMetaStore.bytes());
+  }
+
+  @Test
+  public void manyPagesAndFiles() throws Exception {
+    int numFiles = 50;
+    int pagesPerFile = 100;
+    for (int i = 0; i < numFiles; i++) {
+      for (int j = 0; j < pagesPerFile; j++) {
+        PageId pageId = new PageId(Integer.toString(i), j);
+        mMetaStore.addPage(pageId, new PageInfo(pageId, j + 1, mPageStoreDir));
+      }
+    }
+    assertEquals(numFiles * pagesPerFile, mMetaStore.numPages());
+    Set<PageInfo> pages = mMetaStore.getAllPagesByFileId("7");
+    assertEquals(pagesPerFile, pages.size());
+    assertTrue(pages.contains(new PageInfo(new PageId("7", 42), 43, mPageStoreDir)));
+    for (int j = 0; j < pagesPerFile; j++) {
+      mMetaStore.removePage(new PageId("7", j));
+    }
+    assertTrue(mMetaStore.getAllPagesByFileId("7").isEmpty());
+    assertThrows(FileDoesNotExistException.class, () -> mMetaStore.getStoreDirOfFile("7"));
+    // slots and file handles released above are reused
+    PageId pageId = new PageId("new", 0);
+    mMetaStore.addPage(pageId, new PageInfo(pageId, 10, mPageStoreDir));
+    assertEquals(10, mMetaStore.getPageInfo(pageId).getPageSize());
+    assertEquals((numFiles - 1) * pagesPerFile + 1, mMetaStore.numPages());
+  }
+
+  @Test
+  public void commitFile() throws Exception {
+    PageId tempPage = new PageId("temp", 3);
+    mMetaStore.addTempPage(tempPage, new PageInfo(tempPage, 100, mPageStoreDir));
+    mMetaStore.commitFile("temp", "committed");
+    assertFalse(mMetaStore.hasPage(tempPage));
+    assertEquals(100, mMetaStore.getPageInfo(new PageId("committed", 3)).getPageSize());
+    assertTrue(mMetaStore.getAllPagesByFileId("temp").isEmpty());
+  }
+
+  @Test
+  public void pageIndexOutOfRange() {
+    PageId pageId = new PageId("1", 1L << 33);
+    assertFalse(mMetaStore.hasPage(pageId));
+    assertThrows(IllegalArgumentException.class,
+        () -> mMetaStore.addPage(pageId, new PageInfo(pageId, 1, mPageStoreDir)));
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.FIFOCacheEvictor;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.exception.FileDoesNotExistException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.resource.LockResource;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link ConcurrentPageMetaStore} class.
+ */
+public class ConcurrentPageMetaStoreTest extends DefaultMetaStoreTest {
+
+  @Before
+  @Override
+  public void before() {
+    MetricsSystem.clearAllMetrics();
+    mPageStoreDir =
+        PageStoreDir.createPageStoreDir(
+            new CacheEvictorOptions().setEvictorClass(FIFOCacheEvictor.class),
+            new PageStoreOptions().setRootDir(
+                Paths.get(mTempFolder.getRoot().getAbsolutePath())));
+    mPageInfo = new PageInfo(mPage, 1024, mPageStoreDir);
+    mMetaStore = new ConcurrentPageMetaStore(ImmutableList.of(mPageStoreDir));
+    mCachedPageGauge =
+        MetricsSystem.METRIC_REGISTRY.getGauges().get(MetricKey.CLIENT_CACHE_PAGES.getName());
+  }
+
+  @Test
+  public void readNotBlockedByWriter() throws Exception {
+    mMetaStore.addPage(mPage, mPageInfo);
+    try (LockResource r = new LockResource(mMetaStore.getLock().writeLock())) {
+      CompletableFuture<PageInfo> read = CompletableFuture.supplyAsync(() -> {
+        try (LockResource r2 = new LockResource(mMetaStore.getLock().readLock())) {
+          return mMetaStore.getPageInfo(mPage);
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      });
+      assertEquals(mPageInfo, read.get(10, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  public void bytesAndPagesByFile() throws Exception {
+    PageId page1 = new PageId("1", 0);
+    PageId page2 = new PageId("1", 1);
+    mMetaStore.addPage(page1, new PageInfo(page1, 100, mPageStoreDir));
+    mMetaStore.addPage(page2, new PageInfo(page2, 200, mPageStoreDir));
+    assertEquals(300, mMetaStore.bytes());
+    assertEquals(2, mMetaStore.numPages());
+    assertEquals(2, mMetaStore.getAllPagesByFileId("1").size());
+    assertEquals(mPageStoreDir, mMetaStore.getStoreDirOfFile("1"));
+
+    mMetaStore.removePage(page1);
+    mMetaStore.removePage(page2);
+    assertEquals(0, mMetaStore.bytes());
+    assertTrue(mMetaStore.getAllPagesByFileId("1").isEmpty());
+    assertThrows(FileDoesNotExistException.class, () -> mMetaStore.getStoreDirOfFile("1"));
+  }
+
+  @Test
+  public void commitFile() throws Exception {
+    PageId tempPage = new PageId("temp", 0);
+    mMetaStore.addTempPage(tempPage, new PageInfo(tempPage, 100, mPageStoreDir));
+    mMetaStore.commitFile("temp", "committed");
+    assertFalse(mMetaStore.hasPage(tempPage));
+    assertTrue(mMetaStore.hasPage(new PageId("committed", 0)));
+    assertEquals(1, mMetaStore.getAllPagesByFileId("committed").size());
+    assertTrue(mMetaStore.getAllPagesByFileId("temp").isEmpty());
+  }
+}
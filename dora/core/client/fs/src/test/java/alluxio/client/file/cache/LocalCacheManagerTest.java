@@ -38,6 +38,7 @@ import alluxio.conf.InstancedConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.PageNotFoundException;
 import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.file.ByteArrayTargetBuffer;
 import alluxio.file.NettyBufTargetBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 import alluxio.util.CommonUtils;
@@ -62,11 +63,16 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -585,6 +591,99 @@ public final class LocalCacheManagerTest {
     }
   }
 
+  @Test
+  public void getAndLoadCoalescesConcurrentMisses() throws Exception {
+    int numReaders = 8;
+    CountDownLatch loadStarted = new CountDownLatch(1);
+    CountDownLatch releaseLoad = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger(0);
+    ExecutorService executor = Executors.newFixedThreadPool(numReaders);
+    try {
+      List<Future<byte[]>> results = new ArrayList<>();
+      for (int i = 0; i < numReaders; i++) {
+        results.add(executor.submit(() -> {
+          byte[] buf = new byte[PAGE_SIZE_BYTES];
+          assertEquals(PAGE_SIZE_BYTES, mCacheManager.getAndLoad(PAGE_ID1, 0, PAGE_SIZE_BYTES,
+              new ByteArrayTargetBuffer(buf, 0), CacheContext.defaults(), () -> {
+                loads.incrementAndGet();
+                loadStarted.countDown();
+                try {
+                  releaseLoad.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                  throw new RuntimeException(e);
+                }
+                return PAGE1;
+              }));
+          return buf;
+        }));
+      }
+      loadStarted.await();
+      // give the other readers a chance to miss on the same page while the load is in flight
+      Thread.sleep(100);
+      releaseLoad.countDown();
+      for (Future<byte[]> result : results) {
+        assertArrayEquals(PAGE1, result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertTrue(loads.get() < numReaders);
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+  }
+
+  @Test
+  public void getAndLoadPropagatesLoadFailure() throws Exception {
+    assertThrows(IllegalStateException.class, () -> mCacheManager.getAndLoad(PAGE_ID1, 0,
+        PAGE_SIZE_BYTES, new ByteArrayTargetBuffer(mBuf, 0), CacheContext.defaults(), () -> {
+          throw new IllegalStateException("failed to load");
+        }));
+    assertEquals(0, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    // a failed load must not block subsequent loads of the same page
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.getAndLoad(PAGE_ID1, 0, PAGE_SIZE_BYTES,
+        new ByteArrayTargetBuffer(mBuf, 0), CacheContext.defaults(), () -> PAGE1));
+    assertArrayEquals(PAGE1, mBuf);
+  }
+
+  @Test
+  public void getAndLoadByteBufReleasesBuffer() throws Exception {
+    ByteBuf loaded = Unpooled.directBuffer(PAGE_SIZE_BYTES).writeBytes(PAGE1);
+    assertEquals(PAGE_SIZE_BYTES - 1, mCacheManager.getAndLoadByteBuf(PAGE_ID1, 1,
+        PAGE_SIZE_BYTES - 1, new ByteArrayTargetBuffer(mBuf, 0), CacheContext.defaults(),
+        () -> loaded));
+    assertEquals(ByteBuffer.wrap(PAGE1, 1, PAGE_SIZE_BYTES - 1),
+        ByteBuffer.wrap(mBuf, 0, PAGE_SIZE_BYTES - 1));
+    assertEquals(0, loaded.refCnt());
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+  }
+
+  @Test
+  public void getAndLoadByteBufAsyncCache() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED, true);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.LOCAL);
+    PageStoreOptions pageStoreOptions = PageStoreOptions.create(mConf).get(0);
+    HangingPageStore pageStore = new HangingPageStore(pageStoreOptions);
+    PageStoreDir dir =
+        new LocalPageStoreDir(pageStoreOptions, pageStore, mEvictor);
+    pageStore.setPutHanging(true);
+    mPageMetaStore = new DefaultPageMetaStore(ImmutableList.of(dir));
+    mCacheManager = createLocalCacheManager(mConf, mPageMetaStore);
+    ByteBuf loaded = Unpooled.directBuffer(PAGE_SIZE_BYTES).writeBytes(PAGE1);
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.getAndLoadByteBuf(PAGE_ID1, 0,
+        PAGE_SIZE_BYTES, new ByteArrayTargetBuffer(mBuf, 0), CacheContext.defaults(),
+        () -> loaded));
+    assertArrayEquals(PAGE1, mBuf);
+    // the buffer is still used by the pending async write
+    assertEquals(1, loaded.refCnt());
+    pageStore.setPutHanging(false);
+    CommonUtils.waitFor("buffer to be released", () -> loaded.refCnt() == 0,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+  }
+
   @Test
   public void getNotEnoughSpaceException() throws Exception {
     byte[] buf = new byte[PAGE1.length - 1];
@@ -11,6 +11,14 @@
 
 package alluxio.client.file.cache;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
 import alluxio.AlluxioURI;
 import alluxio.CloseableSupplier;
 import alluxio.Constants;
@@ -30,6 +38,9 @@ import alluxio.conf.Configuration;
 import alluxio.conf.InstancedConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.file.FileId;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.UnderFileSystemConfiguration;
 import alluxio.underfs.local.LocalPositionReader;
@@ -37,8 +48,11 @@ import alluxio.util.CommonUtils;
 import alluxio.util.WaitForOptions;
 import alluxio.util.io.BufferUtils;
 
+import com.codahale.metrics.Counter;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.junit.After;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -54,6 +68,12 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Tests for the {@link LocalCacheManager} class.
@@ -149,6 +169,116 @@ public final class LocalCachePositionReaderTest {
     mPositionReaderTest.concurrentReadPart();
   }
 
+  @Test
+  public void coalescedRead() throws IOException {
+    Assume.assumeTrue(mFileLen > 0);
+    AtomicInteger externalReads = new AtomicInteger();
+    try (PositionReader reader = createCoalescingPositionReader(externalReads)) {
+      byte[] data = new byte[mFileLen];
+      assertEquals(mFileLen, reader.read(0, data, mFileLen));
+      assertTrue(BufferUtils.equalIncreasingByteArray(mFileLen, data));
+      // runs of up to 4 missing pages are loaded with a single read
+      int pages = (mFileLen + Constants.KB - 1) / Constants.KB;
+      assertEquals((pages + 3) / 4, externalReads.get());
+    }
+  }
+
+  @Test
+  public void coalescedSequentialRead() throws IOException {
+    Assume.assumeTrue(mFileLen >= 5 * Constants.KB);
+    AtomicInteger externalReads = new AtomicInteger();
+    try (PositionReader reader = createCoalescingPositionReader(externalReads)) {
+      byte[] data = new byte[3 * Constants.KB];
+      assertEquals(100, reader.read(0, data, 100));
+      assertEquals(1, externalReads.get());
+      // following pages are loaded along with the first missing page of a sequential read
+      assertEquals(1000, reader.read(100, data, 1000));
+      assertEquals(2, externalReads.get());
+      assertEquals(3 * Constants.KB, reader.read(1100, data, 3 * Constants.KB));
+      assertEquals(2, externalReads.get());
+      assertTrue(BufferUtils.equalIncreasingByteArray(1100, 3 * Constants.KB, data));
+    }
+  }
+
+  @Test
+  public void coalescedReadHitDoesNotProbe() throws IOException {
+    Assume.assumeTrue(mFileLen > 0);
+    LocalCacheManager cacheManager = spy(mCacheManager);
+    int length = Math.min(mFileLen, 4 * Constants.KB);
+    try (PositionReader reader =
+        createCoalescingPositionReader(cacheManager, new AtomicInteger(), () -> { })) {
+      byte[] data = new byte[length];
+      assertEquals(length, reader.read(0, data, length));
+      clearInvocations(cacheManager);
+      // pages following a cached page are not looked up
+      assertEquals(length, reader.read(0, data, length));
+      verify(cacheManager, never()).hasPage(any());
+      assertTrue(BufferUtils.equalIncreasingByteArray(length, data));
+    }
+  }
+
+  @Test
+  public void concurrentCoalescedReadsLoadOnce() throws Exception {
+    Assume.assumeTrue(mFileLen >= 4 * Constants.KB);
+    CountDownLatch loadStarted = new CountDownLatch(1);
+    CountDownLatch loadBlocked = new CountDownLatch(1);
+    AtomicInteger externalReads = new AtomicInteger();
+    Counter coalescedLoads =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_LOADS_COALESCED.getName());
+    long coalescedLoadsBefore = coalescedLoads.getCount();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try (PositionReader reader = createCoalescingPositionReader(mCacheManager, externalReads,
+        () -> {
+          if (externalReads.get() == 1) {
+            loadStarted.countDown();
+            Uninterruptibles.awaitUninterruptibly(loadBlocked);
+          }
+        })) {
+      int length = 4 * Constants.KB;
+      Future<byte[]> first = executor.submit(() -> readFully(reader, length));
+      assertTrue(loadStarted.await(10, TimeUnit.SECONDS));
+      Future<byte[]> second = executor.submit(() -> readFully(reader, length));
+      // the second reader waits for the pages loaded by the first one
+      CommonUtils.waitFor("second read to wait for the first one",
+          () -> coalescedLoads.getCount() > coalescedLoadsBefore,
+          WaitForOptions.defaults().setTimeoutMs(10000));
+      loadBlocked.countDown();
+      assertTrue(BufferUtils.equalIncreasingByteArray(length,
+          first.get(10, TimeUnit.SECONDS)));
+      assertTrue(BufferUtils.equalIncreasingByteArray(length,
+          second.get(10, TimeUnit.SECONDS)));
+      assertEquals(1, externalReads.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static byte[] readFully(PositionReader reader, int length) throws IOException {
+    byte[] data = new byte[length];
+    assertEquals(length, reader.read(0, data, length));
+    return data;
+  }
+
+  private PositionReader createCoalescingPositionReader(AtomicInteger externalReads) {
+    return createCoalescingPositionReader(mCacheManager, externalReads, () -> { });
+  }
+
+  private PositionReader createCoalescingPositionReader(CacheManager cacheManager,
+      AtomicInteger externalReads, Runnable onExternalRead) {
+    return LocalCachePositionReader.create(cacheManager,
+        new CloseableSupplier<>(() -> new LocalPositionReader(mTestFile, mFileLen) {
+          @Override
+          public int readInternal(long position, ReadTargetBuffer buffer, int length)
+              throws IOException {
+            externalReads.incrementAndGet();
+            onExternalRead.run();
+            return super.readInternal(position, buffer, length);
+          }
+        }),
+        FileId.of(new AlluxioURI(mTestFile).hash()), mFileLen, Constants.KB,
+        CacheContext.defaults(), 4 * Constants.KB);
+  }
+
   /**
    * Creates a manager and waits until it is ready.
    */
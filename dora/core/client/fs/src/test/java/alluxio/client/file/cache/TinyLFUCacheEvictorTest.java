@@ -0,0 +1,132 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.TinyLFUCacheEvictor;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tests for the {@link TinyLFUCacheEvictor} class.
+ */
+public final class TinyLFUCacheEvictorTest {
+  private TinyLFUCacheEvictor mEvictor;
+  private final PageId mOne = new PageId("1L", 2L);
+  private final PageId mTwo = new PageId("3L", 4L);
+  private final PageId mThree = new PageId("5L", 6L);
+  private final PageId mFour = new PageId("7L", 8L);
+
+  /**
+   * Sets up the instances.
+   */
+  @Before
+  public void before() {
+    mEvictor = new TinyLFUCacheEvictor(new CacheEvictorOptions());
+  }
+
+  @Test
+  public void evictEmpty() {
+    Assert.assertNull(mEvictor.evict());
+  }
+
+  @Test
+  public void evictNewPageNotMorePopular() {
+    mEvictor.updateOnPut(mOne);
+    mEvictor.updateOnPut(mTwo);
+    mEvictor.updateOnPut(mThree);
+    // mTwo just left the window, and is not accessed more often than mOne
+    Assert.assertEquals(mTwo, mEvictor.evict());
+    mEvictor.updateOnDelete(mTwo);
+    Assert.assertEquals(mOne, mEvictor.evict());
+  }
+
+  @Test
+  public void admitNewPageMorePopular() {
+    mEvictor.updateOnGet(mThree);
+    mEvictor.updateOnGet(mThree);
+    mEvictor.updateOnPut(mOne);
+    mEvictor.updateOnPut(mThree);
+    mEvictor.updateOnPut(mTwo);
+    Assert.assertEquals(mOne, mEvictor.evict());
+  }
+
+  @Test
+  public void evictAfterPromotion() {
+    mEvictor.updateOnPut(mOne);
+    mEvictor.updateOnPut(mTwo);
+    mEvictor.updateOnPut(mThree);
+    mEvictor.updateOnGet(mTwo);
+    Assert.assertEquals(mOne, mEvictor.evict());
+    mEvictor.updateOnDelete(mOne);
+    Assert.assertEquals(mTwo, mEvictor.evict());
+    mEvictor.updateOnDelete(mTwo);
+    Assert.assertEquals(mThree, mEvictor.evict());
+    mEvictor.updateOnDelete(mThree);
+    Assert.assertNull(mEvictor.evict());
+  }
+
+  @Test
+  public void scanResistance() {
+    int capacity = 20;
+    Set<PageId> cached = new HashSet<>();
+    Set<PageId> hotPages = new HashSet<>();
+    for (int i = 0; i < capacity / 2; i++) {
+      PageId hot = new PageId("hot", i);
+      hotPages.add(hot);
+      cached.add(hot);
+      mEvictor.updateOnPut(hot);
+      for (int j = 0; j < 5; j++) {
+        mEvictor.updateOnGet(hot);
+      }
+    }
+    for (int i = 0; i < capacity * 10; i++) {
+      if (cached.size() >= capacity) {
+        PageId evicted = mEvictor.evict();
+        Assert.assertTrue(cached.remove(evicted));
+        mEvictor.updateOnDelete(evicted);
+      }
+      PageId scanned = new PageId("scan", i);
+      cached.add(scanned);
+      mEvictor.updateOnPut(scanned);
+    }
+    Assert.assertTrue(cached.containsAll(hotPages));
+  }
+
+  @Test
+  public void evictMatching() {
+    mEvictor.updateOnPut(mOne);
+    mEvictor.updateOnPut(mTwo);
+    mEvictor.updateOnPut(mThree);
+    mEvictor.updateOnGet(mTwo);
+    mEvictor.updateOnPut(mFour);
+    Assert.assertEquals(mTwo, mEvictor.evictMatching(pageId -> pageId.equals(mTwo)));
+    Assert.assertEquals(mFour, mEvictor.evictMatching(pageId -> pageId.equals(mFour)));
+    Assert.assertNull(mEvictor.evictMatching(pageId -> false));
+  }
+
+  @Test
+  public void deleteAndReset() {
+    mEvictor.updateOnPut(mOne);
+    mEvictor.updateOnDelete(mOne);
+    Assert.assertNull(mEvictor.evict());
+    mEvictor.updateOnPut(mTwo);
+    mEvictor.updateOnPut(mThree);
+    mEvictor.reset();
+    Assert.assertNull(mEvictor.evict());
+  }
+}
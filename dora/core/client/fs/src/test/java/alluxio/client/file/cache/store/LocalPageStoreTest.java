@@ -15,21 +15,35 @@ import static alluxio.client.file.cache.store.LocalPageStore.TEMP_DIR;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 import alluxio.client.file.cache.PageId;
 import alluxio.client.file.cache.PageStore;
+import alluxio.exception.PageNotFoundException;
 import alluxio.file.ByteArrayTargetBuffer;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 
+import com.codahale.metrics.Counter;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public class LocalPageStoreTest {
 
@@ -171,6 +185,96 @@ public class LocalPageStoreTest {
     assertFalse(Files.exists(p.getParent()));
   }
 
+  @Test
+  public void reuseFileHandles() throws Exception {
+    LocalPageStore pageStore = new LocalPageStore(mOptions);
+    Counter hits = MetricsSystem.counter(MetricKey.CLIENT_CACHE_STORE_FILE_HANDLE_HITS.getName());
+    Counter misses =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_STORE_FILE_HANDLE_MISSES.getName());
+    long hitsBefore = hits.getCount();
+    long missesBefore = misses.getCount();
+    PageId id = new PageId("0", 0);
+    pageStore.put(id, "test".getBytes());
+    for (int i = 0; i < 3; i++) {
+      assertPage(pageStore, id, "test".getBytes(), false);
+    }
+    assertEquals(1, misses.getCount() - missesBefore);
+    assertEquals(2, hits.getCount() - hitsBefore);
+    pageStore.close();
+  }
+
+  @Test
+  public void invalidateFileHandles() throws Exception {
+    LocalPageStore pageStore = new LocalPageStore(mOptions);
+    PageId id = new PageId("0", 0);
+    pageStore.put(id, "old".getBytes());
+    assertPage(pageStore, id, "old".getBytes(), false);
+    pageStore.delete(id);
+    assertThrows(PageNotFoundException.class,
+        () -> pageStore.get(id, new ByteArrayTargetBuffer(new byte[3], 0)));
+    pageStore.put(id, "new page".getBytes());
+    assertPage(pageStore, id, "new page".getBytes(), false);
+
+    PageId tempId = new PageId("tmp", 0);
+    pageStore.putTemporary(tempId, "temp".getBytes());
+    assertPage(pageStore, tempId, "temp".getBytes(), true);
+    pageStore.commit("tmp");
+    assertThrows(PageNotFoundException.class, () -> pageStore.get(tempId, 0, 4,
+        new ByteArrayTargetBuffer(new byte[4], 0), true));
+    assertPage(pageStore, tempId, "temp".getBytes(), false);
+    pageStore.close();
+  }
+
+  @Test
+  public void interruptedReaderOfSharedFileHandle() throws Exception {
+    LocalPageStore pageStore = new LocalPageStore(mOptions);
+    PageId id = new PageId("0", 0);
+    pageStore.put(id, "test".getBytes());
+    CountDownLatch channelAcquired = new CountDownLatch(1);
+    CountDownLatch channelClosed = new CountDownLatch(1);
+    byte[] buf = new byte[4];
+    // the first reader holds the shared channel when the second one is interrupted
+    ReadTargetBuffer target = new ByteArrayTargetBuffer(buf, 0) {
+      @Override
+      public int readFromFile(FileChannel channel, long position, int length)
+          throws IOException {
+        channelAcquired.countDown();
+        Uninterruptibles.awaitUninterruptibly(channelClosed);
+        return super.readFromFile(channel, position, length);
+      }
+    };
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Integer> reader =
+          executor.submit(() -> pageStore.get(id, 0, 4, target, false));
+      assertTrue(channelAcquired.await(10, TimeUnit.SECONDS));
+      Thread.currentThread().interrupt();
+      try {
+        // the interrupt closes the shared channel, yet the interrupted read gets the page
+        assertPage(pageStore, id, "test".getBytes(), false);
+        assertTrue(Thread.currentThread().isInterrupted());
+      } finally {
+        Thread.interrupted();
+        channelClosed.countDown();
+      }
+      // the other reader retries with a new channel instead of failing on the closed one
+      assertEquals(4, (int) reader.get(10, TimeUnit.SECONDS));
+      assertArrayEquals("test".getBytes(), buf);
+      assertPage(pageStore, id, "test".getBytes(), false);
+    } finally {
+      executor.shutdownNow();
+      pageStore.close();
+    }
+  }
+
+  private void assertPage(PageStore store, PageId id, byte[] expected, boolean isTemporary)
+      throws Exception {
+    byte[] buf = new byte[expected.length];
+    assertEquals(expected.length, store.get(id, 0, expected.length,
+        new ByteArrayTargetBuffer(buf, 0), isTemporary));
+    assertArrayEquals(expected, buf);
+  }
+
   private void helloWorldTest(PageStore store) throws Exception {
     String msg = "Hello, World!";
     PageId id = new PageId("0", 0);
@@ -52,7 +52,8 @@ public class PageStoreDirTest {
     return Arrays.asList(new Object[][] {
         {PageStoreType.ROCKS},
         {PageStoreType.LOCAL},
-        {PageStoreType.MEM}
+        {PageStoreType.MEM},
+        {PageStoreType.SEGMENT}
     });
   }
 
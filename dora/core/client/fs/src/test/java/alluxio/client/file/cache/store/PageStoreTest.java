@@ -43,7 +43,8 @@ public class PageStoreTest {
     return Arrays.asList(new Object[][] {
         {PageStoreType.ROCKS},
         {PageStoreType.LOCAL},
-        {PageStoreType.MEM}
+        {PageStoreType.MEM},
+        {PageStoreType.SEGMENT}
     });
   }
 
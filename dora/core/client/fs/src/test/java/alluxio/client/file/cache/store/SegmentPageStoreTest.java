@@ -0,0 +1,202 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.exception.PageNotFoundException;
+import alluxio.file.ByteArrayTargetBuffer;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public class SegmentPageStoreTest {
+  private static final int PAGE_SIZE = 1024;
+  private static final int SEGMENT_SIZE = 4 * PAGE_SIZE + 512;
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  private PageStoreOptions mOptions;
+  private SegmentPageStore mPageStore;
+
+  @Before
+  public void before() {
+    mOptions = new PageStoreOptions()
+        .setStoreType(PageStoreType.SEGMENT)
+        .setPageSize(PAGE_SIZE)
+        .setSegmentSize(SEGMENT_SIZE)
+        .setCacheSize(65536)
+        .setRootDir(Paths.get(mTemp.getRoot().getAbsolutePath()));
+    mPageStore = new SegmentPageStore(mOptions);
+  }
+
+  @After
+  public void after() {
+    mPageStore.close();
+  }
+
+  @Test
+  public void pagesShareSegmentFiles() throws Exception {
+    for (int i = 0; i < 8; i++) {
+      mPageStore.put(new PageId("0", i), BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+    for (int i = 0; i < 8; i++) {
+      assertPage(new PageId("0", i), BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+    // 4 pages fit into a segment
+    assertEquals(2, mPageStore.getSegmentCount());
+    assertEquals(2, Files.list(getSegmentDir()).count());
+  }
+
+  @Test
+  public void restore() throws Exception {
+    for (int i = 0; i < 6; i++) {
+      mPageStore.put(new PageId(Integer.toString(i), i),
+          BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+    mPageStore.delete(new PageId("1", 1));
+    mPageStore.putTemporary(new PageId("tmp", 0), "temp".getBytes());
+    mPageStore.close();
+
+    mPageStore = new SegmentPageStore(mOptions);
+    assertEquals(5, mPageStore.getPages().size());
+    for (int i = 0; i < 6; i++) {
+      if (i == 1) {
+        assertFalse(mPageStore.getPages().containsKey(new PageId("1", 1)));
+        continue;
+      }
+      assertPage(new PageId(Integer.toString(i), i),
+          BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+    assertThrows(PageNotFoundException.class, () -> mPageStore.get(new PageId("tmp", 0), 0,
+        4, new ByteArrayTargetBuffer(new byte[4], 0), true));
+  }
+
+  @Test
+  public void compactReclaimsDeletedPages() throws Exception {
+    for (int i = 0; i < 8; i++) {
+      mPageStore.put(new PageId("0", i), BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+    assertEquals(2, mPageStore.getSegmentCount());
+    // empty the first segment, which is sealed, and half of the active one
+    for (int i = 0; i < 6; i++) {
+      mPageStore.delete(new PageId("0", i));
+    }
+    mPageStore.compact();
+    assertEquals(1, mPageStore.getSegmentCount());
+    for (int i = 6; i < 8; i++) {
+      assertPage(new PageId("0", i), BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+
+    mPageStore.close();
+    mPageStore = new SegmentPageStore(mOptions);
+    assertEquals(2, mPageStore.getPages().size());
+    for (int i = 6; i < 8; i++) {
+      assertPage(new PageId("0", i), BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+  }
+
+  @Test
+  public void compactCorruptedSegment() throws Exception {
+    for (int i = 0; i < 8; i++) {
+      mPageStore.put(new PageId("0", i), BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+    mPageStore.delete(new PageId("0", 0));
+    mPageStore.delete(new PageId("0", 1));
+    // break the magic of the third record of the first segment, a record being made of a
+    // header of 28 bytes for file id "0" followed by the page
+    try (FileChannel channel = FileChannel.open(getSegmentDir().resolve("segment-0"),
+        StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.allocate(Integer.BYTES), 2 * (PAGE_SIZE + 28));
+    }
+    mPageStore.compact();
+    // the pages after the corrupted record have been moved out of the compacted segment
+    assertFalse(Files.exists(getSegmentDir().resolve("segment-0")));
+    for (int i = 2; i < 8; i++) {
+      assertPage(new PageId("0", i), BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+  }
+
+  @Test
+  public void commitTempFile() throws Exception {
+    mPageStore.putTemporary(new PageId("tmp", 0), "test0".getBytes());
+    mPageStore.putTemporary(new PageId("tmp", 6), "test6".getBytes());
+    mPageStore.putTemporary(new PageId("other", 0), "other".getBytes());
+    mPageStore.commit("tmp", "committed");
+    assertPage(new PageId("committed", 0), "test0".getBytes());
+    assertPage(new PageId("committed", 6), "test6".getBytes());
+    assertThrows(PageNotFoundException.class, () -> mPageStore.get(new PageId("tmp", 0), 0,
+        5, new ByteArrayTargetBuffer(new byte[5], 0), true));
+
+    mPageStore.commit("other");
+    assertPage(new PageId("other", 0), "other".getBytes());
+
+    mPageStore.close();
+    mPageStore = new SegmentPageStore(mOptions);
+    assertEquals(3, mPageStore.getPages().size());
+    assertPage(new PageId("committed", 6), "test6".getBytes());
+  }
+
+  @Test
+  public void abortTempFile() throws Exception {
+    mPageStore.putTemporary(new PageId("tmp", 0), "test0".getBytes());
+    mPageStore.putTemporary(new PageId("other", 0), "other".getBytes());
+    mPageStore.abort("tmp");
+    assertThrows(PageNotFoundException.class, () -> mPageStore.get(new PageId("tmp", 0), 0,
+        5, new ByteArrayTargetBuffer(new byte[5], 0), true));
+    byte[] buf = new byte[5];
+    assertEquals(5, mPageStore.get(new PageId("other", 0), 0, 5,
+        new ByteArrayTargetBuffer(buf, 0), true));
+    assertArrayEquals("other".getBytes(), buf);
+  }
+
+  @Test
+  public void overwritePage() throws Exception {
+    PageId id = new PageId("0", 0);
+    mPageStore.put(id, "old".getBytes());
+    mPageStore.put(id, "new".getBytes());
+    assertPage(id, "new".getBytes());
+    mPageStore.close();
+    mPageStore = new SegmentPageStore(mOptions);
+    assertEquals(1, mPageStore.getPages().size());
+    assertPage(id, "new".getBytes());
+  }
+
+  private Path getSegmentDir() {
+    return Paths.get(mOptions.getRootDir().toString(), Long.toString(PAGE_SIZE),
+        SegmentPageStore.SEGMENT_DIR);
+  }
+
+  private void assertPage(PageId id, byte[] expected) throws Exception {
+    byte[] buf = new byte[expected.length];
+    assertEquals(expected.length, mPageStore.get(id, new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals(expected, buf);
+    assertTrue(mPageStore.getPages().containsKey(id));
+  }
+}
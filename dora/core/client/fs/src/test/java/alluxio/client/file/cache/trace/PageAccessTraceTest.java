@@ -0,0 +1,76 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import alluxio.Constants;
+import alluxio.client.file.cache.PageId;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Tests for {@link PageAccessTraceWriter} and {@link PageAccessTraceReader}.
+ */
+public final class PageAccessTraceTest {
+  @Test
+  public void writeAndRead() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (PageAccessTraceWriter writer = new PageAccessTraceWriter(output, Constants.MB)) {
+      writer.record(new PageId("file1", 0), 0, Constants.MB);
+      writer.record(new PageId("file2", 3), 100, 200);
+      writer.record(new PageId("file1", Integer.MAX_VALUE + 1L), 10, 20);
+    }
+    try (PageAccessTraceReader reader =
+        new PageAccessTraceReader(new ByteArrayInputStream(output.toByteArray()))) {
+      assertEquals(Constants.MB, reader.getPageSize());
+      PageAccess access = reader.next();
+      assertEquals(new PageId("file1", 0), access.getPageId());
+      assertEquals(0, access.getPageOffset());
+      assertEquals(Constants.MB, access.getLength());
+      access = reader.next();
+      assertEquals(new PageId("file2", 3), access.getPageId());
+      assertEquals(100, access.getPageOffset());
+      assertEquals(200, access.getLength());
+      assertEquals(3L * Constants.MB + 100, access.getFileOffset(Constants.MB));
+      access = reader.next();
+      assertEquals(new PageId("file1", Integer.MAX_VALUE + 1L), access.getPageId());
+      assertNull(reader.next());
+    }
+  }
+
+  @Test
+  public void recordAfterClose() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    PageAccessTraceWriter writer = new PageAccessTraceWriter(output, Constants.KB);
+    writer.record(new PageId("file", 0), 0, Constants.KB);
+    writer.close();
+    writer.record(new PageId("file", 1), 0, Constants.KB);
+    try (PageAccessTraceReader reader =
+        new PageAccessTraceReader(new ByteArrayInputStream(output.toByteArray()))) {
+      assertEquals(new PageId("file", 0), reader.next().getPageId());
+      assertNull(reader.next());
+    }
+  }
+
+  @Test
+  public void readInvalidTrace() {
+    assertThrows(IOException.class, () -> new PageAccessTraceReader(
+        new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8})));
+  }
+}
@@ -29,6 +29,7 @@ import alluxio.conf.PropertyKey;
 import alluxio.exception.status.AlluxioStatusException;
 import alluxio.exception.status.UnavailableException;
 import alluxio.exception.status.UnknownException;
+import alluxio.file.FileRange;
 import alluxio.network.protocol.RPCMessage;
 import alluxio.network.protocol.RPCProtoMessage;
 import alluxio.network.protocol.databuffer.NettyDataBuffer;
@@ -38,6 +39,7 @@ import alluxio.util.WaitForOptions;
 import alluxio.util.proto.ProtoMessage;
 import alluxio.wire.WorkerNetAddress;
 
+import com.google.common.collect.ImmutableList;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.embedded.EmbeddedChannel;
@@ -45,6 +47,10 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -221,6 +227,90 @@ public class NettyDataReaderTest {
     checkResult("helloworld".getBytes(), byteArray);
   }
 
+  @Test
+  public void readVectored() throws Exception {
+    List<FileRange> ranges = ImmutableList.of(
+        new FileRange(100000, 5),
+        new FileRange(0, 3),
+        new FileRange(5, 5));
+    // nearby ranges are merged, and all ranges are sent in a single request
+    ServerState start = new WaitForRequestState(vectoredRequest(0, 10, 100000, 5));
+    start.andThen(new SendVectoredReadAckState())
+        .andThen(new SendDataState("0123456789".getBytes()))
+        .andThen(new SendDataState("world".getBytes()))
+        .andThen(new EofState());
+    Future<Throwable> serverFault = mStateDriver.run(start);
+    mReader.readVectored(ranges, ByteBuffer::allocate);
+
+    assertNull(serverFault.get());
+    checkRange("world", ranges.get(0));
+    checkRange("012", ranges.get(1));
+    checkRange("56789", ranges.get(2));
+  }
+
+  @Test
+  public void readVectoredEof() throws Exception {
+    List<FileRange> ranges = ImmutableList.of(
+        new FileRange(0, 10),
+        new FileRange(100000, 5));
+    ServerState start = new WaitForRequestState(vectoredRequest(0, 10, 100000, 5));
+    start.andThen(new SendVectoredReadAckState())
+        .andThen(new SendDataState("0123456789".getBytes()))
+        .andThen(new EofState());
+    Future<Throwable> serverFault = mStateDriver.run(start);
+    mReader.readVectored(ranges, ByteBuffer::allocate);
+
+    assertNull(serverFault.get());
+    checkRange("0123456789", ranges.get(0));
+    ExecutionException e = assertThrows(ExecutionException.class, ranges.get(1).getData()::get);
+    assertTrue(e.getCause() instanceof EOFException);
+  }
+
+  @Test
+  public void readVectoredFromOldWorker() throws Exception {
+    List<FileRange> ranges = ImmutableList.of(
+        new FileRange(0, 3),
+        new FileRange(100000, 5));
+    // a worker unaware of the ranges serves the offset of the request without acknowledging
+    // them, so the ranges are read again one by one
+    ServerState start = new WaitForRequestState(vectoredRequest(0, 3, 100000, 5));
+    start.andThen(new SendDataState("01234567".getBytes()))
+        .andThen(new EofState())
+        .andThen(new WaitForRequestState(
+            mRequestBuilder.clone().setOffset(0).setLength(3).build()))
+        .andThen(new SendDataState("012".getBytes()))
+        .andThen(new EofState())
+        .andThen(new WaitForRequestState(
+            mRequestBuilder.clone().setOffset(100000).setLength(5).build()))
+        .andThen(new SendDataState("world".getBytes()))
+        .andThen(new EofState());
+    Future<Throwable> serverFault = mStateDriver.run(start);
+    mReader.readVectored(ranges, ByteBuffer::allocate);
+
+    assertNull(serverFault.get());
+    checkRange("012", ranges.get(0));
+    checkRange("world", ranges.get(1));
+  }
+
+  private Protocol.ReadRequest vectoredRequest(long... offsetsAndLengths) {
+    Protocol.ReadRequest.Builder builder = mRequestBuilder.clone().setOffset(0);
+    long length = 0;
+    for (int i = 0; i < offsetsAndLengths.length; i += 2) {
+      builder.addRanges(Protocol.ReadRange.newBuilder()
+          .setOffset(offsetsAndLengths[i])
+          .setLength(offsetsAndLengths[i + 1]));
+      length += offsetsAndLengths[i + 1];
+    }
+    return builder.setLength(length).build();
+  }
+
+  private void checkRange(String expected, FileRange range) throws Exception {
+    ByteBuffer data = range.getData().get();
+    byte[] actual = new byte[data.remaining()];
+    data.get(actual);
+    assertEquals(expected, new String(actual));
+  }
+
   private void checkResult(byte[] expected, byte[] actual) {
     assertTrue(expected.length <= actual.length);
     for (int i = 0; i < expected.length; i++) {
@@ -369,6 +459,18 @@ public class NettyDataReaderTest {
     }
   }
 
+  private static class SendVectoredReadAckState extends ServerState {
+    public SendVectoredReadAckState() {
+      action((cd, cs) -> {
+        RPCProtoMessage response = new RPCProtoMessage(new ProtoMessage(
+            Protocol.ReadResponse.newBuilder()
+                .setType(Protocol.ReadResponse.Type.VECTORED_READ)
+                .build()));
+        cd.getChannel().writeInbound(response);
+      });
+    }
+  }
+
   private static class TerminalState extends ServerState {
     private static final TerminalState INSTANCE = new TerminalState();
 
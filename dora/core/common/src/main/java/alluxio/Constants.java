@@ -158,6 +158,9 @@ public final class Constants {
   // Time-to-live
   public static final long NO_TTL = -1;
 
+  // Page store
+  public static final int DEFAULT_PAGE_STORE_OPEN_FILES = 256;
+
   // Security
   public static final int DEFAULT_FILE_SYSTEM_UMASK = 0022;
   public static final short DEFAULT_FILE_SYSTEM_MODE = (short) 0777;
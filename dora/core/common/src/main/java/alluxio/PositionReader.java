@@ -13,8 +13,11 @@ package alluxio;
 
 import alluxio.file.ByteArrayTargetBuffer;
 import alluxio.file.ByteBufferTargetBuffer;
+import alluxio.file.FileRange;
 import alluxio.file.NettyBufTargetBuffer;
 import alluxio.file.ReadTargetBuffer;
+import alluxio.file.VectoredReadUtils;
+import alluxio.file.VectoredReadUtils.CombinedFileRange;
 
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
@@ -22,6 +25,8 @@ import io.netty.buffer.ByteBuf;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.IntFunction;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -99,6 +104,62 @@ public interface PositionReader extends Closeable {
   int readInternal(long position, ReadTargetBuffer buffer, int length)
       throws IOException;
 
+  /**
+   * Reads a list of ranges. Ranges closer to each other than {@link #minSeekForVectoredReads()}
+   * are merged and read together, as long as the merged range is no larger than
+   * {@link #maxReadSizeForVectoredReads()}. The data of each range is a slice of the buffer
+   * allocated for the merged range it belongs to.
+   * <p>
+   * The default implementation reads the merged ranges one by one, and all the ranges are
+   * completed when this method returns. If reading fails, the ranges not read yet are completed
+   * exceptionally.
+   *
+   * @param ranges the ranges to read, which must not overlap
+   * @param allocate the function to allocate a buffer of the given size
+   */
+  default void readVectored(List<? extends FileRange> ranges, IntFunction<ByteBuffer> allocate)
+      throws IOException {
+    List<CombinedFileRange> merged = VectoredReadUtils.mergeRanges(
+        VectoredReadUtils.sortRanges(ranges),
+        minSeekForVectoredReads(), maxReadSizeForVectoredReads());
+    for (int i = 0; i < merged.size(); i++) {
+      CombinedFileRange combined = merged.get(i);
+      ByteBuffer buffer = allocate.apply(combined.getLength());
+      try {
+        int bytesRead = 0;
+        while (bytesRead < combined.getLength()) {
+          int read = read(combined.getOffset() + bytesRead, buffer,
+              combined.getLength() - bytesRead);
+          if (read <= 0) {
+            break;
+          }
+          bytesRead += read;
+        }
+      } catch (IOException | RuntimeException e) {
+        for (CombinedFileRange remaining : merged.subList(i, merged.size())) {
+          VectoredReadUtils.failRanges(remaining.getRanges(), e);
+        }
+        throw e;
+      }
+      buffer.flip();
+      VectoredReadUtils.completeRanges(combined, buffer);
+    }
+  }
+
+  /**
+   * @return the gap between two ranges of a vectored read below which they are read together
+   */
+  default int minSeekForVectoredReads() {
+    return 4 * Constants.KB;
+  }
+
+  /**
+   * @return the maximum size of a range merged from several ranges of a vectored read
+   */
+  default int maxReadSizeForVectoredReads() {
+    return Constants.MB;
+  }
+
   /**
    * Closes the positon reader and do cleanup job if any.
    */
@@ -0,0 +1,31 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+/**
+ * This represents the different page meta store implementations that can be instantiated.
+ */
+public enum PageMetaStoreType {
+  /**
+   * A meta store guarded by a single read write lock.
+   */
+  DEFAULT,
+  /**
+   * A meta store backed by concurrent indexes, so that looking up pages does not need to acquire
+   * the global meta store lock.
+   */
+  CONCURRENT,
+  /**
+   * A meta store keeping page metadata in packed primitive arrays to reduce heap usage.
+   */
+  COMPACT,
+}
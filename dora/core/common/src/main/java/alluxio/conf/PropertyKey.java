@@ -32,6 +32,7 @@ import alluxio.RuntimeConstants;
 import alluxio.annotation.PublicApi;
 import alluxio.client.ReadType;
 import alluxio.client.WriteType;
+import alluxio.client.file.cache.PageMetaStoreType;
 import alluxio.client.file.cache.ShadowCacheType;
 import alluxio.client.file.cache.store.PageStoreType;
 import alluxio.exception.ExceptionMessage;
@@ -2364,6 +2365,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_SCHEDULER_WORKER_INFLIGHT_TASKS_MAX =
+      intBuilder(Name.MASTER_SCHEDULER_WORKER_INFLIGHT_TASKS_MAX)
+          .setDefaultValue(2)
+          .setDescription("The maximum number of job tasks the scheduler runs on a worker at "
+              + "the same time. Dispatching more than one task keeps the worker busy while the "
+              + "result of its previous task is being processed. Values larger than the size of "
+              + "the task queue of a worker, 10, have no effect.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_SHELL_BACKUP_STATE_LOCK_GRACE_MODE =
       enumBuilder(Name.MASTER_SHELL_BACKUP_STATE_LOCK_GRACE_MODE, GraceMode.class)
           .setDefaultValue(GraceMode.FORCED)
@@ -4409,6 +4420,40 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.ALL)
           .build();
+  public static final PropertyKey WORKER_LOAD_FILE_PARTITION_SIZE =
+      dataSizeBuilder(Name.WORKER_LOAD_FILE_PARTITION_SIZE)
+          .setDefaultValue("256MB")
+          .setDescription("When loading a file larger than this size, the worker splits the "
+              + "file into partitions of this size, rounded up to a multiple of the page size, "
+              + "and loads them concurrently from the under storage.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_LOAD_FILE_PARALLELISM_MAX =
+      intBuilder(Name.WORKER_LOAD_FILE_PARALLELISM_MAX)
+          .setDefaultValue(8)
+          .setDescription("The maximum number of partitions of a single file the worker loads "
+              + "concurrently. Setting it to 1 loads every file with a single stream.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_LOAD_PARTITION_THREADS_MAX =
+      intBuilder(Name.WORKER_LOAD_PARTITION_THREADS_MAX)
+          .setDefaultValue(32)
+          .setDescription("The maximum number of file partitions the worker loads concurrently "
+              + "across all files being loaded.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_LOAD_BANDWIDTH =
+      dataSizeBuilder(Name.WORKER_LOAD_BANDWIDTH)
+          .setDescription("The maximum number of bytes per second the worker reads from the "
+              + "under storage for distributed load jobs. It is split fairly across the jobs "
+              + "being loaded, and a job never exceeds its own bandwidth. When not set, only the "
+              + "bandwidth of each job is enforced.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_MANAGEMENT_BACKOFF_STRATEGY =
       enumBuilder(Name.WORKER_MANAGEMENT_BACKOFF_STRATEGY, BackoffStrategy.class)
           .setDefaultValue(BackoffStrategy.ANY)
@@ -4919,6 +4964,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_PAGE_STORE_COALESCED_READ_SIZE_MAX =
+      dataSizeBuilder(Name.WORKER_PAGE_STORE_COALESCED_READ_SIZE_MAX)
+          .setDefaultValue("16MB")
+          .setDescription("The maximum size of a single read from the under storage when "
+              + "consecutive pages missing from the worker page store are loaded. Runs of missing "
+              + "pages in a read, or following a sequential read, are fetched with one ranged "
+              + "read of up to this size instead of one read per page, which saves requests to "
+              + "object stores. A value not larger than the page size disables coalescing.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_PAGE_STORE_DIRS =
       listBuilder(Name.WORKER_PAGE_STORE_DIRS)
           .setDefaultValue("/tmp/alluxio_cache")
@@ -4938,8 +4994,9 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDefaultValue("alluxio.client.file.cache.evictor.LRUCacheEvictor")
           .setDescription("The strategy that worker uses to evict local cached pages when running "
               + "out of space. Currently valid options include "
-              + "`alluxio.client.file.cache.evictor.LRUCacheEvictor`,"
-              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`.")
+              + "`alluxio.client.file.cache.evictor.LRUCacheEvictor`, "
+              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`, "
+              + "`alluxio.client.file.cache.evictor.TinyLFUCacheEvictor`.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
@@ -4950,6 +5007,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_PAGE_STORE_EVICTOR_TINYLFU_WINDOW_RATIO =
+      doubleBuilder(Name.WORKER_PAGE_STORE_EVICTOR_TINYLFU_WINDOW_RATIO)
+          .setDefaultValue(0.01)
+          .setDescription("The ratio of cached pages kept in the admission window of the "
+              + "TinyLFU evictor. New pages stay in the window until they are either evicted "
+              + "or admitted into the main region by being accessed more often than the pages "
+              + "they would replace.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_PAGE_STORE_EVICTOR_NONDETERMINISTIC_ENABLED =
       booleanBuilder(Name.WORKER_PAGE_STORE_EVICTOR_NONDETERMINISTIC_ENABLED)
           .setDefaultValue(false)
@@ -4968,6 +5035,28 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_PAGE_STORE_LOCAL_STORE_OPEN_FILES =
+      intBuilder(Name.WORKER_PAGE_STORE_LOCAL_STORE_OPEN_FILES)
+          .setDefaultValue(Constants.DEFAULT_PAGE_STORE_OPEN_FILES)
+          .setDescription("The maximum number of page files kept open by the page blocked store "
+              + "on local file system, so that reads of cached pages can reuse file handles "
+              + "instead of opening the page file every time. Set to 0 to disable.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_PAGE_STORE_META_STORE_TYPE =
+      enumBuilder(Name.WORKER_PAGE_STORE_META_STORE_TYPE, PageMetaStoreType.class)
+          .setDefaultValue(PageMetaStoreType.DEFAULT)
+          .setDescription("The type of meta store tracking the pages of the worker page store. "
+              + "Can be `DEFAULT`, `CONCURRENT` or `COMPACT`. The `DEFAULT` meta store is guarded "
+              + "by a single read write lock, the `CONCURRENT` meta store uses concurrent indexes "
+              + "so that cache hits do not contend on the meta store lock, the `COMPACT` meta "
+              + "store keeps page metadata in primitive arrays to reduce heap usage with large "
+              + "number of pages. This is ignored when "
+              + Name.WORKER_PAGE_STORE_QUOTA_ENABLED + " is true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_PAGE_STORE_OVERHEAD =
       doubleBuilder(Name.WORKER_PAGE_STORE_OVERHEAD)
           .setDefaultValue(0.1)
@@ -4991,6 +5080,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_PAGE_STORE_SEGMENT_SIZE =
+      dataSizeBuilder(Name.WORKER_PAGE_STORE_SEGMENT_SIZE)
+          .setDefaultValue("256MB")
+          .setDescription("Size of each segment file of the `SEGMENT` page store. Pages are "
+              + "appended to preallocated segment files of this size instead of being stored "
+              + "as one file per page. Must be larger than "
+              + Name.WORKER_PAGE_STORE_PAGE_SIZE + ".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_PAGE_STORE_SIZES =
       listBuilder(Name.WORKER_PAGE_STORE_SIZES)
           .setDefaultValue("512MB")
@@ -5021,8 +5120,9 @@ public final class PropertyKey implements Comparable<PropertyKey> {
       enumBuilder(Name.WORKER_PAGE_STORE_TYPE, PageStoreType.class)
           .setDefaultValue(PageStoreType.LOCAL)
           .setDescription("The type of page store to use for worker page store. Can be either "
-              + "`LOCAL` or `ROCKS`. The `LOCAL` page store stores all pages in a directory, "
-              + "the `ROCKS` page store utilizes rocksDB to persist the data.")
+              + "`LOCAL`, `ROCKS` or `SEGMENT`. The `LOCAL` page store stores all pages in a "
+              + "directory, the `ROCKS` page store utilizes rocksDB to persist the data, the "
+              + "`SEGMENT` page store appends pages to large preallocated segment files.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
@@ -5403,6 +5503,50 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_UFS_WRITE_ASYNC_ENABLED =
+      booleanBuilder(Name.WORKER_UFS_WRITE_ASYNC_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If true, the data of the files written through the worker is "
+              + "written to the under storage in the background, so that writes complete at the "
+              + "speed of the cache. Errors of the background writes fail the completion of the "
+              + "file, so a completed file is still durable in the under storage.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_WRITE_ASYNC_BUFFER_SIZE =
+      dataSizeBuilder(Name.WORKER_UFS_WRITE_ASYNC_BUFFER_SIZE)
+          .setDefaultValue("1MB")
+          .setDescription("The size of the buffers holding the data of a file being written "
+              + "to the under storage in the background.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_WRITE_ASYNC_BUFFER_COUNT =
+      intBuilder(Name.WORKER_UFS_WRITE_ASYNC_BUFFER_COUNT)
+          .setDefaultValue(8)
+          .setDescription("The maximum number of buffers of a file being written to the under "
+              + "storage in the background. Writes to the file wait once all the buffers are "
+              + "in flight.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_WRITE_ASYNC_BUFFER_POOL_SIZE =
+      dataSizeBuilder(Name.WORKER_UFS_WRITE_ASYNC_BUFFER_POOL_SIZE)
+          .setDefaultValue("64MB")
+          .setDescription("The total size of the buffers of all the files being written to the "
+              + "under storage in the background. Once all of them are in use, the data of the "
+              + "files is written to the under storage synchronously.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_WRITE_ASYNC_THREADS_MAX =
+      intBuilder(Name.WORKER_UFS_WRITE_ASYNC_THREADS_MAX)
+          .setDefaultValue(32)
+          .setDescription("The maximum number of files the worker writes to the under storage "
+              + "concurrently in the background.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_WHITELIST =
       listBuilder(Name.WORKER_WHITELIST)
           .setDefaultValue("/")
@@ -5762,6 +5906,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setScope(Scope.SERVER)
 
           .build();
+  public static final PropertyKey PROXY_S3_READ_DIRECT_BUFFER_SIZE =
+      dataSizeBuilder(Name.PROXY_S3_READ_DIRECT_BUFFER_SIZE)
+          .setDescription("The size of the off-heap buffer through which each proxy thread "
+              + "sends the body of GetObject responses, so that object data goes from the "
+              + "worker connection to the client socket without being copied to the heap. "
+              + "Rate limited reads fill at most 64KB of it at a time. "
+              + "Set to 0 to send object bodies through an on-heap buffer instead.")
+          .setDefaultValue("64KB")
+          .setScope(Scope.SERVER)
+          .build();
 
   //
   // Locality related properties
@@ -6186,8 +6340,9 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDefaultValue("alluxio.client.file.cache.evictor.LRUCacheEvictor")
           .setDescription("The strategy that client uses to evict local cached pages when running "
               + "out of space. Currently valid options include "
-              + "`alluxio.client.file.cache.evictor.LRUCacheEvictor`,"
-              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`.")
+              + "`alluxio.client.file.cache.evictor.LRUCacheEvictor`, "
+              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`, "
+              + "`alluxio.client.file.cache.evictor.TinyLFUCacheEvictor`.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
@@ -6198,6 +6353,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_EVICTOR_TINYLFU_WINDOW_RATIO =
+      doubleBuilder(Name.USER_CLIENT_CACHE_EVICTOR_TINYLFU_WINDOW_RATIO)
+          .setDefaultValue(0.01)
+          .setDescription("The ratio of cached pages kept in the admission window of the "
+              + "TinyLFU evictor. New pages stay in the window until they are either evicted "
+              + "or admitted into the main region by being accessed more often than the pages "
+              + "they would replace.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_EVICTOR_NONDETERMINISTIC_ENABLED =
       booleanBuilder(Name.USER_CLIENT_CACHE_EVICTOR_NONDETERMINISTIC_ENABLED)
           .setDefaultValue(false)
@@ -6291,6 +6456,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_COALESCED_READ_SIZE_MAX =
+      dataSizeBuilder(Name.USER_CLIENT_CACHE_COALESCED_READ_SIZE_MAX)
+          .setDefaultValue("16MB")
+          .setDescription("The maximum size of a single read from the under storage when "
+              + "consecutive pages missing from the client cache are loaded. Runs of missing "
+              + "pages in a read, or following a sequential read, are fetched with one ranged "
+              + "read of up to this size instead of one read per page, which saves requests to "
+              + "object stores. A value not larger than the page size disables coalescing.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_DIRS =
       listBuilder(Name.USER_CLIENT_CACHE_DIRS)
           .setDefaultValue("/tmp/alluxio_cache")
@@ -6332,12 +6508,23 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_SEGMENT_SIZE =
+      dataSizeBuilder(Name.USER_CLIENT_CACHE_SEGMENT_SIZE)
+          .setDefaultValue("256MB")
+          .setDescription("Size of each segment file of the `SEGMENT` page store. Pages are "
+              + "appended to preallocated segment files of this size instead of being stored "
+              + "as one file per page. Must be larger than "
+              + Name.USER_CLIENT_CACHE_PAGE_SIZE + ".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_STORE_TYPE =
       enumBuilder(Name.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.class)
           .setDefaultValue(PageStoreType.LOCAL)
           .setDescription("The type of page store to use for client-side cache. Can be either "
-              + "`LOCAL` or `ROCKS`. The `LOCAL` page store stores all pages in a directory, "
-              + "the `ROCKS` page store utilizes rocksDB to persist the data.")
+              + "`LOCAL`, `ROCKS` or `SEGMENT`. The `LOCAL` page store stores all pages in a "
+              + "directory, the `ROCKS` page store utilizes rocksDB to persist the data, the "
+              + "`SEGMENT` page store appends pages to large preallocated segment files.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
@@ -6350,6 +6537,28 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_LOCAL_STORE_OPEN_FILES =
+      intBuilder(Name.USER_CLIENT_CACHE_LOCAL_STORE_OPEN_FILES)
+          .setDefaultValue(Constants.DEFAULT_PAGE_STORE_OPEN_FILES)
+          .setDescription("The maximum number of page files kept open by the local page store "
+              + "of the client-side cache, so that reads of cached pages can reuse file handles "
+              + "instead of opening the page file every time. Set to 0 to disable.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_META_STORE_TYPE =
+      enumBuilder(Name.USER_CLIENT_CACHE_META_STORE_TYPE, PageMetaStoreType.class)
+          .setDefaultValue(PageMetaStoreType.DEFAULT)
+          .setDescription("The type of meta store tracking the pages of the client-side cache. "
+              + "Can be `DEFAULT`, `CONCURRENT` or `COMPACT`. The `DEFAULT` meta store is guarded "
+              + "by a single read write lock, the `CONCURRENT` meta store uses concurrent indexes "
+              + "so that cache hits do not contend on the meta store lock, the `COMPACT` meta "
+              + "store keeps page metadata in primitive arrays to reduce heap usage with large "
+              + "number of pages. This is ignored when "
+              + Name.USER_CLIENT_CACHE_QUOTA_ENABLED + " is true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_QUOTA_ENABLED =
       booleanBuilder(Name.USER_CLIENT_CACHE_QUOTA_ENABLED)
           .setDefaultValue(false)
@@ -6357,6 +6566,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_TRACE_FILE =
+      stringBuilder(Name.USER_CLIENT_CACHE_TRACE_FILE)
+          .setDescription("If set, the page accesses served by the client cache are recorded "
+              + "to this file in a compact binary format. The recorded trace can be replayed "
+              + "offline against different cache sizes, page sizes and evictors with the "
+              + "CacheTraceReplayBench microbenchmark.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_TTL_ENABLED =
       booleanBuilder(Name.USER_CLIENT_CACHE_TTL_ENABLED)
           .setDefaultValue(false)
@@ -6566,6 +6784,35 @@ public final class PropertyKey implements Comparable<PropertyKey> {
               + "aggregated, so different applications must set their own ids or leave this value "
               + "unset to use a randomly generated id.")
           .build();
+  public static final PropertyKey USER_POSITION_READER_READ_AHEAD_THREADS =
+      intBuilder(Name.USER_POSITION_READER_READ_AHEAD_THREADS)
+          .setDefaultValue(16)
+          .setDescription("The number of threads shared by all position read streams of a "
+              + "client to read ahead from workers, when "
+              + Name.USER_POSITION_READER_READ_AHEAD_WINDOWS + " is positive.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_POSITION_READER_READ_AHEAD_WINDOWS =
+      intBuilder(Name.USER_POSITION_READER_READ_AHEAD_WINDOWS)
+          .setDefaultValue(0)
+          .setDescription("The maximum number of read-ahead windows a position read stream keeps "
+              + "outstanding while reading a file sequentially. Windows are fetched from the "
+              + "worker asynchronously, so that sequential readers do not stall on a worker "
+              + "round trip whenever the buffered data is drained. When set to 0, data is "
+              + "prefetched synchronously on the reading thread.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_POSITION_READER_READ_AHEAD_WINDOW_SIZE_MAX =
+      dataSizeBuilder(Name.USER_POSITION_READER_READ_AHEAD_WINDOW_SIZE_MAX)
+          .setDefaultValue("4MB")
+          .setDescription("The maximum size of a single read-ahead window. The window grows "
+              + "while the file is read sequentially, and shrinks when read-ahead data is "
+              + "discarded because of a seek.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_POSITION_READER_STREAMING_MULTIPLIER =
       intBuilder(Name.USER_POSITION_READER_STREAMING_MULTIPLIER)
           .setScope(Scope.CLIENT)
@@ -7068,6 +7315,31 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_VECTORED_READ_MIN_SEEK_SIZE =
+      dataSizeBuilder(Name.USER_VECTORED_READ_MIN_SEEK_SIZE)
+          .setDefaultValue("16KB")
+          .setDescription("Ranges of a vectored read which are closer to each other than this "
+              + "size are merged and read together from the worker.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_VECTORED_READ_MERGED_SIZE_MAX =
+      dataSizeBuilder(Name.USER_VECTORED_READ_MERGED_SIZE_MAX)
+          .setDefaultValue("1MB")
+          .setDescription("The maximum size of a range merged from several ranges of a vectored "
+              + "read.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_VECTORED_READ_REQUEST_SIZE_MAX =
+      dataSizeBuilder(Name.USER_VECTORED_READ_REQUEST_SIZE_MAX)
+          .setDefaultValue("16MB")
+          .setDescription("The maximum number of bytes requested from a worker in a single "
+              + "vectored read request. The ranges of a vectored read are sent to the worker in "
+              + "batches of this size.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_DIRECT_MEMORY_IO_ENABLED =
       booleanBuilder(Name.USER_UNSAFE_DIRECT_LOCAL_IO_ENABLED)
           .setDefaultValue(false)
@@ -7216,6 +7488,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.ALL)
           .build();
+  public static final PropertyKey FUSE_READDIRPLUS_ENABLED =
+      booleanBuilder(Name.FUSE_READDIRPLUS_ENABLED)
+          .setDefaultValue(true)
+          .setDescription(format("If true, the attributes of the entries of a directory "
+              + "are returned along with the directory listing, so that the kernel does not "
+              + "need to get the attributes of each entry separately. This takes effect with "
+              + "libfuse 3, and the kernel caches the attributes and entries for the "
+              + "attr_timeout and entry_timeout of %s.", Name.FUSE_MOUNT_OPTIONS))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
   public static final PropertyKey FUSE_STAT_CACHE_REFRESH_INTERVAL =
       durationBuilder(Name.FUSE_STAT_CACHE_REFRESH_INTERVAL)
           .setDefaultValue("5min")
@@ -7438,6 +7721,50 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDefaultValue(20)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey JOB_BATCH_ADAPTIVE_ENABLED =
+      booleanBuilder(Name.JOB_BATCH_ADAPTIVE_ENABLED)
+          .setDescription("Whether load, copy and move jobs size their tasks by bytes based on "
+              + "the throughput observed on each worker. When enabled, a task holds as many "
+              + "bytes as the worker is expected to process within "
+              + Name.JOB_BATCH_TARGET_DURATION + ", and up to ten times "
+              + Name.JOB_BATCH_SIZE + " small files. When disabled, a task holds "
+              + Name.JOB_BATCH_SIZE + " files whatever their sizes.")
+          .setDefaultValue(true)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey JOB_BATCH_BYTES_MAX =
+      dataSizeBuilder(Name.JOB_BATCH_BYTES_MAX)
+          .setDescription("The maximum number of bytes of files included in a job task when "
+              + Name.JOB_BATCH_ADAPTIVE_ENABLED + " is true. A single file larger than this "
+              + "still makes a task on its own.")
+          .setDefaultValue("8GB")
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey JOB_BATCH_TARGET_DURATION =
+      durationBuilder(Name.JOB_BATCH_TARGET_DURATION)
+          .setDescription("The time a worker is expected to spend on a job task when "
+              + Name.JOB_BATCH_ADAPTIVE_ENABLED + " is true. Shorter tasks balance the work "
+              + "across workers better, at the cost of more requests.")
+          .setDefaultValue("30s")
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey JOB_LISTING_PARALLELISM =
+      intBuilder(Name.JOB_LISTING_PARALLELISM)
+          .setDescription("The number of concurrent requests with which a load job lists a "
+              + "directory of an object store. The top levels of the directory are listed with "
+              + "a delimiter, and the discovered prefixes are listed recursively in parallel. "
+              + "Set to 1 to list the directory with a single sequence of requests.")
+          .setDefaultValue(8)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey JOB_LISTING_BUFFER_SIZE =
+      intBuilder(Name.JOB_LISTING_BUFFER_SIZE)
+          .setDescription("The maximum number of file statuses a load job lists ahead of the "
+              + "files being scheduled, when " + Name.JOB_LISTING_PARALLELISM
+              + " is greater than 1.")
+          .setDefaultValue(10000)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey JOB_RETENTION_TIME =
       durationBuilder(Name.JOB_RETENTION_TIME)
       .setDescription("The length of time the Alluxio should save information about "
@@ -7912,6 +8239,42 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey DORA_WORKER_METASTORE_EXPIRY_INTERVAL =
+      durationBuilder(Name.DORA_WORKER_METASTORE_EXPIRY_INTERVAL)
+          .setDefaultValue("10min")
+          .setDescription("The interval at which the Dora worker scans its metadata store and "
+              + "removes the metadata older than "
+              + Name.DORA_WORKER_METASTORE_ROCKSDB_TTL + ". The scan only runs if the TTL is set.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey DORA_WORKER_METASTORE_ABSENT_CACHE_SIZE =
+      intBuilder(Name.DORA_WORKER_METASTORE_ABSENT_CACHE_SIZE)
+          .setDefaultValue(100000)
+          .setDescription("The max number of paths recently found missing in the UFS that the "
+              + "Dora worker remembers, so that file status requests for them do not call the "
+              + "UFS again. 0 disables the cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey DORA_WORKER_METASTORE_ABSENT_CACHE_TTL =
+      durationBuilder(Name.DORA_WORKER_METASTORE_ABSENT_CACHE_TTL)
+          .setDefaultValue("10s")
+          .setDescription("How long the Dora worker remembers that a path is missing in the UFS. "
+              + "A file created in the UFS without going through the worker may be reported "
+              + "missing for this long.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey DORA_WORKER_METASTORE_CACHE_SIZE =
+      dataSizeBuilder(Name.DORA_WORKER_METASTORE_CACHE_SIZE)
+          .setDefaultValue("64MB")
+          .setDescription("The approximate size of the on-heap cache of Dora metadata in front "
+              + "of RocksDB, weighed by the serialized size of the file statuses. "
+              + "0 disables the cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey DORA_WORKER_METASTORE_ROCKSDB_BLOOM_FILTER =
       booleanBuilder(Name.DORA_WORKER_METASTORE_ROCKSDB_BLOOM_FILTER)
           .setDescription("Whether or not to use a bloom filter in the Block meta"
@@ -8360,6 +8723,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.block.scan.invalid.batch.max.size";
     public static final String MASTER_SCHEDULER_INITIAL_WAIT_TIME =
         "alluxio.master.scheduler.initial.wait.time";
+    public static final String MASTER_SCHEDULER_WORKER_INFLIGHT_TASKS_MAX =
+        "alluxio.master.scheduler.worker.inflight.tasks.max";
     public static final String MASTER_SHELL_BACKUP_STATE_LOCK_GRACE_MODE =
         "alluxio.master.shell.backup.state.lock.grace.mode";
     public static final String MASTER_SHELL_BACKUP_STATE_LOCK_TRY_DURATION =
@@ -8848,6 +9213,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.fuse.mount.point";
     public static final String WORKER_MANAGEMENT_TIER_ALIGN_RESERVED_BYTES =
         "alluxio.worker.management.tier.align.reserved.bytes";
+    public static final String WORKER_LOAD_FILE_PARTITION_SIZE =
+        "alluxio.worker.load.file.partition.size";
+    public static final String WORKER_LOAD_FILE_PARALLELISM_MAX =
+        "alluxio.worker.load.file.parallelism.max";
+    public static final String WORKER_LOAD_PARTITION_THREADS_MAX =
+        "alluxio.worker.load.partition.threads.max";
+    public static final String WORKER_LOAD_BANDWIDTH =
+        "alluxio.worker.load.bandwidth";
     public static final String WORKER_MANAGEMENT_BACKOFF_STRATEGY =
         "alluxio.worker.management.backoff.strategy";
     public static final String WORKER_MANAGEMENT_LOAD_DETECTION_COOL_DOWN_TIME =
@@ -8972,6 +9345,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.page.store.async.write.enabled";
     public static final String WORKER_PAGE_STORE_ASYNC_WRITE_THREADS =
         "alluxio.worker.page.store.async.write.threads";
+    public static final String WORKER_PAGE_STORE_COALESCED_READ_SIZE_MAX =
+        "alluxio.worker.page.store.coalesced.read.size.max";
     public static final String WORKER_PAGE_STORE_DIRS =
         "alluxio.worker.page.store.dirs";
     public static final String WORKER_PAGE_STORE_EVICTION_RETRIES =
@@ -8980,16 +9355,24 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.page.store.evictor.class";
     public static final String WORKER_PAGE_STORE_EVICTOR_LFU_LOGBASE =
         "alluxio.worker.page.store.evictor.lfu.logbase";
+    public static final String WORKER_PAGE_STORE_EVICTOR_TINYLFU_WINDOW_RATIO =
+        "alluxio.worker.page.store.evictor.tinylfu.window.ratio";
     public static final String WORKER_PAGE_STORE_EVICTOR_NONDETERMINISTIC_ENABLED =
         "alluxio.worker.page.store.evictor.nondeterministic.enabled";
     public static final String WORKER_PAGE_STORE_LOCAL_STORE_FILE_BUCKETS =
         "alluxio.worker.page.store.local.store.file.buckets";
+    public static final String WORKER_PAGE_STORE_LOCAL_STORE_OPEN_FILES =
+        "alluxio.worker.page.store.local.store.open.files";
+    public static final String WORKER_PAGE_STORE_META_STORE_TYPE =
+        "alluxio.worker.page.store.meta.store.type";
     public static final String WORKER_PAGE_STORE_OVERHEAD =
         "alluxio.worker.page.store.overhead";
     public static final String WORKER_PAGE_STORE_PAGE_SIZE =
         "alluxio.worker.page.store.page.size";
     public static final String WORKER_PAGE_STORE_QUOTA_ENABLED =
         "alluxio.worker.page.store.quota.enabled";
+    public static final String WORKER_PAGE_STORE_SEGMENT_SIZE =
+        "alluxio.worker.page.store.segment.size";
     public static final String WORKER_PAGE_STORE_SIZES =
         "alluxio.worker.page.store.sizes";
     public static final String WORKER_PAGE_STORE_TIMEOUT_DURATION =
@@ -9056,6 +9439,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.ufs.instream.cache.enabled";
     public static final String WORKER_UFS_INSTREAM_CACHE_MAX_SIZE =
         "alluxio.worker.ufs.instream.cache.max.size";
+    public static final String WORKER_UFS_WRITE_ASYNC_ENABLED =
+        "alluxio.worker.ufs.write.async.enabled";
+    public static final String WORKER_UFS_WRITE_ASYNC_BUFFER_SIZE =
+        "alluxio.worker.ufs.write.async.buffer.size";
+    public static final String WORKER_UFS_WRITE_ASYNC_BUFFER_COUNT =
+        "alluxio.worker.ufs.write.async.buffer.count";
+    public static final String WORKER_UFS_WRITE_ASYNC_BUFFER_POOL_SIZE =
+        "alluxio.worker.ufs.write.async.buffer.pool.size";
+    public static final String WORKER_UFS_WRITE_ASYNC_THREADS_MAX =
+        "alluxio.worker.ufs.write.async.threads.max";
     public static final String WORKER_WHITELIST = "alluxio.worker.whitelist";
 
     //
@@ -9117,6 +9510,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.proxy.s3.bucketpathcache.timeout";
     public static final String PROXY_S3_GLOBAL_READ_RATE_LIMIT_MB =
         "alluxio.proxy.s3.global.read.rate.limit.mb";
+    public static final String PROXY_S3_READ_DIRECT_BUFFER_SIZE =
+        "alluxio.proxy.s3.read.direct.buffer.size";
     public static final String PROXY_S3_SINGLE_CONNECTION_READ_RATE_LIMIT_MB =
         "alluxio.proxy.s3.single.connection.read.rate.limit.mb";
 
@@ -9178,6 +9573,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.client.cache.evictor.class";
     public static final String USER_CLIENT_CACHE_EVICTOR_LFU_LOGBASE =
         "alluxio.user.client.cache.evictor.lfu.logbase";
+    public static final String USER_CLIENT_CACHE_EVICTOR_TINYLFU_WINDOW_RATIO =
+        "alluxio.user.client.cache.evictor.tinylfu.window.ratio";
     public static final String USER_CLIENT_CACHE_EVICTOR_NONDETERMINISTIC_ENABLED =
         "alluxio.user.client.cache.evictor.nondeterministic.enabled";
     public static final String USER_CLIENT_CACHE_SHADOW_ENABLED =
@@ -9202,22 +9599,32 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.client.cache.shadow.cuckoo.size.prefix.bits";
     public static final String USER_CLIENT_CACHE_SHADOW_CUCKOO_SIZE_SUFFIX_BITS =
         "alluxio.user.client.cache.shadow.cuckoo.size.suffix.bits";
+    public static final String USER_CLIENT_CACHE_COALESCED_READ_SIZE_MAX =
+        "alluxio.user.client.cache.coalesced.read.size.max";
     public static final String USER_CLIENT_CACHE_DIRS =
         "alluxio.user.client.cache.dirs";
     public static final String USER_CLIENT_CACHE_LOCAL_STORE_FILE_BUCKETS =
         "alluxio.user.client.cache.local.store.file.buckets";
+    public static final String USER_CLIENT_CACHE_LOCAL_STORE_OPEN_FILES =
+        "alluxio.user.client.cache.local.store.open.files";
     public static final String USER_CLIENT_CACHE_IN_STREAM_BUFFER_SIZE =
         "alluxio.user.client.cache.instream_buffer_size";
     public static final String USER_CLIENT_CACHE_PAGE_SIZE =
         "alluxio.user.client.cache.page.size";
+    public static final String USER_CLIENT_CACHE_META_STORE_TYPE =
+        "alluxio.user.client.cache.meta.store.type";
     public static final String USER_CLIENT_CACHE_QUOTA_ENABLED =
         "alluxio.user.client.cache.quota.enabled";
+    public static final String USER_CLIENT_CACHE_TRACE_FILE =
+        "alluxio.user.client.cache.trace.file";
     public static final String USER_CLIENT_CACHE_TTL_ENABLED =
             "alluxio.user.client.cache.ttl.enabled";
     public static final String USER_CLIENT_CACHE_TTL_CHECK_INTERVAL_SECONDS =
             "alluxio.user.client.cache.ttl.check.interval.seconds";
     public static final String USER_CLIENT_CACHE_TTL_THRESHOLD_SECONDS =
             "alluxio.user.client.cache.ttl.threshold.seconds";
+    public static final String USER_CLIENT_CACHE_SEGMENT_SIZE =
+        "alluxio.user.client.cache.segment.size";
     public static final String USER_CLIENT_CACHE_SIZE =
         "alluxio.user.client.cache.size";
     public static final String USER_CLIENT_CACHE_STORE_OVERHEAD =
@@ -9308,6 +9715,12 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String USER_METRICS_HEARTBEAT_INTERVAL_MS =
         "alluxio.user.metrics.heartbeat.interval";
     public static final String USER_APP_ID = "alluxio.user.app.id";
+    public static final String USER_POSITION_READER_READ_AHEAD_THREADS =
+        "alluxio.user.position.reader.read.ahead.threads";
+    public static final String USER_POSITION_READER_READ_AHEAD_WINDOWS =
+        "alluxio.user.position.reader.read.ahead.windows";
+    public static final String USER_POSITION_READER_READ_AHEAD_WINDOW_SIZE_MAX =
+        "alluxio.user.position.reader.read.ahead.window.size.max";
     public static final String USER_POSITION_READER_STREAMING_MULTIPLIER =
         "alluxio.user.position.reader.streaming.multiplier";
     public static final String USER_NETWORK_DATA_TIMEOUT =
@@ -9413,6 +9826,12 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.unsafe.direct.local.io.enabled";
     public static final String USER_UPDATE_FILE_ACCESSTIME_DISABLED =
         "alluxio.user.update.file.accesstime.disabled";
+    public static final String USER_VECTORED_READ_MIN_SEEK_SIZE =
+        "alluxio.user.vectored.read.min.seek.size";
+    public static final String USER_VECTORED_READ_MERGED_SIZE_MAX =
+        "alluxio.user.vectored.read.merged.size.max";
+    public static final String USER_VECTORED_READ_REQUEST_SIZE_MAX =
+        "alluxio.user.vectored.read.request.size.max";
     public static final String USER_WORKER_SELECTION_POLICY =
         "alluxio.user.worker.selection.policy";
     public static final String USER_WORKER_LIST_REFRESH_INTERVAL =
@@ -9441,6 +9860,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.fuse.mount.point";
     public static final String FUSE_POSITION_READ_ENABLED =
         "alluxio.fuse.position.read.enabled";
+    public static final String FUSE_READDIRPLUS_ENABLED =
+        "alluxio.fuse.readdirplus.enabled";
     public static final String FUSE_STAT_CACHE_REFRESH_INTERVAL =
         "alluxio.fuse.stat.cache.refresh.interval";
     public static final String FUSE_UMOUNT_TIMEOUT =
@@ -9495,6 +9916,11 @@ public final class PropertyKey implements Comparable<PropertyKey> {
 
     // new job service
     public static final String JOB_BATCH_SIZE = "alluxio.job.batch.size";
+    public static final String JOB_BATCH_ADAPTIVE_ENABLED = "alluxio.job.batch.adaptive.enabled";
+    public static final String JOB_BATCH_BYTES_MAX = "alluxio.job.batch.bytes.max";
+    public static final String JOB_BATCH_TARGET_DURATION = "alluxio.job.batch.target.duration";
+    public static final String JOB_LISTING_PARALLELISM = "alluxio.job.listing.parallelism";
+    public static final String JOB_LISTING_BUFFER_SIZE = "alluxio.job.listing.buffer.size";
     public static final String JOB_RETENTION_TIME = "alluxio.job.retention.time";
 
     //
@@ -9620,6 +10046,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
 
     public static final String DORA_WORKER_METASTORE_ROCKSDB_TTL =
         "alluxio.dora.worker.metastore.rocksdb.ttl";
+    public static final String DORA_WORKER_METASTORE_EXPIRY_INTERVAL =
+        "alluxio.dora.worker.metastore.expiry.interval";
+    public static final String DORA_WORKER_METASTORE_ABSENT_CACHE_SIZE =
+        "alluxio.dora.worker.metastore.absent.cache.size";
+    public static final String DORA_WORKER_METASTORE_ABSENT_CACHE_TTL =
+        "alluxio.dora.worker.metastore.absent.cache.ttl";
+    public static final String DORA_WORKER_METASTORE_CACHE_SIZE =
+        "alluxio.dora.worker.metastore.cache.size";
     public static final String DORA_WORKER_METASTORE_ROCKSDB_BLOOM_FILTER =
         "alluxio.dora.worker.metastore.rocksdb.bloom.filter";
     public static final String DORA_WORKER_METASTORE_ROCKSDB_CACHE_SIZE =
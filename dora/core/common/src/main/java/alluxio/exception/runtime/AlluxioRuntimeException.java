@@ -77,6 +77,13 @@ public class AlluxioRuntimeException extends RuntimeException {
     return mStatus;
   }
 
+  /**
+   * @return the error type
+   */
+  public ErrorType getErrorType() {
+    return mErrorType;
+  }
+
     /**
    * @return can be retried or not
    */
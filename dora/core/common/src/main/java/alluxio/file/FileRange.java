@@ -0,0 +1,76 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.file;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A range of a file to read in a vectored read. Once the range is read, its data is available
+ * through {@link #getData()}.
+ */
+public class FileRange {
+  private final long mOffset;
+  private final int mLength;
+  private final CompletableFuture<ByteBuffer> mData = new CompletableFuture<>();
+
+  /**
+   * @param offset the offset of the range in the file
+   * @param length the length of the range
+   */
+  public FileRange(long offset, int length) {
+    Preconditions.checkArgument(offset >= 0, "offset should be non-negative");
+    Preconditions.checkArgument(length >= 0, "length should be non-negative");
+    mOffset = offset;
+    mLength = length;
+  }
+
+  /**
+   * @return the offset of the range in the file
+   */
+  public long getOffset() {
+    return mOffset;
+  }
+
+  /**
+   * @return the length of the range
+   */
+  public int getLength() {
+    return mLength;
+  }
+
+  /**
+   * @return the end offset of the range in the file, exclusive
+   */
+  public long getEnd() {
+    return mOffset + mLength;
+  }
+
+  /**
+   * @return a future of the data of the range, which completes exceptionally with an
+   *         {@link java.io.EOFException} if the range goes beyond the end of the file
+   */
+  public CompletableFuture<ByteBuffer> getData() {
+    return mData;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("offset", mOffset)
+        .add("length", mLength)
+        .toString();
+  }
+}
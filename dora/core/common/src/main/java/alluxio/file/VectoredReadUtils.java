@@ -0,0 +1,129 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.file;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Utility methods for vectored reads.
+ */
+public final class VectoredReadUtils {
+  /**
+   * Sorts the given ranges by offset.
+   *
+   * @param ranges the ranges to read
+   * @return the ranges sorted by offset
+   * @throws IllegalArgumentException if any two ranges overlap
+   */
+  public static List<FileRange> sortRanges(List<? extends FileRange> ranges) {
+    List<FileRange> sorted = new ArrayList<>(ranges);
+    sorted.sort(Comparator.comparingLong(FileRange::getOffset));
+    for (int i = 1; i < sorted.size(); i++) {
+      Preconditions.checkArgument(sorted.get(i - 1).getEnd() <= sorted.get(i).getOffset(),
+          "overlapping ranges %s and %s", sorted.get(i - 1), sorted.get(i));
+    }
+    return sorted;
+  }
+
+  /**
+   * Merges sorted ranges which are close to each other, so that they can be read together.
+   *
+   * @param sortedRanges the ranges sorted by offset
+   * @param minSeek the gap between two ranges below which they are merged
+   * @param maxSize the maximum size of a merged range; a range larger than this is never merged
+   *        with others, but it is not split either
+   * @return the merged ranges
+   */
+  public static List<CombinedFileRange> mergeRanges(
+      List<? extends FileRange> sortedRanges, int minSeek, int maxSize) {
+    List<CombinedFileRange> merged = new ArrayList<>();
+    List<FileRange> group = new ArrayList<>();
+    for (FileRange range : sortedRanges) {
+      if (!group.isEmpty()) {
+        long groupStart = group.get(0).getOffset();
+        long groupEnd = group.get(group.size() - 1).getEnd();
+        if (range.getOffset() - groupEnd > minSeek || range.getEnd() - groupStart > maxSize) {
+          merged.add(new CombinedFileRange(group));
+          group = new ArrayList<>();
+        }
+      }
+      group.add(range);
+    }
+    if (!group.isEmpty()) {
+      merged.add(new CombinedFileRange(group));
+    }
+    return merged;
+  }
+
+  /**
+   * Completes the ranges in a merged range with the data read for it.
+   *
+   * @param combined the merged range
+   * @param data the data read from the start of the merged range, between its position and
+   *        limit, which may be shorter than the merged range if the end of file is reached
+   */
+  public static void completeRanges(CombinedFileRange combined, ByteBuffer data) {
+    for (FileRange range : combined.getRanges()) {
+      int start = (int) (range.getOffset() - combined.getOffset());
+      if (start + range.getLength() > data.remaining()) {
+        range.getData().completeExceptionally(new EOFException(String.format(
+            "Range %s goes beyond the end of file", range)));
+        continue;
+      }
+      ByteBuffer slice = data.duplicate();
+      slice.position(data.position() + start);
+      slice.limit(data.position() + start + range.getLength());
+      range.getData().complete(slice.slice());
+    }
+  }
+
+  /**
+   * Fails the ranges which are not completed yet.
+   *
+   * @param ranges the ranges
+   * @param cause the cause of the failure
+   */
+  public static void failRanges(List<? extends FileRange> ranges, Throwable cause) {
+    for (FileRange range : ranges) {
+      range.getData().completeExceptionally(cause);
+    }
+  }
+
+  /**
+   * A range merged from adjacent ranges, which covers the gaps between them.
+   */
+  public static final class CombinedFileRange extends FileRange {
+    private final List<FileRange> mRanges;
+
+    private CombinedFileRange(List<FileRange> ranges) {
+      super(ranges.get(0).getOffset(),
+          (int) (ranges.get(ranges.size() - 1).getEnd() - ranges.get(0).getOffset()));
+      mRanges = ImmutableList.copyOf(ranges);
+    }
+
+    /**
+     * @return the ranges merged into this range
+     */
+    public List<FileRange> getRanges() {
+      return mRanges;
+    }
+  }
+
+  private VectoredReadUtils() {} // prevent instantiation
+}
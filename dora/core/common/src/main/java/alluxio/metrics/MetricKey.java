@@ -1139,6 +1139,24 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setDescription("The number of running scheduler job commands")
           .setMetricType(MetricType.GAUGE)
           .build();
+  public static final MetricKey MASTER_JOB_SCHEDULER_QUEUED_TASK_COUNT =
+      new Builder("Master.JobSchedulerQueuedTaskCount")
+          .setDescription("The number of job tasks waiting in the worker queues of the "
+              + "scheduler to be dispatched")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_JOB_SCHEDULER_DISPATCH_LATENCY =
+      new Builder("Master.JobSchedulerDispatchLatency")
+          .setDescription("The time between the creation of a job task and its dispatch to a "
+              + "worker")
+          .setMetricType(MetricType.TIMER)
+          .build();
+  public static final MetricKey MASTER_JOB_SCHEDULER_WORKER_IDLE_TIME =
+      new Builder("Master.JobSchedulerWorkerIdleTimeMs")
+          .setDescription("The total time in milliseconds workers spent without any job task "
+              + "running between finishing a task and starting the next one")
+          .setMetricType(MetricType.COUNTER)
+          .build();
   public static final MetricKey MASTER_JOB_LOAD_BLOCK_COUNT =
       new Builder("Master.JobLoadBlockCount")
           .setDescription("The number of blocks loaded by load commands")
@@ -2019,6 +2037,48 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey WORKER_META_EXPIRED =
+      new Builder("Worker.MetaExpired")
+          .setDescription("Total number of expired file statuses removed from the Dora metadata"
+              + " store of this worker")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_META_ABSENT_CACHE_HITS =
+      new Builder("Worker.MetaAbsentCacheHits")
+          .setDescription("Total number of file status requests of this worker answered as not"
+              + " found by the cache of recently missing paths, without calling the UFS")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_META_CACHE_HITS =
+      new Builder("Worker.MetaCacheHits")
+          .setDescription("Total number of hits in the in-memory cache of the Dora metadata"
+              + " store of this worker")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_META_CACHE_MISSES =
+      new Builder("Worker.MetaCacheMisses")
+          .setDescription("Total number of misses in the in-memory cache of the Dora metadata"
+              + " store of this worker, which are served by RocksDB")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_META_CACHE_SIZE =
+      new Builder("Worker.MetaCacheSize")
+          .setDescription("Total number of file statuses in the in-memory cache of the Dora"
+              + " metadata store of this worker")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_META_UFS_LOADS_COALESCED =
+      new Builder("Worker.MetaUfsLoadsCoalesced")
+          .setDescription("Total number of UFS status and listing calls of this worker saved by"
+              + " waiting for an identical call in flight")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey WORKER_BLOCK_REMOVER_TRY_REMOVE_COUNT =
       new Builder("Worker.BlockRemoverTryRemoveCount")
           .setDescription("The total number of blocks this worker attempted to remove "
@@ -2204,6 +2264,20 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(true)
           .build();
+  public static final MetricKey CLIENT_BYTES_READ_AHEAD =
+      new Builder("Client.BytesReadAhead")
+          .setDescription("Total number of bytes fetched asynchronously from workers by read-ahead "
+              + "of position read streams.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_BYTES_READ_AHEAD_WASTED =
+      new Builder("Client.BytesReadAheadWasted")
+          .setDescription("Total number of bytes fetched by read-ahead of position read streams "
+              + "which were discarded without being read, e.g. because of a seek.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_BYTES_WRITTEN_ALLUXIO =
       new Builder("Client.BytesWrittenAlluxio")
           .setDescription("Total number of bytes write to Alluxio by this client")
@@ -2250,6 +2324,13 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_LOADS_COALESCED =
+      new Builder("Client.CacheLoadsCoalesced")
+          .setDescription("Total number of cache misses served by a concurrent load of the same "
+              + "page from external storage instead of issuing a separate external read.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_PAGE_READ_CACHE_TIME_NS =
       new Builder("Client.CachePageReadCacheTimeNanos")
           .setDescription("Time in nanoseconds taken to read a page from the client cache "
@@ -2512,6 +2593,20 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_STORE_FILE_HANDLE_HITS =
+      new Builder("Client.CacheStoreFileHandleHits")
+          .setDescription("Number of page reads from the local page store served by an already "
+              + "open file handle.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_STORE_FILE_HANDLE_MISSES =
+      new Builder("Client.CacheStoreFileHandleMisses")
+          .setDescription("Number of page reads from the local page store which had to open "
+              + "the page file.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_STORE_GET_TIMEOUT =
       new Builder("Client.CacheStoreGetTimeout")
           .setDescription("Number of timeouts when reading pages from page store.")
@@ -0,0 +1,28 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import java.io.IOException;
+
+/**
+ * Interface for discarding the data written to a stream. Instances of
+ * {@link java.io.OutputStream} returned by {@link UnderFileSystem#create} may implement this
+ * interface if closing the stream commits the file to the UFS, so that a file whose data could
+ * not be fully written is not committed.
+ */
+public interface Abortable {
+  /**
+   * Closes the stream without committing the file to the UFS. The data written so far is
+   * discarded. Does nothing if the stream is already closed.
+   */
+  void abort() throws IOException;
+}
@@ -66,6 +66,9 @@ import javax.annotation.concurrent.NotThreadSafe;
  * In close(), we upload the last part of data (if exists), wait for all uploads to finish,
  * and complete the multipart upload.
  * <p>
+ * In abort(), we delete the temp file and abort the multipart upload, so that no object is
+ * created.
+ * <p>
  * close() will not be retried, but all the multipart upload
  * related operations(init, upload, complete, and abort) will be retried.
  * <p>
@@ -77,7 +80,7 @@ import javax.annotation.concurrent.NotThreadSafe;
  */
 @NotThreadSafe
 public abstract class ObjectLowLevelOutputStream extends OutputStream
-    implements ContentHashable {
+    implements Abortable, ContentHashable {
   protected static final Logger LOG = LoggerFactory.getLogger(ObjectLowLevelOutputStream.class);
 
   protected final List<String> mTmpDirs;
@@ -270,6 +273,27 @@ public abstract class ObjectLowLevelOutputStream extends OutputStream
     }
   }
 
+  @Override
+  public void abort() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    if (mFile != null) {
+      mLocalOutputStream.close();
+      if (!mFile.delete()) {
+        LOG.error("Failed to delete temporary file @ {}", mFile.getPath());
+      }
+      mFile = null;
+      mLocalOutputStream = null;
+    }
+    if (mMultiPartUploadInitialized) {
+      Futures.allAsList(mFutures).cancel(true);
+      mFutures.clear();
+      abortMultiPartUpload();
+    }
+  }
+
   /**
    * Creates a new temp file to write to.
    */
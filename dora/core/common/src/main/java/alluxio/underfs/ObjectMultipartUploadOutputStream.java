@@ -52,6 +52,8 @@ import javax.annotation.concurrent.NotThreadSafe;
  * <p>
  * In close() we complete the multipart upload.
  * <p>
+ * In abort() we abort the multipart upload, so that no object is created.
+ * <p>
  * close() will not be retried, but all the multipart upload
  * related operations(init, upload, complete, and abort) will be retried.
  * <p>
@@ -63,7 +65,7 @@ import javax.annotation.concurrent.NotThreadSafe;
  */
 @NotThreadSafe
 public abstract class ObjectMultipartUploadOutputStream extends OutputStream
-    implements ContentHashable {
+    implements Abortable, ContentHashable {
   protected static final Logger LOG =
       LoggerFactory.getLogger(ObjectMultipartUploadOutputStream.class);
   /**
@@ -266,6 +268,20 @@ public abstract class ObjectMultipartUploadOutputStream extends OutputStream
     }
   }
 
+  @Override
+  public void abort() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    mUploadPartArray = null;
+    if (mMultiPartUploadInitialized) {
+      Futures.allAsList(mFutures).cancel(true);
+      mFutures.clear();
+      abortMultiPartUpload();
+    }
+  }
+
   /**
    * Creates a new temp file to write to.
    */
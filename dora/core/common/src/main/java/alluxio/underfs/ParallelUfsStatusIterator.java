@@ -0,0 +1,265 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.AlluxioURI;
+import alluxio.exception.runtime.AlluxioRuntimeException;
+import alluxio.underfs.options.ListOptions;
+import alluxio.util.ThreadFactoryUtils;
+import alluxio.util.io.PathUtils;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Iterator over the recursive listing of a directory, which lists the sub-directories of the
+ * directory concurrently.
+ * <p>
+ * A recursive listing of an object store is a single sequence of paged requests over the whole
+ * key space. This iterator instead lists the top levels of the directory with a delimiter, and
+ * uses the discovered prefixes as partitions of the key space, each of which is listed
+ * recursively by its own thread. The statuses are handed over through a bounded buffer, so that
+ * listing threads pause when the consumer falls behind, and memory stays bounded whatever the
+ * size of the directory.
+ * <p>
+ * As with {@link UnderFileSystem#listStatusIterable}, the names of the statuses are relative to
+ * the listed directory, but they are not returned in lexicographic order.
+ */
+@NotThreadSafe
+public class ParallelUfsStatusIterator implements Iterator<UfsStatus>, Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelUfsStatusIterator.class);
+  /** The maximum depth of the directories listed with a delimiter to discover partitions. */
+  private static final int MAX_SPLIT_DEPTH = 3;
+  private static final long POLL_INTERVAL_MS = 100;
+  /** Marks the end of the listing in the buffer. */
+  private static final UfsStatus END = new UfsDirectoryStatus("", "", "", (short) 0);
+
+  private final UnderFileSystem mUfs;
+  private final String mPath;
+  private final int mParallelism;
+  private final BlockingQueue<UfsStatus> mBuffer;
+  private final ExecutorService mExecutor;
+  /** The number of listing tasks submitted and not finished yet. */
+  private final AtomicInteger mPendingTasks = new AtomicInteger();
+  private final AtomicReference<Throwable> mError = new AtomicReference<>();
+  @Nullable
+  private UfsStatus mNext;
+  private boolean mDone;
+
+  /**
+   * Starts listing a directory recursively.
+   *
+   * @param ufs the under file system
+   * @param path the path of the directory
+   * @param parallelism the maximum number of concurrent listing requests
+   * @param bufferSize the maximum number of statuses listed ahead of the consumer
+   * @return the iterator, or null if the path is not a directory
+   */
+  @Nullable
+  public static ParallelUfsStatusIterator create(UnderFileSystem ufs, String path,
+      int parallelism, int bufferSize) throws IOException {
+    Preconditions.checkArgument(parallelism > 0, "parallelism should be positive");
+    Preconditions.checkArgument(bufferSize > 0, "bufferSize should be positive");
+    // list the first level in the calling thread, to tell a missing directory apart
+    Iterator<UfsStatus> children =
+        ufs.listStatusIterable(path, ListOptions.defaults().setRecursive(false), null, 0);
+    if (children == null) {
+      return null;
+    }
+    ParallelUfsStatusIterator iterator =
+        new ParallelUfsStatusIterator(ufs, path, parallelism, bufferSize);
+    iterator.submit(() -> iterator.split("", children, 0));
+    return iterator;
+  }
+
+  private ParallelUfsStatusIterator(UnderFileSystem ufs, String path, int parallelism,
+      int bufferSize) {
+    mUfs = ufs;
+    mPath = path;
+    mParallelism = parallelism;
+    mBuffer = new ArrayBlockingQueue<>(bufferSize);
+    mExecutor = Executors.newFixedThreadPool(parallelism,
+        ThreadFactoryUtils.build("ufs-parallel-listing-%d", true));
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (mNext == null) {
+      // a failed listing cannot be resumed, so its error is thrown by every later call rather
+      // than being mistaken for the end of the listing
+      Throwable error = mError.get();
+      if (error != null) {
+        stop();
+        throw AlluxioRuntimeException.from(error);
+      }
+      if (mDone) {
+        return false;
+      }
+      try {
+        UfsStatus status = mBuffer.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (status == END) {
+          mDone = true;
+        } else {
+          mNext = status;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        mError.compareAndSet(null, e);
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public UfsStatus next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    UfsStatus status = mNext;
+    mNext = null;
+    return status;
+  }
+
+  /**
+   * Stops listing. The iterator has no more elements afterwards, unless the listing has failed,
+   * in which case it keeps throwing the failure.
+   */
+  @Override
+  public void close() {
+    mDone = true;
+    stop();
+  }
+
+  private void stop() {
+    mNext = null;
+    mExecutor.shutdownNow();
+    mBuffer.clear();
+  }
+
+  /**
+   * Lists a directory with a delimiter, and decides for each sub-directory whether to split it
+   * further or to list it recursively as a partition.
+   *
+   * @param dir the path of the directory relative to the listed root
+   * @param children the children of the directory
+   * @param depth the depth of the directory
+   */
+  private void split(String dir, Iterator<UfsStatus> children, int depth)
+      throws InterruptedException {
+    List<String> subDirs = new ArrayList<>();
+    while (children.hasNext()) {
+      UfsStatus child = children.next();
+      String name = join(dir, child.getName());
+      child.setName(name);
+      mBuffer.put(child);
+      if (child.isDirectory()) {
+        subDirs.add(name);
+      }
+    }
+    // few sub-directories do not make enough partitions, so look one level deeper
+    boolean splitFurther = subDirs.size() < mParallelism && depth + 1 < MAX_SPLIT_DEPTH;
+    for (String subDir : subDirs) {
+      if (splitFurther) {
+        submit(() -> {
+          Iterator<UfsStatus> grandChildren = mUfs.listStatusIterable(fullPath(subDir),
+              ListOptions.defaults().setRecursive(false), null, 0);
+          if (grandChildren != null) {
+            split(subDir, grandChildren, depth + 1);
+          }
+        });
+      } else {
+        submit(() -> listPartition(subDir));
+      }
+    }
+  }
+
+  private void listPartition(String dir) throws Exception {
+    Iterator<UfsStatus> descendants = mUfs.listStatusIterable(fullPath(dir),
+        ListOptions.defaults().setRecursive(true), null, 0);
+    if (descendants == null) {
+      // the directory was removed after being discovered
+      return;
+    }
+    while (descendants.hasNext()) {
+      UfsStatus descendant = descendants.next();
+      descendant.setName(join(dir, descendant.getName()));
+      mBuffer.put(descendant);
+    }
+  }
+
+  /**
+   * Runs a listing task in the pool. A task submits its sub-tasks before it finishes, so the
+   * listing is over once no task is pending.
+   */
+  private void submit(ListingTask task) {
+    mPendingTasks.incrementAndGet();
+    try {
+      mExecutor.submit(() -> {
+        try {
+          task.run();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        } catch (Throwable t) {
+          if (!mExecutor.isShutdown()) {
+            LOG.warn("Failed to list {} in parallel", mPath, t);
+            mError.compareAndSet(null, t);
+          }
+          mExecutor.shutdownNow();
+          return;
+        }
+        if (mPendingTasks.decrementAndGet() == 0) {
+          try {
+            mBuffer.put(END);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          mExecutor.shutdown();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // the listing has been closed or has failed
+      mPendingTasks.decrementAndGet();
+    }
+  }
+
+  private String fullPath(String dir) {
+    return PathUtils.concatPath(mPath, dir);
+  }
+
+  private static String join(String dir, String name) {
+    return dir.isEmpty() ? name : dir + AlluxioURI.SEPARATOR + name;
+  }
+
+  @FunctionalInterface
+  private interface ListingTask {
+    void run() throws Exception;
+  }
+}
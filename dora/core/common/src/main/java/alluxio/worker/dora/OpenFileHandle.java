@@ -117,6 +117,20 @@ public class OpenFileHandle {
     return mClosed;
   }
 
+  /**
+   * Close this handle, making sure the data written to the UFS out stream is persisted.
+   *
+   * @throws IOException if the UFS out stream fails to persist the data
+   */
+  public void complete() throws IOException {
+    mClosed = true;
+    if (mUfsOutStream != null) {
+      OutputStream outStream = mUfsOutStream;
+      mUfsOutStream = null;
+      outStream.close();
+    }
+  }
+
   /**
    * Close this handle.
    */
@@ -44,8 +44,9 @@ public class ByteArrayPositionReader implements PositionReader {
     if (position == mData.length) {
       return -1;
     }
-    buffer.writeBytes(mData, (int) position, length);
-    return length;
+    int bytesToRead = Math.min(length, mData.length - (int) position);
+    buffer.writeBytes(mData, (int) position, bytesToRead);
+    return bytesToRead;
   }
 
   @Override
@@ -0,0 +1,94 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.ByteArrayPositionReader;
+import alluxio.Constants;
+import alluxio.PositionReader;
+import alluxio.file.VectoredReadUtils.CombinedFileRange;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+public class VectoredReadUtilsTest {
+  @Test
+  public void sortRanges() {
+    FileRange first = new FileRange(0, 10);
+    FileRange second = new FileRange(10, 10);
+    assertEquals(ImmutableList.of(first, second),
+        VectoredReadUtils.sortRanges(ImmutableList.of(second, first)));
+    assertThrows(IllegalArgumentException.class, () -> VectoredReadUtils.sortRanges(
+        ImmutableList.of(new FileRange(0, 10), new FileRange(5, 10))));
+  }
+
+  @Test
+  public void mergeRanges() {
+    List<FileRange> ranges = ImmutableList.of(
+        new FileRange(0, 100),
+        new FileRange(150, 100),
+        new FileRange(1000, 100),
+        new FileRange(1100, 1900),
+        new FileRange(3100, 10));
+    List<CombinedFileRange> merged = VectoredReadUtils.mergeRanges(ranges, 100, 2048);
+    assertEquals(3, merged.size());
+    assertEquals(0, merged.get(0).getOffset());
+    assertEquals(250, merged.get(0).getLength());
+    assertEquals(ranges.subList(0, 2), merged.get(0).getRanges());
+    assertEquals(1000, merged.get(1).getOffset());
+    assertEquals(2000, merged.get(1).getLength());
+    assertEquals(ranges.subList(2, 4), merged.get(1).getRanges());
+    // merging the last range would exceed the max size
+    assertEquals(ranges.subList(4, 5), merged.get(2).getRanges());
+  }
+
+  @Test
+  public void readVectored() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(3 * Constants.MB);
+    List<FileRange> ranges = ImmutableList.of(
+        new FileRange(Constants.MB, 1000),
+        new FileRange(0, 100),
+        new FileRange(200, 0),
+        new FileRange(300, 100),
+        new FileRange(2 * Constants.MB, Constants.MB));
+    try (PositionReader reader = new ByteArrayPositionReader(data)) {
+      reader.readVectored(ranges, ByteBuffer::allocate);
+    }
+    for (FileRange range : ranges) {
+      assertTrue(range.getData().isDone());
+      assertTrue(BufferUtils.equalIncreasingByteBuffer(
+          (int) range.getOffset(), range.getLength(), range.getData().get()));
+    }
+  }
+
+  @Test
+  public void readVectoredBeyondEof() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(1000);
+    FileRange inFile = new FileRange(800, 100);
+    FileRange beyondEof = new FileRange(950, 100);
+    try (PositionReader reader = new ByteArrayPositionReader(data)) {
+      reader.readVectored(ImmutableList.of(inFile, beyondEof), ByteBuffer::allocate);
+    }
+    assertTrue(BufferUtils.equalIncreasingByteBuffer(800, 100, inFile.getData().get()));
+    ExecutionException e = assertThrows(ExecutionException.class, beyondEof.getData()::get);
+    assertTrue(e.getCause() instanceof EOFException);
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.exception.runtime.AlluxioRuntimeException;
+import alluxio.exception.runtime.UnavailableRuntimeException;
+import alluxio.underfs.options.ListOptions;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class ParallelUfsStatusIteratorTest {
+  private static final String ROOT = "s3://bucket/root";
+
+  private final Set<String> mFiles = new TreeSet<>();
+  private final UnderFileSystem mUfs = mock(UnderFileSystem.class);
+
+  @Before
+  public void before() throws IOException {
+    when(mUfs.listStatusIterable(anyString(), any(ListOptions.class), isNull(), anyInt()))
+        .thenAnswer(invocation -> list(invocation.getArgument(0),
+            invocation.<ListOptions>getArgument(1).isRecursive()));
+  }
+
+  @Test
+  public void listAll() throws Exception {
+    List<String> files = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      files.add(String.format("dir%d/sub%d/file%d", i % 3, i % 5, i));
+    }
+    files.add("top");
+    files.add("dir0/file");
+    mFiles.addAll(files);
+    for (int parallelism : ImmutableList.of(1, 2, 16)) {
+      try (ParallelUfsStatusIterator iterator =
+          ParallelUfsStatusIterator.create(mUfs, ROOT, parallelism, 4)) {
+        assertEquals(expected(), collect(iterator));
+      }
+    }
+  }
+
+  @Test
+  public void notDirectory() throws Exception {
+    assertNull(ParallelUfsStatusIterator.create(mUfs, ROOT + "/missing", 4, 4));
+  }
+
+  @Test
+  public void failure() throws Exception {
+    mFiles.add("dir0/file");
+    mFiles.add("dir1/file");
+    when(mUfs.listStatusIterable(
+        anyString(), any(ListOptions.class), isNull(), anyInt()))
+        .thenAnswer(invocation -> {
+          String path = invocation.getArgument(0);
+          if (path.endsWith("dir1")) {
+            throw new IOException("listing failed");
+          }
+          return list(path, invocation.<ListOptions>getArgument(1).isRecursive());
+        });
+    try (ParallelUfsStatusIterator iterator =
+        ParallelUfsStatusIterator.create(mUfs, ROOT, 4, 4)) {
+      assertThrows(AlluxioRuntimeException.class, () -> collect(iterator));
+      // the failure is not mistaken for the end of the listing
+      assertThrows(AlluxioRuntimeException.class, iterator::hasNext);
+      assertThrows(AlluxioRuntimeException.class, iterator::next);
+    }
+  }
+
+  @Test
+  public void failureInsideDirectory() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      mFiles.add("dir0/file" + i);
+      mFiles.add("dir1/file" + i);
+    }
+    when(mUfs.listStatusIterable(
+        anyString(), any(ListOptions.class), isNull(), anyInt()))
+        .thenAnswer(invocation -> {
+          String path = invocation.getArgument(0);
+          Iterator<UfsStatus> statuses =
+              list(path, invocation.<ListOptions>getArgument(1).isRecursive());
+          if (!path.endsWith("dir1")) {
+            return statuses;
+          }
+          // the listing fails after returning part of the directory
+          Iterator<UfsStatus> failure = new AbstractIterator<UfsStatus>() {
+            @Override
+            protected UfsStatus computeNext() {
+              throw new UnavailableRuntimeException("listing failed");
+            }
+          };
+          return Iterators.concat(Iterators.limit(statuses, 3), failure);
+        });
+    try (ParallelUfsStatusIterator iterator =
+        ParallelUfsStatusIterator.create(mUfs, ROOT, 4, 4)) {
+      assertThrows(AlluxioRuntimeException.class, () -> collect(iterator));
+      assertThrows(AlluxioRuntimeException.class, iterator::hasNext);
+      iterator.close();
+      assertThrows(AlluxioRuntimeException.class, iterator::hasNext);
+    }
+  }
+
+  private Set<String> expected() {
+    Set<String> expected = new TreeSet<>();
+    for (String file : mFiles) {
+      expected.add(file);
+      for (int i = file.indexOf('/'); i != -1; i = file.indexOf('/', i + 1)) {
+        expected.add(file.substring(0, i));
+      }
+    }
+    return expected;
+  }
+
+  private static Set<String> collect(Iterator<UfsStatus> iterator) {
+    Set<String> names = new TreeSet<>();
+    while (iterator.hasNext()) {
+      names.add(iterator.next().getName());
+    }
+    return names;
+  }
+
+  /**
+   * Lists the in-memory files the way an object store does, with names relative to the path.
+   */
+  private Iterator<UfsStatus> list(String path, boolean recursive) {
+    String prefix = path.equals(ROOT) ? "" : path.substring(ROOT.length() + 1) + "/";
+    Set<String> names = new TreeSet<>();
+    Set<String> dirs = new TreeSet<>();
+    for (String file : mFiles) {
+      if (!file.startsWith(prefix)) {
+        continue;
+      }
+      String name = file.substring(prefix.length());
+      int end = recursive ? name.lastIndexOf('/') : name.indexOf('/');
+      if (end == -1 || recursive) {
+        names.add(name);
+      }
+      if (end != -1 && !recursive) {
+        dirs.add(name.substring(0, end));
+      }
+      for (int i = name.indexOf('/'); recursive && i != -1; i = name.indexOf('/', i + 1)) {
+        dirs.add(name.substring(0, i));
+      }
+    }
+    if (names.isEmpty() && dirs.isEmpty()) {
+      return null;
+    }
+    List<UfsStatus> statuses = new ArrayList<>();
+    for (String dir : dirs) {
+      statuses.add(new UfsDirectoryStatus(dir, "", "", (short) 0));
+    }
+    for (String name : names) {
+      statuses.add(new UfsFileStatus(name, "", 1, 0L, "", "", (short) 0, 1));
+    }
+    return statuses.iterator();
+  }
+}
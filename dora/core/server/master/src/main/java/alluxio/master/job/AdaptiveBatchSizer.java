@@ -0,0 +1,198 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.job;
+
+import static java.lang.String.format;
+
+import alluxio.Constants;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.scheduler.job.Task;
+import alluxio.util.FormatUtils;
+import alluxio.wire.WorkerInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Decides how many files go into a task of a job.
+ * <p>
+ * When adaptive batching is disabled, a task holds a fixed number of files. Otherwise, a task
+ * holds as many bytes as its worker is expected to process within the target duration, based on
+ * the throughput observed on the previous tasks of the worker. A task is cut once it reaches that
+ * size, so that a large file makes a task on its own, while up to ten times the fixed number of
+ * small files are merged into one task. The target size of a worker is halved whenever a task on
+ * it fails, so that less work has to be retried.
+ */
+@ThreadSafe
+public class AdaptiveBatchSizer {
+  /** The number of small files merged into a task, relative to the fixed batch size. */
+  private static final int MAX_FILE_COUNT_FACTOR = 10;
+  private static final long INITIAL_TARGET_BYTES = Constants.GB;
+  private static final long MIN_TARGET_BYTES = 16 * Constants.MB;
+  /** The weight of the latest task in the estimated throughput of a worker. */
+  private static final double THROUGHPUT_WEIGHT = 0.3;
+
+  private final boolean mAdaptive;
+  private final int mBatchSize;
+  private final long mMaxBytes;
+  private final long mTargetDurationMs;
+  private final Map<WorkerNetAddress, WorkerStat> mWorkerStats = new ConcurrentHashMap<>();
+  private final AtomicLong mShrinkCount = new AtomicLong();
+
+  /**
+   * Creates a batch sizer from the cluster configuration.
+   */
+  public AdaptiveBatchSizer() {
+    this(Configuration.getBoolean(PropertyKey.JOB_BATCH_ADAPTIVE_ENABLED),
+        Configuration.getInt(PropertyKey.JOB_BATCH_SIZE),
+        Configuration.getBytes(PropertyKey.JOB_BATCH_BYTES_MAX),
+        Configuration.getMs(PropertyKey.JOB_BATCH_TARGET_DURATION));
+  }
+
+  /**
+   * @param adaptive whether to size tasks by the observed throughput
+   * @param batchSize the number of files in a task when not adaptive
+   * @param maxBytes the maximum number of bytes in a task when adaptive
+   * @param targetDurationMs the time a worker is expected to spend on a task when adaptive
+   */
+  @VisibleForTesting
+  public AdaptiveBatchSizer(boolean adaptive, int batchSize, long maxBytes,
+      long targetDurationMs) {
+    mAdaptive = adaptive;
+    mBatchSize = batchSize;
+    mMaxBytes = Math.max(MIN_TARGET_BYTES, maxBytes);
+    mTargetDurationMs = targetDurationMs;
+  }
+
+  /**
+   * @return the maximum number of files in a task
+   */
+  public int getMaxFileCount() {
+    return mAdaptive ? mBatchSize * MAX_FILE_COUNT_FACTOR : mBatchSize;
+  }
+
+  /**
+   * @param worker the worker running the task, or null if unknown
+   * @return the number of bytes after which no more file is added to a task
+   */
+  public long getMaxBytes(@Nullable WorkerInfo worker) {
+    if (!mAdaptive) {
+      return Long.MAX_VALUE;
+    }
+    if (worker == null) {
+      return Math.min(mMaxBytes, INITIAL_TARGET_BYTES);
+    }
+    WorkerStat stat = mWorkerStats.get(worker.getAddress());
+    return stat == null ? Math.min(mMaxBytes, INITIAL_TARGET_BYTES) : stat.mTargetBytes;
+  }
+
+  /**
+   * Updates the target size of a worker after one of its tasks completes.
+   *
+   * @param task the completed task
+   * @param bytes the number of bytes the task processed successfully
+   * @param failed whether the whole task failed
+   */
+  public void onTaskCompleted(Task<?> task, long bytes, boolean failed) {
+    WorkerInfo worker = task.getMyRunningWorker();
+    if (!mAdaptive || worker == null) {
+      return;
+    }
+    long runningTimeMs = task.getTaskStat().getTimeToComplete()
+        - Math.max(0, task.getTaskStat().getTimeInQ());
+    onTaskCompleted(worker.getAddress(), bytes, runningTimeMs, failed);
+  }
+
+  @VisibleForTesting
+  void onTaskCompleted(WorkerNetAddress worker, long bytes, long runningTimeMs,
+      boolean failed) {
+    mWorkerStats.compute(worker, (address, stat) -> {
+      long currentTarget = stat == null ? Math.min(mMaxBytes, INITIAL_TARGET_BYTES)
+          : stat.mTargetBytes;
+      double throughput = stat == null ? 0 : stat.mThroughput;
+      if (failed) {
+        mShrinkCount.incrementAndGet();
+        return new WorkerStat(Math.max(MIN_TARGET_BYTES, currentTarget / 2), throughput);
+      }
+      if (bytes <= 0 || runningTimeMs <= 0) {
+        return stat;
+      }
+      double latest = (double) bytes * Constants.SECOND_MS / runningTimeMs;
+      throughput = throughput == 0 ? latest
+          : THROUGHPUT_WEIGHT * latest + (1 - THROUGHPUT_WEIGHT) * throughput;
+      // grow at most twice per task, so that one fast task does not lead to a huge batch
+      long target = (long) Math.min(throughput * mTargetDurationMs / Constants.SECOND_MS,
+          2.0 * currentTarget);
+      return new WorkerStat(Math.max(MIN_TARGET_BYTES, Math.min(mMaxBytes, target)), throughput);
+    });
+  }
+
+  /**
+   * @return whether tasks are sized by the observed throughput
+   */
+  public boolean isAdaptive() {
+    return mAdaptive;
+  }
+
+  /**
+   * @return a summary of the sizing decisions for the job progress report
+   */
+  public String getSummary() {
+    if (!mAdaptive) {
+      return format("%d files per task", mBatchSize);
+    }
+    long min = mWorkerStats.values().stream().mapToLong(s -> s.mTargetBytes).min()
+        .orElse(Math.min(mMaxBytes, INITIAL_TARGET_BYTES));
+    long max = mWorkerStats.values().stream().mapToLong(s -> s.mTargetBytes).max()
+        .orElse(Math.min(mMaxBytes, INITIAL_TARGET_BYTES));
+    StringBuilder summary = new StringBuilder(format("up to %d files and %s", getMaxFileCount(),
+        FormatUtils.getSizeFromBytes(min)));
+    if (max > min) {
+      summary.append(format(" to %s", FormatUtils.getSizeFromBytes(max)));
+    }
+    summary.append(" per task");
+    if (mShrinkCount.get() > 0) {
+      summary.append(format(", shrunk %d times after failures", mShrinkCount.get()));
+    }
+    return summary.toString();
+  }
+
+  /**
+   * @return the target task size and the observed throughput of each worker
+   */
+  public Map<String, String> getWorkerDecisions() {
+    Map<String, String> decisions = new TreeMap<>();
+    mWorkerStats.forEach((address, stat) -> decisions.put(
+        format("%s:%d", address.getHost(), address.getRpcPort()),
+        format("%s per task at %s/s", FormatUtils.getSizeFromBytes(stat.mTargetBytes),
+            FormatUtils.getSizeFromBytes((long) stat.mThroughput))));
+    return decisions;
+  }
+
+  private static final class WorkerStat {
+    private final long mTargetBytes;
+    private final double mThroughput;
+
+    private WorkerStat(long targetBytes, double throughput) {
+      mTargetBytes = targetBytes;
+      mThroughput = throughput;
+    }
+  }
+}
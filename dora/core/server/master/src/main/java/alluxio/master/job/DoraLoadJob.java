@@ -34,6 +34,7 @@ import alluxio.metrics.MetricsSystem;
 import alluxio.proto.journal.Journal;
 import alluxio.scheduler.job.JobState;
 import alluxio.scheduler.job.Task;
+import alluxio.underfs.ParallelUfsStatusIterator;
 import alluxio.underfs.UfsFileStatus;
 import alluxio.underfs.UfsStatus;
 import alluxio.underfs.UnderFileSystem;
@@ -55,6 +56,7 @@ import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterators;
+import com.google.common.math.LongMath;
 import com.google.common.util.concurrent.ListenableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -76,7 +78,7 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -94,7 +96,6 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
   private static final int FAILURE_COUNT_THRESHOLD = 100;
   private static final int RETRY_BLOCK_CAPACITY = 1000;
   private static final double RETRY_THRESHOLD = 0.8 * RETRY_BLOCK_CAPACITY;
-  private static final int BATCH_SIZE = Configuration.getInt(PropertyKey.JOB_BATCH_SIZE);
 
   /* TODO(lucy) add logic to detect loaded files, as currently each file loaded
      status is on each dora worker, so the decision to load or not delegates to
@@ -102,7 +103,7 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
   // Job configurations
   private final String mLoadRootAlluxioPath;
   private final AlluxioURI mLoadRootAlluxioUri;
-  private OptionalLong mBandwidth;
+  private volatile OptionalLong mBandwidth;
   private boolean mUsePartialListing;
   private boolean mVerificationEnabled;
 
@@ -117,8 +118,13 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
   //including retry, do accurate stats later.
   private final AtomicLong mTotalFailureCount = new AtomicLong();
   private final AtomicLong mCurrentFailureCount = new AtomicLong();
+  private final AdaptiveBatchSizer mBatchSizer = new AdaptiveBatchSizer();
   private Optional<AlluxioRuntimeException> mFailedReason = Optional.empty();
+  /** The files to load, or null until the job is initialized. */
+  @Nullable
   private Iterator<UfsStatus> mUfsStatusIterator;
+  @Nullable
+  private ParallelUfsStatusIterator mParallelListing;
   private AtomicBoolean mPreparingTasks = new AtomicBoolean(false);
   private final UnderFileSystem mUfs;
   private boolean mLoadMetadataOnly = false;
@@ -141,6 +147,23 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
       boolean usePartialListing,
       boolean verificationEnabled,
       boolean loadMetadataOnly) {
+    this(path, user, jobId, bandwidth, usePartialListing, verificationEnabled, loadMetadataOnly,
+        UnderFileSystem.Factory.create(
+            Configuration.getString(PropertyKey.DORA_CLIENT_UFS_ROOT),
+            UnderFileSystemConfiguration.defaults(Configuration.global())));
+  }
+
+  /**
+   * Constructor with the under file system to load from.
+   */
+  @VisibleForTesting
+  DoraLoadJob(
+      String path,
+      Optional<String> user, String jobId, OptionalLong bandwidth,
+      boolean usePartialListing,
+      boolean verificationEnabled,
+      boolean loadMetadataOnly,
+      UnderFileSystem ufs) {
     super(user, jobId, new HashBasedWorkerAssignPolicy());
     mLoadRootAlluxioPath = requireNonNull(path, "path is null");
     mLoadRootAlluxioUri = new AlluxioURI(mLoadRootAlluxioPath);
@@ -150,17 +173,25 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     mBandwidth = bandwidth;
     mUsePartialListing = usePartialListing;
     mVerificationEnabled = verificationEnabled;
-    String ufsRoot = Configuration.getString(PropertyKey.DORA_CLIENT_UFS_ROOT);
-    AlluxioURI ufsRootUri = new AlluxioURI(ufsRoot);
-    AlluxioURI ufsSyncRootUri = ufsRootUri.join(path);
-    mUfs = UnderFileSystem.Factory.create(
-        ufsRoot,
-        UnderFileSystemConfiguration.defaults(Configuration.global()));
+    mUfs = ufs;
     mLoadMetadataOnly = loadMetadataOnly;
     LOG.info(
         "DoraLoadJob for {} created. {} workers are active",
         path, Preconditions.checkNotNull(Scheduler.getInstance()).getActiveWorkers().size());
+  }
 
+  /**
+   * Starts listing the files to load. The listing is not started by the constructor, as the
+   * scheduler can still reject the job, and nothing would stop the listing threads then.
+   */
+  @Override
+  public void initializeJob() {
+    super.initializeJob();
+    if (mUfsStatusIterator != null) {
+      return;
+    }
+    String ufsRoot = Configuration.getString(PropertyKey.DORA_CLIENT_UFS_ROOT);
+    AlluxioURI ufsSyncRootUri = new AlluxioURI(ufsRoot).join(mLoadRootAlluxioPath);
     UfsStatus rootUfsStatus = null;
     try {
       try {
@@ -172,20 +203,33 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
         rootUfsStatus.setUfsFullPath(ufsSyncRootUri);
         mUfsStatusIterator = Iterators.singletonIterator(rootUfsStatus);
       } else {
-        mUfsStatusIterator = mUfs.listStatusIterable(
-            ufsSyncRootUri.toString(), ListOptions.defaults().setRecursive(true), null, 0);
-        if (mUfsStatusIterator == null) {
+        Iterator<UfsStatus> iterator = listUfs(ufsSyncRootUri.toString());
+        if (iterator == null) {
           mUfsStatusIterator = Collections.emptyIterator();
         } else {
-          mUfsStatusIterator = Iterators.transform(mUfsStatusIterator, (it) -> {
+          mUfsStatusIterator = Iterators.transform(iterator, (it) -> {
             it.setUfsFullPath(ufsSyncRootUri.join(it.getName()));
             return it;
           });
         }
       }
-    } catch (IOException e) {
-      throw new RuntimeException(e);
+    } catch (IOException | RuntimeException e) {
+      // the job is already accepted by the scheduler, so it is failed rather than left hanging
+      LOG.warn("Failed to list {} for load job {}", ufsSyncRootUri, mJobId, e);
+      mUfsStatusIterator = Collections.emptyIterator();
+      failJob(AlluxioRuntimeException.from(e));
+    }
+  }
+
+  @Nullable
+  private Iterator<UfsStatus> listUfs(String path) throws IOException {
+    int parallelism = Configuration.getInt(PropertyKey.JOB_LISTING_PARALLELISM);
+    if (parallelism <= 1 || !mUfs.isObjectStorage()) {
+      return mUfs.listStatusIterable(path, ListOptions.defaults().setRecursive(true), null, 0);
     }
+    mParallelListing = ParallelUfsStatusIterator.create(mUfs, path, parallelism,
+        Configuration.getInt(PropertyKey.JOB_LISTING_BUFFER_SIZE));
+    return mParallelListing;
   }
 
   /**
@@ -220,11 +264,18 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
         }
       }
     }
-    while (filesToLoad < BATCH_SIZE * workerNum && mUfsStatusIterator.hasNext()) {
+    long maxBytesToLoad = 0;
+    for (WorkerInfo worker : workers) {
+      maxBytesToLoad = LongMath.saturatedAdd(maxBytesToLoad, mBatchSizer.getMaxBytes(worker));
+    }
+    long bytesToLoad = 0;
+    while (filesToLoad < mBatchSizer.getMaxFileCount() * workerNum
+        && bytesToLoad < maxBytesToLoad && hasNextUfsStatus()) {
       try {
         UfsStatus ufsStatus = mUfsStatusIterator.next();
         batchBuilder.add(ufsStatus);
         ++filesToLoad;
+        bytesToLoad += getBytesToLoad(ufsStatus);
       } catch (AlluxioRuntimeException e) {
         LOG.warn(format("error getting next task for job %s", this), e);
         if (!e.isRetryable()) {
@@ -234,6 +285,8 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     }
 
     Map<WorkerInfo, DoraLoadTask> workerToTaskMap = new HashMap<>();
+    Map<WorkerInfo, Long> workerToTaskBytes = new HashMap<>();
+    List<DoraLoadTask> tasks = new ArrayList<>();
     for (UfsStatus ufsStatus : batchBuilder.build()) {
       // NOTE: active workers may not reflect all workers at start up,
       // but hash based policy will deterministically pick only among
@@ -245,14 +298,19 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
         mRetryFiles.offer(ufsStatus.getUfsFullPath().toString());
         continue;
       }
-      DoraLoadTask task = workerToTaskMap.computeIfAbsent(pickedWorker,
-          w -> {
-            DoraLoadTask t = new DoraLoadTask();
-            t.setMyRunningWorker(pickedWorker);
-            t.setJob(this);
-            return t;
-          });
+      DoraLoadTask task = workerToTaskMap.get(pickedWorker);
+      // start another task for the worker once its current task is full
+      if (task == null || task.mFilesToLoad.size() >= mBatchSizer.getMaxFileCount()
+          || workerToTaskBytes.get(pickedWorker) >= mBatchSizer.getMaxBytes(pickedWorker)) {
+        task = new DoraLoadTask();
+        task.setMyRunningWorker(pickedWorker);
+        task.setJob(this);
+        workerToTaskMap.put(pickedWorker, task);
+        workerToTaskBytes.put(pickedWorker, 0L);
+        tasks.add(task);
+      }
       task.mFilesToLoad.add(ufsStatus);
+      workerToTaskBytes.merge(pickedWorker, getBytesToLoad(ufsStatus), Long::sum);
       if (ufsStatus.isFile()) {
         if (!mLoadMetadataOnly) {
           mTotalByteCount.addAndGet(ufsStatus.asUfsFileStatus().getContentLength());
@@ -260,15 +318,31 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
         mProcessingFileCount.addAndGet(1);
       }
     }
-    if (workerToTaskMap.isEmpty()) {
+    if (tasks.isEmpty()) {
       return Collections.unmodifiableList(new ArrayList<>());
     }
-    List<DoraLoadTask> tasks = workerToTaskMap.values().stream()
-        .collect(Collectors.toList());
     LOG.debug("prepared tasks:{}", tasks);
     return tasks;
   }
 
+  private boolean hasNextUfsStatus() {
+    try {
+      return mUfsStatusIterator != null && mUfsStatusIterator.hasNext();
+    } catch (AlluxioRuntimeException e) {
+      if (mParallelListing != null) {
+        // a parallel listing cannot be resumed, retrying it would skip the rest of the files
+        // and report the load as finished
+        failJob(e);
+      }
+      throw e;
+    }
+  }
+
+  private long getBytesToLoad(UfsStatus ufsStatus) {
+    return !mLoadMetadataOnly && ufsStatus.isFile()
+        ? ufsStatus.asUfsFileStatus().getContentLength() : 0;
+  }
+
   /**
    * Get load file path.
    * @return file path
@@ -310,6 +384,15 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     LOG.info("Load Job {} fails with status: {}", mJobId, this);
   }
 
+  @Override
+  public void setJobState(JobState state, boolean journalUpdate) {
+    super.setJobState(state, journalUpdate);
+    // a stopped job can be restarted, and carries on with the same listing
+    if (isDone() && mParallelListing != null) {
+      mParallelListing.close();
+    }
+  }
+
   @Override
   public void setJobSuccess() {
     setJobState(JobState.SUCCEEDED, true);
@@ -388,7 +471,7 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
 
   @Override
   public boolean isCurrentPassDone() {
-    return !mUfsStatusIterator.hasNext() && mRetryFiles.isEmpty()
+    return mUfsStatusIterator != null && !mUfsStatusIterator.hasNext() && mRetryFiles.isEmpty()
         && mRetryTaskList.isEmpty();
   }
 
@@ -441,7 +524,7 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
         .add("LoadedByteCount", mLoadedByteCount)
         .add("TotalFailureCount", mTotalFailureCount)
         .add("State", mState)
-        .add("BatchSize", BATCH_SIZE)
+        .add("BatchSize", mBatchSizer.getSummary())
         .add("FailedReason", mFailedReason)
         .add("FileIterator", mUfsStatusIterator)
         .add("EndTime", mEndTime)
@@ -513,10 +596,13 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
       mProcessedFileCount.addAndGet(totalLoadedFile);
       mProcessedDirectoryCount.addAndGet(totalLoadedDirectory);
       JOB_LOAD_FILE_COUNT.inc(totalLoadedFile);
+      mBatchSizer.onTaskCompleted(doraLoadTask, mLoadMetadataOnly ? 0 : totalLoadedBytes,
+          response.getStatus() == TaskStatus.FAILURE);
       return response.getStatus() != TaskStatus.FAILURE;
     }
     catch (ExecutionException e) {
       LOG.warn("exception when trying to get load response.", e.getCause());
+      mBatchSizer.onTaskCompleted(doraLoadTask, 0, true);
       for (UfsStatus ufsStatus : doraLoadTask.getFilesToLoad()) {
         AlluxioRuntimeException exception = AlluxioRuntimeException.from(e.getCause());
         if (isHealthy()) {
@@ -602,6 +688,7 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
           .newBuilder()
           .setTag(mJobId)
           .setPositionShort(false);
+      mBandwidth.ifPresent(ufsReadOptions::setBandwidth);
       mUser.ifPresent(ufsReadOptions::setUser);
       loadFileReqBuilder.setOptions(ufsReadOptions);
       loadFileReqBuilder.setLoadMetadataOnly(mLoadMetadataOnly);
@@ -638,6 +725,8 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     private final long mFailedFileCount;
     private final Map<String, String> mFailedFilesWithReasons;
     private final boolean mLoadData;
+    private final String mBatchSizing;
+    private final Map<String, String> mBatchSizingByWorker;
 
     /**
      * Constructor.
@@ -677,6 +766,12 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
         mFailedFilesWithReasons = null;
       }
       mLoadData = !job.mLoadMetadataOnly;
+      mBatchSizing = job.mBatchSizer.getSummary();
+      if (verbose && job.mBatchSizer.isAdaptive()) {
+        mBatchSizingByWorker = job.mBatchSizer.getWorkerDecisions();
+      } else {
+        mBatchSizingByWorker = null;
+      }
     }
 
     public String getReport(JobProgressReportFormat format)
@@ -728,6 +823,11 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
         mFailedFilesWithReasons.forEach((fileName, reason) ->
             progress.append(format("\t\t%s: %s%n", fileName, reason)));
       }
+      progress.append(format("\tTask Batching: %s%n", mBatchSizing));
+      if (mBatchSizingByWorker != null) {
+        mBatchSizingByWorker.forEach((worker, decision) ->
+            progress.append(format("\t\t%s: %s%n", worker, decision)));
+      }
       return progress.toString();
     }
 
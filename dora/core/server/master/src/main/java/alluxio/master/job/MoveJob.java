@@ -16,8 +16,6 @@ import static java.util.Objects.requireNonNull;
 
 import alluxio.AlluxioURI;
 import alluxio.client.block.stream.BlockWorkerClient;
-import alluxio.conf.Configuration;
-import alluxio.conf.PropertyKey;
 import alluxio.exception.InvalidPathException;
 import alluxio.exception.runtime.AlluxioRuntimeException;
 import alluxio.exception.runtime.InternalRuntimeException;
@@ -90,7 +88,6 @@ public class MoveJob extends AbstractJob<MoveJob.MoveTask> {
   private static final int FAILURE_COUNT_THRESHOLD = 100;
   private static final int RETRY_CAPACITY = 1000;
   private static final double RETRY_THRESHOLD = 0.8 * RETRY_CAPACITY;
-  private static final int BATCH_SIZE = Configuration.getInt(PropertyKey.JOB_BATCH_SIZE);
   public static final Predicate<FileInfo> QUALIFIED_FILE_FILTER = FileInfo::isCompleted;
   private final String mSrc;
   private final String mDst;
@@ -108,6 +105,7 @@ public class MoveJob extends AbstractJob<MoveJob.MoveTask> {
   private final AtomicLong mTotalByteCount = new AtomicLong();
   private final AtomicLong mTotalFailureCount = new AtomicLong();
   private final AtomicLong mCurrentFailureCount = new AtomicLong();
+  private final AdaptiveBatchSizer mBatchSizer = new AdaptiveBatchSizer();
   private Optional<AlluxioRuntimeException> mFailedReason = Optional.empty();
   private final Iterable<FileInfo> mFileIterable;
   private Optional<Iterator<FileInfo>> mFileIterator = Optional.empty();
@@ -295,11 +293,12 @@ public class MoveJob extends AbstractJob<MoveJob.MoveTask> {
       it.remove();
       return Collections.unmodifiableList(tasks);
     }
-    List<Route> routes = getNextRoutes(BATCH_SIZE);
+    WorkerInfo workerInfo = mWorkerAssignPolicy.pickAWorker(StringUtil.EMPTY_STRING, workers);
+    List<Route> routes = getNextRoutes(mBatchSizer.getMaxFileCount(),
+        mBatchSizer.getMaxBytes(workerInfo));
     if (routes.isEmpty()) {
       return Collections.unmodifiableList(tasks);
     }
-    WorkerInfo workerInfo = mWorkerAssignPolicy.pickAWorker(StringUtil.EMPTY_STRING, workers);
     MoveTask moveTask = new MoveTask(routes);
     moveTask.setMyRunningWorker(workerInfo);
     tasks.add(moveTask);
@@ -313,6 +312,16 @@ public class MoveJob extends AbstractJob<MoveJob.MoveTask> {
    */
   @VisibleForTesting
   public List<Route> getNextRoutes(int count) {
+    return getNextRoutes(count, Long.MAX_VALUE);
+  }
+
+  /**
+   * Get next batch of routes, which stops growing once it reaches the given size.
+   * @param count maximum number of routes
+   * @param maxBytes number of bytes of files after which no more route is added
+   * @return list of routes
+   */
+  private List<Route> getNextRoutes(int count, long maxBytes) {
     FileInfo currentFile;
     if (!mFileIterator.isPresent()) {
       mFileIterator = Optional.of(mFileIterable.iterator());
@@ -322,15 +331,18 @@ public class MoveJob extends AbstractJob<MoveJob.MoveTask> {
     }
     ImmutableList.Builder<Route> batchBuilder = ImmutableList.builder();
     int i = 0;
+    long bytes = 0;
     // retry failed blocks if there's too many failed blocks otherwise wait until no more new block
     if (mRetryRoutes.size() > RETRY_THRESHOLD
         || (!mFileIterator.get().hasNext())) {
-      while (i < count && !mRetryRoutes.isEmpty()) {
-        batchBuilder.add(requireNonNull(mRetryRoutes.removeFirst()));
+      while (i < count && bytes < maxBytes && !mRetryRoutes.isEmpty()) {
+        Route route = requireNonNull(mRetryRoutes.removeFirst());
+        batchBuilder.add(route);
+        bytes += route.getLength();
         i++;
       }
     }
-    for (; i < count; i++) {
+    for (; i < count && bytes < maxBytes; i++) {
       if (!mFileIterator.get().hasNext()) {
         return batchBuilder.build();
       }
@@ -340,6 +352,7 @@ public class MoveJob extends AbstractJob<MoveJob.MoveTask> {
       }
       Route route = buildRoute(currentFile);
       batchBuilder.add(route);
+      bytes += route.getLength();
       // would be inaccurate when we initial verification, and we retry un-retryable blocks
       mTotalByteCount.addAndGet(currentFile.getLength());
     }
@@ -410,7 +423,7 @@ public class MoveJob extends AbstractJob<MoveJob.MoveTask> {
         .add("TotalFailureCount", mTotalFailureCount)
         .add("CurrentFailureCount", mCurrentFailureCount)
         .add("State", mState)
-        .add("BatchSize", BATCH_SIZE)
+        .add("BatchSize", mBatchSizer.getSummary())
         .add("FailedReason", mFailedReason)
         .add("FileIterator", mFileIterator)
         .add("FileFilter", mFilter)
@@ -480,10 +493,12 @@ public class MoveJob extends AbstractJob<MoveJob.MoveTask> {
           task.getRoutes().size() - response.getFailuresCount());
       MOVE_SIZE.inc(totalBytes);
       MOVE_RATE.mark(totalBytes);
+      mBatchSizer.onTaskCompleted(task, totalBytes, response.getStatus() == TaskStatus.FAILURE);
       return response.getStatus() != TaskStatus.FAILURE;
     }
     catch (ExecutionException e) {
       LOG.warn("exception when trying to get move response.", e.getCause());
+      mBatchSizer.onTaskCompleted(task, 0, true);
       for (Route route : task.getRoutes()) {
         if (isHealthy()) {
           addToRetry(route);
@@ -577,6 +592,8 @@ public class MoveJob extends AbstractJob<MoveJob.MoveTask> {
     private final AlluxioRuntimeException mFailureReason;
     private final long mFailedFileCount;
     private final Map<String, String> mFailedFilesWithReasons;
+    private final String mBatchSizing;
+    private final Map<String, String> mBatchSizingByWorker;
     private final String mJobId;
 
     public MoveProgressReport(MoveJob job, boolean verbose)
@@ -616,6 +633,12 @@ public class MoveJob extends AbstractJob<MoveJob.MoveTask> {
       } else {
         mFailedFilesWithReasons = Collections.emptyMap();
       }
+      mBatchSizing = job.mBatchSizer.getSummary();
+      if (verbose && job.mBatchSizer.isAdaptive()) {
+        mBatchSizingByWorker = job.mBatchSizer.getWorkerDecisions();
+      } else {
+        mBatchSizingByWorker = null;
+      }
     }
 
     public String getReport(JobProgressReportFormat format)
@@ -662,6 +685,11 @@ public class MoveJob extends AbstractJob<MoveJob.MoveTask> {
         mFailedFilesWithReasons.forEach((fileName, reason) ->
             progress.append(format("\t\t%s: %s%n", fileName, reason)));
       }
+      progress.append(format("\tTask Batching: %s%n", mBatchSizing));
+      if (mBatchSizingByWorker != null) {
+        mBatchSizingByWorker.forEach((worker, decision) ->
+            progress.append(format("\t\t%s: %s%n", worker, decision)));
+      }
       return progress.toString();
     }
 
@@ -39,6 +39,8 @@ import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.ThreadUtils;
 import alluxio.wire.WorkerInfo;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
@@ -48,6 +50,7 @@ import com.google.common.collect.ImmutableSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -71,7 +74,8 @@ import javax.annotation.concurrent.ThreadSafe;
  *  2. The scheduler will pull the task from the job and assign the task to a worker.
  *  3. The worker will execute the task and report the result to the job.
  *  4. The job will update the progress. And schedule the next task if the job is not done.
- *  5. One worker would have one task running for one job description at a time.
+ *  5. One worker would have a bounded number of tasks running at a time, and the next task of a
+ *  worker is dispatched as soon as one of its running tasks completes.
  */
 @ThreadSafe
 @SuppressFBWarnings({"SE_NO_SERIALVERSIONID"})
@@ -85,6 +89,8 @@ public final class Scheduler {
   private final long mSchedulerInitialDelay = Configuration.getMs(
       PropertyKey.MASTER_SCHEDULER_INITIAL_DELAY
   );
+  private final int mMaxInflightTasksPerWorker = Math.max(1, Math.min(MAX_TASK_PER_WORKER,
+      Configuration.getInt(PropertyKey.MASTER_SCHEDULER_WORKER_INFLIGHT_TASKS_MAX)));
   private static final int EXECUTOR_SHUTDOWN_MS = 10 * Constants.SECOND_MS;
   private static AtomicReference<Scheduler> sInstance = new AtomicReference<>();
   private final Map<JobDescription, Job<?>> mExistingJobs = new ConcurrentHashMap<>();
@@ -111,6 +117,9 @@ public final class Scheduler {
     MetricsSystem.registerCachedGaugeIfAbsent(
         MetricKey.MASTER_JOB_SCHEDULER_RUNNING_COUNT.getName(), mJobToRunningTasks::size);
     mWorkerInfoHub = new WorkerInfoHub(this, workerProvider);
+    MetricsSystem.registerCachedGaugeIfAbsent(
+        MetricKey.MASTER_JOB_SCHEDULER_QUEUED_TASK_COUNT.getName(),
+        mWorkerInfoHub::getQueuedTaskCount);
     // the scheduler won't be instantiated twice
     sInstance.compareAndSet(null, this);
   }
@@ -177,6 +186,7 @@ public final class Scheduler {
       mExistingJobs.clear();
       mJobToRunningTasks.clear();
       mWorkerInfoHub.mWorkerToTaskQ.clear();
+      mWorkerInfoHub.mWorkerIdleSince.clear();
       mRunning = false;
     }
   }
@@ -516,56 +526,110 @@ public final class Scheduler {
 
     private final Map<WorkerInfoIdentity, BoundedPriorityBlockingQueue<Task>> mWorkerToTaskQ
         = new ConcurrentHashMap<>();
+    // the time, from System.nanoTime(), when the last running task of a worker completed
+    private final Map<WorkerInfoIdentity, Long> mWorkerIdleSince = new ConcurrentHashMap<>();
 
     /**
      * Kick stark tasks for each worker task q.
      */
     public void kickStartTasks() {
-      // Kick off one task for each worker
-      mWorkerToTaskQ.forEach((workerInfo, tasksQ) -> {
-        LOG.debug("Kick start task for worker:{}, taskQ size:{}",
-            workerInfo.mWorkerInfo.getAddress().getHost(),
-            tasksQ.size());
-        CloseableResource<BlockWorkerClient> blkWorkerClientResource
-            = mActiveWorkers.get(workerInfo);
-        if (blkWorkerClientResource == null) {
-          LOG.warn("Didn't find corresponding BlockWorkerClient for workerInfo:{}",
-              workerInfo);
+      mWorkerToTaskQ.forEach(this::kickStartTasks);
+    }
+
+    private void kickStartTasks(WorkerInfoIdentity workerInfo,
+        BoundedPriorityBlockingQueue<Task> tasksQ) {
+      LOG.debug("Kick start task for worker:{}, taskQ size:{}",
+          workerInfo.mWorkerInfo.getAddress().getHost(),
+          tasksQ.size());
+      CloseableResource<BlockWorkerClient> blkWorkerClientResource
+          = mActiveWorkers.get(workerInfo);
+      if (blkWorkerClientResource == null) {
+        LOG.warn("Didn't find corresponding BlockWorkerClient for workerInfo:{}",
+            workerInfo);
+        return;
+      }
+      // start the waiting tasks in priority order until the worker runs as many tasks as allowed
+      List<Task> tasks = tasksQ.stream().sorted().collect(Collectors.toList());
+      int runningTasks = (int) tasks.stream().filter(t -> t.getResponseFuture() != null).count();
+      for (Task task : tasks) {
+        if (runningTasks >= mMaxInflightTasksPerWorker) {
+          LOG.debug("{} tasks already running on worker:{}", runningTasks, workerInfo);
           return;
         }
-        Task task = tasksQ.peek();
-        // only make sure 1 task is running at the time
-        if (task == null || task.getResponseFuture() != null) {
-          LOG.debug("head task is {}", (task == null) ? "NULL" : "already running");
-          return;
+        if (task.getResponseFuture() != null) {
+          continue;
         }
-        task.execute(blkWorkerClientResource.get(), workerInfo.mWorkerInfo);
-        task.getResponseFuture().addListener(() -> {
-          Job job = task.getJob();
-          try {
-            job.processResponse(task); // retry on failure logic inside
-            // TODO(lucy) currently processJob is only called in the single
-            // threaded scheduler thread context, in future once tasks are
-            // completed, they should be able to call processJob to resume
-            // their own job to schedule next set of tasks to run.
-          } catch (Exception e) {
-            // Unknown exception. This should not happen, but if it happens we don't
-            // want to lose the worker thread, thus catching it here. Any exception
-            // surfaced here should be properly handled.
-            LOG.error("Unexpected exception thrown in response future listener.", e);
-            job.failJob(new InternalRuntimeException(e));
-          } finally {
-            tasksQ.remove(task);
-            mJobToRunningTasks.compute(job, (k, v) -> {
-              if (v == null) {
-                return null;
-              }
-              v.remove(task);
-              return v;
-            });
-          }
-        }, mSchedulerExecutor);
-      });
+        Long idleSince = mWorkerIdleSince.remove(workerInfo);
+        if (idleSince != null) {
+          Metrics.WORKER_IDLE_TIME.inc(
+              TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - idleSince));
+        }
+        task.getTaskStat().recordTimeInQ();
+        Metrics.DISPATCH_LATENCY.update(task.getTaskStat().getTimeInQ(), TimeUnit.MILLISECONDS);
+        startTask(workerInfo, tasksQ, task, blkWorkerClientResource.get());
+        runningTasks++;
+      }
+    }
+
+    private void startTask(WorkerInfoIdentity workerInfo,
+        BoundedPriorityBlockingQueue<Task> tasksQ, Task task, BlockWorkerClient client) {
+      task.execute(client, workerInfo.mWorkerInfo);
+      task.getResponseFuture().addListener(() -> {
+        Job job = task.getJob();
+        task.getTaskStat().recordTimeToComplete();
+        try {
+          job.processResponse(task); // retry on failure logic inside
+        } catch (Exception e) {
+          // Unknown exception. This should not happen, but if it happens we don't
+          // want to lose the worker thread, thus catching it here. Any exception
+          // surfaced here should be properly handled.
+          LOG.error("Unexpected exception thrown in response future listener.", e);
+          job.failJob(new InternalRuntimeException(e));
+        } finally {
+          tasksQ.remove(task);
+          mJobToRunningTasks.compute(job, (k, v) -> {
+            if (v == null) {
+              return null;
+            }
+            v.remove(task);
+            return v;
+          });
+          onTaskCompleted(workerInfo, tasksQ, job);
+        }
+      }, mSchedulerExecutor);
+    }
+
+    /**
+     * Dispatches the next tasks right after a task completes instead of waiting for the next
+     * scheduling round. Like the scheduling rounds, this runs in the scheduler thread.
+     */
+    private void onTaskCompleted(WorkerInfoIdentity workerInfo,
+        BoundedPriorityBlockingQueue<Task> tasksQ, Job<?> job) {
+      if (!mRunning) {
+        return;
+      }
+      try {
+        if (tasksQ.stream().noneMatch(t -> t.getResponseFuture() != null)) {
+          mWorkerIdleSince.put(workerInfo, System.nanoTime());
+        }
+        // let the job prepare more tasks if the worker has none left waiting
+        if (tasksQ.stream().allMatch(t -> t.getResponseFuture() != null)) {
+          processJob(job);
+        }
+        kickStartTasks();
+      } catch (Exception e) {
+        // Unknown exception. This should not happen, but if it happens we don't want to lose
+        // the scheduler thread, thus catching it here. The next scheduling round retries.
+        LOG.error("Unexpected exception thrown when dispatching tasks.", e);
+      }
+    }
+
+    /**
+     * @return the number of tasks waiting in the worker queues to be dispatched
+     */
+    private long getQueuedTaskCount() {
+      return mWorkerToTaskQ.values().stream().flatMap(Collection::stream)
+          .filter(t -> t.getResponseFuture() == null).count();
     }
 
     /**
@@ -661,6 +725,18 @@ public final class Scheduler {
     }
   }
 
+  /**
+   * Class that contains metrics for the scheduler.
+   */
+  private static final class Metrics {
+    private static final Timer DISPATCH_LATENCY =
+        MetricsSystem.timer(MetricKey.MASTER_JOB_SCHEDULER_DISPATCH_LATENCY.getName());
+    private static final Counter WORKER_IDLE_TIME =
+        MetricsSystem.counter(MetricKey.MASTER_JOB_SCHEDULER_WORKER_IDLE_TIME.getName());
+
+    private Metrics() {} // prevent instantiation
+  }
+
   /**
    * Job/Tasks stats.
    */
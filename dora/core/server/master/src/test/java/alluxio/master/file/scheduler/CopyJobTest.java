@@ -22,6 +22,8 @@ import static org.mockito.Mockito.when;
 
 import alluxio.Constants;
 import alluxio.client.file.FileSystemContext;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.exception.AccessControlException;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.InvalidPathException;
@@ -63,6 +65,7 @@ public class CopyJobTest {
     Optional<String> user = Optional.of("user");
     FileIterable files =
         new FileIterable(fileSystemMaster, srcPath, user, false, CopyJob.QUALIFIED_FILE_FILTER);
+    Configuration.set(PropertyKey.JOB_BATCH_ADAPTIVE_ENABLED, false);
     CopyJob copy = new CopyJob(srcPath, dstPath, false, user, "1",
         OptionalLong.empty(), false, false, false, files, Optional.empty());
     List<WorkerInfo> workers = ImmutableList.of(
@@ -72,6 +75,11 @@ public class CopyJobTest {
             new WorkerNetAddress().setHost("worker2").setRpcPort(1234)));
     List<CopyJob.CopyTask> nextTask = copy.getNextTasks(workers);
     Assert.assertEquals(5, nextTask.get(0).getRoutes().size());
+    Configuration.modifiableGlobal().unset(PropertyKey.JOB_BATCH_ADAPTIVE_ENABLED);
+    // each file is larger than the initial task size, so it makes a task on its own
+    CopyJob adaptiveCopy = new CopyJob(srcPath, dstPath, false, user, "1",
+        OptionalLong.empty(), false, false, false, files, Optional.empty());
+    Assert.assertEquals(1, adaptiveCopy.getNextTasks(workers).get(0).getRoutes().size());
   }
 
   @Test
@@ -126,13 +134,15 @@ public class CopyJobTest {
         + "\tFiles Processed: 25\n"
         + "\tBytes Copied: 640.00MB out of 31.25GB\n"
         + "\tFiles failure rate: 0.00%\n"
-        + "\tFiles Failed: 0\n";
+        + "\tFiles Failed: 0\n"
+        + "\tTask Batching: up to 200 files and 1024.00MB per task\n";
     assertEquals(expectedTextReport, job.getProgress(JobProgressReportFormat.TEXT, false));
     assertEquals(expectedTextReport, job.getProgress(JobProgressReportFormat.TEXT, true));
     String expectedJsonReport = "{\"mVerbose\":false,\"mJobState\":\"RUNNING\","
         + "\"mCheckContent\":false,\"mProcessedFileCount\":25,"
         + "\"mByteCount\":671088640,\"mTotalByteCount\":33554432000,"
-        + "\"mFailurePercentage\":0.0,\"mFailedFileCount\":0,\"mFailedFilesWithReasons\":{}}";
+        + "\"mFailurePercentage\":0.0,\"mFailedFileCount\":0,\"mFailedFilesWithReasons\":{},"
+        + "\"mBatchSizing\":\"up to 200 files and 1024.00MB per task\"}";
     assertEquals(expectedJsonReport, job.getProgress(JobProgressReportFormat.JSON, false));
     job.addFailure(nextRoutes.get(0).getSrc(), "Test error 1", 2);
     job.addFailure(nextRoutes.get(4).getSrc(), "Test error 2", 2);
@@ -144,7 +154,8 @@ public class CopyJobTest {
         + "\tFiles Processed: 25\n"
         + "\tBytes Copied: 640.00MB out of 31.25GB\n"
         + "\tFiles failure rate: 12.00%\n"
-        + "\tFiles Failed: 3\n";
+        + "\tFiles Failed: 3\n"
+        + "\tTask Batching: up to 200 files and 1024.00MB per task\n";
     assertEquals(expectedTextReportWithError,
         job.getProgress(JobProgressReportFormat.TEXT, false));
     String textReport = job.getProgress(JobProgressReportFormat.TEXT, true);
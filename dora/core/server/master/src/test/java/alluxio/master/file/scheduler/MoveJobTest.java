@@ -22,6 +22,8 @@ import static org.mockito.Mockito.when;
 
 import alluxio.Constants;
 import alluxio.client.file.FileSystemContext;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.exception.AccessControlException;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.InvalidPathException;
@@ -69,6 +71,7 @@ public class MoveJobTest {
     Optional<String> user = Optional.of("user");
     FileIterable files =
         new FileIterable(fileSystemMaster, srcPath, user, false, MoveJob.QUALIFIED_FILE_FILTER);
+    Configuration.set(PropertyKey.JOB_BATCH_ADAPTIVE_ENABLED, false);
     MoveJob move = new MoveJob(srcPath, dstPath, false, user, "1",
         OptionalLong.empty(), false, false, false, files,
         Optional.empty());
@@ -79,6 +82,12 @@ public class MoveJobTest {
             new WorkerNetAddress().setHost("worker2").setRpcPort(1234)));
     List<MoveJob.MoveTask> nextTasks = move.getNextTasks(workers);
     Assert.assertEquals(5, nextTasks.get(0).getRoutes().size());
+    Configuration.modifiableGlobal().unset(PropertyKey.JOB_BATCH_ADAPTIVE_ENABLED);
+    // each file is larger than the initial task size, so it makes a task on its own
+    MoveJob adaptiveMove = new MoveJob(srcPath, dstPath, false, user, "1",
+        OptionalLong.empty(), false, false, false, files,
+        Optional.empty());
+    Assert.assertEquals(1, adaptiveMove.getNextTasks(workers).get(0).getRoutes().size());
   }
 
   @Test
@@ -136,14 +145,16 @@ public class MoveJobTest {
         + "\tFiles Processed: 25\n"
         + "\tBytes Moved: 640.00MB out of 31.25GB\n"
         + "\tFiles failure rate: 0.00%\n"
-        + "\tFiles Failed: 0\n";
+        + "\tFiles Failed: 0\n"
+        + "\tTask Batching: up to 200 files and 1024.00MB per task\n";
     assertEquals(expectedTextReport, job.getProgress(JobProgressReportFormat.TEXT, false));
     assertEquals(expectedTextReport, job.getProgress(JobProgressReportFormat.TEXT, true));
     String expectedJsonReport = "{\"mVerbose\":false,\"mJobState\":\"RUNNING\","
         + "\"mCheckContent\":false,\"mProcessedFileCount\":25,"
         + "\"mByteCount\":671088640,\"mTotalByteCount\":33554432000,"
         + "\"mFailurePercentage\":0.0,\"mFailedFileCount\":0,"
-        + "\"mFailedFilesWithReasons\":{},\"mJobId\":\"1\"}";
+        + "\"mFailedFilesWithReasons\":{},"
+        + "\"mBatchSizing\":\"up to 200 files and 1024.00MB per task\",\"mJobId\":\"1\"}";
     assertEquals(expectedJsonReport, job.getProgress(JobProgressReportFormat.JSON, false));
     job.addFailure(nextRoutes.get(0).getSrc(), "Test error 1", 2);
     job.addFailure(nextRoutes.get(4).getSrc(), "Test error 2", 2);
@@ -156,7 +167,8 @@ public class MoveJobTest {
         + "\tFiles Processed: 25\n"
         + "\tBytes Moved: 640.00MB out of 31.25GB\n"
         + "\tFiles failure rate: 12.00%\n"
-        + "\tFiles Failed: 3\n";
+        + "\tFiles Failed: 3\n"
+        + "\tTask Batching: up to 200 files and 1024.00MB per task\n";
     assertEquals(expectedTextReportWithError,
         job.getProgress(JobProgressReportFormat.TEXT, false));
     String textReport = job.getProgress(JobProgressReportFormat.TEXT, true);
@@ -53,7 +53,11 @@ import alluxio.proto.journal.Job;
 import alluxio.resource.CloseableResource;
 import alluxio.scheduler.job.JobMetaStore;
 import alluxio.scheduler.job.JobState;
+import alluxio.scheduler.job.Task;
+import alluxio.scheduler.job.WorkerProvider;
 import alluxio.security.authentication.AuthenticatedClientUser;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
 import alluxio.wire.FileInfo;
 import alluxio.wire.WorkerInfo;
 import alluxio.wire.WorkerNetAddress;
@@ -561,6 +565,50 @@ public final class SchedulerTest {
     Configuration.modifiableGlobal().unset(PropertyKey.JOB_RETENTION_TIME);
   }
 
+  @Test
+  public void testPipelinedDispatch() throws Exception {
+    WorkerInfo worker = new WorkerInfo().setId(1).setAddress(
+        new WorkerNetAddress().setHost("worker1").setRpcPort(1234));
+    WorkerProvider workerProvider = mock(WorkerProvider.class);
+    when(workerProvider.getWorkerInfos()).thenReturn(ImmutableList.of(worker));
+    CloseableResource<BlockWorkerClient> blockWorkerClientResource = mock(CloseableResource.class);
+    when(workerProvider.getWorkerClient(any())).thenReturn(blockWorkerClientResource);
+    Scheduler scheduler = new Scheduler(mock(FileSystemContext.class), workerProvider,
+        new InMemoryJobMetaStore());
+    scheduler.start();
+    scheduler.updateWorkers();
+    alluxio.scheduler.job.Job<?> job = mock(alluxio.scheduler.job.Job.class);
+    List<PendingTask> tasks = IntStream.range(0, 3).mapToObj(i -> new PendingTask(job, i))
+        .collect(Collectors.toList());
+    for (PendingTask task : tasks) {
+      assertTrue(scheduler.getWorkerInfoHub().enqueueTaskForWorker(worker, task));
+    }
+    scheduler.getWorkerInfoHub().kickStartTasks();
+    // two tasks in flight by default
+    assertEquals(2, tasks.stream().filter(t -> t.getResponseFuture() != null).count());
+    PendingTask finished = tasks.stream().filter(t -> t.getResponseFuture() != null)
+        .findFirst().get();
+    finished.mResponse.set(null);
+    // the waiting task is dispatched as soon as a running task completes
+    CommonUtils.waitFor("waiting task to be dispatched",
+        () -> tasks.stream().allMatch(t -> t.getResponseFuture() != null),
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    scheduler.stop();
+  }
+
+  private static class PendingTask extends Task<Void> {
+    private final SettableFuture<Void> mResponse = SettableFuture.create();
+
+    PendingTask(alluxio.scheduler.job.Job<?> job, int taskId) {
+      super(job, taskId);
+    }
+
+    @Override
+    protected ListenableFuture<Void> run(BlockWorkerClient client) {
+      return mResponse;
+    }
+  }
+
   // test scheduler start and stop and start again with job meta store change
   @Test
   public void testStopScheduler() {
@@ -0,0 +1,64 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.wire.WorkerInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import org.junit.Test;
+
+public class AdaptiveBatchSizerTest {
+  private static final WorkerInfo FAST = new WorkerInfo().setId(1)
+      .setAddress(new WorkerNetAddress().setHost("worker1").setRpcPort(1234));
+  private static final WorkerInfo SLOW = new WorkerInfo().setId(2)
+      .setAddress(new WorkerNetAddress().setHost("worker2").setRpcPort(1234));
+
+  @Test
+  public void fixedBatchSize() {
+    AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(false, 20, 8L * Constants.GB, 30_000);
+    sizer.onTaskCompleted(FAST.getAddress(), Constants.GB, 1000, false);
+    assertEquals(20, sizer.getMaxFileCount());
+    assertEquals(Long.MAX_VALUE, sizer.getMaxBytes(FAST));
+  }
+
+  @Test
+  public void sizeByThroughput() {
+    AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(true, 20, 8L * Constants.GB, 10_000);
+    assertEquals(200, sizer.getMaxFileCount());
+    assertEquals(Constants.GB, sizer.getMaxBytes(FAST));
+    // 100MB/s is worth 1000MB in 10 seconds
+    sizer.onTaskCompleted(SLOW.getAddress(), 100L * Constants.MB, 1000, false);
+    assertEquals(1000L * Constants.MB, sizer.getMaxBytes(SLOW));
+    // a fast worker grows at most twice per task, up to the maximum
+    for (int i = 0; i < 10; i++) {
+      sizer.onTaskCompleted(FAST.getAddress(), 10L * Constants.GB, 1000, false);
+    }
+    assertEquals(8L * Constants.GB, sizer.getMaxBytes(FAST));
+    assertEquals(2, sizer.getWorkerDecisions().size());
+  }
+
+  @Test
+  public void shrinkOnFailure() {
+    AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(true, 20, 8L * Constants.GB, 10_000);
+    sizer.onTaskCompleted(FAST.getAddress(), 0, 1000, true);
+    assertEquals(Constants.GB / 2, sizer.getMaxBytes(FAST));
+    for (int i = 0; i < 20; i++) {
+      sizer.onTaskCompleted(FAST.getAddress(), 0, 1000, true);
+    }
+    assertEquals(16 * Constants.MB, sizer.getMaxBytes(FAST));
+    assertTrue(sizer.getSummary().contains("shrunk 21 times"));
+  }
+}
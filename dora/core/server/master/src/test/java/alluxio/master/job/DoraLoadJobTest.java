@@ -0,0 +1,150 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.client.file.FileSystemContext;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.runtime.AlluxioRuntimeException;
+import alluxio.exception.runtime.UnavailableRuntimeException;
+import alluxio.master.scheduler.Scheduler;
+import alluxio.scheduler.job.JobMetaStore;
+import alluxio.scheduler.job.JobState;
+import alluxio.scheduler.job.WorkerProvider;
+import alluxio.underfs.UfsDirectoryStatus;
+import alluxio.underfs.UfsFileStatus;
+import alluxio.underfs.UfsStatus;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.options.ListOptions;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+import alluxio.wire.WorkerInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+public class DoraLoadJobTest {
+  private static final String UFS_ROOT = "s3://bucket";
+  private static final List<WorkerInfo> WORKERS = ImmutableList.of(new WorkerInfo().setId(1)
+      .setAddress(new WorkerNetAddress().setHost("worker1").setRpcPort(1234)));
+
+  @Before
+  public void before() {
+    Configuration.set(PropertyKey.DORA_CLIENT_UFS_ROOT, UFS_ROOT);
+    Configuration.set(PropertyKey.JOB_LISTING_PARALLELISM, 2);
+    new Scheduler(mock(FileSystemContext.class), mock(WorkerProvider.class),
+        mock(JobMetaStore.class));
+  }
+
+  @After
+  public void after() {
+    Configuration.reloadProperties();
+  }
+
+  @Test
+  public void failOnParallelListingError() throws Exception {
+    UnderFileSystem ufs = mock(UnderFileSystem.class);
+    when(ufs.isObjectStorage()).thenReturn(true);
+    when(ufs.listStatusIterable(anyString(), any(ListOptions.class), isNull(), anyInt()))
+        .thenAnswer(invocation -> {
+          String path = invocation.getArgument(0);
+          if (path.equals(UFS_ROOT + "/load")) {
+            return ImmutableList.<UfsStatus>of(
+                new UfsDirectoryStatus("dir0", "", "", (short) 0),
+                new UfsDirectoryStatus("dir1", "", "", (short) 0)).iterator();
+          }
+          Iterator<UfsStatus> files = files(10);
+          if (path.endsWith("dir0")) {
+            return files;
+          }
+          // a retryable failure in the middle of the directory
+          Iterator<UfsStatus> failure = new AbstractIterator<UfsStatus>() {
+            @Override
+            protected UfsStatus computeNext() {
+              throw new UnavailableRuntimeException("listing failed");
+            }
+          };
+          return Iterators.concat(Iterators.limit(files, 3), failure);
+        });
+    DoraLoadJob job = new DoraLoadJob("/load", Optional.of("user"), "1", OptionalLong.empty(),
+        false, false, false, ufs);
+    job.initializeJob();
+    CommonUtils.waitFor("listing failure", () -> {
+      try {
+        job.getNextTasks(WORKERS);
+      } catch (AlluxioRuntimeException e) {
+        // the scheduler retries the job on a retryable error
+      }
+      return !job.isRunning();
+    }, WaitForOptions.defaults().setTimeoutMs(10000));
+    assertEquals(JobState.FAILED, job.getJobState());
+    // the rest of the listing is never mistaken for being loaded
+    assertThrows(AlluxioRuntimeException.class, job::isCurrentPassDone);
+  }
+
+  @Test
+  public void listOnlyOnceInitialized() throws Exception {
+    UnderFileSystem ufs = mock(UnderFileSystem.class);
+    when(ufs.isObjectStorage()).thenReturn(true);
+    when(ufs.listStatusIterable(anyString(), any(ListOptions.class), isNull(), anyInt()))
+        .thenAnswer(invocation -> files(10));
+    DoraLoadJob job = new DoraLoadJob("/load", Optional.of("user"), "1", OptionalLong.empty(),
+        false, false, false, ufs);
+    // a job rejected by the scheduler is never initialized, and must not list the UFS
+    verify(ufs, never()).listStatusIterable(anyString(), any(ListOptions.class), isNull(),
+        anyInt());
+    assertFalse(job.isCurrentPassDone());
+
+    job.initializeJob();
+    // a stopped job carries on with its listing once restarted
+    job.setJobState(JobState.STOPPED, false);
+    job.setJobState(JobState.RUNNING, false);
+    int files = 0;
+    while (!job.isCurrentPassDone()) {
+      for (DoraLoadJob.DoraLoadTask task : job.getNextTasks(WORKERS)) {
+        files += task.getFilesToLoad().size();
+      }
+    }
+    assertEquals(10, files);
+  }
+
+  private static Iterator<UfsStatus> files(int count) {
+    List<UfsStatus> files = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      files.add(new UfsFileStatus("file" + i, "", 1, 0L, "", "", (short) 0, 1));
+    }
+    return files.iterator();
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.proxy.s3;
+
+import alluxio.AlluxioURI;
+import alluxio.client.file.FileSystem;
+import alluxio.client.file.URIStatus;
+import alluxio.exception.AlluxioException;
+import alluxio.exception.FileDoesNotExistException;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Lists the objects of a bucket in the order of their keys, starting after a given key.
+ * <p>
+ * Directories are listed one at a time and walked depth-first, so that only the children of the
+ * directories on the path to the current key are held in memory. Directories whose keys all fall
+ * before the start key or outside the prefix are skipped without being listed, so that listing a
+ * page of a bucket costs about the same wherever the page starts.
+ */
+@NotThreadSafe
+public class BucketLister {
+  @Nullable
+  private final FileSystem mFs;
+  private final String mBucketPrefix;
+  private final String mStartAfter;
+  private final String mPrefix;
+  /** The remaining children of each directory being walked, the innermost last. */
+  private final Deque<Iterator<URIStatus>> mStack = new ArrayDeque<>();
+  private boolean mDone;
+
+  /**
+   * Creates a lister walking a directory of a bucket.
+   *
+   * @param fs the file system
+   * @param dir the directory to list
+   * @param bucketPrefix the path of the bucket, with a trailing separator
+   * @param recursive whether to list the descendants of the sub-directories
+   * @param startAfter the key after which to start, or an empty string
+   * @param prefix the prefix of the keys to list, or an empty string
+   * @return the lister
+   * @throws FileDoesNotExistException if the directory does not exist
+   */
+  public static BucketLister create(FileSystem fs, String dir, String bucketPrefix,
+      boolean recursive, String startAfter, String prefix)
+      throws IOException, AlluxioException {
+    BucketLister lister =
+        new BucketLister(recursive ? fs : null, bucketPrefix, startAfter, prefix);
+    lister.push(fs.listStatus(new AlluxioURI(dir)));
+    return lister;
+  }
+
+  /**
+   * Creates a lister over statuses which have already been listed.
+   *
+   * @param statuses the statuses, in any order
+   * @param bucketPrefix the path of the bucket, with a trailing separator
+   * @param startAfter the key after which to start, or an empty string
+   * @param prefix the prefix of the keys to list, or an empty string
+   * @return the lister
+   */
+  public static BucketLister create(List<URIStatus> statuses, String bucketPrefix,
+      String startAfter, String prefix) {
+    BucketLister lister = new BucketLister(null, bucketPrefix, startAfter, prefix);
+    lister.push(statuses);
+    return lister;
+  }
+
+  private BucketLister(@Nullable FileSystem fs, String bucketPrefix, String startAfter,
+      String prefix) {
+    mFs = fs;
+    mBucketPrefix = bucketPrefix;
+    mStartAfter = startAfter;
+    mPrefix = prefix;
+  }
+
+  /**
+   * @return the status of the next object, or null if there are no more objects
+   */
+  @Nullable
+  public URIStatus next() throws IOException, AlluxioException {
+    while (!mDone && !mStack.isEmpty()) {
+      Iterator<URIStatus> children = mStack.peekLast();
+      if (!children.hasNext()) {
+        mStack.removeLast();
+        continue;
+      }
+      URIStatus status = children.next();
+      String key = getKey(status);
+      if (key.compareTo(mPrefix) > 0 && !key.startsWith(mPrefix)) {
+        // all the following keys are past the prefix as well
+        mDone = true;
+        return null;
+      }
+      boolean skip = key.compareTo(mStartAfter) <= 0 || key.compareTo(mPrefix) < 0;
+      if (status.isFolder() && mFs != null
+          && (!skip || mStartAfter.startsWith(key) || mPrefix.startsWith(key))) {
+        pushChildren(status);
+      }
+      if (!skip) {
+        return status;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param status the status of an object
+   * @return the key of the object, ending with a separator for a directory
+   */
+  public String getKey(URIStatus status) {
+    String key = status.getPath().substring(mBucketPrefix.length());
+    return status.isFolder() ? key + AlluxioURI.SEPARATOR : key;
+  }
+
+  private void pushChildren(URIStatus dir) throws IOException, AlluxioException {
+    try {
+      push(mFs.listStatus(new AlluxioURI(dir.getPath())));
+    } catch (FileDoesNotExistException e) {
+      // the directory was removed after its parent was listed
+    }
+  }
+
+  private void push(List<URIStatus> children) {
+    List<URIStatus> sorted = new ArrayList<>(children);
+    sorted.sort(Comparator.comparing(this::getKey));
+    mStack.addLast(sorted.iterator());
+  }
+}
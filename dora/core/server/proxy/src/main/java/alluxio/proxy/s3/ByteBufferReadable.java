@@ -0,0 +1,29 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.proxy.s3;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A stream of an object body which can be read into a {@link ByteBuffer}, so that the body can be
+ * sent through an off-heap buffer without being copied to the heap.
+ */
+public interface ByteBufferReadable {
+  /**
+   * Reads up to the remaining bytes of the buffer, from its position.
+   *
+   * @param buffer the buffer into which the data is read
+   * @return the number of bytes read, or -1 if the end of the stream has been reached
+   */
+  int read(ByteBuffer buffer) throws IOException;
+}
@@ -12,7 +12,10 @@
 package alluxio.proxy.s3;
 
 import alluxio.AlluxioURI;
+import alluxio.client.file.FileSystem;
 import alluxio.client.file.URIStatus;
+import alluxio.exception.AlluxioException;
+import alluxio.exception.FileDoesNotExistException;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
@@ -25,17 +28,16 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 import javax.xml.bind.annotation.XmlTransient;
 
 /**
@@ -131,6 +133,34 @@ public class ListBucketResult {
    */
   public ListBucketResult(
       String bucketName, List<URIStatus> children, ListBucketOptions options) throws S3Exception {
+    try {
+      init(bucketName, options, (bucketPrefix, startAfter, prefix) ->
+          BucketLister.create(children, bucketPrefix, startAfter, prefix));
+    } catch (IOException | AlluxioException e) {
+      // the children have already been listed
+      throw S3RestUtils.toBucketS3Exception(e, bucketName);
+    }
+  }
+
+  /**
+   * Creates an {@link ListBucketResult} by listing a directory of the bucket. Only the objects
+   * of the page and the directories leading to them are listed.
+   *
+   * @param bucketName the bucket name
+   * @param fs the file system
+   * @param dir the directory to list, recursively unless a delimiter is given
+   * @param options the list bucket options
+   * @throws FileDoesNotExistException if the directory does not exist
+   */
+  public ListBucketResult(String bucketName, FileSystem fs, String dir,
+      ListBucketOptions options) throws S3Exception, IOException, AlluxioException {
+    init(bucketName, options, (bucketPrefix, startAfter, prefix) ->
+        BucketLister.create(fs, dir, bucketPrefix,
+            StringUtils.isEmpty(options.getDelimiter()), startAfter, prefix));
+  }
+
+  private void init(String bucketName, ListBucketOptions options, ListerFactory listerFactory)
+      throws S3Exception, IOException, AlluxioException {
     mName = bucketName;
     if (mName == null || mName.isEmpty()) {
       throw new S3Exception(S3ErrorCode.INVALID_BUCKET_NAME);
@@ -173,15 +203,15 @@ public class ListBucketResult {
     }
     // contains both ends of "/" character
     final String bucketPrefix = AlluxioURI.SEPARATOR + mName + AlluxioURI.SEPARATOR;
-    buildListBucketResult(bucketPrefix, children);
+    buildListBucketResult(bucketPrefix, listerFactory);
   }
 
   /**
    * Filter {@link URIStatus} use marker/continuation-token, prefix, delimiter, and max-keys.
-   * @param children a list of {@link URIStatus}, representing the objects and common prefixes
+   * @param listerFactory creates the lister of the objects, in the order of their keys
    */
-  private void buildListBucketResult(
-      String bucketPrefix, List<URIStatus> children) throws S3Exception {
+  private void buildListBucketResult(String bucketPrefix, ListerFactory listerFactory)
+      throws S3Exception, IOException, AlluxioException {
     final String marker;
     if (isVersion2()) {
       if (mContinuationToken != null) {
@@ -192,87 +222,63 @@ public class ListBucketResult {
     } else {
       marker = mMarker;
     }
+    String startAfter = marker;
+    //startAfter filter for listObjectV2
+    if (isVersion2() && mStartAfter != null && mStartAfter.compareTo(startAfter) > 0) {
+      startAfter = mStartAfter;
+    }
+    BucketLister lister = listerFactory.create(bucketPrefix, startAfter, mPrefix);
 
     //group by common prefix if delimiter is provided
     Set<String> commonPrefixes = new HashSet<>();
-    // used when handling truncating
-    int[] keyCount = {0}; // must use an array to have a mutable variable during sequential stream
-
-    //sort use uri path
-    children.sort(Comparator.comparing(URIStatus::getPath));
-    mContents = children.stream()
-        //marker filter
-        .filter(status -> {
-          String path = status.getPath().substring(bucketPrefix.length());
-          return (path.startsWith(mPrefix) //prefix filter
-              && path.compareTo(marker) > 0 //marker filter
-              //startAfter filter for listObjectV2
-              && (!isVersion2() || mStartAfter == null
-                || path.compareTo(mStartAfter) > 0));
-        })
-        .map(status -> {
-          String path = status.getPath().substring(bucketPrefix.length());
-          return new Content(
-              status.isFolder() ? path + AlluxioURI.SEPARATOR : path,
-              S3RestUtils.toS3Date(status.getLastModificationTimeMs()),
-              status.isFolder() ? "0" : String.valueOf(status.getLength())
-          );
-        })
-        .filter(content -> {
-          String path = content.getKey();
-          if (StringUtils.isEmpty(mDelimiter)) {
-            if (keyCount[0] == mMaxKeys) {
-              mIsTruncated = true;
-              return false;
-            }
-            mNextMarker = path;
-            keyCount[0]++;
-            return true;
-          }
-          int delimiterIndex = path.substring(mPrefix.length()).indexOf(mDelimiter);
-          if (delimiterIndex == -1) { // no matching delimiter
-            if (keyCount[0] == mMaxKeys) {
-              mIsTruncated = true;
-              return false;
-            }
-            mNextMarker = path;
-            keyCount[0]++;
-            return true;
-          } // else, this key is (a part of) a common prefix
-          // We set the field mIsCommonPrefix in order to later filter out this key from mContents
-          content.mIsCommonPrefix = true;
-          /*
-           * Delimiter mean:
-           * https://docs.aws.amazon.com/AmazonS3/latest/API/API_ListObjects.html
-           * Causes keys that contain the same string between the prefix and the
-           * first occurrence of the delimiter to be rolled up into a single
-           * result element in the CommonPrefixes collection.
-           * These rolled-up keys are not returned elsewhere in the response.
-           * Each rolled-up result counts as only one return against the MaxKeys value.
-           */
-          String commonPrefix = path.substring(0, mPrefix.length() + delimiterIndex
-              + mDelimiter.length());
-          if (commonPrefix.equals(marker)) {
-            return false; // skip if the marker was this common prefix
-          }
-          if (commonPrefixes.contains(commonPrefix)) {
-            return false; // the key is dropped because it is consumed by a prior common prefix
-          }
-          // This is a new common prefix, so we return it as a "key" in this stream
-          // so that it is accounted for in the call to `limit()`
-          if (keyCount[0] == mMaxKeys) {
-            mIsTruncated = true;
-            return false;
-          }
-          commonPrefixes.add(commonPrefix);
-          mCommonPrefixes.add(new CommonPrefix(commonPrefix));
-          mNextMarker = commonPrefix;
-          keyCount[0]++;
-          return true;
-        })
-        .limit(mMaxKeys + 1) // limit to +1 in order to check if we have exactly MaxKeys or not
-        .filter(content -> !content.mIsCommonPrefix)
-        .collect(Collectors.toList());
+    int keyCount = 0;
+    // the objects come in the order of their keys, so stop as soon as the page is full
+    for (URIStatus status = lister.next(); status != null; status = lister.next()) {
+      String path = status.getPath().substring(bucketPrefix.length());
+      if (!path.startsWith(mPrefix)) { //prefix filter
+        continue;
+      }
+      String key = lister.getKey(status);
+      int delimiterIndex = StringUtils.isEmpty(mDelimiter)
+          ? -1 : key.substring(mPrefix.length()).indexOf(mDelimiter);
+      if (delimiterIndex == -1) { // no matching delimiter
+        if (keyCount == mMaxKeys) {
+          mIsTruncated = true;
+          break;
+        }
+        mContents.add(new Content(key,
+            S3RestUtils.toS3Date(status.getLastModificationTimeMs()),
+            status.isFolder() ? "0" : String.valueOf(status.getLength())));
+        mNextMarker = key;
+        keyCount++;
+        continue;
+      } // else, this key is (a part of) a common prefix
+      /*
+       * Delimiter mean:
+       * https://docs.aws.amazon.com/AmazonS3/latest/API/API_ListObjects.html
+       * Causes keys that contain the same string between the prefix and the
+       * first occurrence of the delimiter to be rolled up into a single
+       * result element in the CommonPrefixes collection.
+       * These rolled-up keys are not returned elsewhere in the response.
+       * Each rolled-up result counts as only one return against the MaxKeys value.
+       */
+      String commonPrefix = key.substring(0, mPrefix.length() + delimiterIndex
+          + mDelimiter.length());
+      if (commonPrefix.equals(marker)) {
+        continue; // skip if the marker was this common prefix
+      }
+      if (commonPrefixes.contains(commonPrefix)) {
+        continue; // the key is dropped because it is consumed by a prior common prefix
+      }
+      if (keyCount == mMaxKeys) {
+        mIsTruncated = true;
+        break;
+      }
+      commonPrefixes.add(commonPrefix);
+      mCommonPrefixes.add(new CommonPrefix(commonPrefix));
+      mNextMarker = commonPrefix;
+      keyCount++;
+    }
 
     /*
     As explained in:
@@ -314,7 +320,7 @@ public class ListBucketResult {
     }
 
     // Sanity-check the number of keys being returned
-    if (mContents.size() + (mCommonPrefixes == null ? 0 : mCommonPrefixes.size()) != keyCount[0]) {
+    if (mContents.size() + (mCommonPrefixes == null ? 0 : mCommonPrefixes.size()) != keyCount) {
       throw new S3Exception(new S3ErrorCode(
           S3ErrorCode.INTERNAL_ERROR.getCode(),
           "Failed to populate ListBucketResult",
@@ -322,7 +328,7 @@ public class ListBucketResult {
       ));
     }
     if (isVersion2()) {
-      mKeyCount = keyCount[0];
+      mKeyCount = keyCount;
     }
 
     // Populate the NextMarker/NextContinuationToken fields
@@ -516,6 +522,12 @@ public class ListBucketResult {
     }
   }
 
+  @FunctionalInterface
+  private interface ListerFactory {
+    BucketLister create(String bucketPrefix, String startAfter, String prefix)
+        throws IOException, AlluxioException;
+  }
+
   /**
    * Common Prefixes list placeholder object.
    */
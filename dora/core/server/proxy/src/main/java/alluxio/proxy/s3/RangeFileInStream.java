@@ -11,7 +11,10 @@
 
 package alluxio.proxy.s3;
 
+import alluxio.Constants;
 import alluxio.client.file.FileInStream;
+import alluxio.client.file.PositionReadFileInStream;
+import alluxio.client.file.cache.LocalCacheFileInStream;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -20,7 +23,10 @@ import java.nio.ByteBuffer;
 /**
  * This class is use {@link FileInStream} underlying, and implement range read.
  */
-public class RangeFileInStream extends InputStream {
+public class RangeFileInStream extends InputStream implements ByteBufferReadable {
+  /** The heap arrays copying the data of streams which cannot read into a buffer. */
+  private static final ThreadLocal<byte[]> TLS_HEAP_BUFFER =
+      ThreadLocal.withInitial(() -> new byte[64 * Constants.KB]);
 
   private FileInStream mUnderlyingStream;
   private long mUnderlyingLength;
@@ -76,7 +82,41 @@ public class RangeFileInStream extends InputStream {
    * @throws IOException
    */
   public int read(ByteBuffer byteBuffer, int off, int len) throws IOException {
-    return this.mUnderlyingStream.read(byteBuffer, off, len);
+    if (mReadBytes >= mUnderlyingLength) {
+      return -1;
+    }
+
+    if (mReadBytes + len > mUnderlyingLength) {
+      len = (int) (mUnderlyingLength - mReadBytes);
+    }
+    if (len == 0) {
+      return 0;
+    }
+
+    int n;
+    if (mUnderlyingStream instanceof PositionReadFileInStream
+        || mUnderlyingStream instanceof LocalCacheFileInStream) {
+      n = mUnderlyingStream.read(byteBuffer, off, len);
+    } else {
+      // the other streams copy through a new heap array as large as the read on every call
+      byte[] bytes = TLS_HEAP_BUFFER.get();
+      n = mUnderlyingStream.read(bytes, 0, Math.min(len, bytes.length));
+      if (n > 0) {
+        byteBuffer.position(off);
+        byteBuffer.put(bytes, 0, n);
+      }
+    }
+    if (n <= 0) {
+      // FileInStream.read(ByteBuffer, int, int) returns 0 rather than -1 at the end of the stream
+      return -1;
+    }
+    mReadBytes += n;
+    return n;
+  }
+
+  @Override
+  public int read(ByteBuffer buffer) throws IOException {
+    return read(buffer, buffer.position(), buffer.remaining());
   }
 
   @Override
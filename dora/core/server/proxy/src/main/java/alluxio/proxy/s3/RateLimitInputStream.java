@@ -11,15 +11,28 @@
 
 package alluxio.proxy.s3;
 
+import alluxio.Constants;
+
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.RateLimiter;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * This class is a wrapper for InputStream which limit rate when reading bytes.
  */
-public class RateLimitInputStream extends InputStream {
+public class RateLimitInputStream extends InputStream implements ByteBufferReadable {
+  /**
+   * The maximum number of bytes read into a {@link ByteBuffer} at a time, so that a short read
+   * is not charged the permits of a whole buffer.
+   */
+  @VisibleForTesting
+  static final int MAX_BYTE_BUFFER_READ_SIZE = 64 * Constants.KB;
+  /** The heap arrays copying the data of streams which cannot read into a buffer. */
+  private static final ThreadLocal<byte[]> TLS_HEAP_BUFFER =
+      ThreadLocal.withInitial(() -> new byte[MAX_BYTE_BUFFER_READ_SIZE]);
 
   private final InputStream mInputStream;
   private final RateLimiter[] mRateLimiters;
@@ -52,6 +65,27 @@ public class RateLimitInputStream extends InputStream {
     return mInputStream.read(b, off, len);
   }
 
+  @Override
+  public int read(ByteBuffer buffer) throws IOException {
+    int len = Math.min(buffer.remaining(), MAX_BYTE_BUFFER_READ_SIZE);
+    acquire(len);
+    if (mInputStream instanceof ByteBufferReadable) {
+      int limit = buffer.limit();
+      buffer.limit(buffer.position() + len);
+      try {
+        return ((ByteBufferReadable) mInputStream).read(buffer);
+      } finally {
+        buffer.limit(limit);
+      }
+    }
+    byte[] bytes = TLS_HEAP_BUFFER.get();
+    int read = mInputStream.read(bytes, 0, len);
+    if (read > 0) {
+      buffer.put(bytes, 0, read);
+    }
+    return read;
+  }
+
   @Override
   public void close() throws IOException {
     mInputStream.close();
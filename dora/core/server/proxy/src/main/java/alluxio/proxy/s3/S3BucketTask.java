@@ -25,7 +25,6 @@ import alluxio.exception.InvalidPathException;
 import alluxio.grpc.Bits;
 import alluxio.grpc.CreateDirectoryPOptions;
 import alluxio.grpc.DeletePOptions;
-import alluxio.grpc.ListStatusPOptions;
 import alluxio.grpc.PMode;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.proto.journal.File;
@@ -284,7 +283,6 @@ public class S3BucketTask extends S3BaseTask {
                   .setContinuationToken(continuationTokenParam)
                   .setStartAfter(startAfterParam);
 
-          List<URIStatus> children;
           try {
             // TODO(czhu): allow non-"/" delimiters by parsing the prefix & delimiter pair to
             //             determine what directory to list the contents of
@@ -295,23 +293,19 @@ public class S3BucketTask extends S3BaseTask {
               } else {
                 path = parsePathWithDelimiter(path, prefixParam, delimiterParam);
               }
-              children = userFs.listStatus(new AlluxioURI(path));
-            } else {
-              if (prefixParam != null) {
-                path = parsePathWithDelimiter(path, prefixParam, AlluxioURI.SEPARATOR);
-              }
-              ListStatusPOptions options = ListStatusPOptions.newBuilder()
-                  .setRecursive(true).build();
-              children = userFs.listStatus(new AlluxioURI(path), options);
+            } else if (prefixParam != null) {
+              path = parsePathWithDelimiter(path, prefixParam, AlluxioURI.SEPARATOR);
             }
+            // the directory is listed page by page rather than all at once
+            return new ListBucketResult(
+                    mHandler.getBucket(),
+                    userFs,
+                    path,
+                    listBucketOptions);
           } catch (IOException | AlluxioException e) {
             auditContext.setSucceeded(false);
             throw S3RestUtils.toBucketS3Exception(e, mHandler.getBucket());
           }
-          return new ListBucketResult(
-                  mHandler.getBucket(),
-                  children,
-                  listBucketOptions);
         } // end try-with-resources block
       });
     }
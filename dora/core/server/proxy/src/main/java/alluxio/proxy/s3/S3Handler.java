@@ -27,6 +27,7 @@ import alluxio.web.ProxyWebServer;
 import com.google.common.base.Stopwatch;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import org.eclipse.jetty.server.HttpOutput;
 import org.eclipse.jetty.server.Request;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +35,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLDecoder;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -89,6 +91,10 @@ public class S3Handler {
   private static final Logger LOG = LoggerFactory.getLogger(S3Handler.class);
   private static final ThreadLocal<byte[]> TLS_BYTES =
           ThreadLocal.withInitial(() -> new byte[8 * 1024]);
+  private static final int DIRECT_BUFFER_SIZE = (int) Configuration.global()
+      .getBytes(PropertyKey.PROXY_S3_READ_DIRECT_BUFFER_SIZE);
+  private static final ThreadLocal<ByteBuffer> TLS_DIRECT_BUFFER =
+      ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(DIRECT_BUFFER_SIZE));
   private final String mBucket;
   private final String mObject;
   private final HttpServletRequest mServletRequest;
@@ -204,7 +210,10 @@ public class S3Handler {
       if (response.hasEntity()) {
         ServletOutputStream servletOut = servletResponse.getOutputStream();
         Object entity = response.getEntity();
-        if (entity instanceof InputStream) {
+        if (entity instanceof ByteBufferReadable && servletOut instanceof HttpOutput
+            && DIRECT_BUFFER_SIZE > 0) {
+          sendDirect((ByteBufferReadable) entity, (HttpOutput) servletOut, servletResponse);
+        } else if (entity instanceof InputStream) {
           InputStream is = (InputStream) entity;
           byte[] bytesArray = TLS_BYTES.get();
           int read;
@@ -235,6 +244,34 @@ public class S3Handler {
     }
   }
 
+  /**
+   * Sends an object body through the off-heap buffer of the current thread. Jetty writes such a
+   * buffer straight to the socket, so the data read from the worker is never copied to the heap.
+   */
+  private static void sendDirect(ByteBufferReadable body, HttpOutput servletOut,
+      HttpServletResponse servletResponse) throws IOException {
+    ByteBuffer buffer = TLS_DIRECT_BUFFER.get();
+    do {
+      buffer.clear();
+      int read;
+      try {
+        read = body.read(buffer);
+      } catch (IOException ex) {
+        /* Alluxio thrown IOException, remapping the exception
+        and send new response to downstream again */
+        Response errorResponse = S3ErrorResponse.createErrorResponse(ex, "");
+        S3Handler.processResponse(servletResponse, errorResponse);
+        return;
+      }
+      if (read <= 0) {
+        // the buffer is never empty here, so nothing read means the end of the body
+        return;
+      }
+      buffer.flip();
+      servletOut.write(buffer);
+    } while (true);
+  }
+
   /**
    * Initialize the S3Handler object in preparation for handling the request.
    * @throws Exception
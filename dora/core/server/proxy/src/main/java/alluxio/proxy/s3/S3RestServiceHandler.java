@@ -30,7 +30,6 @@ import alluxio.grpc.Bits;
 import alluxio.grpc.CreateDirectoryPOptions;
 import alluxio.grpc.CreateFilePOptions;
 import alluxio.grpc.DeletePOptions;
-import alluxio.grpc.ListStatusPOptions;
 import alluxio.grpc.OpenFilePOptions;
 import alluxio.grpc.PMode;
 import alluxio.grpc.SetAttributePOptions;
@@ -359,7 +358,6 @@ public final class S3RestServiceHandler {
             .setContinuationToken(continuationTokenParam)
             .setStartAfter(startAfterParam);
 
-        List<URIStatus> children;
         try {
           // TODO(czhu): allow non-"/" delimiters by parsing the prefix & delimiter pair to
           //             determine what directory to list the contents of
@@ -370,26 +368,19 @@ public final class S3RestServiceHandler {
             } else {
               path = parsePathWithDelimiter(path, prefixParam, delimiterParam);
             }
-            children = userFs.listStatus(new AlluxioURI(path));
-          } else {
-            if (prefixParam != null) {
-              path = parsePathWithDelimiter(path, prefixParam, AlluxioURI.SEPARATOR);
-            }
-            ListStatusPOptions options = ListStatusPOptions.newBuilder().setRecursive(true).build();
-            children = userFs.listStatus(new AlluxioURI(path), options);
+          } else if (prefixParam != null) {
+            path = parsePathWithDelimiter(path, prefixParam, AlluxioURI.SEPARATOR);
           }
+          // the directory is listed page by page rather than all at once
+          return new ListBucketResult(bucket, userFs, path, listBucketOptions);
         } catch (FileDoesNotExistException e) {
           // Since we've called S3RestUtils.checkPathIsAlluxioDirectory() on the bucket path
           // already, this indicates that the prefix was unable to be found in the Alluxio FS
-          children = new ArrayList<>();
+          return new ListBucketResult(bucket, new ArrayList<>(), listBucketOptions);
         } catch (IOException | AlluxioException e) {
           auditContext.setSucceeded(false);
           throw S3RestUtils.toBucketS3Exception(e, bucket);
         }
-        return new ListBucketResult(
-            bucket,
-            children,
-            listBucketOptions);
       } // end try-with-resources block
     });
   }
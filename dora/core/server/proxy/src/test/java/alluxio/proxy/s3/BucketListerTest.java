@@ -0,0 +1,138 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.proxy.s3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.AlluxioURI;
+import alluxio.client.file.FileSystem;
+import alluxio.client.file.URIStatus;
+import alluxio.exception.FileDoesNotExistException;
+import alluxio.wire.FileInfo;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+public class BucketListerTest {
+  private static final String BUCKET = "bucket";
+  private static final String BUCKET_PREFIX = "/bucket/";
+
+  private final Set<String> mFiles = new TreeSet<>();
+  private final FileSystem mFs = mock(FileSystem.class);
+
+  @Before
+  public void before() throws Exception {
+    mFiles.addAll(ImmutableList.of("a-file", "a/x", "a/y/z", "b/file", "c", "d/e/f"));
+    when(mFs.listStatus(any(AlluxioURI.class))).thenAnswer(invocation -> {
+      String dir = invocation.<AlluxioURI>getArgument(0).getPath();
+      String prefix = dir.endsWith("/") ? dir : dir + "/";
+      Set<String> children = new TreeSet<>();
+      for (String file : mFiles) {
+        String path = "/" + BUCKET + "/" + file;
+        if (path.startsWith(prefix)) {
+          String name = path.substring(prefix.length());
+          children.add(name.contains("/") ? name.substring(0, name.indexOf('/') + 1) : name);
+        }
+      }
+      if (children.isEmpty()) {
+        throw new FileDoesNotExistException(dir);
+      }
+      return children.stream().map(name -> status(prefix + name)).collect(Collectors.toList());
+    });
+  }
+
+  @Test
+  public void listInKeyOrder() throws Exception {
+    BucketLister lister = BucketLister.create(mFs, "/bucket", BUCKET_PREFIX, true, "", "");
+    assertEquals(ImmutableList.of("a-file", "a/", "a/x", "a/y/", "a/y/z", "b/", "b/file", "c",
+        "d/", "d/e/", "d/e/f"), collect(lister));
+  }
+
+  @Test
+  public void skipListedDirectories() throws Exception {
+    assertEquals(ImmutableList.of("b/", "b/file", "c", "d/", "d/e/", "d/e/f"),
+        collect(BucketLister.create(mFs, "/bucket", BUCKET_PREFIX, true, "a/y/z", "")));
+    clearInvocations(mFs);
+    assertEquals(ImmutableList.of("c", "d/", "d/e/", "d/e/f"),
+        collect(BucketLister.create(mFs, "/bucket", BUCKET_PREFIX, true, "b/file", "")));
+    // the directories before the start key are not listed
+    verify(mFs, never()).listStatus(new AlluxioURI("/bucket/a"));
+  }
+
+  @Test
+  public void stopAfterPrefix() throws Exception {
+    BucketLister lister = BucketLister.create(mFs, "/bucket", BUCKET_PREFIX, true, "", "b");
+    assertEquals(ImmutableList.of("b/", "b/file"), collect(lister));
+    verify(mFs, never()).listStatus(new AlluxioURI("/bucket/d"));
+  }
+
+  @Test
+  public void pages() throws Exception {
+    List<String> keys = new ArrayList<>();
+    String token = null;
+    do {
+      ListBucketResult result = new ListBucketResult(BUCKET, mFs, "/bucket",
+          ListBucketOptions.defaults().setListType(2).setMaxKeys(2).setContinuationToken(token));
+      assertTrue(result.getKeyCount() <= 2);
+      result.getContents().forEach(content -> keys.add(content.getKey()));
+      token = result.getNextContinuationToken();
+      assertEquals(result.isTruncated(), token != null);
+    } while (token != null);
+    assertEquals(ImmutableList.of("a-file", "a/", "a/x", "a/y/", "a/y/z", "b/", "b/file", "c",
+        "d/", "d/e/", "d/e/f"), keys);
+  }
+
+  @Test
+  public void delimiter() throws Exception {
+    ListBucketResult result = new ListBucketResult(BUCKET, mFs, "/bucket",
+        ListBucketOptions.defaults().setDelimiter(AlluxioURI.SEPARATOR).setMaxKeys(3));
+    assertEquals(ImmutableList.of("a-file"),
+        result.getContents().stream().map(ListBucketResult.Content::getKey)
+            .collect(Collectors.toList()));
+    assertEquals(ImmutableList.of("a/", "b/"), result.getCommonPrefixes().stream()
+        .map(ListBucketResult.CommonPrefix::getPrefix).collect(Collectors.toList()));
+    assertTrue(result.isTruncated());
+    // the sub-directories are rolled up without being listed
+    verify(mFs, never()).listStatus(new AlluxioURI("/bucket/a"));
+    assertFalse(new ListBucketResult(BUCKET, mFs, "/bucket", ListBucketOptions.defaults()
+        .setDelimiter(AlluxioURI.SEPARATOR).setMarker("b/")).isTruncated());
+  }
+
+  private static List<String> collect(BucketLister lister) throws Exception {
+    List<String> keys = new ArrayList<>();
+    for (URIStatus status = lister.next(); status != null; status = lister.next()) {
+      keys.add(lister.getKey(status));
+    }
+    return keys;
+  }
+
+  private static URIStatus status(String path) {
+    boolean folder = path.endsWith("/");
+    String trimmed = folder ? path.substring(0, path.length() - 1) : path;
+    return new URIStatus(new FileInfo().setPath(trimmed).setFolder(folder).setLength(1));
+  }
+}
@@ -13,16 +13,21 @@ package alluxio.proxy.s3;
 
 import static alluxio.Constants.KB;
 import static alluxio.Constants.MB;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.io.IOUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -69,6 +74,39 @@ public class RateLimitInputStreamTest {
     }
   }
 
+  @Test
+  public void testByteBufferRead() throws IOException {
+    RateLimitInputStream rateLimitInputStream = new RateLimitInputStream(
+        new ByteArrayInputStream(mData), RateLimiter.create(100 * MB));
+    ByteBuffer buffer = ByteBuffer.allocateDirect(10 * KB);
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(MB);
+    while (rateLimitInputStream.read(buffer) != -1) {
+      buffer.flip();
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      byteArrayOutputStream.write(bytes);
+      buffer.clear();
+    }
+    Assert.assertArrayEquals(mData, byteArrayOutputStream.toByteArray());
+  }
+
+  @Test
+  public void testByteBufferReadChargesBoundedPermits() throws IOException {
+    RateLimiter rateLimiter = mock(RateLimiter.class);
+    RateLimitInputStream rateLimitInputStream = new RateLimitInputStream(
+        new ByteArrayInputStream(mData, 0, 100), rateLimiter);
+    ByteBuffer buffer = ByteBuffer.allocate(MB);
+    Assert.assertEquals(100, rateLimitInputStream.read(buffer));
+    Assert.assertEquals(-1, rateLimitInputStream.read(buffer));
+    Assert.assertEquals(100, buffer.position());
+    Assert.assertEquals(MB, buffer.limit());
+    ArgumentCaptor<Integer> permits = ArgumentCaptor.forClass(Integer.class);
+    verify(rateLimiter, atLeastOnce()).acquire(permits.capture());
+    for (int permit : permits.getAllValues()) {
+      Assert.assertTrue(permit <= RateLimitInputStream.MAX_BYTE_BUFFER_READ_SIZE);
+    }
+  }
+
   private void testMultiThreadRead(long globalRate, long rate, int threadNum) {
     long totalSize = (long) threadNum * mData.length;
     RateLimiter globalRateLimiter = RateLimiter.create(globalRate);
@@ -0,0 +1,99 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.proxy.s3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.client.file.FileInStream;
+
+import org.eclipse.jetty.server.HttpOutput;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+public class S3HandlerTest {
+  @Test
+  public void sendBodyThroughDirectBuffer() throws Exception {
+    byte[] data = new byte[3 * 1024 * 1024 + 5];
+    new Random().nextBytes(data);
+    HttpOutput output = mock(HttpOutput.class);
+    ByteArrayOutputStream received = new ByteArrayOutputStream();
+    doAnswer(invocation -> {
+      ByteBuffer buffer = invocation.getArgument(0);
+      assertTrue(buffer.isDirect());
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      received.write(bytes);
+      return null;
+    }).when(output).write(any(ByteBuffer.class));
+    HttpServletResponse servletResponse = mock(HttpServletResponse.class);
+    when(servletResponse.getOutputStream()).thenReturn(output);
+
+    S3Handler.processResponse(servletResponse, Response.ok(
+        new RateLimitInputStream(new ByteArrayInputStream(data)),
+        MediaType.APPLICATION_OCTET_STREAM_TYPE).build());
+    assertArrayEquals(data, received.toByteArray());
+    verify(output, never()).write(any(byte[].class), any(int.class), any(int.class));
+  }
+
+  @Test
+  public void sendStreamWithoutByteBufferRead() throws Exception {
+    byte[] data = new byte[200 * 1024 + 7];
+    new Random().nextBytes(data);
+    FileInStream in = mock(FileInStream.class);
+    AtomicInteger pos = new AtomicInteger();
+    when(in.read(any(byte[].class), anyInt(), anyInt())).thenAnswer(invocation -> {
+      int len = Math.min(invocation.getArgument(2), data.length - pos.get());
+      if (len == 0) {
+        return -1;
+      }
+      System.arraycopy(data, pos.get(), invocation.getArgument(0),
+          invocation.getArgument(1), len);
+      pos.addAndGet(len);
+      return len;
+    });
+    // the default read into a byte buffer returns 0 at the end of the stream
+    when(in.read(any(ByteBuffer.class), anyInt(), anyInt())).thenReturn(0);
+    HttpOutput output = mock(HttpOutput.class);
+    ByteArrayOutputStream received = new ByteArrayOutputStream();
+    doAnswer(invocation -> {
+      ByteBuffer buffer = invocation.getArgument(0);
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      received.write(bytes);
+      return null;
+    }).when(output).write(any(ByteBuffer.class));
+    HttpServletResponse servletResponse = mock(HttpServletResponse.class);
+    when(servletResponse.getOutputStream()).thenReturn(output);
+
+    S3Handler.processResponse(servletResponse, Response.ok(
+        RangeFileInStream.Factory.create(in, data.length, S3RangeSpec.INVALID_S3_RANGE_SPEC),
+        MediaType.APPLICATION_OCTET_STREAM_TYPE).build());
+    assertArrayEquals(data, received.toByteArray());
+    verify(in, never()).read(any(ByteBuffer.class), anyInt(), anyInt());
+  }
+}
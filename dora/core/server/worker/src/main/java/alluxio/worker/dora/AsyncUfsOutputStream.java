@@ -0,0 +1,235 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.underfs.Abortable;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An output stream writing to a UFS output stream in the background.
+ * <p>
+ * The written data is copied into buffers, and each full buffer is handed over to an executor
+ * which writes the buffers of the stream one at a time, in the order they were filled. The
+ * buffers are taken from a {@link UfsWriteBufferPool} shared by the worker and returned to it
+ * once written. A stream has at most a fixed number of buffers in flight, so a writer waits for
+ * the UFS when it gets that far ahead of it. When the pool has no buffer left, the stream waits
+ * for its buffers in flight and writes the data to the UFS synchronously instead.
+ * <p>
+ * A failure of a background write is reported by the next write, and by {@link #flush()} and
+ * {@link #close()}, which wait for all the buffered data to be written first. Once a write has
+ * failed, the following buffers are dropped, and the UFS stream is aborted rather than
+ * committed when it supports it.
+ */
+@NotThreadSafe
+public class AsyncUfsOutputStream extends OutputStream {
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncUfsOutputStream.class);
+
+  private final OutputStream mUfsOutStream;
+  /** Runs the writes of this stream one at a time, in order. */
+  private final Executor mExecutor;
+  private final UfsWriteBufferPool mBufferPool;
+  private final int mBufferSize;
+  private final int mMaxBuffers;
+  /** A permit for each buffer this stream can still fill, released once a buffer is written. */
+  private final Semaphore mBufferPermits;
+  private final AtomicReference<IOException> mError = new AtomicReference<>();
+  /** The buffer being filled, or null if none is. */
+  @Nullable
+  private byte[] mBuffer;
+  private int mBufferLength;
+  private boolean mClosed;
+
+  /**
+   * @param ufsOutStream the UFS output stream
+   * @param executor the executor running the background writes
+   * @param bufferPool the pool of the buffers
+   * @param maxBuffers the maximum number of buffers of the stream
+   */
+  public AsyncUfsOutputStream(OutputStream ufsOutStream, Executor executor,
+      UfsWriteBufferPool bufferPool, int maxBuffers) {
+    Preconditions.checkArgument(maxBuffers > 0, "maxBuffers should be positive");
+    mUfsOutStream = Preconditions.checkNotNull(ufsOutStream);
+    mExecutor = MoreExecutors.newSequentialExecutor(executor);
+    mBufferPool = Preconditions.checkNotNull(bufferPool);
+    mBufferSize = bufferPool.getBufferSize();
+    mMaxBuffers = maxBuffers;
+    mBufferPermits = new Semaphore(maxBuffers);
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    write(new byte[] {(byte) b}, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    Preconditions.checkState(!mClosed, "Stream is closed");
+    Preconditions.checkPositionIndexes(off, off + len, b.length);
+    checkError();
+    while (len > 0) {
+      if (mBuffer == null) {
+        mBuffer = acquireBuffer();
+        if (mBuffer == null) {
+          // the worker is out of buffers, write after the data already buffered
+          waitForWrites();
+          checkError();
+          mUfsOutStream.write(b, off, len);
+          return;
+        }
+      }
+      int bytesToCopy = Math.min(len, mBufferSize - mBufferLength);
+      System.arraycopy(b, off, mBuffer, mBufferLength, bytesToCopy);
+      mBufferLength += bytesToCopy;
+      off += bytesToCopy;
+      len -= bytesToCopy;
+      if (mBufferLength == mBufferSize) {
+        submitBuffer();
+      }
+    }
+  }
+
+  /**
+   * Waits for all the data written so far to be written to the UFS, and flushes the UFS stream.
+   */
+  @Override
+  public void flush() throws IOException {
+    Preconditions.checkState(!mClosed, "Stream is closed");
+    waitForWrites();
+    checkError();
+    mUfsOutStream.flush();
+  }
+
+  /**
+   * Waits for all the data to be written to the UFS, and closes the UFS stream. If any of the
+   * data could not be written, a UFS stream which is {@link Abortable} is aborted instead of
+   * closed, so that the partially written file is not committed to the UFS.
+   *
+   * @throws IOException if any of the data could not be written
+   */
+  @Override
+  public void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    try {
+      waitForWrites();
+    } catch (IOException e) {
+      // drops the buffers which are not written yet
+      mError.compareAndSet(null, e);
+    }
+    IOException error = mError.get();
+    if (error == null) {
+      mUfsOutStream.close();
+      return;
+    }
+    try {
+      if (mUfsOutStream instanceof Abortable) {
+        ((Abortable) mUfsOutStream).abort();
+      } else {
+        mUfsOutStream.close();
+      }
+    } catch (IOException e) {
+      error.addSuppressed(e);
+    }
+    throw error;
+  }
+
+  /**
+   * @return a buffer to fill, or null if the pool has no buffer left
+   */
+  @Nullable
+  private byte[] acquireBuffer() throws IOException {
+    try {
+      // waits for the UFS to catch up if all the buffers of this stream are in flight
+      mBufferPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for UFS writes");
+    }
+    byte[] buffer = mBufferPool.tryAcquire();
+    if (buffer == null) {
+      mBufferPermits.release();
+    }
+    return buffer;
+  }
+
+  private void releaseBuffer(byte[] buffer) {
+    mBufferPool.release(buffer);
+    mBufferPermits.release();
+  }
+
+  private void submitBuffer() throws IOException {
+    byte[] buffer = mBuffer;
+    int length = mBufferLength;
+    mBuffer = null;
+    mBufferLength = 0;
+    try {
+      mExecutor.execute(() -> {
+        try {
+          if (mError.get() == null) {
+            mUfsOutStream.write(buffer, 0, length);
+          }
+        } catch (Throwable t) {
+          LOG.warn("Failed to write {} bytes to UFS in the background", length, t);
+          mError.compareAndSet(null, t instanceof IOException ? (IOException) t
+              : new IOException("Failed to write to UFS", t));
+        } finally {
+          releaseBuffer(buffer);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      releaseBuffer(buffer);
+      throw new IOException("Failed to schedule UFS write", e);
+    }
+  }
+
+  /**
+   * Submits the partially filled buffer, and waits for all the buffers to be written.
+   */
+  private void waitForWrites() throws IOException {
+    if (mBufferLength > 0) {
+      submitBuffer();
+    } else if (mBuffer != null) {
+      releaseBuffer(mBuffer);
+      mBuffer = null;
+    }
+    try {
+      mBufferPermits.acquire(mMaxBuffers);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for UFS writes");
+    }
+    mBufferPermits.release(mMaxBuffers);
+  }
+
+  private void checkError() throws IOException {
+    IOException error = mError.get();
+    if (error != null) {
+      throw new IOException("A previous write to UFS failed", error);
+    }
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.proto.meta.DoraMeta.FileStatus;
+
+import com.codahale.metrics.Counter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.common.base.Preconditions;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A Dora meta store keeping the recently used metadata on heap, in front of another store.
+ * <p>
+ * The cache is size-weighted and writes through to the backing store, which remains the source
+ * of truth. A write goes to the backing store first and then invalidates the cached entry, which
+ * also discards what a concurrent load may have read before the write, so the cache is only
+ * filled from the backing store by reads. Only present metadata is cached, as a miss of the
+ * backing store is usually followed by a load from the UFS and a put.
+ */
+@ThreadSafe
+public class CachingDoraMetaStore implements DoraMetaStore {
+  private final DoraMetaStore mBackingStore;
+  private final Cache<String, FileStatus> mCache;
+
+  /**
+   * @param backingStore the store holding all the metadata
+   * @param maxSize the approximate maximum size in bytes of the cached metadata
+   * @param metaTTL the TTL in seconds of the metadata, or -1 if it never expires
+   */
+  public CachingDoraMetaStore(DoraMetaStore backingStore, long maxSize, long metaTTL) {
+    Preconditions.checkArgument(maxSize > 0, "maxSize should be positive");
+    Preconditions.checkArgument(metaTTL > 0 || metaTTL == -1);
+    mBackingStore = backingStore;
+    Caffeine<String, FileStatus> builder = Caffeine.newBuilder()
+        .maximumWeight(maxSize)
+        .weigher((String path, FileStatus status) -> path.length() + status.getSerializedSize());
+    if (metaTTL != -1) {
+      builder.expireAfter(new RefreshTimeExpiry(TimeUnit.SECONDS.toMillis(metaTTL)));
+    }
+    mCache = builder.build();
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.WORKER_META_CACHE_SIZE.getName(),
+        mCache::estimatedSize);
+  }
+
+  @Override
+  public Optional<FileStatus> getDoraMeta(String path) {
+    FileStatus status = mCache.getIfPresent(path);
+    if (status != null) {
+      Metrics.HITS.inc();
+      return Optional.of(status);
+    }
+    Metrics.MISSES.inc();
+    // loading through the cache orders the load with concurrent puts and removals of the path,
+    // so that a stale status read from the backing store does not overwrite a newer one
+    return Optional.ofNullable(
+        mCache.get(path, key -> mBackingStore.getDoraMeta(key).orElse(null)));
+  }
+
+  @Override
+  public void putDoraMeta(String path, FileStatus meta) {
+    // the backing store is written without holding the entry lock of the cache, and caching the
+    // written status afterwards could race with another writer, so the entry is dropped instead
+    mBackingStore.putDoraMeta(path, meta);
+    mCache.invalidate(path);
+  }
+
+  @Override
+  public void removeDoraMeta(String path) {
+    mBackingStore.removeDoraMeta(path);
+    mCache.invalidate(path);
+  }
+
+  @Override
+  public long removeExpiredDoraMeta() {
+    // the cached metadata expires by itself
+    return mBackingStore.removeExpiredDoraMeta();
+  }
+
+  @Override
+  public void clear() {
+    mBackingStore.clear();
+    mCache.invalidateAll();
+  }
+
+  @Override
+  public void close() {
+    mCache.invalidateAll();
+    mBackingStore.close();
+  }
+
+  @Override
+  public Optional<Long> size() {
+    return mBackingStore.size();
+  }
+
+  /**
+   * Expires the cached metadata at the same time as the backing store does, which may be sooner
+   * than the TTL after it is cached.
+   */
+  private static final class RefreshTimeExpiry implements Expiry<String, FileStatus> {
+    private final long mTtlMs;
+
+    private RefreshTimeExpiry(long ttlMs) {
+      mTtlMs = ttlMs;
+    }
+
+    @Override
+    public long expireAfterCreate(String path, FileStatus status, long currentTime) {
+      long remainingMs = status.getRefreshTimeMs() + mTtlMs - System.currentTimeMillis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+    }
+
+    @Override
+    public long expireAfterUpdate(String path, FileStatus status, long currentTime,
+        long currentDuration) {
+      return expireAfterCreate(path, status, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String path, FileStatus status, long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
+  }
+
+  /**
+   * Class that contains metrics of the cache.
+   */
+  private static final class Metrics {
+    private static final Counter HITS =
+        MetricsSystem.counter(MetricKey.WORKER_META_CACHE_HITS.getName());
+    private static final Counter MISSES =
+        MetricsSystem.counter(MetricKey.WORKER_META_CACHE_MISSES.getName());
+
+    private Metrics() {} // prevent instantiation
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.exception.runtime.AlluxioRuntimeException;
+import alluxio.exception.status.AlluxioStatusException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Coalesces concurrent loads of the same key, so that only one of the callers runs the load and
+ * the others wait for its result, or its failure.
+ * <p>
+ * A load is shared only while it is in flight, nothing is kept once it is done.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the loaded values
+ */
+@ThreadSafe
+public final class CoalescingLoader<K, V> {
+  private final ConcurrentHashMap<K, CompletableFuture<V>> mInflightLoads =
+      new ConcurrentHashMap<>();
+
+  /**
+   * A load of a value.
+   *
+   * @param <V> the type of the value
+   */
+  @FunctionalInterface
+  public interface Loader<V> {
+    /**
+     * @return the loaded value
+     * @throws IOException if the load fails
+     */
+    V load() throws IOException;
+  }
+
+  /**
+   * Runs the load, unless a load of the same key is in flight, in which case its result is
+   * returned instead.
+   *
+   * @param key the key of the load
+   * @param loader the load to run
+   * @return the loaded value
+   * @throws IOException if the load fails
+   */
+  public V load(K key, Loader<V> loader) throws IOException {
+    CompletableFuture<V> future = new CompletableFuture<>();
+    CompletableFuture<V> inflight = mInflightLoads.putIfAbsent(key, future);
+    if (inflight != null) {
+      Metrics.COALESCED_LOADS.inc();
+      return await(inflight);
+    }
+    try {
+      V value = loader.load();
+      future.complete(value);
+      return value;
+    } catch (Throwable t) {
+      future.completeExceptionally(t);
+      throw t;
+    } finally {
+      mInflightLoads.remove(key, future);
+    }
+  }
+
+  private V await(CompletableFuture<V> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a concurrent load");
+    } catch (ExecutionException e) {
+      // every waiter gets its own exception, caused by the one of the load, so that what a
+      // caller adds to the exception it gets is not seen by the others
+      Throwable cause = e.getCause();
+      if (cause instanceof AlluxioStatusException) {
+        throw AlluxioStatusException.from(
+            ((AlluxioStatusException) cause).getStatus().withCause(cause));
+      }
+      if (cause instanceof IOException) {
+        throw new IOException(cause.getMessage(), cause);
+      }
+      if (cause instanceof AlluxioRuntimeException) {
+        AlluxioRuntimeException runtimeException = (AlluxioRuntimeException) cause;
+        throw new AlluxioRuntimeException(runtimeException.getStatus(),
+            runtimeException.getMessage(), runtimeException, runtimeException.getErrorType(),
+            runtimeException.isRetryable());
+      }
+      if (cause instanceof RuntimeException) {
+        throw AlluxioRuntimeException.from(cause);
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  /**
+   * Class that contains metrics of the loads.
+   */
+  private static final class Metrics {
+    private static final Counter COALESCED_LOADS =
+        MetricsSystem.counter(MetricKey.WORKER_META_UFS_LOADS_COALESCED.getName());
+
+    private Metrics() {} // prevent instantiation
+  }
+}
@@ -13,10 +13,13 @@ package alluxio.worker.dora;
 
 import alluxio.AlluxioURI;
 import alluxio.client.file.cache.CacheManager;
+import alluxio.collections.Pair;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.file.FileId;
 import alluxio.grpc.FileInfo;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.proto.meta.DoraMeta;
 import alluxio.proto.meta.DoraMeta.FileStatus;
 import alluxio.underfs.Fingerprint;
@@ -25,6 +28,7 @@ import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.GetStatusOptions;
 import alluxio.underfs.options.ListOptions;
 
+import com.codahale.metrics.Counter;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Preconditions;
@@ -43,6 +47,8 @@ import java.util.Optional;
  *  also lacks concurrency control. Address this problem in the future.
  */
 public class DoraMetaManager implements Closeable {
+  private static final int GENERATION_STRIPES = 1024;
+
   private final DoraMetaStore mMetaStore;
   private final CacheManager mCacheManager;
   private final PagedDoraWorker mDoraWorker;
@@ -60,6 +66,26 @@ public class DoraMetaManager implements Closeable {
           v.mUfsStatuses == null ? 0 : v.mUfsStatuses.length)
       .expireAfterWrite(Configuration.getDuration(PropertyKey.DORA_UFS_LIST_STATUS_CACHE_TTL))
       .build();
+  private final long mAbsentCacheCapacity
+      = Configuration.getInt(PropertyKey.DORA_WORKER_METASTORE_ABSENT_CACHE_SIZE);
+  /** The paths recently found missing in the UFS, and when they were found missing. */
+  private final Cache<String, Long> mAbsentCache = mAbsentCacheCapacity == 0
+      ? null
+      : Caffeine.newBuilder()
+      .maximumSize(mAbsentCacheCapacity)
+      .expireAfterWrite(
+          Configuration.getDuration(PropertyKey.DORA_WORKER_METASTORE_ABSENT_CACHE_TTL))
+      .build();
+  /**
+   * Counts the mutations of the paths hashed to each stripe, so that a UFS load only applies its
+   * result if no mutation happened since it started. Guarded by the lock of the stripe.
+   */
+  private final long[] mGenerations = new long[GENERATION_STRIPES];
+  private final Object[] mGenerationLocks = new Object[GENERATION_STRIPES];
+  private final CoalescingLoader<String, Optional<FileStatus>> mStatusLoader =
+      new CoalescingLoader<>();
+  private final CoalescingLoader<Pair<String, Boolean>, Optional<UfsStatus[]>> mListingLoader =
+      new CoalescingLoader<>();
 
   /**
    * Creates a dora meta manager.
@@ -73,10 +99,15 @@ public class DoraMetaManager implements Closeable {
     String dbDir = Configuration.getString(PropertyKey.DORA_WORKER_METASTORE_ROCKSDB_DIR);
     Duration duration = Configuration.getDuration(PropertyKey.DORA_WORKER_METASTORE_ROCKSDB_TTL);
     long ttl = (duration.isNegative() || duration.isZero()) ? -1 : duration.getSeconds();
-    mMetaStore = new RocksDBDoraMetaStore(dbDir, ttl);
+    DoraMetaStore rocksStore = new RocksDBDoraMetaStore(dbDir, ttl);
+    long cacheSize = Configuration.getBytes(PropertyKey.DORA_WORKER_METASTORE_CACHE_SIZE);
+    mMetaStore = cacheSize > 0 ? new CachingDoraMetaStore(rocksStore, cacheSize, ttl) : rocksStore;
     mCacheManager = cacheManger;
     mDoraWorker = doraWorker;
     mUfs = ufs;
+    for (int i = 0; i < GENERATION_STRIPES; i++) {
+      mGenerationLocks[i] = new Object();
+    }
   }
 
   /**
@@ -103,16 +134,73 @@ public class DoraMetaManager implements Closeable {
    * @return the file status, or empty optional if not found
    */
   public Optional<FileStatus> loadFromUfs(String path) throws IOException {
+    int stripe = getStripe(path);
+    long generation;
+    synchronized (mGenerationLocks[stripe]) {
+      generation = mGenerations[stripe];
+    }
     Optional<FileStatus> fileStatus = getFromUfs(path);
+    synchronized (mGenerationLocks[stripe]) {
+      // the path was put or removed on this worker while it was being loaded, which is newer
+      // than what the load found, so leave the metastore and the absent cache as they are
+      if (mGenerations[stripe] != generation) {
+        return fileStatus;
+      }
+      // applying the result is a mutation too, which the mutations from now on come after
+      generation = ++mGenerations[stripe];
+      if (mAbsentCache != null) {
+        if (fileStatus.isPresent()) {
+          mAbsentCache.invalidate(path);
+        } else {
+          mAbsentCache.put(path, System.currentTimeMillis());
+        }
+      }
+    }
+    // the metastore is written without holding the lock of the stripe
     if (!fileStatus.isPresent()) {
-      removeFromMetaStore(path);
+      removeFromMetaStoreInternal(path);
     } else {
-      put(path, fileStatus.get());
+      putInternal(path, fileStatus.get());
+    }
+    boolean mutated;
+    synchronized (mGenerationLocks[stripe]) {
+      mutated = mGenerations[stripe] != generation;
+    }
+    if (mutated) {
+      // a mutation of the stripe ran along with the write above, which may have overwritten it,
+      // so drop the path for the next access to load it again
+      removeFromMetaStore(path);
     }
     // TODO(elega) invalidate/update listing cache based on the load result
     return fileStatus;
   }
 
+  /**
+   * Loads file meta like {@link #loadFromUfs(String)}, for a read which does not need to see the
+   * changes made after it starts. Concurrent loads of the same path share a single UFS call, and
+   * a path found missing recently enough is reported missing without calling the UFS.
+   *
+   * @param path the full ufs path
+   * @param syncIntervalMs how long ago the path may have been found missing, -1 for as long as
+   *        it is remembered, 0 to always call the UFS
+   * @return the file status, or empty optional if not found
+   */
+  public Optional<FileStatus> loadFromUfsShared(String path, long syncIntervalMs)
+      throws IOException {
+    if (syncIntervalMs == 0) {
+      return loadFromUfs(path);
+    }
+    if (mAbsentCache != null) {
+      Long absentTime = mAbsentCache.getIfPresent(path);
+      if (absentTime != null
+          && (syncIntervalMs < 0 || System.currentTimeMillis() - absentTime <= syncIntervalMs)) {
+        Metrics.ABSENT_CACHE_HITS.inc();
+        return Optional.empty();
+      }
+    }
+    return mStatusLoader.load(path, () -> loadFromUfs(path));
+  }
+
   /**
    * Gets file meta from the metastore.
    * @param path the full ufs path
@@ -128,6 +216,11 @@ public class DoraMetaManager implements Closeable {
    * @param status the file meta
    */
   public void put(String path, FileStatus status) {
+    onMutation(path);
+    putInternal(path, status);
+  }
+
+  private void putInternal(String path, FileStatus status) {
     Optional<FileStatus> existingStatus = mMetaStore.getDoraMeta(path);
     if (!existingStatus.isPresent()
         || existingStatus.get().getFileInfo().getFolder()
@@ -147,6 +240,11 @@ public class DoraMetaManager implements Closeable {
    * @return the removed file meta, if exists
    */
   public Optional<FileStatus> removeFromMetaStore(String path) {
+    onMutation(path);
+    return removeFromMetaStoreInternal(path);
+  }
+
+  private Optional<FileStatus> removeFromMetaStoreInternal(String path) {
     invalidateListingCache(getPathParent(path));
     Optional<FileStatus> status = mMetaStore.getDoraMeta(path);
     if (status.isPresent()) {
@@ -156,6 +254,14 @@ public class DoraMetaManager implements Closeable {
     return status;
   }
 
+  /**
+   * Removes the expired metas from the meta store.
+   * @return the number of removed metas
+   */
+  public long removeExpiredFromMetaStore() {
+    return mMetaStore.removeExpiredDoraMeta();
+  }
+
   /**
    * Invalidates the listing cache of a given path.
    * @param path the full ufs path
@@ -166,6 +272,18 @@ public class DoraMetaManager implements Closeable {
     }
   }
 
+  /**
+   * Invalidates the listing cache of a given path, if it still holds the given result.
+   * Concurrent listings which all found the same stale result so only reload it once.
+   * @param path the full ufs path
+   * @param staleResult the stale listing result
+   */
+  public void invalidateListingCache(String path, ListStatusResult staleResult) {
+    if (mListStatusCache != null) {
+      mListStatusCache.asMap().remove(path, staleResult);
+    }
+  }
+
   /**
    * Invalidates the listing cache of its parent of a given path.
    * If root is specified, the listing cache of root itself will be invalidated.
@@ -208,9 +326,11 @@ public class DoraMetaManager implements Closeable {
    */
   public Optional<UfsStatus[]> listFromUfsThenCache(String path, boolean isRecursive)
       throws IOException {
-    // Recursive listing results are not cached.
+    // Recursive listing results are not cached, but concurrent listings still share a UFS call.
+    // The listing cache does the same for the listings it caches.
     if (mListStatusCache == null || isRecursive) {
-      return listFromUfs(path, isRecursive);
+      return mListingLoader.load(new Pair<>(path, isRecursive),
+          () -> listFromUfs(path, isRecursive));
     }
     try {
       ListStatusResult cached = mListStatusCache.get(path, (k) -> {
@@ -307,6 +427,24 @@ public class DoraMetaManager implements Closeable {
         || !origin.getContentHash().equals(updated.getContentHash());
   }
 
+  /**
+   * Records a mutation of a path, before the mutation is applied, so that a UFS load of the path
+   * which is in flight does not overwrite it with what it found.
+   */
+  private void onMutation(String path) {
+    int stripe = getStripe(path);
+    synchronized (mGenerationLocks[stripe]) {
+      mGenerations[stripe]++;
+      if (mAbsentCache != null) {
+        mAbsentCache.invalidate(path);
+      }
+    }
+  }
+
+  private static int getStripe(String path) {
+    return Math.floorMod(path.hashCode(), GENERATION_STRIPES);
+  }
+
   private void invalidateCachedFile(String path) {
     FileId fileId = FileId.of(AlluxioURI.hash(path));
     mCacheManager.deleteFile(fileId.toString());
@@ -328,4 +466,14 @@ public class DoraMetaManager implements Closeable {
   public void close() throws IOException {
     mMetaStore.close();
   }
+
+  /**
+   * Class that contains metrics of the meta manager.
+   */
+  private static final class Metrics {
+    private static final Counter ABSENT_CACHE_HITS =
+        MetricsSystem.counter(MetricKey.WORKER_META_ABSENT_CACHE_HITS.getName());
+
+    private Metrics() {} // prevent instantiation
+  }
 }
@@ -43,6 +43,13 @@ public interface DoraMetaStore {
    */
   void removeDoraMeta(String path);
 
+  /**
+   * Removes all the dora metadata which has outlived the TTL of the dora meta store.
+   *
+   * @return the number of removed dora metadata
+   */
+  long removeExpiredDoraMeta();
+
   /**
    * Removes all metadata from the dora meta store.
    */
@@ -0,0 +1,109 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.exception.runtime.InternalRuntimeException;
+import alluxio.grpc.UfsReadOptions;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.RateLimiter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Token buckets limiting the bandwidth at which a worker reads data from the UFS for each job.
+ * <p>
+ * Jobs are identified by the tag of their {@link UfsReadOptions}. All requests of a job share the
+ * same bucket, whose bandwidth follows the most recent request, so that a bandwidth update of a
+ * running job takes effect with its next request. The bandwidth of the worker is split fairly
+ * across the active jobs: a job never gets more than its own bandwidth, and what it leaves unused
+ * is shared by the other jobs. The rates of the buckets are recomputed whenever a job sends a
+ * request. A job becomes inactive and its bucket is dropped once it sends no requests for a
+ * while.
+ */
+@ThreadSafe
+public class JobBandwidthLimiter {
+  private static final long EXPIRY_MINUTES = 1;
+
+  /** The bandwidth of the worker, {@link Long#MAX_VALUE} if unlimited. */
+  private final long mWorkerBandwidth;
+  private final Cache<String, JobBucket> mBuckets =
+      CacheBuilder.newBuilder().expireAfterAccess(EXPIRY_MINUTES, TimeUnit.MINUTES).build();
+
+  /**
+   * @param workerBandwidth the bandwidth shared by all the jobs in bytes per second,
+   *        {@link Long#MAX_VALUE} if unlimited
+   */
+  public JobBandwidthLimiter(long workerBandwidth) {
+    Preconditions.checkArgument(workerBandwidth > 0, "workerBandwidth should be positive");
+    mWorkerBandwidth = workerBandwidth;
+  }
+
+  /**
+   * Gets the token bucket of the job sending the request, in bytes per second.
+   *
+   * @param options the read options of the request
+   * @return the token bucket, or null if neither the job nor the worker bandwidth is limited
+   */
+  @Nullable
+  public synchronized RateLimiter get(UfsReadOptions options) {
+    long bandwidth = options.hasBandwidth() ? options.getBandwidth() : Long.MAX_VALUE;
+    if (bandwidth == Long.MAX_VALUE && mWorkerBandwidth == Long.MAX_VALUE) {
+      mBuckets.invalidate(options.getTag());
+      return null;
+    }
+    JobBucket bucket;
+    try {
+      bucket = mBuckets.get(options.getTag(), JobBucket::new);
+    } catch (ExecutionException e) {
+      throw new InternalRuntimeException(e.getCause());
+    }
+    bucket.mBandwidth = bandwidth;
+    rebalance();
+    return bucket.mLimiter;
+  }
+
+  /**
+   * Splits the bandwidth of the worker across the active jobs. The jobs are served in increasing
+   * order of their own bandwidth, each getting at most an even share of what is left.
+   */
+  private void rebalance() {
+    mBuckets.cleanUp();
+    List<JobBucket> buckets = new ArrayList<>(mBuckets.asMap().values());
+    buckets.sort(Comparator.comparingLong(bucket -> bucket.mBandwidth));
+    long remaining = mWorkerBandwidth;
+    for (int i = 0; i < buckets.size(); i++) {
+      JobBucket bucket = buckets.get(i);
+      long rate = Math.max(1, Math.min(bucket.mBandwidth, remaining / (buckets.size() - i)));
+      if (bucket.mLimiter.getRate() != rate) {
+        bucket.mLimiter.setRate(rate);
+      }
+      if (remaining != Long.MAX_VALUE) {
+        remaining = Math.max(0, remaining - rate);
+      }
+    }
+  }
+
+  private static final class JobBucket {
+    private final RateLimiter mLimiter = RateLimiter.create(Double.MAX_VALUE);
+    /** The bandwidth of the job, {@link Long#MAX_VALUE} if unlimited. */
+    private long mBandwidth = Long.MAX_VALUE;
+  }
+}
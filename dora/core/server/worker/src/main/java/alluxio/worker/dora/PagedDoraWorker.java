@@ -61,6 +61,7 @@ import alluxio.proto.meta.DoraMeta;
 import alluxio.resource.PooledResource;
 import alluxio.retry.RetryPolicy;
 import alluxio.retry.RetryUtils;
+import alluxio.security.User;
 import alluxio.security.authentication.AuthenticatedClientUser;
 import alluxio.security.authorization.Mode;
 import alluxio.security.user.ServerUserState;
@@ -76,6 +77,7 @@ import alluxio.underfs.options.MkdirsOptions;
 import alluxio.util.CommonUtils;
 import alluxio.util.ModeUtils;
 import alluxio.util.executor.ExecutorServiceFactories;
+import alluxio.util.executor.ExecutorServiceUtils;
 import alluxio.wire.FileInfo;
 import alluxio.wire.WorkerNetAddress;
 import alluxio.worker.AbstractWorker;
@@ -94,6 +96,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Closer;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.RateLimiter;
 import com.google.inject.Inject;
 import io.netty.buffer.ByteBuf;
 import org.slf4j.Logger;
@@ -102,13 +105,18 @@ import org.slf4j.LoggerFactory;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
 import javax.inject.Named;
@@ -129,6 +137,10 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   private final DoraMetaManager mMetaManager;
   private final UfsInputStreamCache mUfsStreamCache;
   private final long mPageSize;
+  private final long mLoadPartitionSize;
+  private final int mLoadFileParallelism;
+  private final ExecutorService mLoadPartitionExecutor;
+  private final JobBandwidthLimiter mLoadBandwidthLimiter;
   private final AlluxioConfiguration mConf;
   private final BlockMasterClientPool mBlockMasterClientPool;
   private final String mRootUFS;
@@ -143,6 +155,12 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   private final DoraOpenFileHandleContainer mOpenFileHandleContainer;
 
   private final boolean mClientWriteToUFSEnabled;
+  /** Writes the data of the files to the UFS in the background, or null if writes are sync. */
+  @Nullable
+  private final ExecutorService mUfsWriteExecutor;
+  /** The buffers of the background UFS writes, or null if writes are sync. */
+  @Nullable
+  private final UfsWriteBufferPool mUfsWriteBufferPool;
 
   /**
    * Constructor.
@@ -178,6 +196,22 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
         UnderFileSystemConfiguration.defaults(Configuration.global()));
 
     mPageSize = Configuration.global().getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE);
+    // partitions are page aligned so that no page is loaded by two partitions
+    long partitionSize = Math.max(mPageSize,
+        Configuration.global().getBytes(PropertyKey.WORKER_LOAD_FILE_PARTITION_SIZE));
+    mLoadPartitionSize = (partitionSize + mPageSize - 1) / mPageSize * mPageSize;
+    mLoadFileParallelism =
+        Configuration.global().getInt(PropertyKey.WORKER_LOAD_FILE_PARALLELISM_MAX);
+    ExecutorService loadPartitionExecutor = ExecutorServiceFactories.fixedThreadPool(
+        "dora-worker-load-partition",
+        Configuration.global().getInt(PropertyKey.WORKER_LOAD_PARTITION_THREADS_MAX)).create();
+    mResourceCloser.register(
+        () -> ExecutorServiceUtils.shutdownAndAwaitTermination(loadPartitionExecutor));
+    mLoadPartitionExecutor = loadPartitionExecutor;
+    mLoadBandwidthLimiter = new JobBandwidthLimiter(
+        Configuration.global().isSet(PropertyKey.WORKER_LOAD_BANDWIDTH)
+            ? Configuration.global().getBytes(PropertyKey.WORKER_LOAD_BANDWIDTH)
+            : Long.MAX_VALUE);
     mBlockMasterClientPool = blockMasterClientPool;
     mCacheManager = cacheManager;
     mMetaManager = mResourceCloser.register(
@@ -189,6 +223,23 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
 
     mClientWriteToUFSEnabled = Configuration.global()
         .getBoolean(PropertyKey.CLIENT_WRITE_TO_UFS_ENABLED);
+    if (Configuration.global().getBoolean(PropertyKey.WORKER_UFS_WRITE_ASYNC_ENABLED)) {
+      ExecutorService ufsWriteExecutor = ExecutorServiceFactories.fixedThreadPool(
+          "dora-worker-ufs-write",
+          Configuration.global().getInt(PropertyKey.WORKER_UFS_WRITE_ASYNC_THREADS_MAX)).create();
+      mResourceCloser.register(
+          () -> ExecutorServiceUtils.shutdownAndAwaitTermination(ufsWriteExecutor));
+      mUfsWriteExecutor = ufsWriteExecutor;
+      long bufferSize = Configuration.global().getBytes(
+          PropertyKey.WORKER_UFS_WRITE_ASYNC_BUFFER_SIZE);
+      long poolSize = Configuration.global().getBytes(
+          PropertyKey.WORKER_UFS_WRITE_ASYNC_BUFFER_POOL_SIZE);
+      mUfsWriteBufferPool = new UfsWriteBufferPool((int) bufferSize,
+          (int) Math.max(1, poolSize / bufferSize));
+    } else {
+      mUfsWriteExecutor = null;
+      mUfsWriteBufferPool = null;
+    }
   }
 
   @Override
@@ -223,6 +274,15 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
             () -> new FixedIntervalSupplier(Configuration.getMs(
                 PropertyKey.WORKER_BLOCK_HEARTBEAT_INTERVAL_MS)),
             mConf, ServerUserState.global()));
+    Duration metaTtl = Configuration.getDuration(PropertyKey.DORA_WORKER_METASTORE_ROCKSDB_TTL);
+    if (!metaTtl.isNegative() && !metaTtl.isZero()) {
+      getExecutorService()
+          .submit(new HeartbeatThread(HeartbeatContext.WORKER_META_EXPIRY,
+              new MetaExpiry(),
+              () -> new FixedIntervalSupplier(Configuration.getMs(
+                  PropertyKey.DORA_WORKER_METASTORE_EXPIRY_INTERVAL)),
+              mConf, ServerUserState.global()));
+    }
   }
 
   private void register() throws IOException {
@@ -287,13 +347,14 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     boolean isRecursive = options.getRecursive();
     final Optional<ListStatusResult> resultFromCache = mMetaManager.listCached(path, isRecursive);
 
-    if (resultFromCache.isPresent()
-        && (syncIntervalMs < 0
-        || System.nanoTime() - resultFromCache.get().mTimeStamp
-        <= syncIntervalMs * Constants.MS_NANO)) {
-      return resultFromCache.get().mUfsStatuses;
+    if (resultFromCache.isPresent()) {
+      if (syncIntervalMs < 0
+          || System.nanoTime() - resultFromCache.get().mTimeStamp
+          <= syncIntervalMs * Constants.MS_NANO) {
+        return resultFromCache.get().mUfsStatuses;
+      }
+      mMetaManager.invalidateListingCache(path, resultFromCache.get());
     }
-    mMetaManager.invalidateListingCache(path);
     Optional<UfsStatus[]> ufsStatuses =
         mMetaManager.listFromUfsThenCache(path, isRecursive);
     return ufsStatuses.orElse(null);
@@ -320,12 +381,12 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     boolean shouldLoad = !status.isPresent();
     if (syncIntervalMs >= 0 && status.isPresent()) {
       // Check if the metadata is still valid.
-      if (System.nanoTime() - status.get().getTs() > syncIntervalMs * Constants.MS_NANO) {
+      if (System.currentTimeMillis() - status.get().getRefreshTimeMs() > syncIntervalMs) {
         shouldLoad = true;
       }
     }
     if (shouldLoad) {
-      status = mMetaManager.loadFromUfs(ufsFullPath);
+      status = mMetaManager.loadFromUfsShared(ufsFullPath, syncIntervalMs);
     }
 
     if (!status.isPresent()) {
@@ -417,7 +478,7 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   public DoraMeta.FileStatus buildFileStatusFromUfsStatus(UfsStatus status, String ufsFullPath) {
     return DoraMeta.FileStatus.newBuilder()
         .setFileInfo(buildFileInfoFromUfsStatus(status, ufsFullPath))
-        .setTs(System.nanoTime())
+        .setRefreshTimeMs(System.currentTimeMillis())
         .build();
   }
 
@@ -453,6 +514,7 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
       throws AccessControlException, IOException {
     List<ListenableFuture<Void>> futures = new ArrayList<>();
     List<LoadFileFailure> errors = Collections.synchronizedList(new ArrayList<>());
+    RateLimiter bandwidthLimiter = mLoadBandwidthLimiter.get(options);
     for (UfsStatus status : ufsStatuses) {
       String ufsFullPath = status.getUfsFullPath().toString();
       DoraMeta.FileStatus fs = buildFileStatusFromUfsStatus(status, ufsFullPath);
@@ -476,7 +538,7 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
                 AuthenticatedClientUser.set(options.getUser());
               }
               loadData(status.getUfsFullPath().toString(), 0,
-                  status.asUfsFileStatus().getContentLength());
+                  status.asUfsFileStatus().getContentLength(), bandwidthLimiter);
             } catch (Throwable e) {
               LOG.error("Loading {} failed", status, e);
               boolean permissionCheckSucceeded = !(e instanceof AccessControlException);
@@ -501,17 +563,95 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     return Futures.whenAllComplete(futures).call(() -> errors, GrpcExecutors.BLOCK_READER_EXECUTOR);
   }
 
-  protected void loadData(String ufsPath, long mountId, long length)
-      throws AccessControlException, IOException {
+  protected void loadData(String ufsPath, long mountId, long length,
+      @Nullable RateLimiter bandwidthLimiter) throws AccessControlException, IOException {
+    String fileId = new AlluxioURI(ufsPath).hash();
+    int numPartitions = (int) ((length - 1) / mLoadPartitionSize + 1);
+    int parallelism = Math.min(mLoadFileParallelism, numPartitions);
+    if (parallelism <= 1) {
+      loadPartition(ufsPath, mountId, fileId, 0, length, bandwidthLimiter);
+      return;
+    }
+    // each loader keeps taking the next partition not loaded yet until none is left
+    User user = AuthenticatedClientUser.getOrNull();
+    AtomicInteger nextPartition = new AtomicInteger();
+    List<Future<Void>> loaders = new ArrayList<>(parallelism);
+    for (int i = 0; i < parallelism; i++) {
+      loaders.add(mLoadPartitionExecutor.submit(() -> {
+        if (user != null) {
+          AuthenticatedClientUser.set(user);
+        }
+        try {
+          for (int partition = nextPartition.getAndIncrement(); partition < numPartitions;
+              partition = nextPartition.getAndIncrement()) {
+            long start = partition * mLoadPartitionSize;
+            loadPartition(ufsPath, mountId, fileId, start,
+                Math.min(length, start + mLoadPartitionSize), bandwidthLimiter);
+          }
+        } catch (Throwable t) {
+          // stop the other loaders from taking more partitions right away
+          nextPartition.set(numPartitions);
+          throw t;
+        } finally {
+          AuthenticatedClientUser.remove();
+        }
+        return null;
+      }));
+    }
+    Throwable error = null;
+    for (Future<Void> loader : loaders) {
+      try {
+        loader.get();
+      } catch (ExecutionException e) {
+        if (error == null) {
+          error = e.getCause();
+        } else {
+          error.addSuppressed(e.getCause());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        nextPartition.set(numPartitions);
+        loaders.forEach(future -> future.cancel(true));
+        throw AlluxioRuntimeException.from(e);
+      }
+    }
+    if (error != null) {
+      throw AlluxioRuntimeException.from(error);
+    }
+  }
+
+  /**
+   * Loads the pages of a file in the given range into the cache.
+   *
+   * @param ufsPath the ufs path of the file
+   * @param mountId the mount id
+   * @param fileId the file id
+   * @param start the start offset of the range, aligned to a page
+   * @param end the end offset of the range, aligned to a page unless it is the end of file
+   * @param bandwidthLimiter the token bucket of the job in bytes, or null if unlimited
+   */
+  private void loadPartition(String ufsPath, long mountId, String fileId, long start, long end,
+      @Nullable RateLimiter bandwidthLimiter) {
+    // the reader treats the end of the partition as the end of file so that it never reads
+    // beyond the partition from the ufs
     Protocol.OpenUfsBlockOptions options =
         Protocol.OpenUfsBlockOptions.newBuilder().setUfsPath(ufsPath).setMountId(mountId)
-            .setNoCache(false).setOffsetInFile(0).setBlockSize(length)
+            .setNoCache(false).setOffsetInFile(0).setBlockSize(end)
             .build();
-    String fileId = new AlluxioURI(ufsPath).hash();
     ByteBuf buf = PooledDirectNioByteBuf.allocate((int) (4 * mPageSize));
-    try (BlockReader fileReader = createFileReader(fileId, 0, false, options)) {
+    try (BlockReader fileReader = createFileReader(fileId, start, false, options)) {
       // cache file data
-      while (fileReader.transferTo(buf) != -1) {
+      long pos = start;
+      while (pos < end) {
+        if (bandwidthLimiter != null) {
+          // the permits are taken before reading, so the ufs is never read faster than allowed
+          bandwidthLimiter.acquire((int) Math.min(buf.writableBytes(), end - pos));
+        }
+        int bytesRead = fileReader.transferTo(buf);
+        if (bytesRead == -1) {
+          break;
+        }
+        pos += bytesRead;
         buf.clear();
       }
     } catch (IOException | AccessControlException e) {
@@ -699,6 +839,10 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
       outStream = null;
     } else {
       outStream = mUfs.create(path, createOption);
+      if (mUfsWriteExecutor != null) {
+        outStream = new AsyncUfsOutputStream(outStream, mUfsWriteExecutor,
+            mUfsWriteBufferPool, mConf.getInt(PropertyKey.WORKER_UFS_WRITE_ASYNC_BUFFER_COUNT));
+      }
     }
 
     OpenFileHandle handle = new OpenFileHandle(path, info, options, outStream);
@@ -714,7 +858,8 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     OpenFileHandle handle = mOpenFileHandleContainer.findAndVerify(path, uuid);
     if (handle != null) {
       mOpenFileHandleContainer.remove(path);
-      handle.close();
+      // fails the completion if the data could not be written to the UFS
+      handle.complete();
       Optional<DoraMeta.FileStatus> status = mMetaManager.loadFromUfs(path);
       mMetaManager.invalidateListingCacheOfParent(path);
       if (!status.isPresent()) {
@@ -868,6 +1013,18 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     }
   }
 
+  private class MetaExpiry implements HeartbeatExecutor {
+    @Override
+    public void heartbeat(long timeLimitMs) {
+      mMetaManager.removeExpiredFromMetaStore();
+    }
+
+    @Override
+    public void close() {
+      // do nothing
+    }
+  }
+
   @VisibleForTesting
   UnderFileSystem getUfs() {
     return mUfs;
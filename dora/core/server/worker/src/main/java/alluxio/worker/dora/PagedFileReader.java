@@ -75,7 +75,9 @@ public class PagedFileReader extends BlockReader implements PositionReader {
       return new PagedFileReader(ufs, LocalCachePositionReader.create(cacheManager,
           new CloseableSupplier<>(() -> ufs.get().openPositionRead(ufsPath, fileSize)),
           fileIdField, fileSize, conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE),
-          CacheContext.defaults()), fileSize, startPosition);
+          CacheContext.defaults(),
+          conf.getBytes(PropertyKey.WORKER_PAGE_STORE_COALESCED_READ_SIZE_MAX)),
+          fileSize, startPosition);
     } catch (Throwable t) {
       try {
         ufs.close();
@@ -14,8 +14,10 @@ package alluxio.worker.dora;
 import alluxio.client.file.CacheContext;
 import alluxio.client.file.cache.CacheManager;
 import alluxio.client.file.cache.PageId;
+import alluxio.exception.runtime.InternalRuntimeException;
 import alluxio.grpc.WritePType;
 import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.network.protocol.databuffer.PooledDirectNioByteBuf;
 import alluxio.worker.block.io.BlockWriter;
 
 import com.google.common.base.Preconditions;
@@ -28,9 +30,14 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.WritableByteChannel;
+import javax.annotation.Nullable;
 
 /**
  * A paged implementation of BlockWriter interface.
+ * <p>
+ * The data written to the cache is accumulated in a pooled page buffer, and each page is put
+ * into the cache once, when it is full or when the file is committed, instead of being appended
+ * to the cached page chunk by chunk.
  */
 public class PagedFileWriter extends BlockWriter {
   private static final Logger LOG = LoggerFactory.getLogger(PagedFileWriter.class);
@@ -40,6 +47,11 @@ public class PagedFileWriter extends BlockWriter {
   private final String mFileId;
   private final long mPageSize;
   private long mPosition;
+  /** The data of the page being written, or null if no data is buffered. */
+  @Nullable
+  private ByteBuf mPage;
+  /** The index of the page being written. */
+  private long mPageIndex;
 
   private final PagedDoraWorker mWorker;
 
@@ -57,14 +69,26 @@ public class PagedFileWriter extends BlockWriter {
 
   @Override
   public void abort() {
+    releasePage();
     mCacheManager.deleteTempFile(mFileId);
   }
 
   @Override
   public void commitFile() {
+    try {
+      putPage();
+    } catch (IOException e) {
+      throw new InternalRuntimeException(e);
+    }
     mCacheManager.commitFile(mFileId);
   }
 
+  @Override
+  public void close() throws IOException {
+    releasePage();
+    super.close();
+  }
+
   @Override
   public long append(ByteBuffer inputBuf) {
     try {
@@ -77,34 +101,32 @@ public class PagedFileWriter extends BlockWriter {
 
   @Override
   public long append(ByteBuf buf) throws IOException {
-    long bytesWritten = 0;
-    LOG.debug("Writing @" + mPosition + "len=" + buf.readableBytes());
+    int bytesWritten = buf.readableBytes();
+    LOG.debug("Writing @" + mPosition + "len=" + bytesWritten);
     DoraOpenFileHandleContainer openFileHandleContainer = mWorker.getOpenFileHandleContainer();
     OpenFileHandle handle = openFileHandleContainer.find(mUfsPath);
-
-    while (buf.readableBytes() > 0) {
-      PageId pageId = getPageId(bytesWritten);
-      int currentPageOffset = getCurrentPageOffset(bytesWritten);
-      int bytesLeftInPage = getBytesLeftInPage(currentPageOffset, buf.readableBytes());
-      byte[] page = new byte[bytesLeftInPage];
-      buf.readBytes(page);
-      if (handle != null && handle.getOptions().hasWriteType()
-          && handle.getOptions().getWriteType() != WritePType.THROUGH) {
-        // Don't write to local paging cache for THROUGH
-        if (!mCacheManager.append(pageId, currentPageOffset, page, mTempCacheContext)) {
-          throw new IOException("Append failed for file " + mFileId);
+    if (handle == null) {
+      throw new IOException("Cannot write data to UFS for " + mUfsPath + " @" + mPosition);
+    }
+    // Writes data to UFS.
+    OutputStream outputStream = handle.getOutStream();
+    if (outputStream != null) {
+      buf.getBytes(buf.readerIndex(), outputStream, bytesWritten);
+    }
+    // Don't write to local paging cache for THROUGH
+    if (handle.getOptions().hasWriteType()
+        && handle.getOptions().getWriteType() != WritePType.THROUGH) {
+      while (buf.readableBytes() > 0) {
+        if (mPage == null) {
+          mPage = PooledDirectNioByteBuf.allocate((int) mPageSize);
         }
-      }
-      // Now writes data to UFS.
-      if (handle != null) {
-        OutputStream outputStream = handle.getOutStream();
-        if (outputStream != null) {
-          outputStream.write(page);
+        mPage.writeBytes(buf, Math.min(mPage.writableBytes(), buf.readableBytes()));
+        if (mPage.writableBytes() == 0) {
+          putPage();
         }
-      } else {
-        throw new IOException("Cannot write data to UFS for " + mUfsPath + " @" + mPosition);
       }
-      bytesWritten += bytesLeftInPage;
+    } else {
+      buf.skipBytes(bytesWritten);
     }
 
     // data is written to local cache and UFS. Update Position.
@@ -137,16 +159,25 @@ public class PagedFileWriter extends BlockWriter {
     throw new UnsupportedOperationException();
   }
 
-  private PageId getPageId(long bytesWritten) {
-    long pageIndex = (mPosition + bytesWritten) / mPageSize;
-    return new PageId(mFileId, pageIndex);
-  }
-
-  private int getCurrentPageOffset(long bytesWritten) {
-    return (int) ((mPosition + bytesWritten) % mPageSize);
+  /**
+   * Puts the buffered page into the cache, which releases the buffer once the page is written.
+   */
+  private void putPage() throws IOException {
+    if (mPage == null) {
+      return;
+    }
+    ByteBuf page = mPage;
+    mPage = null;
+    PageId pageId = new PageId(mFileId, mPageIndex++);
+    if (!mCacheManager.put(pageId, page.nioBuffer(), mTempCacheContext, page::release)) {
+      throw new IOException("Append failed for file " + mFileId);
+    }
   }
 
-  private int getBytesLeftInPage(int currentPageOffset, int remaining) {
-    return (int) Math.min(mPageSize - currentPageOffset, remaining);
+  private void releasePage() {
+    if (mPage != null) {
+      mPage.release();
+      mPage = null;
+    }
   }
 }
@@ -15,11 +15,15 @@ import alluxio.Constants;
 import alluxio.conf.PropertyKey;
 import alluxio.master.metastore.rocks.RocksExclusiveLockHandle;
 import alluxio.master.metastore.rocks.RocksSharedLockHandle;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.proto.meta.DoraMeta;
 import alluxio.rocks.RocksStore;
 import alluxio.util.io.PathUtils;
 
+import com.codahale.metrics.Counter;
 import com.google.common.base.Preconditions;
+import com.google.protobuf.InvalidProtocolBufferException;
 import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
@@ -30,7 +34,9 @@ import org.rocksdb.HashLinkedListMemTableConfig;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
 import org.rocksdb.RocksObject;
+import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,6 +59,7 @@ public class RocksDBDoraMetaStore implements DoraMetaStore {
   private static final String DORA_META_DB_NAME = "DoraMeta";
   private static final String DORA_META_FILE_STATUS_COLUMN = "FileStatusCF";
   private static final String DORA_META_STORE_NAME = "DoraMetaStore";
+  private static final int EXPIRY_BATCH_SIZE = 1000;
 
   // These are fields instead of constants because they depend on the call to RocksDB.loadLibrary().
   private final WriteOptions mWriteOption;
@@ -132,12 +139,11 @@ public class RocksDBDoraMetaStore implements DoraMetaStore {
     }
     try {
       DoraMeta.FileStatus fs = DoraMeta.FileStatus.parseFrom(status);
-      if (mMetaTTL != -1) {
-        if (System.nanoTime() - fs.getTs() > mMetaTTL * Constants.SECOND_NANO) {
-          // The Metadata is out of date.
-          removeDoraMeta(path);
-          return Optional.empty();
-        }
+      if (isExpired(fs, System.currentTimeMillis())) {
+        // The Metadata is out of date.
+        removeDoraMeta(path);
+        Metrics.EXPIRED.inc();
+        return Optional.empty();
       }
       return Optional.of(fs);
     } catch (Exception e) {
@@ -178,6 +184,74 @@ public class RocksDBDoraMetaStore implements DoraMetaStore {
     }
   }
 
+  /**
+   * Removes the expired metadata in batches, scanning the whole RocksDB. The scan does not fill
+   * the block cache, and stops early if the RocksDB is closing.
+   * <p>
+   * A file status refreshed during the scan may still be removed if it was seen expired, which
+   * only causes it to be loaded again.
+   *
+   * @return the number of removed metadata
+   */
+  @Override
+  public long removeExpiredDoraMeta() {
+    if (mMetaTTL == -1) {
+      return 0;
+    }
+    long now = System.currentTimeMillis();
+    long removed = 0;
+    try (RocksSharedLockHandle lock = mRocksStore.checkAndAcquireSharedLock();
+         ReadOptions readOptions = new ReadOptions().setFillCache(false);
+         RocksIterator iter = db().newIterator(mFileStatusColumn.get(), readOptions);
+         WriteBatch batch = new WriteBatch()) {
+      for (iter.seekToFirst(); iter.isValid(); iter.next()) {
+        if (mRocksStore.isServiceStopping()) {
+          break;
+        }
+        if (isExpired(iter.value(), now)) {
+          batch.delete(mFileStatusColumn.get(), iter.key());
+          if (batch.count() >= EXPIRY_BATCH_SIZE) {
+            removed += writeBatch(batch);
+          }
+        }
+      }
+      removed += writeBatch(batch);
+    } catch (RocksDBException e) {
+      LOG.error("Failed to remove expired metadata", e);
+    }
+    Metrics.EXPIRED.inc(removed);
+    if (removed > 0) {
+      LOG.info("Removed {} expired metadata from {}", removed, DORA_META_DB_NAME);
+    }
+    return removed;
+  }
+
+  private long writeBatch(WriteBatch batch) throws RocksDBException {
+    int count = batch.count();
+    if (count > 0) {
+      db().write(mWriteOption, batch);
+      batch.clear();
+    }
+    return count;
+  }
+
+  private boolean isExpired(byte[] status, long now) {
+    try {
+      return isExpired(DoraMeta.FileStatus.parseFrom(status), now);
+    } catch (InvalidProtocolBufferException e) {
+      // unreadable metadata is removed as well, the same as on reads
+      return true;
+    }
+  }
+
+  /**
+   * Metadata without a refresh time only has the deprecated timestamp of the JVM which wrote it,
+   * so it is treated as expired.
+   */
+  private boolean isExpired(DoraMeta.FileStatus status, long now) {
+    return mMetaTTL != -1 && now - status.getRefreshTimeMs() > mMetaTTL * Constants.SECOND_MS;
+  }
+
   /**
    * Clears all the metadata in this RocksDB.
    */
@@ -221,4 +295,14 @@ public class RocksDBDoraMetaStore implements DoraMetaStore {
   private RocksDB db() {
     return mRocksStore.getDb();
   }
+
+  /**
+   * Class that contains metrics of the dora meta store.
+   */
+  private static final class Metrics {
+    private static final Counter EXPIRED =
+        MetricsSystem.counter(MetricKey.WORKER_META_EXPIRED.getName());
+
+    private Metrics() {} // prevent instantiation
+  }
 }
@@ -0,0 +1,78 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The buffers shared by all the {@link AsyncUfsOutputStream}s of a worker.
+ * <p>
+ * At most a fixed number of buffers are handed out at a time, which bounds the memory held by
+ * the data being written to the UFS in the background, however many files are being written.
+ * Buffers are allocated lazily and kept for reuse once released.
+ */
+@ThreadSafe
+public class UfsWriteBufferPool {
+  private final int mBufferSize;
+  /** A permit for each buffer which can still be handed out. */
+  private final Semaphore mPermits;
+  /** The allocated buffers which are not in use. */
+  private final Queue<byte[]> mIdleBuffers = new ConcurrentLinkedQueue<>();
+
+  /**
+   * @param bufferSize the size of a buffer
+   * @param maxBuffers the maximum number of buffers in use at a time
+   */
+  public UfsWriteBufferPool(int bufferSize, int maxBuffers) {
+    Preconditions.checkArgument(bufferSize > 0, "bufferSize should be positive");
+    Preconditions.checkArgument(maxBuffers > 0, "maxBuffers should be positive");
+    mBufferSize = bufferSize;
+    mPermits = new Semaphore(maxBuffers);
+  }
+
+  /**
+   * @return the size of the buffers of the pool
+   */
+  public int getBufferSize() {
+    return mBufferSize;
+  }
+
+  /**
+   * Takes a buffer from the pool without waiting.
+   *
+   * @return a buffer, or null if all the buffers are in use
+   */
+  @Nullable
+  public byte[] tryAcquire() {
+    if (!mPermits.tryAcquire()) {
+      return null;
+    }
+    byte[] buffer = mIdleBuffers.poll();
+    return buffer != null ? buffer : new byte[mBufferSize];
+  }
+
+  /**
+   * Returns a buffer taken by {@link #tryAcquire()} to the pool.
+   *
+   * @param buffer the buffer
+   */
+  public void release(byte[] buffer) {
+    mIdleBuffers.offer(buffer);
+    mPermits.release();
+  }
+}
@@ -13,6 +13,7 @@ package alluxio.worker.netty;
 
 import alluxio.proto.dataserver.Protocol;
 
+import java.util.List;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -24,6 +25,7 @@ import javax.annotation.concurrent.ThreadSafe;
 public final class BlockReadRequest extends ReadRequest {
   private final Protocol.OpenUfsBlockOptions mOpenUfsBlockOptions;
   private final boolean mPromote;
+  private final List<Protocol.ReadRange> mRanges;
 
   /**
    * Creates an instance of {@link BlockReadRequest}.
@@ -40,6 +42,7 @@ public final class BlockReadRequest extends ReadRequest {
       mOpenUfsBlockOptions = null;
     }
     mPromote = request.getPromote();
+    mRanges = request.getRangesList();
     // Note that we do not need to seek to offset since the block worker is created at the offset.
   }
 
@@ -50,6 +53,21 @@ public final class BlockReadRequest extends ReadRequest {
     return mPromote;
   }
 
+  /**
+   * @return whether this is a vectored read, whose data comes from several ranges of the file
+   */
+  public boolean isVectored() {
+    return !mRanges.isEmpty();
+  }
+
+  /**
+   * @return the ranges of a vectored read, whose data is sent back to back, so that the start
+   *         and end of this request are positions in the concatenated data of the ranges
+   */
+  public List<Protocol.ReadRange> getRanges() {
+    return mRanges;
+  }
+
   /**
    * @return the option to open UFS block
    */
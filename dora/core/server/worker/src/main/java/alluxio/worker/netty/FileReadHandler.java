@@ -13,16 +13,19 @@ package alluxio.worker.netty;
 
 import alluxio.AlluxioURI;
 import alluxio.Constants;
+import alluxio.PositionReader;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.network.netty.FileTransferType;
+import alluxio.network.protocol.RPCProtoMessage;
 import alluxio.network.protocol.databuffer.CompositeDataBuffer;
 import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.NettyDataBuffer;
 import alluxio.proto.dataserver.Protocol;
 import alluxio.retry.RetryPolicy;
 import alluxio.retry.TimeoutRetry;
+import alluxio.util.proto.ProtoMessage;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.dora.DoraWorker;
 import alluxio.worker.dora.PagedFileReader;
@@ -124,6 +127,14 @@ public class FileReadHandler extends AbstractReadHandler<BlockReadRequestContext
       openBlock(context, channel);
       BlockReader blockReader = context.getBlockReader();
       Preconditions.checkState(blockReader != null);
+      BlockReadRequest request = context.getRequest();
+      if (request.isVectored()) {
+        if (!(blockReader instanceof PositionReader)) {
+          throw new UnsupportedOperationException(blockReader.getClass().getCanonicalName()
+              + " does not support vectored reads");
+        }
+        return getVectoredDataBuffer(request, channel, offset, len, (PositionReader) blockReader);
+      }
       if (mTransferType == FileTransferType.TRANSFER) {
         if (blockReader instanceof PagedFileReader) {
           PagedFileReader pagedFileReader = (PagedFileReader) blockReader;
@@ -138,6 +149,47 @@ public class FileReadHandler extends AbstractReadHandler<BlockReadRequestContext
       return getDataBufferByCopying(context, channel, len, blockReader);
     }
 
+    /**
+     * Reads the data of a vectored read request between the given offsets, which are positions in
+     * the concatenated data of the requested ranges. All ranges of the request are served by the
+     * same reader, and the returned buffer is shorter than requested only at the end of file.
+     */
+    private DataBuffer getVectoredDataBuffer(BlockReadRequest request, Channel channel,
+        long offset, int len, PositionReader reader) throws IOException {
+      ByteBuf buf = channel.alloc().buffer(len, len);
+      try {
+        long rangeStart = 0;
+        for (Protocol.ReadRange range : request.getRanges()) {
+          if (!buf.isWritable()) {
+            break;
+          }
+          long rangeEnd = rangeStart + range.getLength();
+          long pos = offset + buf.writerIndex();
+          if (pos < rangeEnd) {
+            int bytesToRead = (int) Math.min(rangeEnd - pos, buf.writableBytes());
+            long filePos = range.getOffset() + pos - rangeStart;
+            int bytesRead = 0;
+            while (bytesRead < bytesToRead) {
+              int read = reader.read(filePos + bytesRead, buf, bytesToRead - bytesRead);
+              if (read <= 0) {
+                break;
+              }
+              bytesRead += read;
+            }
+            if (bytesRead < bytesToRead) {
+              // reached the end of file
+              break;
+            }
+          }
+          rangeStart = rangeEnd;
+        }
+        return new NettyDataBuffer(buf);
+      } catch (Throwable e) {
+        buf.release();
+        throw e;
+      }
+    }
+
     private DataBuffer getDataBufferByCopying(
         BlockReadRequestContext context, Channel channel, int len, BlockReader blockReader)
         throws IOException {
@@ -180,6 +232,13 @@ public class FileReadHandler extends AbstractReadHandler<BlockReadRequestContext
           String metricName = "BytesReadAlluxio";
           context.setBlockReader(reader);
           context.setCounter(MetricsSystem.counter(metricName));
+          if (blockReadRequest.isVectored()) {
+            // sent ahead of the data, so that the client can tell this worker from one which
+            // ignores the ranges and reads from the offset of the request
+            channel.writeAndFlush(new RPCProtoMessage(new ProtoMessage(
+                Protocol.ReadResponse.newBuilder()
+                    .setType(Protocol.ReadResponse.Type.VECTORED_READ).build())));
+          }
           if (reader.getChannel() instanceof FileChannel) {
             ((FileChannel) reader.getChannel()).position(blockReadRequest.getStart());
           }
@@ -0,0 +1,208 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.underfs.Abortable;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncUfsOutputStreamTest {
+  private static final int BUFFER_SIZE = 100;
+
+  private final ExecutorService mExecutor = Executors.newFixedThreadPool(4);
+  private final UfsWriteBufferPool mPool = new UfsWriteBufferPool(BUFFER_SIZE, 4);
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  @Test
+  public void writeInOrder() throws Exception {
+    ByteArrayOutputStream ufs = new ByteArrayOutputStream();
+    byte[] data = BufferUtils.getIncreasingByteArray(BUFFER_SIZE * 20 + 33);
+    AsyncUfsOutputStream out = new AsyncUfsOutputStream(ufs, mExecutor, mPool, 3);
+    for (int off = 0; off < data.length; off += 17) {
+      out.write(data, off, Math.min(17, data.length - off));
+    }
+    out.close();
+    assertArrayEquals(data, ufs.toByteArray());
+    assertAllBuffersReleased();
+  }
+
+  @Test
+  public void boundInflightBuffers() throws Exception {
+    CountDownLatch blocked = new CountDownLatch(1);
+    ByteArrayOutputStream ufs = new ByteArrayOutputStream() {
+      @Override
+      public synchronized void write(byte[] b, int off, int len) {
+        try {
+          blocked.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        super.write(b, off, len);
+      }
+    };
+    AsyncUfsOutputStream out = new AsyncUfsOutputStream(ufs, mExecutor, mPool, 2);
+    // fills both buffers while the UFS is blocked
+    out.write(new byte[BUFFER_SIZE * 2]);
+    Future<?> write = Executors.newSingleThreadExecutor().submit(() -> {
+      out.write(new byte[BUFFER_SIZE]);
+      return null;
+    });
+    assertThrows(TimeoutException.class, () -> write.get(200, TimeUnit.MILLISECONDS));
+    blocked.countDown();
+    write.get(10, TimeUnit.SECONDS);
+    out.close();
+    assertEquals(BUFFER_SIZE * 3, ufs.size());
+  }
+
+  @Test
+  public void failAtClose() throws Exception {
+    IOException failure = new IOException("UFS failure");
+    AtomicBoolean closed = new AtomicBoolean();
+    OutputStream ufs = new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        throw failure;
+      }
+
+      @Override
+      public void close() {
+        closed.set(true);
+      }
+    };
+    AsyncUfsOutputStream out = new AsyncUfsOutputStream(ufs, mExecutor, mPool, 2);
+    // the write returns before the data reaches the UFS
+    out.write(new byte[BUFFER_SIZE]);
+    IOException e = assertThrows(IOException.class, out::close);
+    assertSame(failure, e);
+    assertTrue(closed.get());
+  }
+
+  @Test
+  public void failAtNextWrite() throws Exception {
+    IOException failure = new IOException("UFS failure");
+    OutputStream ufs = new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        throw failure;
+      }
+    };
+    AsyncUfsOutputStream out = new AsyncUfsOutputStream(ufs, mExecutor, mPool, 1);
+    out.write(new byte[BUFFER_SIZE]);
+    // waits for the only buffer, which is returned once the write has failed
+    out.write(new byte[1]);
+    IOException e = assertThrows(IOException.class, () -> out.write(new byte[1]));
+    assertSame(failure, e.getCause());
+    assertThrows(IOException.class, out::close);
+  }
+
+  @Test
+  public void abortOnFailure() throws Exception {
+    AtomicBoolean committed = new AtomicBoolean();
+    AtomicBoolean aborted = new AtomicBoolean();
+    AtomicInteger writes = new AtomicInteger();
+    class AbortableStream extends ByteArrayOutputStream implements Abortable {
+      @Override
+      public synchronized void write(byte[] b, int off, int len) {
+        if (writes.incrementAndGet() == 2) {
+          throw new IllegalStateException("UFS failure");
+        }
+        super.write(b, off, len);
+      }
+
+      @Override
+      public void close() {
+        committed.set(true);
+      }
+
+      @Override
+      public void abort() {
+        aborted.set(true);
+      }
+    }
+
+    AsyncUfsOutputStream out =
+        new AsyncUfsOutputStream(new AbortableStream(), mExecutor, mPool, 2);
+    // the second buffer fails in the middle of the file
+    out.write(new byte[BUFFER_SIZE * 3]);
+    assertThrows(IOException.class, out::close);
+    assertTrue(aborted.get());
+    assertFalse(committed.get());
+    // the buffer after the failure is dropped
+    assertEquals(2, writes.get());
+    assertAllBuffersReleased();
+  }
+
+  @Test
+  public void writeSyncWhenPoolExhausted() throws Exception {
+    ByteArrayOutputStream ufs = new ByteArrayOutputStream();
+    CountDownLatch blocked = new CountDownLatch(1);
+    ByteArrayOutputStream otherUfs = new ByteArrayOutputStream() {
+      @Override
+      public synchronized void write(byte[] b, int off, int len) {
+        try {
+          blocked.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        super.write(b, off, len);
+      }
+    };
+    AsyncUfsOutputStream other = new AsyncUfsOutputStream(otherUfs, mExecutor, mPool, 4);
+    // another stream holds all the buffers of the worker
+    other.write(new byte[BUFFER_SIZE * 3 + 1]);
+    AsyncUfsOutputStream out = new AsyncUfsOutputStream(ufs, mExecutor, mPool, 4);
+    byte[] data = BufferUtils.getIncreasingByteArray(BUFFER_SIZE * 2);
+    out.write(data);
+    // the data reached the UFS before the write returned
+    assertArrayEquals(data, ufs.toByteArray());
+    blocked.countDown();
+    other.close();
+    out.close();
+    assertEquals(BUFFER_SIZE * 3 + 1, otherUfs.size());
+    assertArrayEquals(data, ufs.toByteArray());
+    assertAllBuffersReleased();
+  }
+
+  private void assertAllBuffersReleased() {
+    for (int i = 0; i < 4; i++) {
+      assertNotNull(mPool.tryAcquire());
+    }
+    assertNull(mPool.tryAcquire());
+  }
+}
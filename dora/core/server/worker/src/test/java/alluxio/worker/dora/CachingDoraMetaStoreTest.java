@@ -0,0 +1,169 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.grpc.FileInfo;
+import alluxio.proto.meta.DoraMeta.FileStatus;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class CachingDoraMetaStoreTest {
+  private final DoraMetaStore mBackingStore = mock(DoraMetaStore.class);
+  private final CachingDoraMetaStore mStore =
+      new CachingDoraMetaStore(mBackingStore, 1024 * 1024, -1);
+
+  @Test
+  public void loadOnce() {
+    FileStatus status = status("/a", 10);
+    when(mBackingStore.getDoraMeta("/a")).thenReturn(Optional.of(status));
+    assertEquals(Optional.of(status), mStore.getDoraMeta("/a"));
+    assertEquals(Optional.of(status), mStore.getDoraMeta("/a"));
+    verify(mBackingStore, times(1)).getDoraMeta("/a");
+  }
+
+  @Test
+  public void missingNotCached() {
+    when(mBackingStore.getDoraMeta("/a")).thenReturn(Optional.empty());
+    assertFalse(mStore.getDoraMeta("/a").isPresent());
+    FileStatus status = status("/a", 10);
+    when(mBackingStore.getDoraMeta("/a")).thenReturn(Optional.of(status));
+    assertEquals(Optional.of(status), mStore.getDoraMeta("/a"));
+  }
+
+  @Test
+  public void writeThrough() {
+    FileStatus status = status("/a", 10);
+    when(mBackingStore.getDoraMeta("/a")).thenReturn(Optional.of(status));
+    assertEquals(Optional.of(status), mStore.getDoraMeta("/a"));
+
+    // a write goes to the backing store and drops the cached status
+    FileStatus updated = status("/a", 20);
+    mStore.putDoraMeta("/a", updated);
+    verify(mBackingStore).putDoraMeta("/a", updated);
+    when(mBackingStore.getDoraMeta("/a")).thenReturn(Optional.of(updated));
+    assertEquals(Optional.of(updated), mStore.getDoraMeta("/a"));
+    assertEquals(Optional.of(updated), mStore.getDoraMeta("/a"));
+    verify(mBackingStore, times(2)).getDoraMeta("/a");
+
+    mStore.removeDoraMeta("/a");
+    verify(mBackingStore).removeDoraMeta("/a");
+    when(mBackingStore.getDoraMeta("/a")).thenReturn(Optional.empty());
+    assertFalse(mStore.getDoraMeta("/a").isPresent());
+  }
+
+  @Test
+  public void loadConcurrentWithPut() throws Exception {
+    Map<String, FileStatus> backing = new ConcurrentHashMap<>();
+    FileStatus status = status("/a", 10);
+    backing.put("/a", status);
+    CountDownLatch loadStarted = new CountDownLatch(1);
+    CountDownLatch loadBlocked = new CountDownLatch(1);
+    when(mBackingStore.getDoraMeta("/a")).thenAnswer(invocation -> {
+      Optional<FileStatus> loaded = Optional.ofNullable(backing.get("/a"));
+      loadStarted.countDown();
+      Uninterruptibles.awaitUninterruptibly(loadBlocked);
+      return loaded;
+    });
+    doAnswer(invocation -> {
+      backing.put(invocation.getArgument(0), invocation.getArgument(1));
+      return null;
+    }).when(mBackingStore).putDoraMeta(anyString(), any(FileStatus.class));
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<Optional<FileStatus>> load = executor.submit(() -> mStore.getDoraMeta("/a"));
+      assertTrue(loadStarted.await(10, TimeUnit.SECONDS));
+      // the load read the old status, the put writes the backing store without waiting for it
+      FileStatus updated = status("/a", 20);
+      Future<?> put = executor.submit(() -> mStore.putDoraMeta("/a", updated));
+      CommonUtils.waitFor("put to write the backing store", () -> backing.get("/a") == updated,
+          WaitForOptions.defaults().setTimeoutMs(10000));
+      loadBlocked.countDown();
+      assertEquals(Optional.of(status), load.get(10, TimeUnit.SECONDS));
+      put.get(10, TimeUnit.SECONDS);
+      // the status loaded before the put is not kept in the cache
+      assertEquals(Optional.of(updated), mStore.getDoraMeta("/a"));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void concurrentPutAndRemove() throws Exception {
+    Map<String, FileStatus> backing = new ConcurrentHashMap<>();
+    when(mBackingStore.getDoraMeta("/a"))
+        .thenAnswer(invocation -> Optional.ofNullable(backing.get("/a")));
+    doAnswer(invocation -> {
+      Thread.yield();
+      backing.put(invocation.getArgument(0), invocation.getArgument(1));
+      return null;
+    }).when(mBackingStore).putDoraMeta(anyString(), any(FileStatus.class));
+    doAnswer(invocation -> {
+      Thread.yield();
+      backing.remove(invocation.<String>getArgument(0));
+      return null;
+    }).when(mBackingStore).removeDoraMeta(anyString());
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (int round = 0; round < 200; round++) {
+        List<Future<?>> writes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+          FileStatus status = status("/a", i);
+          Runnable write = i % 2 == 0
+              ? () -> mStore.putDoraMeta("/a", status)
+              : () -> mStore.removeDoraMeta("/a");
+          writes.add(executor.submit(write));
+        }
+        for (Future<?> write : writes) {
+          write.get(10, TimeUnit.SECONDS);
+        }
+        // the cache agrees with the backing store whatever the order of the writes
+        assertEquals(Optional.ofNullable(backing.get("/a")), mStore.getDoraMeta("/a"));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static FileStatus status(String path, long length) {
+    return FileStatus.newBuilder()
+        .setFileInfo(FileInfo.newBuilder().setPath(path).setLength(length))
+        .setRefreshTimeMs(System.currentTimeMillis())
+        .build();
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CoalescingLoaderTest {
+  private static final int CALLERS = 8;
+
+  private final CoalescingLoader<String, Integer> mLoader = new CoalescingLoader<>();
+  private final ExecutorService mExecutor = Executors.newFixedThreadPool(CALLERS);
+  private final AtomicInteger mLoads = new AtomicInteger();
+  private final CountDownLatch mLoadStarted = new CountDownLatch(1);
+  private final CountDownLatch mLoadBlocked = new CountDownLatch(1);
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  @Test
+  public void shareInflightLoad() throws Exception {
+    List<Future<Integer>> results = loadConcurrently(() -> mLoads.incrementAndGet());
+    for (Future<Integer> result : results) {
+      assertEquals(1, (int) result.get(10, TimeUnit.SECONDS));
+    }
+    assertEquals(1, mLoads.get());
+
+    // nothing is kept once the load is done
+    assertEquals(2, (int) mLoader.load("/a", () -> mLoads.incrementAndGet()));
+    assertEquals(3, (int) mLoader.load("/b", () -> mLoads.incrementAndGet()));
+  }
+
+  @Test
+  public void shareFailure() throws Exception {
+    IOException failure = new IOException("UFS failure");
+    List<Future<Integer>> results = loadConcurrently(() -> {
+      mLoads.incrementAndGet();
+      throw failure;
+    });
+    for (int i = 0; i < results.size(); i++) {
+      Future<Integer> result = results.get(i);
+      ExecutionException e = assertThrows(ExecutionException.class,
+          () -> result.get(10, TimeUnit.SECONDS));
+      if (i == 0) {
+        assertSame(failure, e.getCause());
+        continue;
+      }
+      // the other callers each get their own exception
+      assertNotSame(failure, e.getCause());
+      assertSame(failure, e.getCause().getCause());
+      assertEquals(failure.getMessage(), e.getCause().getMessage());
+    }
+    assertEquals(1, mLoads.get());
+  }
+
+  /**
+   * Loads "/a" from all the callers, keeping the first load in flight until all the others have
+   * been started.
+   */
+  private List<Future<Integer>> loadConcurrently(CoalescingLoader.Loader<Integer> loader)
+      throws Exception {
+    List<Future<Integer>> results = new ArrayList<>();
+    results.add(mExecutor.submit(() -> mLoader.load("/a", () -> {
+      mLoadStarted.countDown();
+      Uninterruptibles.awaitUninterruptibly(mLoadBlocked);
+      return loader.load();
+    })));
+    mLoadStarted.await();
+    for (int i = 1; i < CALLERS; i++) {
+      results.add(mExecutor.submit(() -> mLoader.load("/a", loader)));
+    }
+    // lets the other callers reach the in-flight load
+    Thread.sleep(200);
+    mLoadBlocked.countDown();
+    return results;
+  }
+}
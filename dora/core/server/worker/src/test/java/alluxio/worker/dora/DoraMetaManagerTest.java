@@ -0,0 +1,129 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.client.file.cache.CacheManager;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.grpc.FileInfo;
+import alluxio.proto.meta.DoraMeta.FileStatus;
+import alluxio.underfs.UfsFileStatus;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.options.GetStatusOptions;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.FileNotFoundException;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class DoraMetaManagerTest {
+  private static final String PATH = "s3://bucket/file";
+
+  @Rule
+  public TemporaryFolder mTestFolder = new TemporaryFolder();
+
+  private final ExecutorService mExecutor = Executors.newFixedThreadPool(2);
+  private final UnderFileSystem mUfs = mock(UnderFileSystem.class);
+  private final PagedDoraWorker mWorker = mock(PagedDoraWorker.class);
+  private final CacheManager mCacheManager = mock(CacheManager.class);
+  private DoraMetaManager mManager;
+
+  @Before
+  public void before() throws Exception {
+    Configuration.set(PropertyKey.DORA_WORKER_METASTORE_ROCKSDB_DIR,
+        mTestFolder.newFolder("rocks"));
+    mManager = new DoraMetaManager(mWorker, mCacheManager, mUfs);
+  }
+
+  @After
+  public void after() throws Exception {
+    mExecutor.shutdownNow();
+    mManager.close();
+    Configuration.reloadProperties();
+  }
+
+  @Test
+  public void loadDoesNotOverwriteConcurrentPut() throws Exception {
+    FileStatus status = FileStatus.newBuilder()
+        .setFileInfo(FileInfo.newBuilder().setUfsPath(PATH).setLength(6)).build();
+    UfsFileStatus ufsStatus = new UfsFileStatus("file", "", 6, 0L, "", "", (short) 0, 1);
+    when(mWorker.buildFileStatusFromUfsStatus(any(), anyString())).thenReturn(status);
+    when(mUfs.getUnderFSType()).thenReturn("s3");
+    CountDownLatch loadStarted = new CountDownLatch(1);
+    CountDownLatch loadBlocked = new CountDownLatch(1);
+    when(mUfs.getStatus(eq(PATH), any(GetStatusOptions.class)))
+        .thenAnswer(invocation -> {
+          loadStarted.countDown();
+          Uninterruptibles.awaitUninterruptibly(loadBlocked);
+          throw new FileNotFoundException(PATH);
+        })
+        .thenReturn(ufsStatus);
+
+    // the load finds the file missing, then the file is created through this worker
+    Future<Optional<FileStatus>> load =
+        mExecutor.submit(() -> mManager.loadFromUfsShared(PATH, -1));
+    assertTrue(loadStarted.await(10, TimeUnit.SECONDS));
+    mManager.put(PATH, status);
+    loadBlocked.countDown();
+    assertFalse(load.get(10, TimeUnit.SECONDS).isPresent());
+
+    // the stale load neither removes the file nor remembers it as missing
+    assertEquals(status, mManager.getFromMetaStore(PATH).get());
+    assertEquals(status, mManager.loadFromUfsShared(PATH, -1).get());
+  }
+
+  @Test
+  public void loadAppliesResultOutsideOfLock() throws Exception {
+    FileStatus status = FileStatus.newBuilder()
+        .setFileInfo(FileInfo.newBuilder().setUfsPath(PATH).setLength(6)).build();
+    when(mUfs.getUnderFSType()).thenReturn("s3");
+    when(mUfs.getStatus(eq(PATH), any(GetStatusOptions.class)))
+        .thenThrow(new FileNotFoundException(PATH));
+    CountDownLatch writeStarted = new CountDownLatch(1);
+    CountDownLatch writeBlocked = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      writeStarted.countDown();
+      Uninterruptibles.awaitUninterruptibly(writeBlocked);
+      return null;
+    }).doNothing().when(mCacheManager).deleteFile(anyString());
+
+    Future<Optional<FileStatus>> load = mExecutor.submit(() -> mManager.loadFromUfs(PATH));
+    assertTrue(writeStarted.await(10, TimeUnit.SECONDS));
+    // the path can be mutated while the load applies what it found
+    mExecutor.submit(() -> mManager.put(PATH, status)).get(10, TimeUnit.SECONDS);
+    writeBlocked.countDown();
+    assertFalse(load.get(10, TimeUnit.SECONDS).isPresent());
+
+    // the load may have overwritten the put, so the path is left for the next access to load
+    assertFalse(mManager.getFromMetaStore(PATH).isPresent());
+  }
+}
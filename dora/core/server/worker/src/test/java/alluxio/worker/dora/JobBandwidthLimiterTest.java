@@ -0,0 +1,82 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import alluxio.Constants;
+import alluxio.grpc.UfsReadOptions;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.junit.Test;
+
+public class JobBandwidthLimiterTest {
+  private final JobBandwidthLimiter mLimiter = new JobBandwidthLimiter(Long.MAX_VALUE);
+
+  @Test
+  public void unlimited() {
+    assertNull(mLimiter.get(options("job")));
+  }
+
+  @Test
+  public void sharedWithinJob() {
+    RateLimiter limiter = mLimiter.get(options("job", Constants.MB));
+    assertEquals(Constants.MB, limiter.getRate(), 0);
+    assertSame(limiter, mLimiter.get(options("job", Constants.MB)));
+    assertNotSame(limiter, mLimiter.get(options("other", Constants.MB)));
+  }
+
+  @Test
+  public void updateBandwidth() {
+    RateLimiter limiter = mLimiter.get(options("job", Constants.MB));
+    assertSame(limiter, mLimiter.get(options("job", 2 * Constants.MB)));
+    assertEquals(2 * Constants.MB, limiter.getRate(), 0);
+    // removing the limit drops the bucket of the job
+    assertNull(mLimiter.get(options("job")));
+    assertNotSame(limiter, mLimiter.get(options("job", Constants.MB)));
+  }
+
+  @Test
+  public void splitWorkerBandwidth() {
+    JobBandwidthLimiter limiter = new JobBandwidthLimiter(4 * Constants.MB);
+    RateLimiter first = limiter.get(options("first"));
+    assertEquals(4 * Constants.MB, first.getRate(), 0);
+    RateLimiter second = limiter.get(options("second"));
+    assertEquals(2 * Constants.MB, first.getRate(), 0);
+    assertEquals(2 * Constants.MB, second.getRate(), 0);
+    // the bandwidth a job leaves unused goes to the other jobs
+    limiter.get(options("second", Constants.MB));
+    assertEquals(3 * Constants.MB, first.getRate(), 0);
+    assertEquals(Constants.MB, second.getRate(), 0);
+    RateLimiter third = limiter.get(options("third", 8 * Constants.MB));
+    assertEquals(1.5 * Constants.MB, first.getRate(), 0);
+    assertEquals(Constants.MB, second.getRate(), 0);
+    assertEquals(1.5 * Constants.MB, third.getRate(), 0);
+  }
+
+  @Test
+  public void jobBandwidthBelowWorkerBandwidth() {
+    JobBandwidthLimiter limiter = new JobBandwidthLimiter(4 * Constants.MB);
+    assertEquals(Constants.MB, limiter.get(options("job", Constants.MB)).getRate(), 0);
+  }
+
+  private static UfsReadOptions options(String tag) {
+    return UfsReadOptions.newBuilder().setTag(tag).setPositionShort(false).build();
+  }
+
+  private static UfsReadOptions options(String tag, long bandwidth) {
+    return options(tag).toBuilder().setBandwidth(bandwidth).build();
+  }
+}
@@ -40,12 +40,18 @@ import alluxio.grpc.RouteFailure;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.UfsReadOptions;
 import alluxio.grpc.WriteOptions;
+import alluxio.proto.dataserver.Protocol;
 import alluxio.security.authorization.Mode;
+import alluxio.underfs.UfsFileStatus;
 import alluxio.underfs.UfsStatus;
+import alluxio.util.CommonUtils;
 import alluxio.util.io.BufferUtils;
+import alluxio.worker.block.io.BlockReader;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -62,9 +68,11 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class PagedDoraWorkerTest {
@@ -95,6 +103,7 @@ public class PagedDoraWorkerTest {
   @After
   public void after() throws Exception {
     mWorker.close();
+    Configuration.reloadProperties();
   }
 
   @Test
@@ -126,6 +135,72 @@ public class PagedDoraWorkerTest {
     }
   }
 
+  @Test
+  public void testLoadInPartitions() throws Exception {
+    Configuration.set(PropertyKey.WORKER_LOAD_FILE_PARTITION_SIZE, 2 * mPageSize);
+    Configuration.set(PropertyKey.WORKER_LOAD_FILE_PARALLELISM_MAX, 3);
+    mWorker.close();
+    mWorker = new PagedDoraWorker(new AtomicReference<>(1L), Configuration.global(), mCacheManager);
+    int numPages = 9;
+    // the last partition ends with a partial page
+    long length = mPageSize * (numPages - 1) + 100;
+    String ufsPath = mTestFolder.newFile("test").getAbsolutePath();
+    BufferUtils.writeBufferToFile(ufsPath, BufferUtils.getIncreasingByteArray((int) length));
+    UfsStatus status = new UfsFileStatus("test", "", length, 0L, "", "", (short) 0644, mPageSize);
+    status.setUfsFullPath(new AlluxioURI(ufsPath));
+    List<LoadFileFailure> failures = mWorker.load(true, ImmutableList.of(status),
+        UfsReadOptions.newBuilder().setUser("test").setTag("1").setPositionShort(false).build())
+        .get(30, TimeUnit.SECONDS);
+    assertEquals(0, failures.size());
+    List<PageId> cachedPages =
+        mCacheManager.getCachedPageIdsByFileId(new AlluxioURI(ufsPath).hash(), length);
+    assertEquals(numPages, cachedPages.size());
+    for (PageId pageId : cachedPages) {
+      long start = pageId.getPageIndex() * mPageSize;
+      int pageLength = (int) Math.min(mPageSize, length - start);
+      byte[] buff = new byte[pageLength];
+      assertEquals(pageLength, mCacheManager.get(pageId, pageLength, buff, 0));
+      assertTrue(BufferUtils.equalIncreasingByteArray((int) start, pageLength, buff));
+    }
+  }
+
+  @Test
+  public void loadInPartitionsStopsOnFailure() throws Exception {
+    Configuration.set(PropertyKey.WORKER_LOAD_FILE_PARTITION_SIZE, mPageSize);
+    Configuration.set(PropertyKey.WORKER_LOAD_FILE_PARALLELISM_MAX, 3);
+    mWorker.close();
+    CountDownLatch failed = new CountDownLatch(1);
+    AtomicInteger openedReaders = new AtomicInteger();
+    mWorker = new PagedDoraWorker(new AtomicReference<>(1L), Configuration.global(),
+        mCacheManager) {
+      @Override
+      public BlockReader createFileReader(String fileId, long offset, boolean positionShort,
+          Protocol.OpenUfsBlockOptions options) throws IOException, AccessControlException {
+        openedReaders.incrementAndGet();
+        if (offset == 0) {
+          failed.countDown();
+          throw new IOException("injected failure");
+        }
+        // the other partitions complete after the failure
+        Uninterruptibles.awaitUninterruptibly(failed);
+        CommonUtils.sleepMs(100);
+        return super.createFileReader(fileId, offset, positionShort, options);
+      }
+    };
+    int numPages = 20;
+    long length = mPageSize * numPages;
+    String ufsPath = mTestFolder.newFile("test").getAbsolutePath();
+    BufferUtils.writeBufferToFile(ufsPath, BufferUtils.getIncreasingByteArray((int) length));
+    UfsStatus status = new UfsFileStatus("test", "", length, 0L, "", "", (short) 0644, mPageSize);
+    status.setUfsFullPath(new AlluxioURI(ufsPath));
+    List<LoadFileFailure> failures = mWorker.load(true, ImmutableList.of(status),
+        UfsReadOptions.newBuilder().setUser("test").setTag("1").setPositionShort(false).build())
+        .get(30, TimeUnit.SECONDS);
+    assertEquals(1, failures.size());
+    // no loader takes another partition once one of them failed
+    assertEquals(3, openedReaders.get());
+  }
+
   @Test
   public void testSingleFileCopy() throws IOException, ExecutionException, InterruptedException {
     File srcRoot = mTestFolder.newFolder("src");
@@ -477,6 +552,22 @@ public class PagedDoraWorkerTest {
             FileSystemMasterCommonPOptions.newBuilder().setSyncIntervalMs(0)).build()));
   }
 
+  @Test
+  public void testGetFileInfoAbsent() throws Exception {
+    File f = new File(mTestFolder.getRoot(), "absent");
+    assertThrows(FileNotFoundException.class, () ->
+        mWorker.getFileInfo(f.getPath(), GetStatusPOptions.getDefaultInstance()));
+
+    // created behind the worker, the file is still remembered as missing until a sync
+    Files.write(f.toPath(), "foobar".getBytes());
+    assertThrows(FileNotFoundException.class, () ->
+        mWorker.getFileInfo(f.getPath(), GetStatusPOptions.getDefaultInstance()));
+    assertEquals(6,
+        mWorker.getFileInfo(f.getPath(), GET_STATUS_OPTIONS_MUST_SYNC).getLength());
+    assertEquals(6,
+        mWorker.getFileInfo(f.getPath(), GetStatusPOptions.getDefaultInstance()).getLength());
+  }
+
   @Test
   public void testGetFileInfoDir()
       throws AccessControlException, IOException {
@@ -0,0 +1,118 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.CacheManager;
+import alluxio.client.file.cache.PageId;
+import alluxio.grpc.CreateFilePOptions;
+import alluxio.grpc.FileInfo;
+import alluxio.grpc.WritePType;
+import alluxio.util.io.BufferUtils;
+
+import io.netty.buffer.Unpooled;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+public class PagedFileWriterTest {
+  private static final String FILE_ID = "fileId";
+  private static final String UFS_PATH = "s3://bucket/file";
+  private static final int PAGE_SIZE = 256;
+  private static final int CHUNK_SIZE = 64;
+
+  private final PagedDoraWorker mWorker = mock(PagedDoraWorker.class);
+  private final DoraOpenFileHandleContainer mHandles = mock(DoraOpenFileHandleContainer.class);
+  private final CacheManager mCacheManager = mock(CacheManager.class);
+  private final ByteArrayOutputStream mUfsStream = new ByteArrayOutputStream();
+  /** The pages put into the cache, each of which must be put once. */
+  private final Map<Long, byte[]> mPages = new HashMap<>();
+  private int mPutCount;
+
+  @Before
+  public void before() {
+    when(mWorker.getOpenFileHandleContainer()).thenReturn(mHandles);
+    when(mCacheManager.put(any(PageId.class), any(ByteBuffer.class), any(CacheContext.class),
+        any(Runnable.class))).thenAnswer(invocation -> {
+          PageId pageId = invocation.getArgument(0);
+          ByteBuffer page = invocation.getArgument(1);
+          byte[] data = new byte[page.remaining()];
+          page.get(data);
+          mPutCount++;
+          assertNull(mPages.put(pageId.getPageIndex(), data));
+          invocation.<Runnable>getArgument(3).run();
+          return true;
+        });
+  }
+
+  @Test
+  public void putEachPageOnce() throws Exception {
+    setWriteType(WritePType.CACHE_THROUGH);
+    int length = PAGE_SIZE * 3 + PAGE_SIZE / 2;
+    byte[] data = BufferUtils.getIncreasingByteArray(length);
+    PagedFileWriter writer = new PagedFileWriter(mWorker, UFS_PATH, mCacheManager, FILE_ID,
+        PAGE_SIZE);
+    for (int offset = 0; offset < length; offset += CHUNK_SIZE) {
+      assertEquals(CHUNK_SIZE,
+          writer.append(Unpooled.wrappedBuffer(data, offset, CHUNK_SIZE)));
+      // a page is put as soon as it is full, and not before
+      assertEquals((offset + CHUNK_SIZE) / PAGE_SIZE, mPutCount);
+    }
+    writer.commitFile();
+    writer.close();
+
+    assertEquals(4, mPutCount);
+    ByteArrayOutputStream cached = new ByteArrayOutputStream();
+    for (long i = 0; i < 4; i++) {
+      cached.write(mPages.get(i));
+    }
+    assertArrayEquals(data, cached.toByteArray());
+    assertArrayEquals(data, mUfsStream.toByteArray());
+    assertEquals(length, writer.getPosition());
+    verify(mCacheManager, never()).append(any(), anyInt(), any(), any());
+    verify(mCacheManager).commitFile(FILE_ID);
+  }
+
+  @Test
+  public void writeThrough() throws Exception {
+    setWriteType(WritePType.THROUGH);
+    byte[] data = BufferUtils.getIncreasingByteArray(PAGE_SIZE * 2);
+    PagedFileWriter writer = new PagedFileWriter(mWorker, UFS_PATH, mCacheManager, FILE_ID,
+        PAGE_SIZE);
+    assertEquals(data.length, writer.append(Unpooled.wrappedBuffer(data)));
+    writer.commitFile();
+    writer.close();
+
+    assertEquals(0, mPutCount);
+    assertArrayEquals(data, mUfsStream.toByteArray());
+  }
+
+  private void setWriteType(WritePType writeType) {
+    when(mHandles.find(UFS_PATH)).thenReturn(new OpenFileHandle(UFS_PATH,
+        FileInfo.getDefaultInstance(),
+        CreateFilePOptions.newBuilder().setWriteType(writeType).build(), mUfsStream));
+  }
+}
@@ -44,7 +44,7 @@ public class RocksDBDoraMetaStoreTest extends TestCase {
         .build();
     DoraMeta.FileStatus fs = DoraMeta.FileStatus.newBuilder()
         .setFileInfo(fi)
-        .setTs(System.nanoTime())
+        .setRefreshTimeMs(System.currentTimeMillis())
         .build();
     mTestMetastore.putDoraMeta(path, fs);
     Optional<DoraMeta.FileStatus> res = mTestMetastore.getDoraMeta(path);
@@ -70,7 +70,7 @@ public class RocksDBDoraMetaStoreTest extends TestCase {
         .build();
     DoraMeta.FileStatus fs = DoraMeta.FileStatus.newBuilder()
         .setFileInfo(fi)
-        .setTs(System.nanoTime())
+        .setRefreshTimeMs(System.currentTimeMillis())
         .build();
     mTestMetastore.putDoraMeta(path, fs);
     String pathNotExist = new String("/NOT_EXIST");
@@ -101,7 +101,7 @@ public class RocksDBDoraMetaStoreTest extends TestCase {
         .build();
     DoraMeta.FileStatus fs = DoraMeta.FileStatus.newBuilder()
         .setFileInfo(fi)
-        .setTs(System.nanoTime())
+        .setRefreshTimeMs(System.currentTimeMillis())
         .build();
     mTestMetastore.putDoraMeta(path, fs);
 
@@ -118,6 +118,35 @@ public class RocksDBDoraMetaStoreTest extends TestCase {
     System.out.println("End testGetExpire");
   }
 
+  public void testRemoveExpired() {
+    FileInfo fi = FileInfo.newBuilder()
+        .setFileId(1234)
+        .setMode(0567)
+        .setLength(1000)
+        .build();
+    long now = System.currentTimeMillis();
+    mTestMetastore.putDoraMeta("/EXPIRED", DoraMeta.FileStatus.newBuilder()
+        .setFileInfo(fi)
+        .setRefreshTimeMs(now - 5 * 1000)
+        .build());
+    // written with the JVM time only, which cannot be compared after a restart
+    mTestMetastore.putDoraMeta("/NO_REFRESH_TIME", DoraMeta.FileStatus.newBuilder()
+        .setFileInfo(fi)
+        .build());
+    DoraMeta.FileStatus fresh = DoraMeta.FileStatus.newBuilder()
+        .setFileInfo(fi)
+        .setRefreshTimeMs(now)
+        .build();
+    mTestMetastore.putDoraMeta("/FRESH", fresh);
+
+    // the store may also hold expired metadata left by the other tests
+    assertTrue(mTestMetastore.removeExpiredDoraMeta() >= 2);
+    assertEquals(Optional.of(fresh), mTestMetastore.getDoraMeta("/FRESH"));
+    assertFalse(mTestMetastore.getDoraMeta("/EXPIRED").isPresent());
+    assertFalse(mTestMetastore.getDoraMeta("/NO_REFRESH_TIME").isPresent());
+    mTestMetastore.removeDoraMeta("/FRESH");
+  }
+
   /**
    * Performance Testing.
    */
@@ -129,7 +158,7 @@ public class RocksDBDoraMetaStoreTest extends TestCase {
     for (int i = 0; i < N; i++) {
       String path = new String("/HELLO" + i);
 
-      long ts = System.nanoTime();
+      long ts = System.currentTimeMillis();
 
       FileInfo fi = FileInfo.newBuilder()
           .setFileId(10000000 + i)
@@ -138,7 +167,7 @@ public class RocksDBDoraMetaStoreTest extends TestCase {
           .build();
       DoraMeta.FileStatus fs = DoraMeta.FileStatus.newBuilder()
           .setFileInfo(fi)
-          .setTs(ts)
+          .setRefreshTimeMs(ts)
           .build();
       mTestMetastore.putDoraMeta(path, fs);
       Optional<DoraMeta.FileStatus> res = mTestMetastore.getDoraMeta(path);
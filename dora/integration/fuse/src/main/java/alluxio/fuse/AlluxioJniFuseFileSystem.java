@@ -18,8 +18,6 @@ import alluxio.client.block.BlockMasterClient;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.FileSystemContext;
 import alluxio.client.file.URIStatus;
-import alluxio.collections.IndexDefinition;
-import alluxio.collections.IndexedSet;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.AlluxioException;
@@ -36,6 +34,7 @@ import alluxio.fuse.auth.AuthPolicyFactory;
 import alluxio.fuse.file.CreateFileStatus;
 import alluxio.fuse.file.FileStatus;
 import alluxio.fuse.file.FuseFileEntry;
+import alluxio.fuse.file.FuseFileEntryTable;
 import alluxio.fuse.file.FuseFileStream;
 import alluxio.fuse.options.FuseOptions;
 import alluxio.grpc.CreateDirectoryPOptions;
@@ -70,11 +69,11 @@ import java.nio.ByteBuffer;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
@@ -96,25 +95,22 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
   private final Supplier<BlockMasterInfo> mFsStatCache;
   // Keeps a cache of the most recently translated paths from String to Alluxio URI
   private final LoadingCache<String, AlluxioURI> mPathResolverCache;
-  private final AtomicLong mNextOpenFileId = new AtomicLong(0);
   private final FuseShell mFuseShell;
-  private static final IndexDefinition<FuseFileEntry<FuseFileStream>, Long>
-      ID_INDEX = IndexDefinition.ofUnique(FuseFileEntry::getId);
-  // Add a PATH_INDEX to know getattr() been called when writing this file
-  private static final IndexDefinition<FuseFileEntry<FuseFileStream>, String>
-      PATH_INDEX = IndexDefinition.ofUnique(FuseFileEntry::getPath);
-
-  private final IndexedSet<FuseFileEntry<FuseFileStream>> mFileEntries
-      = new IndexedSet<>(ID_INDEX, PATH_INDEX);
+  // Indexed by path as well to know getattr() been called when writing this file
+  private final FuseFileEntryTable<FuseFileStream> mFileEntries = new FuseFileEntryTable<>();
   private final AuthPolicy mAuthPolicy;
   private final FuseFileStream.Factory mStreamFactory;
 
   private final boolean mUfsEnabled;
   private final FuseOptions mFuseOptions;
+  private final boolean mReaddirPlusEnabled;
 
   /** df command will treat -1 as an unknown value. */
   @VisibleForTesting
   public static final int UNKNOWN_INODES = -1;
+  /** The size of the buffer holding a stat, larger than struct stat on all platforms. */
+  private static final int FILE_STAT_SIZE = 256;
+  private static final byte[] EMPTY_FILE_STAT = new byte[FILE_STAT_SIZE];
 
   /**
    * Creates a new instance of {@link AlluxioJniFuseFileSystem}.
@@ -136,6 +132,7 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
         this::acquireBlockMasterInfo, statCacheTimeout, TimeUnit.MILLISECONDS)
         : this::acquireBlockMasterInfo;
     mPathResolverCache = AlluxioFuseUtils.getPathResolverCache(mConf, fuseOptions);
+    mReaddirPlusEnabled = mConf.getBoolean(PropertyKey.FUSE_READDIRPLUS_ENABLED);
     mAuthPolicy = AuthPolicyFactory.create(mFileSystem, mConf, this);
     mStreamFactory = new FuseFileStream.Factory(mFileSystem, mAuthPolicy);
     mUfsEnabled = fuseOptions.getFileSystemOptions().getUfsFileSystemOptions().isPresent();
@@ -177,9 +174,9 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
     }
     try {
       FuseFileStream stream = mStreamFactory.create(uri, fi.flags.get(), mode);
-      long fd = mNextOpenFileId.getAndIncrement();
-      mFileEntries.add(new FuseFileEntry<>(fd, path, stream));
-      fi.fh.set(fd);
+      FuseFileEntry<FuseFileStream> entry =
+          mFileEntries.add(fd -> new FuseFileEntry<>(fd, path, stream));
+      fi.fh.set(entry.getId());
     } catch (NotFoundRuntimeException e) {
       LOG.error("Failed to read {}: path does not exist or is invalid", path, e);
       return -ErrorCodes.ENOENT();
@@ -223,8 +220,7 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
       status.ifPresent(uriStatus -> AlluxioFuseUtils.fillStat(mAuthPolicy, stat, uriStatus));
 
       boolean hasWriteStream = false;
-      Set<FuseFileEntry<FuseFileStream>> fuseStreams
-          = mFileEntries.getByField(PATH_INDEX, path);
+      List<FuseFileEntry<FuseFileStream>> fuseStreams = mFileEntries.getByPath(path);
       if (!fuseStreams.isEmpty()) {
         for (FuseFileEntry<FuseFileStream> stream : fuseStreams) {
           FileStatus fileStatus = stream.getFileStream().getFileStatus();
@@ -281,8 +277,19 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
       FuseFillDir.apply(filter, buff, ".", null, 0);
       FuseFillDir.apply(filter, buff, "..", null, 0);
 
+      if (!mReaddirPlusEnabled) {
+        mFileSystem.iterateStatus(uri, file -> {
+          FuseFillDir.apply(filter, buff, file.getName(), null, 0);
+        });
+        return 0;
+      }
+      // the attributes of each entry are copied out of the buffer before it is refilled, so one
+      // buffer serves all the entries
+      FileStat stat = FileStat.of(ByteBuffer.allocateDirect(FILE_STAT_SIZE));
+      String dirPath = path.endsWith(AlluxioURI.SEPARATOR) ? path : path + AlluxioURI.SEPARATOR;
       mFileSystem.iterateStatus(uri, file -> {
-        FuseFillDir.apply(filter, buff, file.getName(), null, 0);
+        FuseFillDir.apply(filter, buff, file.getName(),
+            fillEntryStat(stat, dirPath + file.getName(), file), 0);
       });
     } catch (IOException | AlluxioException e) {
       LOG.error("Failed to readdir {}", path, e);
@@ -292,6 +299,41 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
     return 0;
   }
 
+  /**
+   * Fills the attributes of a directory entry from its status in the listing.
+   *
+   * @param stat the stat to fill
+   * @param path the path of the entry
+   * @param status the status of the entry
+   * @return the filled stat, or null if the kernel should get the attributes through getattr
+   */
+  @Nullable
+  private FileStat fillEntryStat(FileStat stat, String path, URIStatus status) {
+    if (!status.isCompleted() || hasWriteStream(path)) {
+      // the length in the listing is not final, getattr works out the current one
+      return null;
+    }
+    // clears the attributes of the previous entry
+    ByteBuffer buffer = stat.getBuffer().duplicate();
+    buffer.clear();
+    buffer.put(EMPTY_FILE_STAT);
+    AlluxioFuseUtils.fillStat(mAuthPolicy, stat, status);
+    return stat;
+  }
+
+  /**
+   * @param path the path of a file
+   * @return whether the file is being written through a stream opened by this client
+   */
+  private boolean hasWriteStream(String path) {
+    for (FuseFileEntry<FuseFileStream> entry : mFileEntries.getByPath(path)) {
+      if (entry.getFileStream().getFileStatus() instanceof CreateFileStatus) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public int read(String path, ByteBuffer buf, long size, long offset, FuseFileInfo fi) {
     final long fd = fi.fh.get();
@@ -302,7 +344,7 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
 
   private int readInternal(
       String path, ByteBuffer buf, long size, long offset, long fd) {
-    FuseFileEntry<FuseFileStream> entry = mFileEntries.getFirstByField(ID_INDEX, fd);
+    FuseFileEntry<FuseFileStream> entry = mFileEntries.get(fd);
     if (entry == null) {
       LOG.error("Failed to read {}: Cannot find fd {}", path, fd);
       return -ErrorCodes.EBADFD();
@@ -326,7 +368,7 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
 
   private int writeInternal(
       String path, ByteBuffer buf, long size, long offset, long fd) {
-    FuseFileEntry<FuseFileStream> entry = mFileEntries.getFirstByField(ID_INDEX, fd);
+    FuseFileEntry<FuseFileStream> entry = mFileEntries.get(fd);
     if (entry == null) {
       LOG.error("Failed to write {}: Cannot find fd {}", path, fd);
       return -ErrorCodes.EBADFD();
@@ -351,10 +393,10 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
   }
 
   private int flushInternal(String path, long fd) {
-    FuseFileEntry<FuseFileStream> entry = mFileEntries.getFirstByField(ID_INDEX, fd);
+    FuseFileEntry<FuseFileStream> entry = mFileEntries.get(fd);
     if (entry == null) {
       LOG.error("Failed to flush {}: Cannot find fd {}", path, fd);
-      entry = mFileEntries.getFirstByField(PATH_INDEX, path);
+      entry = mFileEntries.getFirstByPath(path);
       if (entry == null) {
         LOG.error("Failed to flush {}: Cannot find path", path);
         // Do not error out for flush since flush is a noop for now
@@ -373,7 +415,7 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
   }
 
   private int releaseInternal(String path, long fd) {
-    FuseFileEntry<FuseFileStream> entry = mFileEntries.getFirstByField(ID_INDEX, fd);
+    FuseFileEntry<FuseFileStream> entry = mFileEntries.get(fd);
     if (entry == null) {
       LOG.error("Failed to release {}: Cannot find fd {}", path, fd);
       return -ErrorCodes.EBADFD();
@@ -567,7 +609,7 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
       return res;
     }
     try {
-      FuseFileEntry<FuseFileStream> entry = mFileEntries.getFirstByField(PATH_INDEX, path);
+      FuseFileEntry<FuseFileStream> entry = mFileEntries.getFirstByPath(path);
       if (entry != null) {
         entry.getFileStream().truncate(size);
         return 0;
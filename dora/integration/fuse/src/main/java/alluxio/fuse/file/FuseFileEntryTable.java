@@ -0,0 +1,156 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse.file;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The table of the files opened through Fuse.
+ * <p>
+ * The id of an open file is the index of its slot in an array, and ids are reused once their
+ * files are released, so that looking up the file of a read or write is an array access without
+ * hashing or locking. The open files are also indexed by path, for the operations which need the
+ * streams writing to a path. Opening and releasing files are serialized, as they are much less
+ * frequent than reads and writes.
+ *
+ * @param <T> the concrete fuse file stream subclass
+ */
+@ThreadSafe
+public final class FuseFileEntryTable<T extends FuseFileStream> {
+  private static final int INITIAL_CAPACITY = 64;
+
+  /** The entries by id, replaced by a larger copy when full. */
+  private volatile AtomicReferenceArray<FuseFileEntry<T>> mSlots =
+      new AtomicReferenceArray<>(INITIAL_CAPACITY);
+  /** The open entries of each path, replaced on every change. */
+  private final Map<String, List<FuseFileEntry<T>>> mPathEntries = new ConcurrentHashMap<>();
+  /** The ids of the released entries below {@link #mNextId}, guarded by this table. */
+  private final Deque<Integer> mFreeIds = new ArrayDeque<>();
+  /** The lowest id which has never been used, guarded by this table. */
+  private int mNextId;
+  private final AtomicInteger mSize = new AtomicInteger();
+
+  /**
+   * Adds an entry under a new id.
+   *
+   * @param factory creates the entry from its id
+   * @return the added entry
+   */
+  public synchronized FuseFileEntry<T> add(LongFunction<FuseFileEntry<T>> factory) {
+    int id = mFreeIds.isEmpty() ? mNextId : mFreeIds.peekFirst();
+    FuseFileEntry<T> entry = factory.apply(id);
+    Preconditions.checkState(entry.getId() == id,
+        "entry id %s does not match the allocated id %s", entry.getId(), id);
+    if (id == mNextId) {
+      mNextId++;
+    } else {
+      mFreeIds.pollFirst();
+    }
+    AtomicReferenceArray<FuseFileEntry<T>> slots = mSlots;
+    if (id >= slots.length()) {
+      AtomicReferenceArray<FuseFileEntry<T>> grown =
+          new AtomicReferenceArray<>(slots.length() * 2);
+      for (int i = 0; i < slots.length(); i++) {
+        grown.set(i, slots.get(i));
+      }
+      slots = grown;
+    }
+    slots.set(id, entry);
+    mSlots = slots;
+    mPathEntries.put(entry.getPath(), ImmutableList.<FuseFileEntry<T>>builder()
+        .addAll(getByPath(entry.getPath())).add(entry).build());
+    mSize.incrementAndGet();
+    return entry;
+  }
+
+  /**
+   * @param id the id of the entry
+   * @return the entry, or null if no open file has the id
+   */
+  @Nullable
+  public FuseFileEntry<T> get(long id) {
+    AtomicReferenceArray<FuseFileEntry<T>> slots = mSlots;
+    if (id < 0 || id >= slots.length()) {
+      return null;
+    }
+    return slots.get((int) id);
+  }
+
+  /**
+   * @param path the path of the entries
+   * @return the entries of the files open at the path, in the order they were opened
+   */
+  public List<FuseFileEntry<T>> getByPath(String path) {
+    List<FuseFileEntry<T>> entries = mPathEntries.get(path);
+    return entries == null ? ImmutableList.of() : entries;
+  }
+
+  /**
+   * @param path the path of the entries
+   * @return the first entry of the files open at the path, or null if none is open
+   */
+  @Nullable
+  public FuseFileEntry<T> getFirstByPath(String path) {
+    List<FuseFileEntry<T>> entries = mPathEntries.get(path);
+    return entries == null ? null : entries.get(0);
+  }
+
+  /**
+   * Removes an entry, whose id may then be reused.
+   *
+   * @param entry the entry to remove
+   * @return whether the entry was in the table
+   */
+  public synchronized boolean remove(FuseFileEntry<T> entry) {
+    int id = (int) entry.getId();
+    if (get(id) != entry) {
+      return false;
+    }
+    mSlots.set(id, null);
+    List<FuseFileEntry<T>> remaining = getByPath(entry.getPath()).stream()
+        .filter(e -> e != entry).collect(ImmutableList.toImmutableList());
+    if (remaining.isEmpty()) {
+      mPathEntries.remove(entry.getPath());
+    } else {
+      mPathEntries.put(entry.getPath(), remaining);
+    }
+    mFreeIds.addFirst(id);
+    mSize.decrementAndGet();
+    return true;
+  }
+
+  /**
+   * @return the number of open files
+   */
+  public int size() {
+    return mSize.get();
+  }
+
+  /**
+   * @return whether no file is open
+   */
+  public boolean isEmpty() {
+    return mSize.get() == 0;
+  }
+}
@@ -11,9 +11,6 @@
 
 package alluxio.fuse.lock;
 
-import static com.google.common.hash.Hashing.md5;
-import static java.nio.charset.StandardCharsets.UTF_8;
-
 import alluxio.Constants;
 import alluxio.concurrent.ClientRWLock;
 import alluxio.concurrent.LockMode;
@@ -36,6 +33,8 @@ public class FuseReadWriteLockManager {
   // Maximum readers allowed for each file
   private static final int MAX_READER_CONCURRENCY = 64;
 
+  // Keyed by the path itself, as hashing it into a shorter key costs more on every open than
+  // holding the path while the lock is referenced
   private final LoadingCache<String, ClientRWLock> mLockCache
       = CacheBuilder.newBuilder().weakValues()
       .build(new CacheLoader<String, ClientRWLock>() {
@@ -58,7 +57,7 @@ public class FuseReadWriteLockManager {
    * @return the lock resource to unlock the locked lock
    */
   public CloseableResource<Lock> tryLock(String path, LockMode mode) {
-    ClientRWLock pathLock = mLockCache.getUnchecked(getHashedKey(path));
+    ClientRWLock pathLock = mLockCache.getUnchecked(path);
     Lock lock = mode == LockMode.READ ? pathLock.readLock() : pathLock.writeLock();
     try {
       if (!lock.tryLock(TRY_LOCK_TIMEOUT, TimeUnit.MILLISECONDS)) {
@@ -81,10 +80,4 @@ public class FuseReadWriteLockManager {
           path, TRY_LOCK_TIMEOUT, mode, pathLock.getReferenceCount()));
     }
   }
-
-  private String getHashedKey(String key) {
-    // File path is a unique identifier for a file, however it can be a long string
-    // hence using md5 hash of the file path as the lock identifier
-    return md5().hashString(key, UTF_8).toString();
-  }
 }
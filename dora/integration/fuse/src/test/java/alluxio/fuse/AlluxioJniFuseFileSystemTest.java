@@ -15,11 +15,16 @@ import static jnr.constants.platform.OpenFlags.O_RDONLY;
 import static jnr.constants.platform.OpenFlags.O_WRONLY;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -50,6 +55,7 @@ import alluxio.grpc.CreateFilePOptions;
 import alluxio.grpc.OpenFilePOptions;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.jnifuse.ErrorCodes;
+import alluxio.jnifuse.FuseFillDir;
 import alluxio.jnifuse.LibFuse;
 import alluxio.jnifuse.struct.FileStat;
 import alluxio.jnifuse.struct.FuseFileInfo;
@@ -74,13 +80,16 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.nio.ByteBuffer;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Isolation tests for {@link AlluxioJniFuseFileSystem}.
  */
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({BlockMasterClient.Factory.class})
+@PrepareForTest({BlockMasterClient.Factory.class, FuseFillDir.class})
 public class AlluxioJniFuseFileSystemTest {
 
   private static final String TEST_ROOT_PATH = "/t/root";
@@ -487,6 +496,49 @@ public class AlluxioJniFuseFileSystemTest {
     assertArrayEquals("Source and dst data should be equal", expected, dst);
   }
 
+  @Test
+  public void readdir() throws Exception {
+    FileInfo done = new FileInfo().setName("done").setPath(TEST_ROOT_PATH + "/foo/done")
+        .setLength(1000).setMode(0644).setCompleted(true);
+    FileInfo writing = new FileInfo().setName("writing")
+        .setPath(TEST_ROOT_PATH + "/foo/writing").setMode(0644).setCompleted(false);
+    FileInfo dir = new FileInfo().setName("dir").setPath(TEST_ROOT_PATH + "/foo/dir")
+        .setMode(0755).setFolder(true).setCompleted(true);
+    doAnswer(invocation -> {
+      Consumer<URIStatus> action = invocation.getArgument(1);
+      action.accept(new URIStatus(done));
+      action.accept(new URIStatus(writing));
+      action.accept(new URIStatus(dir));
+      return null;
+    }).when(mFileSystem).iterateStatus(eq(BASE_EXPECTED_URI.join("/foo")), any());
+
+    // the mode of each entry, or null if the entry has no attributes
+    Map<String, Integer> modes = new HashMap<>();
+    PowerMockito.mockStatic(FuseFillDir.class);
+    when(FuseFillDir.apply(anyLong(), anyLong(), anyString(), any(), anyLong()))
+        .thenAnswer(invocation -> {
+          FileStat stat = invocation.getArgument(3);
+          modes.put(invocation.getArgument(2), stat == null ? null : stat.st_mode.intValue());
+          return 0;
+        });
+
+    assertEquals(0, mFuseFs.readdir("/foo", 0, 0, 0, mFileInfo));
+    assertEquals(5, modes.size());
+    assertNull(modes.get("."));
+    assertEquals(0644 | FileStat.S_IFREG, (int) modes.get("done"));
+    assertEquals(0755 | FileStat.S_IFDIR, (int) modes.get("dir"));
+    // the length of a file being written is not known from the listing
+    assertNull(modes.get("writing"));
+
+    mConf.set(PropertyKey.FUSE_READDIRPLUS_ENABLED, false);
+    mFuseFs = new AlluxioJniFuseFileSystem(
+        mFileSystemContext, mFileSystem, FuseOptions.create(mConf));
+    modes.clear();
+    assertEquals(0, mFuseFs.readdir("/foo", 0, 0, 0, mFileInfo));
+    assertEquals(5, modes.size());
+    assertTrue(modes.values().stream().allMatch(mode -> mode == null));
+  }
+
   @Test
   @DoraTestTodoItem(action = DoraTestTodoItem.Action.FIX, owner = "LuQQiu")
   @Ignore
@@ -0,0 +1,78 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FuseFileEntryTableTest {
+  private final FuseFileEntryTable<FuseFileStream> mTable = new FuseFileEntryTable<>();
+
+  @Test
+  public void addAndRemove() {
+    FuseFileEntry<FuseFileStream> first = add("/a");
+    FuseFileEntry<FuseFileStream> second = add("/a");
+    FuseFileEntry<FuseFileStream> other = add("/b");
+    assertEquals(3, mTable.size());
+    assertSame(second, mTable.get(second.getId()));
+    assertEquals(ImmutableList.of(first, second), mTable.getByPath("/a"));
+    assertSame(first, mTable.getFirstByPath("/a"));
+
+    assertTrue(mTable.remove(first));
+    assertFalse(mTable.remove(first));
+    assertNull(mTable.get(first.getId()));
+    assertEquals(ImmutableList.of(second), mTable.getByPath("/a"));
+    assertTrue(mTable.remove(second));
+    assertTrue(mTable.getByPath("/a").isEmpty());
+    assertNull(mTable.getFirstByPath("/a"));
+    assertSame(other, mTable.get(other.getId()));
+    assertEquals(1, mTable.size());
+    assertNull(mTable.get(-1));
+    assertNull(mTable.get(Integer.MAX_VALUE + 1L));
+  }
+
+  @Test
+  public void reuseIds() {
+    List<FuseFileEntry<FuseFileStream>> entries = new ArrayList<>();
+    // more than the initial capacity, so that the table grows
+    for (int i = 0; i < 200; i++) {
+      entries.add(add("/file" + i));
+      assertEquals(i, entries.get(i).getId());
+    }
+    for (FuseFileEntry<FuseFileStream> entry : entries) {
+      assertSame(entry, mTable.get(entry.getId()));
+    }
+    mTable.remove(entries.get(10));
+    mTable.remove(entries.get(20));
+    assertEquals(20, add("/new").getId());
+    assertEquals(10, add("/new").getId());
+    assertEquals(200, add("/new").getId());
+    for (FuseFileEntry<FuseFileStream> entry : mTable.getByPath("/new")) {
+      assertTrue(mTable.remove(entry));
+    }
+    assertEquals(198, mTable.size());
+  }
+
+  private FuseFileEntry<FuseFileStream> add(String path) {
+    return mTable.add(id -> new FuseFileEntry<>(id, path, mock(FuseFileStream.class)));
+  }
+}
@@ -43,6 +43,13 @@ public abstract class Task<V> implements Comparable<Task> {
       mTimeInQ = mStopwatch.elapsed(TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * @return time in milliseconds the task spent inside the queue, or -1 if not recorded yet
+     */
+    public long getTimeInQ() {
+      return mTimeInQ;
+    }
+
     /**
      * Record time taken to complete the task.
      */
@@ -50,6 +57,14 @@ public abstract class Task<V> implements Comparable<Task> {
       mTotalTimeToComplete = mStopwatch.elapsed(TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * @return time in milliseconds taken to complete the task since its creation, or -1 if not
+     *         recorded yet
+     */
+    public long getTimeToComplete() {
+      return mTotalTimeToComplete;
+    }
+
     /**
      * @return task state
      */
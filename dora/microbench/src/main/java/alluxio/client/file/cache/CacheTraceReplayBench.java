@@ -0,0 +1,262 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.Constants;
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.allocator.AffinityHashAllocator;
+import alluxio.client.file.cache.allocator.Allocator;
+import alluxio.client.file.cache.allocator.HashAllocator;
+import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.client.file.cache.store.PageStoreType;
+import alluxio.client.file.cache.trace.PageAccess;
+import alluxio.client.file.cache.trace.PageAccessTraceReader;
+import alluxio.client.file.cache.trace.PageAccessTraceWriter;
+import alluxio.file.ByteArrayTargetBuffer;
+import alluxio.util.FormatUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a page access trace recorded by the client cache (see
+ * alluxio.user.client.cache.trace.file) against a {@link LocalCacheManager} backed by memory
+ * page stores, to compare the hit ratio of different evictors, allocators, page sizes and cache
+ * sizes before changing them in production. Each iteration replays the whole trace on a cold
+ * cache; the time of an iteration gives the replay throughput, and the hit ratio and byte hit
+ * ratio of each configuration are printed at the end of its trial. Sweep the cache size to get
+ * the hit ratio curves, e.g. "-p mTraceFile=/path/to/trace -p mCacheSize=256MB,1GB,4GB".
+ * <p>
+ * Without a trace file, a synthetic trace is replayed, mixing random reads of a hot set of files
+ * with sequential scans of files read only once. Note that the cache is held in memory, so the
+ * heap must be larger than the cache size.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-server")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CacheTraceReplayBench {
+  private static final String EVICTOR_PACKAGE = "alluxio.client.file.cache.evictor.";
+
+  /** The allocators picking the page store directory of a file. */
+  public enum AllocatorType {
+    HASH,
+    AFFINITY,
+  }
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    /** The trace to replay, or empty to replay a synthetic trace. */
+    @Param({""})
+    public String mTraceFile;
+
+    /** The simple class name of the evictor in package alluxio.client.file.cache.evictor. */
+    @Param({"LRUCacheEvictor", "LFUCacheEvictor", "TinyLFUCacheEvictor"})
+    public String mEvictor;
+
+    @Param({"HASH"})
+    public AllocatorType mAllocator;
+
+    @Param({"1"})
+    public int mDirs;
+
+    @Param({"1MB"})
+    public String mPageSize;
+
+    @Param({"256MB"})
+    public String mCacheSize;
+
+    List<PageAccess> mAccesses;
+    long mTracePageSize;
+    byte[] mPage;
+    CacheManager mCacheManager;
+    long mRequests;
+    long mHits;
+    long mBytesRead;
+    long mBytesHit;
+    long mTotalRequests;
+    long mTotalHits;
+    long mTotalBytesRead;
+    long mTotalBytesHit;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+      Path traceFile;
+      if (mTraceFile.isEmpty()) {
+        traceFile = Files.createTempFile("alluxio_cache_trace", ".bin");
+        traceFile.toFile().deleteOnExit();
+        writeSyntheticTrace(traceFile);
+      } else {
+        traceFile = Paths.get(mTraceFile);
+      }
+      // the trace is loaded upfront so that reading it is not part of the replay time
+      mAccesses = new ArrayList<>();
+      try (PageAccessTraceReader reader = PageAccessTraceReader.create(traceFile)) {
+        mTracePageSize = reader.getPageSize();
+        for (PageAccess access = reader.next(); access != null; access = reader.next()) {
+          mAccesses.add(access);
+        }
+      }
+      mPage = new byte[(int) FormatUtils.parseSpaceSize(mPageSize)];
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() throws Exception {
+      long pageSize = mPage.length;
+      long dirCacheSize = FormatUtils.parseSpaceSize(mCacheSize) / mDirs;
+      List<PageStoreOptions> pageStoreOptions = new ArrayList<>();
+      for (int i = 0; i < mDirs; i++) {
+        pageStoreOptions.add(new PageStoreOptions()
+            .setStoreType(PageStoreType.MEM)
+            .setRootDir(Paths.get("/tmp/alluxio_cache_trace_replay_bench", Integer.toString(i)))
+            .setIndex(i)
+            .setPageSize(pageSize)
+            .setCacheSize(dirCacheSize));
+      }
+      @SuppressWarnings("unchecked")
+      Class<? extends CacheEvictor> evictorClass =
+          (Class<? extends CacheEvictor>) Class.forName(EVICTOR_PACKAGE + mEvictor);
+      CacheManagerOptions options = new CacheManagerOptions()
+          .setPageSize(pageSize)
+          .setMaxEvictionRetries(10)
+          .setCacheEvictorOptions(new CacheEvictorOptions().setEvictorClass(evictorClass))
+          .setPageStoreOptions(pageStoreOptions);
+      List<PageStoreDir> dirs = PageStoreDir.createPageStoreDirs(options);
+      Allocator allocator = mAllocator == AllocatorType.AFFINITY
+          ? new AffinityHashAllocator(dirs) : new HashAllocator(dirs);
+      mCacheManager =
+          LocalCacheManager.create(options, new DefaultPageMetaStore(dirs, allocator));
+      mRequests = 0;
+      mHits = 0;
+      mBytesRead = 0;
+      mBytesHit = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() throws Exception {
+      mCacheManager.close();
+      mTotalRequests += mRequests;
+      mTotalHits += mHits;
+      mTotalBytesRead += mBytesRead;
+      mTotalBytesHit += mBytesHit;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+      System.out.printf("%nevictor=%s allocator=%s dirs=%d pageSize=%s cacheSize=%s: "
+              + "%d page requests, hit ratio %.4f, byte hit ratio %.4f%n",
+          mEvictor, mAllocator, mDirs, mPageSize, mCacheSize, mTotalRequests,
+          (double) mTotalHits / Math.max(1, mTotalRequests),
+          (double) mTotalBytesHit / Math.max(1, mTotalBytesRead));
+    }
+
+    /**
+     * Reads a range of a file from the cache, loading the missing pages.
+     */
+    void read(String fileId, long offset, long length) {
+      int pageSize = mPage.length;
+      long end = offset + length;
+      while (offset < end) {
+        long pageIndex = offset / pageSize;
+        int pageOffset = (int) (offset % pageSize);
+        int bytesToRead = (int) Math.min(pageSize - pageOffset, end - offset);
+        boolean[] missed = {false};
+        mCacheManager.getAndLoad(new PageId(fileId, pageIndex), pageOffset, bytesToRead,
+            new ByteArrayTargetBuffer(mPage, 0), CacheContext.defaults(), () -> {
+              missed[0] = true;
+              return mPage;
+            });
+        mRequests++;
+        mBytesRead += bytesToRead;
+        if (!missed[0]) {
+          mHits++;
+          mBytesHit += bytesToRead;
+        }
+        offset += bytesToRead;
+      }
+    }
+
+    private void writeSyntheticTrace(Path path) throws IOException {
+      long pageSize = Constants.MB;
+      // the hot files take half of the default cache size, and a scan a quarter of it
+      int hotFiles = 16;
+      int pagesPerFile = 8;
+      Random random = new Random(0);
+      try (PageAccessTraceWriter writer = PageAccessTraceWriter.create(path, pageSize)) {
+        int scans = 0;
+        for (int i = 0; i < 20000; i++) {
+          if (random.nextInt(100) < 80) {
+            writer.record(new PageId("hot" + random.nextInt(hotFiles),
+                random.nextInt(pagesPerFile)), 0, (int) pageSize);
+          } else if (i % 10 == 0) {
+            // a scan reads a whole cold file sequentially, which is never read again
+            String fileId = "scan" + scans++;
+            for (int page = 0; page < pagesPerFile * 8; page++) {
+              writer.record(new PageId(fileId, page), 0, (int) pageSize);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public long replay(BenchState state) {
+    for (PageAccess access : state.mAccesses) {
+      state.read(access.getPageId().getFileId(), access.getFileOffset(state.mTracePageSize),
+          access.getLength());
+    }
+    return state.mRequests;
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(CacheTraceReplayBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
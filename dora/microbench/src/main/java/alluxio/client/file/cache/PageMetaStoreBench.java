@@ -0,0 +1,133 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.Constants;
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.LRUCacheEvictor;
+import alluxio.client.file.cache.store.MemoryPageStore;
+import alluxio.client.file.cache.store.MemoryPageStoreDir;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.exception.PageNotFoundException;
+import alluxio.resource.LockResource;
+
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Paths;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link PageMetaStore} implementations under the locking protocol used by
+ * {@link LocalCacheManager}: lookups of cache hits take the read lock of the meta store, while
+ * updates take its write lock. Run with multiple threads (e.g. "-t 64") to compare contention.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-server")
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 6, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class PageMetaStoreBench {
+  private static final long PAGE_SIZE = Constants.MB;
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"DEFAULT", "CONCURRENT", "COMPACT"})
+    public PageMetaStoreType mType;
+
+    @Param({"1000000"})
+    public int mNumPages;
+
+    @Param({"1000"})
+    public int mPagesPerFile;
+
+    /** Percentage of operations that are cache hits, the rest replace an existing page. */
+    @Param({"100", "95"})
+    public int mReadPercentage;
+
+    PageMetaStore mMetaStore;
+    PageStoreDir mDir;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      PageStoreOptions options = new PageStoreOptions()
+          .setRootDir(Paths.get("/tmp/alluxio_page_meta_store_bench"))
+          .setPageSize(PAGE_SIZE)
+          .setCacheSize(PAGE_SIZE * mNumPages * 2);
+      mDir = new MemoryPageStoreDir(options, new MemoryPageStore((int) PAGE_SIZE),
+          new LRUCacheEvictor(new CacheEvictorOptions()));
+      if (mType == PageMetaStoreType.CONCURRENT) {
+        mMetaStore = new ConcurrentPageMetaStore(ImmutableList.of(mDir));
+      } else if (mType == PageMetaStoreType.COMPACT) {
+        mMetaStore = new CompactPageMetaStore(ImmutableList.of(mDir));
+      } else {
+        mMetaStore = new DefaultPageMetaStore(ImmutableList.of(mDir));
+      }
+      for (int i = 0; i < mNumPages; i++) {
+        PageId pageId = pageId(i);
+        mMetaStore.addPage(pageId, new PageInfo(pageId, PAGE_SIZE, mDir));
+      }
+    }
+
+    PageId pageId(int i) {
+      return new PageId(Integer.toString(i / mPagesPerFile), i % mPagesPerFile);
+    }
+  }
+
+  @Benchmark
+  public Object getOrReplace(BenchState state) throws Exception {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    PageId pageId = state.pageId(random.nextInt(state.mNumPages));
+    if (random.nextInt(100) < state.mReadPercentage) {
+      try (LockResource r = new LockResource(state.mMetaStore.getLock().readLock())) {
+        return state.mMetaStore.getPageInfo(pageId);
+      } catch (PageNotFoundException e) {
+        // the benchmark does not take page locks, so a lookup may race with a replacement
+        return null;
+      }
+    }
+    try (LockResource r = new LockResource(state.mMetaStore.getLock().writeLock())) {
+      PageInfo pageInfo = state.mMetaStore.removePage(pageId);
+      state.mMetaStore.addPage(pageId, pageInfo);
+      return pageInfo;
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(PageMetaStoreBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
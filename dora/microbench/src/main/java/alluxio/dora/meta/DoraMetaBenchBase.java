@@ -49,7 +49,7 @@ class DoraMetaBenchBase {
                     .setOwningGroup(STRING_FIELD)
                     .setIsDefault(BOOLEAN_FIELD)
                     .build())
-        ).setTs(INT_FIELD).build();
+        ).setRefreshTimeMs(INT_FIELD).build();
   }
 
   public static final DoraMeta.FileStatus FILE_STATUS = DoraMeta.FileStatus.newBuilder()
@@ -70,7 +70,7 @@ class DoraMetaBenchBase {
                   .setOwningGroup(STRING_FIELD)
                   .setIsDefault(BOOLEAN_FIELD)
                   .build())
-      ).setTs(INT_FIELD).build();
+      ).setRefreshTimeMs(INT_FIELD).build();
 
   private final DoraMetaStore mDoraMetaStore;
 
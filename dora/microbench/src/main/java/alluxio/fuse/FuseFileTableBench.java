@@ -0,0 +1,139 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse;
+
+import alluxio.collections.IndexDefinition;
+import alluxio.collections.IndexedSet;
+import alluxio.fuse.file.FileStatus;
+import alluxio.fuse.file.FuseFileEntry;
+import alluxio.fuse.file.FuseFileEntryTable;
+import alluxio.fuse.file.FuseFileStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This benchmark measures the overhead of dispatching Fuse reads and getattrs to the open files,
+ * which is the lookup of the file by its id for a read, and by its path for a getattr.
+ * The following parameters can be varied:
+ * mTable - the table of the open files, INDEXED_SET being the table used before
+ * mOpenFiles - the number of open files
+ */
+public class FuseFileTableBench {
+  private static final String INDEXED_SET = "INDEXED_SET";
+  private static final String ENTRY_TABLE = "ENTRY_TABLE";
+  private static final IndexDefinition<FuseFileEntry<FuseFileStream>, Long> ID_INDEX =
+      IndexDefinition.ofUnique(FuseFileEntry::getId);
+  private static final IndexDefinition<FuseFileEntry<FuseFileStream>, String> PATH_INDEX =
+      IndexDefinition.ofUnique(FuseFileEntry::getPath);
+
+  @State(Scope.Benchmark)
+  public static class Table {
+    @Param({INDEXED_SET, ENTRY_TABLE})
+    public String mTable;
+
+    @Param({"16", "1024"})
+    public int mOpenFiles;
+
+    IndexedSet<FuseFileEntry<FuseFileStream>> mIndexedSet;
+    FuseFileEntryTable<FuseFileStream> mEntryTable;
+    String[] mPaths;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      mIndexedSet = new IndexedSet<>(ID_INDEX, PATH_INDEX);
+      mEntryTable = new FuseFileEntryTable<>();
+      mPaths = new String[mOpenFiles];
+      for (int i = 0; i < mOpenFiles; i++) {
+        String path = "/dataset/shard-" + i + "/part-00000.parquet";
+        mPaths[i] = path;
+        FuseFileEntry<FuseFileStream> entry = new FuseFileEntry<>(i, path, new NoopStream());
+        if (mTable.equals(INDEXED_SET)) {
+          mIndexedSet.add(entry);
+        } else {
+          mEntryTable.add(id -> entry);
+        }
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    final ByteBuffer mBuffer = ByteBuffer.allocate(0);
+  }
+
+  @Benchmark
+  public void read(Table table, ThreadState ts, Blackhole bh) {
+    long fd = ThreadLocalRandom.current().nextInt(table.mOpenFiles);
+    FuseFileEntry<FuseFileStream> entry = table.mTable.equals(INDEXED_SET)
+        ? table.mIndexedSet.getFirstByField(ID_INDEX, fd) : table.mEntryTable.get(fd);
+    bh.consume(entry.getFileStream().read(ts.mBuffer, 0, 0));
+  }
+
+  @Benchmark
+  public void getattr(Table table, Blackhole bh) {
+    // a new string, as the path of a Fuse operation comes from the native side
+    String path = new String(
+        table.mPaths[ThreadLocalRandom.current().nextInt(table.mOpenFiles)].toCharArray());
+    if (table.mTable.equals(INDEXED_SET)) {
+      bh.consume(table.mIndexedSet.getByField(PATH_INDEX, path));
+    } else {
+      bh.consume(table.mEntryTable.getByPath(path));
+    }
+  }
+
+  /**
+   * A stream doing nothing, so that only the dispatch is measured.
+   */
+  private static final class NoopStream implements FuseFileStream {
+    @Override
+    public int read(ByteBuffer buf, long size, long offset) {
+      return 0;
+    }
+
+    @Override
+    public void write(ByteBuffer buf, long size, long offset) {}
+
+    @Override
+    public FileStatus getFileStatus() {
+      return new FileStatus(0);
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void truncate(long size) {}
+
+    @Override
+    public void close() {}
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder().include(FuseFileTableBench.class.getSimpleName())
+        .warmupIterations(3)
+        .forks(1).threads(8).build();
+    new Runner(opt).run();
+  }
+}
@@ -24,6 +24,7 @@ import alluxio.conf.PropertyKey;
 import alluxio.util.FormatUtils;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
 import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
 import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
@@ -185,6 +186,33 @@ public class S3ALowLevelOutputStreamTest {
     assertEquals("putTag", mStream.getContentHash().get());
   }
 
+  @Test
+  public void abortSmallFile() throws Exception {
+    mStream.write(1);
+
+    mStream.abort();
+    mStream.close();
+    Mockito.verify(mMockS3Client, never()).putObject(any(PutObjectRequest.class));
+    Mockito.verify(mMockS3Client, never())
+        .initiateMultipartUpload(any(InitiateMultipartUploadRequest.class));
+  }
+
+  @Test
+  public void abortLargeFile() throws Exception {
+    int partSize = (int) FormatUtils.parseSpaceSize(PARTITION_SIZE);
+    byte[] b = new byte[partSize + 1];
+    mStream.write(b, 0, b.length);
+    Mockito.verify(mMockS3Client)
+        .initiateMultipartUpload(any(InitiateMultipartUploadRequest.class));
+
+    mStream.abort();
+    mStream.close();
+    Mockito.verify(mMockS3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+    Mockito.verify(mMockS3Client, never())
+        .completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    Mockito.verify(mMockS3Client, never()).putObject(any(PutObjectRequest.class));
+  }
+
   /**
    * Mocks the S3 client and executor.
    */